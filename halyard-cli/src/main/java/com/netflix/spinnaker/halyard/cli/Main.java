@@ -30,7 +30,7 @@ public class Main {
 
     HalCommand hal = new HalCommand();
     JCommander jc = new JCommander(hal);
-    hal.setCommander(jc).configureSubcommands();
+    hal.setCommander(jc).configureSubcommands(args);
 
     try {
       jc.parse(args);
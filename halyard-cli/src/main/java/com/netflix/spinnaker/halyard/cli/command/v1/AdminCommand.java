@@ -34,8 +34,8 @@ public class AdminCommand extends NestableCommand {
       "This is meant for users building and publishing their own Spinnaker images and config.";
 
   public AdminCommand() {
-    registerSubcommand(new DeprecateCommand());
-    registerSubcommand(new PublishCommand());
+    registerSubcommand(DeprecateCommand::new);
+    registerSubcommand(PublishCommand::new);
   }
 
   @Override
@@ -41,8 +41,8 @@ public class BackupCommand extends NestableCommand {
           "allow you to store all aspects of your configured Spinnaker installation, to be picked up by an installation of Halyard on another machine.");
 
   public BackupCommand() {
-    registerSubcommand(new CreateBackupCommand());
-    registerSubcommand(new RestoreBackupCommand());
+    registerSubcommand(CreateBackupCommand::new);
+    registerSubcommand(RestoreBackupCommand::new);
   }
 
   @Override
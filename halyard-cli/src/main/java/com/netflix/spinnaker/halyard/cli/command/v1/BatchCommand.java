@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.cli.command.v1;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.netflix.spinnaker.halyard.cli.services.v1.Daemon;
+import com.netflix.spinnaker.halyard.cli.services.v1.OperationHandler;
+import com.netflix.spinnaker.halyard.cli.ui.v1.AnsiUi;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Runs the hal commands in a file as one batch, whose halconfig edits are applied by the daemon all
+ * at once.
+ *
+ * <p>Usage is `$ hal batch FILE`
+ */
+@Parameters(separators = "=")
+public class BatchCommand extends NestableCommand {
+  @Getter(AccessLevel.PUBLIC)
+  private String commandName = "batch";
+
+  @Getter(AccessLevel.PUBLIC)
+  private String shortDescription = "Run a file of hal commands as a single batch.";
+
+  @Getter(AccessLevel.PUBLIC)
+  private String longDescription =
+      "Run a file of hal commands, one per line, as a single batch. The halconfig edits they make "
+          + "are sent to the daemon together, which applies them in order, validates your "
+          + "halconfig once and saves it once. Either every edit is applied or, if any command "
+          + "fails, none are, and the failures are reported by line. Blank lines and lines "
+          + "starting with '#' are ignored, the leading 'hal' is optional, and a line ending in "
+          + "'\\' continues on the next. Commands that read your halconfig see it as it was "
+          + "before the batch, so a command can't read or edit anything an earlier command in the "
+          + "same batch changed, and only commands that edit your halconfig can be batched.";
+
+  @Override
+  public String getMainParameter() {
+    return "file";
+  }
+
+  @Parameter(description = "The file of hal commands to run.")
+  String script;
+
+  private String getScript() {
+    if (script == null) {
+      throw new IllegalArgumentException("No file supplied.");
+    }
+    return script;
+  }
+
+  @Override
+  protected void executeThis() {
+    Path path = Paths.get(getScript());
+    List<String> lines;
+    try {
+      lines = Files.readAllLines(path);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Unable to read " + path + ": " + e.getMessage(), e);
+    }
+
+    List<String> errors = new ArrayList<>();
+    GlobalOptions globalOptions = GlobalOptions.getGlobalOptions();
+    boolean quiet = globalOptions.isQuiet();
+    // The commands' edits aren't applied until the whole batch is, so they shouldn't report
+    // having succeeded.
+    globalOptions.setQuiet(true);
+    Daemon.recordBatch();
+    try {
+      int i = 0;
+      while (i < lines.size()) {
+        int line = i + 1;
+        StringBuilder command = new StringBuilder(lines.get(i++).trim());
+        while (command.length() > 0
+            && command.charAt(command.length() - 1) == '\\'
+            && i < lines.size()) {
+          command.setLength(command.length() - 1);
+          command.append(' ').append(lines.get(i++).trim());
+        }
+
+        try {
+          run(line, command.toString());
+        } catch (Exception e) {
+          errors.add("line " + line + ": " + e.getMessage());
+        }
+      }
+    } finally {
+      globalOptions.setQuiet(quiet);
+    }
+
+    if (!errors.isEmpty()) {
+      errors.forEach(AnsiUi::error);
+      throw new IllegalArgumentException(
+          errors.size() + " of the commands in " + path + " failed, so none were applied.");
+    }
+
+    int edits = Daemon.getBatchSize();
+    new OperationHandler<Void>()
+        .setFailureMesssage("Failed to apply the commands in " + path + ", so none were applied.")
+        .setSuccessMessage("Applied " + edits + " halconfig edits from " + path + ".")
+        .setOperation(Daemon.applyBatch())
+        .get();
+  }
+
+  private void run(int line, String command) {
+    if (command.isEmpty() || command.startsWith("#")) {
+      return;
+    }
+
+    List<String> args = tokenize(command);
+    if (!args.isEmpty() && args.get(0).equals("hal")) {
+      args = args.subList(1, args.size());
+    }
+
+    if (!args.isEmpty() && args.get(0).equals(commandName)) {
+      throw new IllegalArgumentException("Batches can't be nested.");
+    }
+
+    String[] argv = args.toArray(new String[0]);
+    HalCommand hal = new HalCommand();
+    JCommander jc = new JCommander(hal);
+    hal.setCommander(jc).configureSubcommands(argv);
+    jc.parse(argv);
+
+    Daemon.setBatchLine(line);
+    hal.execute(false);
+  }
+
+  /** Splits a command into its arguments the way a shell would, honoring quotes and escapes. */
+  static List<String> tokenize(String command) {
+    List<String> args = new ArrayList<>();
+    StringBuilder arg = null;
+    char quote = 0;
+    for (int i = 0; i < command.length(); i++) {
+      char c = command.charAt(i);
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        } else if (c == '\\' && quote == '"' && i + 1 < command.length()) {
+          arg.append(command.charAt(++i));
+        } else {
+          arg.append(c);
+        }
+      } else if (Character.isWhitespace(c)) {
+        if (arg != null) {
+          args.add(arg.toString());
+          arg = null;
+        }
+      } else {
+        if (arg == null) {
+          arg = new StringBuilder();
+        }
+
+        if (c == '\'' || c == '"') {
+          quote = c;
+        } else if (c == '\\' && i + 1 < command.length()) {
+          arg.append(command.charAt(++i));
+        } else {
+          arg.append(c);
+        }
+      }
+    }
+
+    if (quote != 0) {
+      throw new IllegalArgumentException("Unterminated " + quote + " quote.");
+    }
+
+    if (arg != null) {
+      args.add(arg.toString());
+    }
+
+    return args;
+  }
+}
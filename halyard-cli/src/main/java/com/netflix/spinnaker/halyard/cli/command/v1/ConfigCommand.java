@@ -54,24 +54,24 @@ public class ConfigCommand extends AbstractConfigCommand {
   private String setCurrentDeployment;
 
   ConfigCommand() {
-    registerSubcommand(new ArtifactProviderCommand());
-    registerSubcommand(new CanaryCommand());
-    registerSubcommand(new DeploymentEnvironmentCommand());
-    registerSubcommand(new EditConfigCommand());
-    registerSubcommand(new FeaturesCommand());
-    registerSubcommand(new GenerateCommand());
-    registerSubcommand(new MetricStoresCommand());
-    registerSubcommand(new NotificationCommand());
-    registerSubcommand(new PersistentStorageCommand());
-    registerSubcommand(new ProviderCommand());
-    registerSubcommand(new PubsubCommand());
-    registerSubcommand(new SecurityCommand());
-    registerSubcommand(new VersionConfigCommand());
-    registerSubcommand(new WebhookCommand());
-    registerSubcommand(new CiCommand());
-    registerSubcommand(new ListCommand());
-    registerSubcommand(new RepositoryCommand());
-    registerSubcommand(new StatsCommand());
+    registerSubcommand(ArtifactProviderCommand::new);
+    registerSubcommand(CanaryCommand::new);
+    registerSubcommand(DeploymentEnvironmentCommand::new);
+    registerSubcommand(EditConfigCommand::new);
+    registerSubcommand(FeaturesCommand::new);
+    registerSubcommand(GenerateCommand::new);
+    registerSubcommand(MetricStoresCommand::new);
+    registerSubcommand(NotificationCommand::new);
+    registerSubcommand(PersistentStorageCommand::new);
+    registerSubcommand(ProviderCommand::new);
+    registerSubcommand(PubsubCommand::new);
+    registerSubcommand(SecurityCommand::new);
+    registerSubcommand(VersionConfigCommand::new);
+    registerSubcommand(WebhookCommand::new);
+    registerSubcommand(CiCommand::new);
+    registerSubcommand(ListCommand::new);
+    registerSubcommand(RepositoryCommand::new);
+    registerSubcommand(StatsCommand::new);
   }
 
   @Override
@@ -32,13 +32,14 @@ public class DeployCommand extends NestableCommand {
           + " what the infrastructure footprint looks like, what the currently running deployment looks like, etc...";
 
   public DeployCommand() {
-    registerSubcommand(new ApplyDeployCommand());
-    registerSubcommand(new CollectLogsDeployCommand());
-    registerSubcommand(new ConnectDeployCommand());
-    registerSubcommand(new RollbackDeployCommand());
-    registerSubcommand(new DiffDeployCommand());
-    registerSubcommand(new DetailsDeployCommand());
-    registerSubcommand(new CleanDeployCommand());
+    registerSubcommand(ApplyDeployCommand::new);
+    registerSubcommand(CollectLogsDeployCommand::new);
+    registerSubcommand(ConnectDeployCommand::new);
+    registerSubcommand(RollbackDeployCommand::new);
+    registerSubcommand(DiffDeployCommand::new);
+    registerSubcommand(PlanDeployCommand::new);
+    registerSubcommand(DetailsDeployCommand::new);
+    registerSubcommand(CleanDeployCommand::new);
   }
 
   @Override
@@ -50,15 +50,16 @@ public class HalCommand extends NestableCommand {
   private boolean docs;
 
   public HalCommand() {
-    registerSubcommand(new AdminCommand());
-    registerSubcommand(new BackupCommand());
-    registerSubcommand(new ConfigCommand());
-    registerSubcommand(new DeployCommand());
-    registerSubcommand(new ShutdownCommand());
-    registerSubcommand(new TaskCommand());
-    registerSubcommand(new VersionCommand());
-    registerSubcommand(new SpinCommand());
-    registerSubcommand(new PluginCommand());
+    registerSubcommand(AdminCommand::new);
+    registerSubcommand(BackupCommand::new);
+    registerSubcommand(BatchCommand::new);
+    registerSubcommand(ConfigCommand::new);
+    registerSubcommand(DeployCommand::new);
+    registerSubcommand(ShutdownCommand::new);
+    registerSubcommand(TaskCommand::new);
+    registerSubcommand(VersionCommand::new);
+    registerSubcommand(SpinCommand::new);
+    registerSubcommand(PluginCommand::new);
   }
 
   static String getVersion() {
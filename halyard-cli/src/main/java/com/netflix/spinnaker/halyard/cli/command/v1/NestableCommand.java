@@ -37,13 +37,18 @@ import com.netflix.spinnaker.halyard.core.resource.v1.StringReplaceJarResource;
 import java.io.Console;
 import java.net.ConnectException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -150,6 +155,16 @@ public abstract class NestableCommand {
    * @see NestableCommand#executeThis()
    */
   public void execute() {
+    execute(true);
+  }
+
+  /**
+   * Like {@link #execute()}, but with the choice of how failures are handled.
+   *
+   * @param exitOnFailure when false, failures are thrown to the caller rather than reported before
+   *     exiting, so that a process running many commands can carry on past one that fails.
+   */
+  void execute(boolean exitOnFailure) {
     String subCommand = commander.getParsedCommand();
     if (subCommand == null) {
       if (help) {
@@ -169,10 +184,14 @@ public abstract class NestableCommand {
             return;
           }
         }
-        safeExecuteThis();
+        if (exitOnFailure) {
+          safeExecuteThis();
+        } else {
+          executeThisOrOptions();
+        }
       }
     } else {
-      subcommands.get(subCommand).execute();
+      subcommands().get(subCommand).execute(exitOnFailure);
     }
   }
 
@@ -215,12 +234,7 @@ public abstract class NestableCommand {
   /** Used to consistently format exceptions thrown by connecting to the halyard daemon. */
   private void safeExecuteThis() {
     try {
-      if (options != null) {
-        List<String> available = options(translateFieldName(options));
-        AnsiUi.raw(String.join(" ", available));
-      } else {
-        executeThis();
-      }
+      executeThisOrOptions();
     } catch (RetrofitError e) {
       if (e.getCause() instanceof ConnectException) {
         AnsiUi.error(e.getCause().getMessage());
@@ -251,6 +265,15 @@ public abstract class NestableCommand {
     }
   }
 
+  private void executeThisOrOptions() {
+    if (options != null) {
+      List<String> available = options(translateFieldName(options));
+      AnsiUi.raw(String.join(" ", available));
+    } else {
+      executeThis();
+    }
+  }
+
   protected void showHelp() {
     AnsiStoryBuilder story = new AnsiStoryBuilder();
     int indentWidth = 2;
@@ -269,7 +292,7 @@ public abstract class NestableCommand {
       usage += " [parameters]";
     }
 
-    if (!subcommands.isEmpty()) {
+    if (!subcommands().isEmpty()) {
       usage += " [subcommands]";
     }
 
@@ -322,7 +345,7 @@ public abstract class NestableCommand {
       }
     }
 
-    if (!subcommands.isEmpty()) {
+    if (!subcommands().isEmpty()) {
       int maxLen = -1;
       for (String key : subcommands.keySet()) {
         if (key.length() > maxLen) {
@@ -396,6 +419,8 @@ public abstract class NestableCommand {
   }
 
   public String generateDocs() {
+    configureSubcommands();
+
     StringBuilder toc = new StringBuilder();
     toc.append("\n\n# Table of Contents\n\n");
     StringBuilder body = new StringBuilder();
@@ -408,7 +433,7 @@ public abstract class NestableCommand {
     commandDocs(body);
     commandLink(toc);
 
-    for (NestableCommand command : subcommands.values()) {
+    for (NestableCommand command : subcommands().values()) {
       command.nestedCommandDocs(toc, body);
     }
   }
@@ -459,7 +484,7 @@ public abstract class NestableCommand {
       result.append(" [parameters]");
     }
 
-    if (!subcommands.isEmpty()) {
+    if (!subcommands().isEmpty()) {
       result.append(" [subcommands]");
     }
 
@@ -504,7 +529,7 @@ public abstract class NestableCommand {
       result.append("\n");
     }
 
-    if (!subcommands.isEmpty()) {
+    if (!subcommands().isEmpty()) {
       result.append("#### Subcommands\n");
 
       List<String> keys = new ArrayList<>(subcommands.keySet());
@@ -556,6 +581,8 @@ public abstract class NestableCommand {
   }
 
   public String commandCompletor() {
+    configureSubcommands();
+
     StringReplaceJarResource completorBody = new StringReplaceJarResource("/hal-completor-body");
     Map<String, Object> bindings = new HashMap<>();
 
@@ -574,7 +601,7 @@ public abstract class NestableCommand {
             .reduce("", (a, b) -> a + " " + b);
 
     String subcommandNames =
-        subcommands.entrySet().stream().map(Map.Entry::getKey).reduce("", (a, b) -> a + " " + b);
+        subcommands().entrySet().stream().map(Map.Entry::getKey).reduce("", (a, b) -> a + " " + b);
 
     bindings.put("subcommands", subcommandNames);
     bindings.put("flags", flagNames);
@@ -583,7 +610,7 @@ public abstract class NestableCommand {
     bindings.put("next", (depth + 1) + "");
 
     String subCases =
-        subcommands.entrySet().stream()
+        subcommands().entrySet().stream()
             .map(c -> c.getValue().commandCompletorCase(depth + 1))
             .reduce("", (a, b) -> a + b);
 
@@ -602,9 +629,33 @@ public abstract class NestableCommand {
     return getShortDescription();
   }
 
-  @Getter(AccessLevel.PROTECTED)
   private Map<String, NestableCommand> subcommands = new TreeMap<>();
 
+  // Subcommands that haven't been instantiated yet, see registerSubcommand(Supplier).
+  private List<Supplier<? extends NestableCommand>> pendingSubcommands = new ArrayList<>();
+
+  protected Map<String, NestableCommand> getSubcommands() {
+    return subcommands();
+  }
+
+  private Map<String, NestableCommand> subcommands() {
+    if (!pendingSubcommands.isEmpty()) {
+      List<Supplier<? extends NestableCommand>> pending = pendingSubcommands;
+      pendingSubcommands = new ArrayList<>();
+      pending.forEach(s -> registerSubcommand(s.get()));
+    }
+
+    return subcommands;
+  }
+
+  /**
+   * Registers a subcommand that is only instantiated once this command's subcommands are needed, so
+   * that running one command doesn't instantiate (and load the classes of) the whole command tree.
+   */
+  protected void registerSubcommand(Supplier<? extends NestableCommand> subcommand) {
+    pendingSubcommands.add(subcommand);
+  }
+
   protected void registerSubcommand(NestableCommand subcommand) {
     String subcommandName = subcommand.getCommandName();
     if (subcommands.containsKey(subcommandName)) {
@@ -622,21 +673,41 @@ public abstract class NestableCommand {
    * configuring their command names along the way.
    */
   public void configureSubcommands() {
+    configureSubcommands(name -> true);
+  }
+
+  /**
+   * Like configureSubcommands(), but only recurses into subcommands whose name appears in args.
+   * Every command on the path that args invokes is named in args, so args can then be parsed having
+   * only instantiated the commands along that path and their immediate subcommands.
+   */
+  public void configureSubcommands(String[] args) {
+    Set<String> names = new HashSet<>(Arrays.asList(args));
+    configureSubcommands(names::contains);
+  }
+
+  private void configureSubcommands(Predicate<String> recurse) {
     if (fullCommandName.isEmpty()) {
       fullCommandName = getCommandName();
     }
 
-    for (NestableCommand subCommand : subcommands.values()) {
-      subCommand.fullCommandName = fullCommandName + " " + subCommand.getCommandName();
+    for (NestableCommand subCommand : subcommands().values()) {
+      String name = subCommand.getCommandName();
+      if (!commander.getCommands().containsKey(name)) {
+        subCommand.fullCommandName = fullCommandName + " " + name;
+
+        commander.addCommand(name, subCommand);
 
-      commander.addCommand(subCommand.getCommandName(), subCommand);
+        // We need to provide the subcommand with its own commander before recursively populating
+        // its subcommands, since they need to be registered with this subcommander we retrieve
+        // here.
+        JCommander subCommander = commander.getCommands().get(name);
+        subCommand.setCommander(subCommander);
+      }
 
-      // We need to provide the subcommand with its own commander before recursively populating its
-      // subcommands, since
-      // they need to be registered with this subcommander we retrieve here.
-      JCommander subCommander = commander.getCommands().get(subCommand.getCommandName());
-      subCommand.setCommander(subCommander);
-      subCommand.configureSubcommands();
+      if (recurse.test(name)) {
+        subCommand.configureSubcommands(recurse);
+      }
     }
   }
 
@@ -32,14 +32,16 @@ public class PluginCommand extends AbstractConfigCommand {
   private String shortDescription = "Show Spinnaker's configured plugins.";
 
   public PluginCommand() {
-    registerSubcommand(new PluginRepositoryCommand());
-    registerSubcommand(new AddPluginCommand());
-    registerSubcommand(new DeletePluginCommand());
-    registerSubcommand(new ListPluginsCommand());
-    registerSubcommand(new PluginEnableDisableCommandBuilder().setEnable(true).build());
-    registerSubcommand(new PluginEnableDisableCommandBuilder().setEnable(false).build());
-    registerSubcommand(new PluginDownloadingEnableDisableCommandBuilder().setEnable(true).build());
-    registerSubcommand(new PluginDownloadingEnableDisableCommandBuilder().setEnable(false).build());
+    registerSubcommand(PluginRepositoryCommand::new);
+    registerSubcommand(AddPluginCommand::new);
+    registerSubcommand(DeletePluginCommand::new);
+    registerSubcommand(ListPluginsCommand::new);
+    registerSubcommand(() -> new PluginEnableDisableCommandBuilder().setEnable(true).build());
+    registerSubcommand(() -> new PluginEnableDisableCommandBuilder().setEnable(false).build());
+    registerSubcommand(
+        () -> new PluginDownloadingEnableDisableCommandBuilder().setEnable(true).build());
+    registerSubcommand(
+        () -> new PluginDownloadingEnableDisableCommandBuilder().setEnable(false).build());
   }
 
   @Override
@@ -30,7 +30,7 @@ public class SpinCommand extends NestableCommand {
   private String shortDescription = "Manage the lifecycle of spin CLI.";
 
   public SpinCommand() {
-    registerSubcommand(new InstallSpinCommand());
+    registerSubcommand(InstallSpinCommand::new);
   }
 
   @Override
@@ -40,8 +40,8 @@ public class TaskCommand extends NestableCommand {
           "of commands exposes some information about these tasks. The commands here are mainly for troubleshooting.");
 
   public TaskCommand() {
-    registerSubcommand(new InterruptTaskCommand());
-    registerSubcommand(new ListTaskCommand());
+    registerSubcommand(InterruptTaskCommand::new);
+    registerSubcommand(ListTaskCommand::new);
   }
 
   @Override
@@ -32,9 +32,9 @@ public class VersionCommand extends NestableCommand {
   private String shortDescription = "Get information about the available Spinnaker versions.";
 
   public VersionCommand() {
-    registerSubcommand(new LatestVersionCommand());
-    registerSubcommand(new BomVersionCommand());
-    registerSubcommand(new ListVersionCommand());
+    registerSubcommand(LatestVersionCommand::new);
+    registerSubcommand(BomVersionCommand::new);
+    registerSubcommand(ListVersionCommand::new);
   }
 
   @Override
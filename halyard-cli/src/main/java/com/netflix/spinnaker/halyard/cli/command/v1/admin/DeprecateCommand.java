@@ -34,7 +34,7 @@ public class DeprecateCommand extends NestableCommand {
 
   public DeprecateCommand() {
     super();
-    registerSubcommand(new DeprecateVersionCommand());
+    registerSubcommand(DeprecateVersionCommand::new);
   }
 
   @Override
@@ -32,12 +32,12 @@ public class PublishCommand extends NestableCommand {
 
   public PublishCommand() {
     super();
-    registerSubcommand(new PublishBomCommand());
-    registerSubcommand(new PublishLatestCommand());
-    registerSubcommand(new PublishLatestSpinnakerCommand());
-    registerSubcommand(new PublishLatestHalyardCommand());
-    registerSubcommand(new PublishProfileCommand());
-    registerSubcommand(new PublishVersionCommand());
+    registerSubcommand(PublishBomCommand::new);
+    registerSubcommand(PublishLatestCommand::new);
+    registerSubcommand(PublishLatestSpinnakerCommand::new);
+    registerSubcommand(PublishLatestHalyardCommand::new);
+    registerSubcommand(PublishProfileCommand::new);
+    registerSubcommand(PublishVersionCommand::new);
   }
 
   @Override
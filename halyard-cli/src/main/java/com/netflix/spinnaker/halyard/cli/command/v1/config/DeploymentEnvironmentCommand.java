@@ -36,9 +36,9 @@ public class DeploymentEnvironmentCommand extends AbstractConfigCommand {
   private String shortDescription = "Display the configured Spinnaker deployment.";
 
   public DeploymentEnvironmentCommand() {
-    registerSubcommand(new EditDeploymentEnvironmentCommand());
-    registerSubcommand(new HaServiceCommand());
-    registerSubcommand(new ComponentSizingCommand());
+    registerSubcommand(EditDeploymentEnvironmentCommand::new);
+    registerSubcommand(HaServiceCommand::new);
+    registerSubcommand(ComponentSizingCommand::new);
   }
 
   @Override
@@ -21,12 +21,14 @@ import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 import com.netflix.spinnaker.halyard.cli.command.v1.converter.DeploymentTypeConverter;
 import com.netflix.spinnaker.halyard.cli.command.v1.converter.ImageVariantConverter;
+import com.netflix.spinnaker.halyard.cli.command.v1.converter.KubernetesClientTypeConverter;
 import com.netflix.spinnaker.halyard.cli.services.v1.Daemon;
 import com.netflix.spinnaker.halyard.cli.services.v1.OperationHandler;
 import com.netflix.spinnaker.halyard.cli.ui.v1.AnsiUi;
 import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentEnvironment;
 import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentEnvironment.DeploymentType;
 import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentEnvironment.ImageVariant;
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentEnvironment.KubernetesClientType;
 import lombok.AccessLevel;
 import lombok.Getter;
 
@@ -117,6 +119,30 @@ public class EditDeploymentEnvironmentCommand extends AbstractConfigCommand {
       converter = ImageVariantConverter.class)
   private ImageVariant imageVariant;
 
+  @Parameter(
+      names = "--kubernetes-client-type",
+      description =
+          "How Halyard talks to the Kubernetes cluster Spinnaker is deployed to.\n"
+              + "\tkubectl: Run kubectl for every operation against the cluster\n"
+              + "\tapi: Talk to the cluster's API server directly, over a pooled connection per account\n"
+              + "Default value: kubectl",
+      converter = KubernetesClientTypeConverter.class)
+  private KubernetesClientType kubernetesClientType;
+
+  @Parameter(
+      names = "--kubernetes-server-side-apply",
+      arity = 1,
+      description =
+          "When true, apply Spinnaker's Kubernetes manifests with server-side apply. The api client type always uses server-side apply.")
+  private Boolean kubernetesServerSideApply;
+
+  @Parameter(
+      names = "--kubernetes-batch-apply",
+      arity = 1,
+      description =
+          "When true, apply all of a service's Kubernetes manifests together rather than one at a time, and check which of them already exist with a single lookup.")
+  private Boolean kubernetesBatchApply;
+
   @Parameter(
       names = "--git-upstream-user",
       description =
@@ -204,6 +230,21 @@ public class EditDeploymentEnvironmentCommand extends AbstractConfigCommand {
     }
     deploymentEnvironment.setLivenessProbeConfig(livenessProbeConfig);
 
+    DeploymentEnvironment.KubernetesDeployConfig kubernetes = deploymentEnvironment.getKubernetes();
+    if (kubernetes == null) {
+      kubernetes = new DeploymentEnvironment.KubernetesDeployConfig();
+    }
+    if (isSet(kubernetesClientType)) {
+      kubernetes.setClientType(kubernetesClientType);
+    }
+    if (isSet(kubernetesServerSideApply)) {
+      kubernetes.setServerSideApply(kubernetesServerSideApply);
+    }
+    if (isSet(kubernetesBatchApply)) {
+      kubernetes.setBatchApply(kubernetesBatchApply);
+    }
+    deploymentEnvironment.setKubernetes(kubernetes);
+
     deploymentEnvironment.setLocation(
         isSet(location) ? location : deploymentEnvironment.getLocation());
 
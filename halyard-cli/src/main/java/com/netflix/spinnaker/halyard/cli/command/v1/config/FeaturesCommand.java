@@ -33,7 +33,7 @@ public class FeaturesCommand extends AbstractConfigCommand {
   private String shortDescription = "Display the state of Spinnaker's feature flags.";
 
   public FeaturesCommand() {
-    registerSubcommand(new EditFeaturesCommand());
+    registerSubcommand(EditFeaturesCommand::new);
   }
 
   @Override
@@ -44,11 +44,11 @@ public class MetricStoresCommand extends AbstractConfigCommand {
           + "whichever metric stores you enable (it can be more than one).";
 
   public MetricStoresCommand() {
-    registerSubcommand(new EditMetricStoresCommand());
-    registerSubcommand(new DatadogCommand());
-    registerSubcommand(new NewrelicCommand());
-    registerSubcommand(new PrometheusCommand());
-    registerSubcommand(new StackdriverCommand());
+    registerSubcommand(EditMetricStoresCommand::new);
+    registerSubcommand(DatadogCommand::new);
+    registerSubcommand(NewrelicCommand::new);
+    registerSubcommand(PrometheusCommand::new);
+    registerSubcommand(StackdriverCommand::new);
   }
 
   @Override
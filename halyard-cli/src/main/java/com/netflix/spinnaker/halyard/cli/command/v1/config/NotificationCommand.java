@@ -39,10 +39,10 @@ public class NotificationCommand extends AbstractConfigCommand {
   private String shortDescription = "Display the state of Spinnaker's notification settings.";
 
   public NotificationCommand() {
-    registerSubcommand(new GithubStatusCommand());
-    registerSubcommand(new PubsubCommand());
-    registerSubcommand(new SlackCommand());
-    registerSubcommand(new TwilioCommand());
+    registerSubcommand(GithubStatusCommand::new);
+    registerSubcommand(PubsubCommand::new);
+    registerSubcommand(SlackCommand::new);
+    registerSubcommand(TwilioCommand::new);
   }
 
   @Override
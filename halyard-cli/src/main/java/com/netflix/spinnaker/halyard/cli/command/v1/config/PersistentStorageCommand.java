@@ -38,11 +38,11 @@ public class PersistentStorageCommand extends AbstractConfigCommand {
   private String shortDescription = "Show Spinnaker's persistent storage configuration.";
 
   public PersistentStorageCommand() {
-    registerSubcommand(new GcsCommand());
-    registerSubcommand(new S3Command());
-    registerSubcommand(new AzsCommand());
-    registerSubcommand(new OracleCommand());
-    registerSubcommand(new EditPersistentStorageCommand());
+    registerSubcommand(GcsCommand::new);
+    registerSubcommand(S3Command::new);
+    registerSubcommand(AzsCommand::new);
+    registerSubcommand(OracleCommand::new);
+    registerSubcommand(EditPersistentStorageCommand::new);
   }
 
   @Override
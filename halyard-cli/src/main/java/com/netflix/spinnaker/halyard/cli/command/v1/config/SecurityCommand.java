@@ -39,10 +39,10 @@ public class SecurityCommand extends AbstractConfigCommand {
       "Configure Spinnaker's security. This includes external SSL, authentication mechanisms, and authorization policies.";
 
   public SecurityCommand() {
-    registerSubcommand(new ApiSecurityCommand());
-    registerSubcommand(new AuthnCommand());
-    registerSubcommand(new AuthzCommand());
-    registerSubcommand(new UiSecurityCommand());
+    registerSubcommand(ApiSecurityCommand::new);
+    registerSubcommand(AuthnCommand::new);
+    registerSubcommand(AuthzCommand::new);
+    registerSubcommand(UiSecurityCommand::new);
   }
 
   @Override
@@ -34,7 +34,7 @@ public class VersionConfigCommand extends AbstractConfigCommand {
       "Configure & view the current deployment of Spinnaker's version.";
 
   public VersionConfigCommand() {
-    registerSubcommand(new EditVersionCommand());
+    registerSubcommand(EditVersionCommand::new);
   }
 
   @Override
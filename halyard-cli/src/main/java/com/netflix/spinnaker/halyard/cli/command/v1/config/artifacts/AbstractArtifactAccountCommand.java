@@ -40,19 +40,22 @@ public abstract class AbstractArtifactAccountCommand extends AbstractHasArtifact
 
   protected AbstractArtifactAccountCommand() {
     registerSubcommand(
-        new DeleteArtifactAccountCommandBuilder()
-            .setArtifactProviderName(getArtifactProviderName())
-            .build());
+        () ->
+            new DeleteArtifactAccountCommandBuilder()
+                .setArtifactProviderName(getArtifactProviderName())
+                .build());
 
     registerSubcommand(
-        new GetArtifactAccountCommandBuilder()
-            .setArtifactProviderName(getArtifactProviderName())
-            .build());
+        () ->
+            new GetArtifactAccountCommandBuilder()
+                .setArtifactProviderName(getArtifactProviderName())
+                .build());
 
     registerSubcommand(
-        new ListArtifactAccountsCommandBuilder()
-            .setArtifactProviderName(getArtifactProviderName())
-            .build());
+        () ->
+            new ListArtifactAccountsCommandBuilder()
+                .setArtifactProviderName(getArtifactProviderName())
+                .build());
   }
 
   @Override
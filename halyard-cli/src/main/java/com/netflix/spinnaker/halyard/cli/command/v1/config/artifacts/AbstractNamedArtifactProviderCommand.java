@@ -41,16 +41,18 @@ public abstract class AbstractNamedArtifactProviderCommand extends AbstractArtif
 
   protected AbstractNamedArtifactProviderCommand() {
     registerSubcommand(
-        new ArtifactProviderEnableDisableCommandBuilder()
-            .setArtifactProviderName(getArtifactProviderName())
-            .setEnable(false)
-            .build());
+        () ->
+            new ArtifactProviderEnableDisableCommandBuilder()
+                .setArtifactProviderName(getArtifactProviderName())
+                .setEnable(false)
+                .build());
 
     registerSubcommand(
-        new ArtifactProviderEnableDisableCommandBuilder()
-            .setArtifactProviderName(getArtifactProviderName())
-            .setEnable(true)
-            .build());
+        () ->
+            new ArtifactProviderEnableDisableCommandBuilder()
+                .setArtifactProviderName(getArtifactProviderName())
+                .setEnable(true)
+                .build());
   }
 
   @Override
@@ -49,17 +49,17 @@ public class ArtifactProviderCommand extends NestableCommand {
       "Configure, validate, and view the specified artifact provider.";
 
   public ArtifactProviderCommand() {
-    registerSubcommand(new BitbucketArtifactProviderCommand());
-    registerSubcommand(new GcsArtifactProviderCommand());
-    registerSubcommand(new OracleArtifactProviderCommand());
-    registerSubcommand(new GitHubArtifactProviderCommand());
-    registerSubcommand(new GitlabArtifactProviderCommand());
-    registerSubcommand(new GitRepoArtifactProviderCommand());
-    registerSubcommand(new HttpArtifactProviderCommand());
-    registerSubcommand(new HelmArtifactProviderCommand());
-    registerSubcommand(new S3ArtifactProviderCommand());
-    registerSubcommand(new MavenArtifactProviderCommand());
-    registerSubcommand((new ArtifactTemplateCommand()));
+    registerSubcommand(BitbucketArtifactProviderCommand::new);
+    registerSubcommand(GcsArtifactProviderCommand::new);
+    registerSubcommand(OracleArtifactProviderCommand::new);
+    registerSubcommand(GitHubArtifactProviderCommand::new);
+    registerSubcommand(GitlabArtifactProviderCommand::new);
+    registerSubcommand(GitRepoArtifactProviderCommand::new);
+    registerSubcommand(HttpArtifactProviderCommand::new);
+    registerSubcommand(HelmArtifactProviderCommand::new);
+    registerSubcommand(S3ArtifactProviderCommand::new);
+    registerSubcommand(MavenArtifactProviderCommand::new);
+    registerSubcommand(ArtifactTemplateCommand::new);
   }
 
   @Override
@@ -29,7 +29,7 @@ public class BitbucketArtifactAccountCommand extends AbstractArtifactAccountComm
   }
 
   public BitbucketArtifactAccountCommand() {
-    registerSubcommand(new BitbucketAddArtifactAccountCommand());
-    registerSubcommand(new BitbucketEditArtifactAccountCommand());
+    registerSubcommand(BitbucketAddArtifactAccountCommand::new);
+    registerSubcommand(BitbucketEditArtifactAccountCommand::new);
   }
 }
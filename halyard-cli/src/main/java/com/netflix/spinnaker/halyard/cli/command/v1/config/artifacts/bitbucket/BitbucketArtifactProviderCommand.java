@@ -29,6 +29,6 @@ public class BitbucketArtifactProviderCommand extends AbstractNamedArtifactProvi
   }
 
   public BitbucketArtifactProviderCommand() {
-    registerSubcommand(new BitbucketArtifactAccountCommand());
+    registerSubcommand(BitbucketArtifactAccountCommand::new);
   }
 }
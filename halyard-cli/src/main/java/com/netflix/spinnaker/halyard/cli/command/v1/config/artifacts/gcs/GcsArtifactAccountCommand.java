@@ -29,7 +29,7 @@ public class GcsArtifactAccountCommand extends AbstractArtifactAccountCommand {
   }
 
   public GcsArtifactAccountCommand() {
-    registerSubcommand(new GcsAddArtifactAccountCommand());
-    registerSubcommand(new GcsEditArtifactAccountCommand());
+    registerSubcommand(GcsAddArtifactAccountCommand::new);
+    registerSubcommand(GcsEditArtifactAccountCommand::new);
   }
 }
@@ -29,6 +29,6 @@ public class GcsArtifactProviderCommand extends AbstractNamedArtifactProviderCom
   }
 
   public GcsArtifactProviderCommand() {
-    registerSubcommand(new GcsArtifactAccountCommand());
+    registerSubcommand(GcsArtifactAccountCommand::new);
   }
 }
@@ -29,7 +29,7 @@ public class GitHubArtifactAccountCommand extends AbstractArtifactAccountCommand
   }
 
   public GitHubArtifactAccountCommand() {
-    registerSubcommand(new GitHubAddArtifactAccountCommand());
-    registerSubcommand(new GitHubEditArtifactAccountCommand());
+    registerSubcommand(GitHubAddArtifactAccountCommand::new);
+    registerSubcommand(GitHubEditArtifactAccountCommand::new);
   }
 }
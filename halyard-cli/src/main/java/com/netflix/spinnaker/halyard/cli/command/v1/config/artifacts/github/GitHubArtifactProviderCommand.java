@@ -29,6 +29,6 @@ public class GitHubArtifactProviderCommand extends AbstractNamedArtifactProvider
   }
 
   public GitHubArtifactProviderCommand() {
-    registerSubcommand(new GitHubArtifactAccountCommand());
+    registerSubcommand(GitHubArtifactAccountCommand::new);
   }
 }
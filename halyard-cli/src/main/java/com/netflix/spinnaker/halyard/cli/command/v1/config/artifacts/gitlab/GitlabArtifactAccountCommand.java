@@ -29,7 +29,7 @@ public class GitlabArtifactAccountCommand extends AbstractArtifactAccountCommand
   }
 
   public GitlabArtifactAccountCommand() {
-    registerSubcommand(new GitlabAddArtifactAccountCommand());
-    registerSubcommand(new GitlabEditArtifactAccountCommand());
+    registerSubcommand(GitlabAddArtifactAccountCommand::new);
+    registerSubcommand(GitlabEditArtifactAccountCommand::new);
   }
 }
@@ -29,6 +29,6 @@ public class GitlabArtifactProviderCommand extends AbstractNamedArtifactProvider
   }
 
   public GitlabArtifactProviderCommand() {
-    registerSubcommand(new GitlabArtifactAccountCommand());
+    registerSubcommand(GitlabArtifactAccountCommand::new);
   }
 }
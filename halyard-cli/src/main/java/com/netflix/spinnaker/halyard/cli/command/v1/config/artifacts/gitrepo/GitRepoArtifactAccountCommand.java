@@ -29,7 +29,7 @@ public class GitRepoArtifactAccountCommand extends AbstractArtifactAccountComman
   }
 
   public GitRepoArtifactAccountCommand() {
-    registerSubcommand(new GitRepoAddArtifactAccountCommand());
-    registerSubcommand(new GitRepoEditArtifactAccountCommand());
+    registerSubcommand(GitRepoAddArtifactAccountCommand::new);
+    registerSubcommand(GitRepoEditArtifactAccountCommand::new);
   }
 }
@@ -29,6 +29,6 @@ public class GitRepoArtifactProviderCommand extends AbstractNamedArtifactProvide
   }
 
   public GitRepoArtifactProviderCommand() {
-    registerSubcommand(new GitRepoArtifactAccountCommand());
+    registerSubcommand(GitRepoArtifactAccountCommand::new);
   }
 }
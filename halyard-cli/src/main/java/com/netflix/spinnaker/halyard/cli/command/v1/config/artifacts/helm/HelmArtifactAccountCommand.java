@@ -29,7 +29,7 @@ public class HelmArtifactAccountCommand extends AbstractArtifactAccountCommand {
   }
 
   public HelmArtifactAccountCommand() {
-    registerSubcommand(new HelmAddArtifactAccountCommand());
-    registerSubcommand(new HelmEditArtifactAccountCommand());
+    registerSubcommand(HelmAddArtifactAccountCommand::new);
+    registerSubcommand(HelmEditArtifactAccountCommand::new);
   }
 }
@@ -29,6 +29,6 @@ public class HelmArtifactProviderCommand extends AbstractNamedArtifactProviderCo
   }
 
   public HelmArtifactProviderCommand() {
-    registerSubcommand(new HelmArtifactAccountCommand());
+    registerSubcommand(HelmArtifactAccountCommand::new);
   }
 }
@@ -29,7 +29,7 @@ public class HttpArtifactAccountCommand extends AbstractArtifactAccountCommand {
   }
 
   public HttpArtifactAccountCommand() {
-    registerSubcommand(new HttpAddArtifactAccountCommand());
-    registerSubcommand(new HttpEditArtifactAccountCommand());
+    registerSubcommand(HttpAddArtifactAccountCommand::new);
+    registerSubcommand(HttpEditArtifactAccountCommand::new);
   }
 }
@@ -29,6 +29,6 @@ public class HttpArtifactProviderCommand extends AbstractNamedArtifactProviderCo
   }
 
   public HttpArtifactProviderCommand() {
-    registerSubcommand(new HttpArtifactAccountCommand());
+    registerSubcommand(HttpArtifactAccountCommand::new);
   }
 }
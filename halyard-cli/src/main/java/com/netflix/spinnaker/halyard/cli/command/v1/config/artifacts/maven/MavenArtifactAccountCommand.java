@@ -27,7 +27,7 @@ public class MavenArtifactAccountCommand extends AbstractArtifactAccountCommand
   }
 
   public MavenArtifactAccountCommand() {
-    registerSubcommand(new MavenAddArtifactAccountCommand());
-    registerSubcommand(new MavenEditArtifactAccountCommand());
+    registerSubcommand(MavenAddArtifactAccountCommand::new);
+    registerSubcommand(MavenEditArtifactAccountCommand::new);
   }
 }
@@ -27,6 +27,6 @@ public class MavenArtifactProviderCommand extends AbstractNamedArtifactProviderC
   }
 
   public MavenArtifactProviderCommand() {
-    registerSubcommand(new MavenArtifactAccountCommand());
+    registerSubcommand(MavenArtifactAccountCommand::new);
   }
 }
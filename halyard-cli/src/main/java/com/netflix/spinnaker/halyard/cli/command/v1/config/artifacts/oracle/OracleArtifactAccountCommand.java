@@ -20,7 +20,7 @@ public class OracleArtifactAccountCommand extends AbstractArtifactAccountCommand
   }
 
   public OracleArtifactAccountCommand() {
-    registerSubcommand(new OracleAddArtifactAccountCommand());
-    registerSubcommand(new OracleEditArtifactAccountCommand());
+    registerSubcommand(OracleAddArtifactAccountCommand::new);
+    registerSubcommand(OracleEditArtifactAccountCommand::new);
   }
 }
@@ -20,6 +20,6 @@ public class OracleArtifactProviderCommand extends AbstractNamedArtifactProvider
   }
 
   public OracleArtifactProviderCommand() {
-    registerSubcommand(new OracleArtifactAccountCommand());
+    registerSubcommand(OracleArtifactAccountCommand::new);
   }
 }
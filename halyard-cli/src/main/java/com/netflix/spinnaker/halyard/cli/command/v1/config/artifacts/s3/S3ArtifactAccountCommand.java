@@ -29,7 +29,7 @@ public class S3ArtifactAccountCommand extends AbstractArtifactAccountCommand {
   }
 
   public S3ArtifactAccountCommand() {
-    registerSubcommand(new S3AddArtifactAccountCommand());
-    registerSubcommand(new S3EditArtifactAccountCommand());
+    registerSubcommand(S3AddArtifactAccountCommand::new);
+    registerSubcommand(S3EditArtifactAccountCommand::new);
   }
 }
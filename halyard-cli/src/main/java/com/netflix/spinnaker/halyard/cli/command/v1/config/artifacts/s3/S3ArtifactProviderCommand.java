@@ -29,6 +29,6 @@ public class S3ArtifactProviderCommand extends AbstractNamedArtifactProviderComm
   }
 
   public S3ArtifactProviderCommand() {
-    registerSubcommand(new S3ArtifactAccountCommand());
+    registerSubcommand(S3ArtifactAccountCommand::new);
   }
 }
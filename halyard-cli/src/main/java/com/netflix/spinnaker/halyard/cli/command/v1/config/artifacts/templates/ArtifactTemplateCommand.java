@@ -30,10 +30,10 @@ public class ArtifactTemplateCommand extends AbstractConfigCommand {
   private String shortDescription = "Show Spinnaker's configured artifact templates.";
 
   public ArtifactTemplateCommand() {
-    registerSubcommand(new AddArtifactTemplateCommand());
-    registerSubcommand(new EditArtifactTemplateCommand());
-    registerSubcommand(new DeleteArtifactTemplateCommand());
-    registerSubcommand(new ListArtifactTemplatesCommand());
+    registerSubcommand(AddArtifactTemplateCommand::new);
+    registerSubcommand(EditArtifactTemplateCommand::new);
+    registerSubcommand(DeleteArtifactTemplateCommand::new);
+    registerSubcommand(ListArtifactTemplatesCommand::new);
   }
 
   @Override
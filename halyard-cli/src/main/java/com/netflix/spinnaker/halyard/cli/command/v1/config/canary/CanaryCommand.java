@@ -41,15 +41,15 @@ public class CanaryCommand extends AbstractConfigCommand {
   String shortDescription = "Configure your canary analysis settings for Spinnaker.";
 
   public CanaryCommand() {
-    registerSubcommand(new EnableDisableCanaryCommandBuilder().setEnable(true).build());
-    registerSubcommand(new EnableDisableCanaryCommandBuilder().setEnable(false).build());
-    registerSubcommand(new EditCanaryCommand());
-    registerSubcommand(new CanaryGoogleCommand());
-    registerSubcommand(new CanaryPrometheusCommand());
-    registerSubcommand(new CanaryDatadogCommand());
-    registerSubcommand(new CanarySignalfxCommand());
-    registerSubcommand(new CanaryAwsCommand());
-    registerSubcommand(new CanaryNewRelicCommand());
+    registerSubcommand(() -> new EnableDisableCanaryCommandBuilder().setEnable(true).build());
+    registerSubcommand(() -> new EnableDisableCanaryCommandBuilder().setEnable(false).build());
+    registerSubcommand(EditCanaryCommand::new);
+    registerSubcommand(CanaryGoogleCommand::new);
+    registerSubcommand(CanaryPrometheusCommand::new);
+    registerSubcommand(CanaryDatadogCommand::new);
+    registerSubcommand(CanarySignalfxCommand::new);
+    registerSubcommand(CanaryAwsCommand::new);
+    registerSubcommand(CanaryNewRelicCommand::new);
   }
 
   @Override
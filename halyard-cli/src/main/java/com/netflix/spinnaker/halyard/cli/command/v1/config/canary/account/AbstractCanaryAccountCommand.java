@@ -34,9 +34,9 @@ public abstract class AbstractCanaryAccountCommand extends AbstractHasCanaryAcco
   }
 
   protected AbstractCanaryAccountCommand() {
-    registerSubcommand(new GetCanaryAccountCommand(getServiceIntegration()));
-    registerSubcommand(new DeleteCanaryAccountCommand(getServiceIntegration()));
-    registerSubcommand(new ListCanaryAccountsCommand(getServiceIntegration()));
+    registerSubcommand(() -> new GetCanaryAccountCommand(getServiceIntegration()));
+    registerSubcommand(() -> new DeleteCanaryAccountCommand(getServiceIntegration()));
+    registerSubcommand(() -> new ListCanaryAccountsCommand(getServiceIntegration()));
   }
 
   @Override
@@ -39,18 +39,20 @@ public class CanaryAwsCommand extends AbstractConfigCommand {
       "Configure your canary analysis AWS service integration settings for Spinnaker.";
 
   public CanaryAwsCommand() {
-    registerSubcommand(new EditCanaryAwsCommand());
+    registerSubcommand(EditCanaryAwsCommand::new);
     registerSubcommand(
-        new EnableDisableCanaryServiceIntegrationCommandBuilder()
-            .setName("AWS")
-            .setEnable(true)
-            .build());
+        () ->
+            new EnableDisableCanaryServiceIntegrationCommandBuilder()
+                .setName("AWS")
+                .setEnable(true)
+                .build());
     registerSubcommand(
-        new EnableDisableCanaryServiceIntegrationCommandBuilder()
-            .setName("AWS")
-            .setEnable(false)
-            .build());
-    registerSubcommand(new AwsCanaryAccountCommand());
+        () ->
+            new EnableDisableCanaryServiceIntegrationCommandBuilder()
+                .setName("AWS")
+                .setEnable(false)
+                .build());
+    registerSubcommand(AwsCanaryAccountCommand::new);
   }
 
   @Override
@@ -29,7 +29,7 @@ public class AwsCanaryAccountCommand extends AbstractCanaryAccountCommand {
   }
 
   public AwsCanaryAccountCommand() {
-    registerSubcommand(new AwsAddCanaryAccountCommand());
-    registerSubcommand(new AwsEditCanaryAccountCommand());
+    registerSubcommand(AwsAddCanaryAccountCommand::new);
+    registerSubcommand(AwsEditCanaryAccountCommand::new);
   }
 }
@@ -39,18 +39,20 @@ public class CanaryDatadogCommand extends AbstractConfigCommand {
       "Configure your canary analysis Datadog service integration settings for Spinnaker.";
 
   public CanaryDatadogCommand() {
-    registerSubcommand(new EditCanaryDatadogCommand());
+    registerSubcommand(EditCanaryDatadogCommand::new);
     registerSubcommand(
-        new EnableDisableCanaryServiceIntegrationCommandBuilder()
-            .setName("Datadog")
-            .setEnable(true)
-            .build());
+        () ->
+            new EnableDisableCanaryServiceIntegrationCommandBuilder()
+                .setName("Datadog")
+                .setEnable(true)
+                .build());
     registerSubcommand(
-        new EnableDisableCanaryServiceIntegrationCommandBuilder()
-            .setName("Datadog")
-            .setEnable(false)
-            .build());
-    registerSubcommand(new DatadogCanaryAccountCommand());
+        () ->
+            new EnableDisableCanaryServiceIntegrationCommandBuilder()
+                .setName("Datadog")
+                .setEnable(false)
+                .build());
+    registerSubcommand(DatadogCanaryAccountCommand::new);
   }
 
   @Override
@@ -29,7 +29,7 @@ public class DatadogCanaryAccountCommand extends AbstractCanaryAccountCommand {
   }
 
   public DatadogCanaryAccountCommand() {
-    registerSubcommand(new DatadogAddCanaryAccountCommand());
-    registerSubcommand(new DatadogEditCanaryAccountCommand());
+    registerSubcommand(DatadogAddCanaryAccountCommand::new);
+    registerSubcommand(DatadogEditCanaryAccountCommand::new);
   }
 }
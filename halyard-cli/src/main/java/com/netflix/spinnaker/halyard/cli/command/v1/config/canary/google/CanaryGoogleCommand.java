@@ -39,18 +39,20 @@ public class CanaryGoogleCommand extends AbstractConfigCommand {
       "Configure your canary analysis Google service integration settings for Spinnaker.";
 
   public CanaryGoogleCommand() {
-    registerSubcommand(new EditCanaryGoogleCommand());
+    registerSubcommand(EditCanaryGoogleCommand::new);
     registerSubcommand(
-        new EnableDisableCanaryServiceIntegrationCommandBuilder()
-            .setName("Google")
-            .setEnable(true)
-            .build());
+        () ->
+            new EnableDisableCanaryServiceIntegrationCommandBuilder()
+                .setName("Google")
+                .setEnable(true)
+                .build());
     registerSubcommand(
-        new EnableDisableCanaryServiceIntegrationCommandBuilder()
-            .setName("Google")
-            .setEnable(false)
-            .build());
-    registerSubcommand(new GoogleCanaryAccountCommand());
+        () ->
+            new EnableDisableCanaryServiceIntegrationCommandBuilder()
+                .setName("Google")
+                .setEnable(false)
+                .build());
+    registerSubcommand(GoogleCanaryAccountCommand::new);
   }
 
   @Override
@@ -29,7 +29,7 @@ public class GoogleCanaryAccountCommand extends AbstractCanaryAccountCommand {
   }
 
   public GoogleCanaryAccountCommand() {
-    registerSubcommand(new GoogleAddCanaryAccountCommand());
-    registerSubcommand(new GoogleEditCanaryAccountCommand());
+    registerSubcommand(GoogleAddCanaryAccountCommand::new);
+    registerSubcommand(GoogleEditCanaryAccountCommand::new);
   }
 }
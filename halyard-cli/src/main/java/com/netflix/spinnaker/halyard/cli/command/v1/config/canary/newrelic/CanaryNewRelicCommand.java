@@ -40,16 +40,18 @@ public class CanaryNewRelicCommand extends AbstractConfigCommand {
 
   public CanaryNewRelicCommand() {
     registerSubcommand(
-        new EnableDisableCanaryServiceIntegrationCommandBuilder()
-            .setName("newrelic")
-            .setEnable(true)
-            .build());
+        () ->
+            new EnableDisableCanaryServiceIntegrationCommandBuilder()
+                .setName("newrelic")
+                .setEnable(true)
+                .build());
     registerSubcommand(
-        new EnableDisableCanaryServiceIntegrationCommandBuilder()
-            .setName("newrelic")
-            .setEnable(false)
-            .build());
-    registerSubcommand(new NewRelicCanaryAccountCommand());
+        () ->
+            new EnableDisableCanaryServiceIntegrationCommandBuilder()
+                .setName("newrelic")
+                .setEnable(false)
+                .build());
+    registerSubcommand(NewRelicCanaryAccountCommand::new);
   }
 
   @Override
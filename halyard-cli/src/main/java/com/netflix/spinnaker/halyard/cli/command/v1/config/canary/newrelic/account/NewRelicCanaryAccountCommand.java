@@ -29,7 +29,7 @@ public class NewRelicCanaryAccountCommand extends AbstractCanaryAccountCommand {
   }
 
   public NewRelicCanaryAccountCommand() {
-    registerSubcommand(new NewRelicAddCanaryAccountCommand());
-    registerSubcommand(new NewRelicEditCanaryAccountCommand());
+    registerSubcommand(NewRelicAddCanaryAccountCommand::new);
+    registerSubcommand(NewRelicEditCanaryAccountCommand::new);
   }
 }
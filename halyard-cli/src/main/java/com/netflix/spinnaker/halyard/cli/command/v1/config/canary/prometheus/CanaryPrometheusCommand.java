@@ -39,18 +39,20 @@ public class CanaryPrometheusCommand extends AbstractConfigCommand {
       "Configure your canary analysis Prometheus service integration settings for Spinnaker.";
 
   public CanaryPrometheusCommand() {
-    registerSubcommand(new EditCanaryPrometheusCommand());
+    registerSubcommand(EditCanaryPrometheusCommand::new);
     registerSubcommand(
-        new EnableDisableCanaryServiceIntegrationCommandBuilder()
-            .setName("Prometheus")
-            .setEnable(true)
-            .build());
+        () ->
+            new EnableDisableCanaryServiceIntegrationCommandBuilder()
+                .setName("Prometheus")
+                .setEnable(true)
+                .build());
     registerSubcommand(
-        new EnableDisableCanaryServiceIntegrationCommandBuilder()
-            .setName("Prometheus")
-            .setEnable(false)
-            .build());
-    registerSubcommand(new PrometheusCanaryAccountCommand());
+        () ->
+            new EnableDisableCanaryServiceIntegrationCommandBuilder()
+                .setName("Prometheus")
+                .setEnable(false)
+                .build());
+    registerSubcommand(PrometheusCanaryAccountCommand::new);
   }
 
   @Override
@@ -29,7 +29,7 @@ public class PrometheusCanaryAccountCommand extends AbstractCanaryAccountCommand
   }
 
   public PrometheusCanaryAccountCommand() {
-    registerSubcommand(new PrometheusAddCanaryAccountCommand());
-    registerSubcommand(new PrometheusEditCanaryAccountCommand());
+    registerSubcommand(PrometheusAddCanaryAccountCommand::new);
+    registerSubcommand(PrometheusEditCanaryAccountCommand::new);
   }
 }
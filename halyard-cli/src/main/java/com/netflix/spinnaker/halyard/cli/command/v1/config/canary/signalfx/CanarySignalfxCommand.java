@@ -40,16 +40,18 @@ public class CanarySignalfxCommand extends AbstractConfigCommand {
 
   public CanarySignalfxCommand() {
     registerSubcommand(
-        new EnableDisableCanaryServiceIntegrationCommandBuilder()
-            .setName("Signalfx")
-            .setEnable(true)
-            .build());
+        () ->
+            new EnableDisableCanaryServiceIntegrationCommandBuilder()
+                .setName("Signalfx")
+                .setEnable(true)
+                .build());
     registerSubcommand(
-        new EnableDisableCanaryServiceIntegrationCommandBuilder()
-            .setName("Signalfx")
-            .setEnable(false)
-            .build());
-    registerSubcommand(new SignalfxCanaryAccountCommand());
+        () ->
+            new EnableDisableCanaryServiceIntegrationCommandBuilder()
+                .setName("Signalfx")
+                .setEnable(false)
+                .build());
+    registerSubcommand(SignalfxCanaryAccountCommand::new);
   }
 
   @Override
@@ -29,7 +29,7 @@ public class SignalfxCanaryAccountCommand extends AbstractCanaryAccountCommand {
   }
 
   public SignalfxCanaryAccountCommand() {
-    registerSubcommand(new SignalfxAddCanaryAccountCommand());
-    registerSubcommand(new SignalfxEditCanaryAccountCommand());
+    registerSubcommand(SignalfxAddCanaryAccountCommand::new);
+    registerSubcommand(SignalfxEditCanaryAccountCommand::new);
   }
 }
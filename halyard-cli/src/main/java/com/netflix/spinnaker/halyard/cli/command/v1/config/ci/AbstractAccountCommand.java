@@ -38,16 +38,18 @@ public abstract class AbstractAccountCommand extends AbstractHasAccountCommand {
 
   protected AbstractAccountCommand() {
     registerSubcommand(
-        new DeleteAccountCommandBuilder()
-            .setCiName(getCiName())
-            .setCiFullName(getCiFullName())
-            .build());
+        () ->
+            new DeleteAccountCommandBuilder()
+                .setCiName(getCiName())
+                .setCiFullName(getCiFullName())
+                .build());
 
     registerSubcommand(
-        new ListAccountsCommandBuilder()
-            .setCiName(getCiName())
-            .setCiFullName(getCiFullName())
-            .build());
+        () ->
+            new ListAccountsCommandBuilder()
+                .setCiName(getCiName())
+                .setCiFullName(getCiFullName())
+                .build());
   }
 
   @Override
@@ -38,11 +38,11 @@ public abstract class AbstractMasterCommand extends AbstractHasMasterCommand {
   }
 
   protected AbstractMasterCommand() {
-    registerSubcommand(new DeleteMasterCommandBuilder().setCiName(getCiName()).build());
+    registerSubcommand(() -> new DeleteMasterCommandBuilder().setCiName(getCiName()).build());
 
-    registerSubcommand(new GetMasterCommandBuilder().setCiName(getCiName()).build());
+    registerSubcommand(() -> new GetMasterCommandBuilder().setCiName(getCiName()).build());
 
-    registerSubcommand(new ListMastersCommandBuilder().setCiName(getCiName()).build());
+    registerSubcommand(() -> new ListMastersCommandBuilder().setCiName(getCiName()).build());
   }
 
   @Override
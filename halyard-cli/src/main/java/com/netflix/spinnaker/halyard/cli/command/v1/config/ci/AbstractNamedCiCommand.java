@@ -37,10 +37,10 @@ public abstract class AbstractNamedCiCommand extends AbstractCiCommand {
 
   protected AbstractNamedCiCommand() {
     registerSubcommand(
-        new CiEnableDisableCommandBuilder().setCiName(getCiName()).setEnable(false).build());
+        () -> new CiEnableDisableCommandBuilder().setCiName(getCiName()).setEnable(false).build());
 
     registerSubcommand(
-        new CiEnableDisableCommandBuilder().setCiName(getCiName()).setEnable(true).build());
+        () -> new CiEnableDisableCommandBuilder().setCiName(getCiName()).setEnable(true).build());
   }
 
   @Override
@@ -43,12 +43,12 @@ public class CiCommand extends NestableCommand {
       "Configure, validate, and view the specified Continuous Integration service.";
 
   public CiCommand() {
-    registerSubcommand(new AwsCodeBuildCommand());
-    registerSubcommand(new ConcourseCommand());
-    registerSubcommand(new GoogleCloudBuildCommand());
-    registerSubcommand(new JenkinsCommand());
-    registerSubcommand(new TravisCommand());
-    registerSubcommand(new WerckerCommand());
+    registerSubcommand(AwsCodeBuildCommand::new);
+    registerSubcommand(ConcourseCommand::new);
+    registerSubcommand(GoogleCloudBuildCommand::new);
+    registerSubcommand(JenkinsCommand::new);
+    registerSubcommand(TravisCommand::new);
+    registerSubcommand(WerckerCommand::new);
   }
 
   @Override
@@ -39,9 +39,9 @@ public class AwsCodeBuildAccountCommand extends AbstractAccountCommand {
 
   public AwsCodeBuildAccountCommand() {
     super();
-    registerSubcommand(new AwsCodeBuildAddAccountCommand());
-    registerSubcommand(new AwsCodeBuildEditAccountCommand());
-    registerSubcommand(new AwsCodeBuildGetAccountCommand());
+    registerSubcommand(AwsCodeBuildAddAccountCommand::new);
+    registerSubcommand(AwsCodeBuildEditAccountCommand::new);
+    registerSubcommand(AwsCodeBuildGetAccountCommand::new);
   }
 
   @Override
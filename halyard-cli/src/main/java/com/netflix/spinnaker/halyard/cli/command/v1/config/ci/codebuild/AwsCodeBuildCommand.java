@@ -34,8 +34,8 @@ public class AwsCodeBuildCommand extends AbstractNamedCiCommand {
 
   public AwsCodeBuildCommand() {
     super();
-    registerSubcommand(new AwsCodeBuildAccountCommand());
-    registerSubcommand(new AwsCodeBuildEditCiCommand());
+    registerSubcommand(AwsCodeBuildAccountCommand::new);
+    registerSubcommand(AwsCodeBuildEditCiCommand::new);
   }
 
   @Override
@@ -28,6 +28,6 @@ public class ConcourseCommand extends AbstractNamedCiCommand {
 
   public ConcourseCommand() {
     super();
-    registerSubcommand(new ConcourseMasterCommand());
+    registerSubcommand(ConcourseMasterCommand::new);
   }
 }
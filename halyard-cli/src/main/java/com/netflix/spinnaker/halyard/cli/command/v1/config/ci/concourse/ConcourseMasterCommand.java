@@ -28,7 +28,7 @@ public class ConcourseMasterCommand extends AbstractMasterCommand {
 
   public ConcourseMasterCommand() {
     super();
-    registerSubcommand(new ConcourseAddMasterCommand());
-    registerSubcommand(new ConcourseEditMasterCommand());
+    registerSubcommand(ConcourseAddMasterCommand::new);
+    registerSubcommand(ConcourseEditMasterCommand::new);
   }
 }
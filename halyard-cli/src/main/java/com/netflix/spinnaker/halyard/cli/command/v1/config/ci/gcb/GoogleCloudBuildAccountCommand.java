@@ -38,7 +38,7 @@ public class GoogleCloudBuildAccountCommand extends AbstractAccountCommand {
 
   public GoogleCloudBuildAccountCommand() {
     super();
-    registerSubcommand(new GoogleCloudBuildAddAccountCommand());
-    registerSubcommand(new GoogleCloudBuildEditAccountCommand());
+    registerSubcommand(GoogleCloudBuildAddAccountCommand::new);
+    registerSubcommand(GoogleCloudBuildEditAccountCommand::new);
   }
 }
@@ -33,7 +33,7 @@ public class GoogleCloudBuildCommand extends AbstractNamedCiCommand {
 
   public GoogleCloudBuildCommand() {
     super();
-    registerSubcommand(new GoogleCloudBuildAccountCommand());
+    registerSubcommand(GoogleCloudBuildAccountCommand::new);
   }
 
   @Override
@@ -29,6 +29,6 @@ public class JenkinsCommand extends AbstractNamedCiCommand {
 
   public JenkinsCommand() {
     super();
-    registerSubcommand(new JenkinsMasterCommand());
+    registerSubcommand(JenkinsMasterCommand::new);
   }
 }
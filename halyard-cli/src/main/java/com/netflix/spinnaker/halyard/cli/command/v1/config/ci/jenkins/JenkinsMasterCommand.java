@@ -29,7 +29,7 @@ public class JenkinsMasterCommand extends AbstractMasterCommand {
 
   public JenkinsMasterCommand() {
     super();
-    registerSubcommand(new JenkinsAddMasterCommand());
-    registerSubcommand(new JenkinsEditMasterCommand());
+    registerSubcommand(JenkinsAddMasterCommand::new);
+    registerSubcommand(JenkinsEditMasterCommand::new);
   }
 }
@@ -27,6 +27,6 @@ public class TravisCommand extends AbstractNamedCiCommand {
 
   public TravisCommand() {
     super();
-    registerSubcommand(new TravisMasterCommand());
+    registerSubcommand(TravisMasterCommand::new);
   }
 }
@@ -27,7 +27,7 @@ public class TravisMasterCommand extends AbstractMasterCommand {
 
   public TravisMasterCommand() {
     super();
-    registerSubcommand(new TravisAddMasterCommand());
-    registerSubcommand(new TravisEditMasterCommand());
+    registerSubcommand(TravisAddMasterCommand::new);
+    registerSubcommand(TravisEditMasterCommand::new);
   }
 }
@@ -29,6 +29,6 @@ public class WerckerCommand extends AbstractNamedCiCommand {
 
   public WerckerCommand() {
     super();
-    registerSubcommand(new WerckerMasterCommand());
+    registerSubcommand(WerckerMasterCommand::new);
   }
 }
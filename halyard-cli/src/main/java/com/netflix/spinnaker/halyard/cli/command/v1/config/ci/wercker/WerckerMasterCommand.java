@@ -29,7 +29,7 @@ public class WerckerMasterCommand extends AbstractMasterCommand {
 
   public WerckerMasterCommand() {
     super();
-    registerSubcommand(new WerckerAddMasterCommand());
-    registerSubcommand(new WerckerEditMasterCommand());
+    registerSubcommand(WerckerAddMasterCommand::new);
+    registerSubcommand(WerckerEditMasterCommand::new);
   }
 }
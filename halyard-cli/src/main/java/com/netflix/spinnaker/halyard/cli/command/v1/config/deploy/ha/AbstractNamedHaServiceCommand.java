@@ -41,16 +41,18 @@ public abstract class AbstractNamedHaServiceCommand extends AbstractHaServiceCom
 
   protected AbstractNamedHaServiceCommand() {
     registerSubcommand(
-        new HaServiceEnableDisableCommandBuilder()
-            .setServiceName(getServiceName())
-            .setEnable(false)
-            .build());
+        () ->
+            new HaServiceEnableDisableCommandBuilder()
+                .setServiceName(getServiceName())
+                .setEnable(false)
+                .build());
 
     registerSubcommand(
-        new HaServiceEnableDisableCommandBuilder()
-            .setServiceName(getServiceName())
-            .setEnable(true)
-            .build());
+        () ->
+            new HaServiceEnableDisableCommandBuilder()
+                .setServiceName(getServiceName())
+                .setEnable(true)
+                .build());
   }
 
   @Override
@@ -48,6 +48,6 @@ public class ClouddriverHaServiceCommand extends AbstractNamedHaServiceCommand {
 
   public ClouddriverHaServiceCommand() {
     super();
-    registerSubcommand(new ClouddriverHaServiceEditCommand());
+    registerSubcommand(ClouddriverHaServiceEditCommand::new);
   }
 }
@@ -33,8 +33,8 @@ public class HaServiceCommand extends NestableCommand {
       "Configure, validate, and view the specified high availability Spinnaker service configuration.";
 
   public HaServiceCommand() {
-    registerSubcommand(new ClouddriverHaServiceCommand());
-    registerSubcommand(new EchoHaServiceCommand());
+    registerSubcommand(ClouddriverHaServiceCommand::new);
+    registerSubcommand(EchoHaServiceCommand::new);
   }
 
   @Override
@@ -35,7 +35,7 @@ public class ComponentSizingCommand extends NestableCommand {
 
   public ComponentSizingCommand() {
     for (SpinnakerService.Type spinnakerService : SpinnakerService.Type.values()) {
-      registerSubcommand(new NamedComponentSizingCommand(spinnakerService));
+      registerSubcommand(() -> new NamedComponentSizingCommand(spinnakerService));
     }
   }
 
@@ -38,8 +38,8 @@ public class NamedComponentSizingCommand extends AbstractConfigCommand {
 
   public NamedComponentSizingCommand(SpinnakerService.Type spinnakerService) {
     this.spinnakerService = spinnakerService;
-    registerSubcommand(new ComponentSizingEditCommand(spinnakerService));
-    registerSubcommand(new ComponentSizingDeleteCommand(spinnakerService));
+    registerSubcommand(() -> new ComponentSizingEditCommand(spinnakerService));
+    registerSubcommand(() -> new ComponentSizingDeleteCommand(spinnakerService));
   }
 
   @Override
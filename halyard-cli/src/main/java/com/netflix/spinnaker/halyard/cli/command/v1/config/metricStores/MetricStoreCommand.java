@@ -39,16 +39,18 @@ public abstract class MetricStoreCommand extends AbstractConfigCommand {
 
   protected MetricStoreCommand() {
     registerSubcommand(
-        new MetricStoreEnableDisableCommandBuilder()
-            .setEnable(true)
-            .setMetricStoreType(getMetricStoreType())
-            .build());
+        () ->
+            new MetricStoreEnableDisableCommandBuilder()
+                .setEnable(true)
+                .setMetricStoreType(getMetricStoreType())
+                .build());
 
     registerSubcommand(
-        new MetricStoreEnableDisableCommandBuilder()
-            .setEnable(false)
-            .setMetricStoreType(getMetricStoreType())
-            .build());
+        () ->
+            new MetricStoreEnableDisableCommandBuilder()
+                .setEnable(false)
+                .setMetricStoreType(getMetricStoreType())
+                .build());
   }
 
   @Override
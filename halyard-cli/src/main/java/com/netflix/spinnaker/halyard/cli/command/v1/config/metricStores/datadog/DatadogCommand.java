@@ -29,6 +29,6 @@ public class DatadogCommand extends MetricStoreCommand {
 
   public DatadogCommand() {
     super();
-    registerSubcommand(new EditDatadogCommand());
+    registerSubcommand(EditDatadogCommand::new);
   }
 }
@@ -29,6 +29,6 @@ public class NewrelicCommand extends MetricStoreCommand {
 
   public NewrelicCommand() {
     super();
-    registerSubcommand(new EditNewrelicCommand());
+    registerSubcommand(EditNewrelicCommand::new);
   }
 }
@@ -29,6 +29,6 @@ public class PrometheusCommand extends MetricStoreCommand {
 
   public PrometheusCommand() {
     super();
-    registerSubcommand(new EditPrometheusCommand());
+    registerSubcommand(EditPrometheusCommand::new);
   }
 }
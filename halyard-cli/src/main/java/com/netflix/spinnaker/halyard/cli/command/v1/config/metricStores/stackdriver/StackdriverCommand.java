@@ -29,6 +29,6 @@ public class StackdriverCommand extends MetricStoreCommand {
 
   public StackdriverCommand() {
     super();
-    registerSubcommand(new EditStackdriverCommand());
+    registerSubcommand(EditStackdriverCommand::new);
   }
 }
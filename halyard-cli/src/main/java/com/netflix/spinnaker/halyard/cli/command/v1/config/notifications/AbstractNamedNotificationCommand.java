@@ -40,16 +40,18 @@ public abstract class AbstractNamedNotificationCommand extends AbstractNotificat
 
   protected AbstractNamedNotificationCommand() {
     registerSubcommand(
-        new NotificationEnableDisableCommandBuilder()
-            .setNotificationName(getNotificationName())
-            .setEnable(false)
-            .build());
+        () ->
+            new NotificationEnableDisableCommandBuilder()
+                .setNotificationName(getNotificationName())
+                .setEnable(false)
+                .build());
 
     registerSubcommand(
-        new NotificationEnableDisableCommandBuilder()
-            .setNotificationName(getNotificationName())
-            .setEnable(true)
-            .build());
+        () ->
+            new NotificationEnableDisableCommandBuilder()
+                .setNotificationName(getNotificationName())
+                .setEnable(true)
+                .build());
   }
 
   @Override
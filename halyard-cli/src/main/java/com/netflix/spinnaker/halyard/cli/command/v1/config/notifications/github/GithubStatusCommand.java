@@ -28,6 +28,6 @@ public class GithubStatusCommand extends AbstractNamedNotificationCommand {
 
   public GithubStatusCommand() {
     super();
-    registerSubcommand(new EditGithubStatusCommand());
+    registerSubcommand(EditGithubStatusCommand::new);
   }
 }
@@ -35,7 +35,7 @@ public class PubsubCommand extends NestableCommand {
 
   public PubsubCommand() {
     super();
-    registerSubcommand(new GooglePubsubCommand());
+    registerSubcommand(GooglePubsubCommand::new);
   }
 
   @Override
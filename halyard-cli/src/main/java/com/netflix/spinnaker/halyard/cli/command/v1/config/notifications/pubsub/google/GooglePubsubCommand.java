@@ -28,10 +28,10 @@ public class GooglePubsubCommand extends AbstractNamedPubsubCommand {
   @Getter private final String pubsubName = "google";
 
   public GooglePubsubCommand() {
-    registerSubcommand(new GoogleAddPublisherCommand());
-    registerSubcommand(new GoogleDeletePublisherCommand());
-    registerSubcommand(new GoogleEditPublisherCommand());
-    registerSubcommand(new GoogleGetPublisherCommand());
-    registerSubcommand(new GoogleListPublishersCommand());
+    registerSubcommand(GoogleAddPublisherCommand::new);
+    registerSubcommand(GoogleDeletePublisherCommand::new);
+    registerSubcommand(GoogleEditPublisherCommand::new);
+    registerSubcommand(GoogleGetPublisherCommand::new);
+    registerSubcommand(GoogleListPublishersCommand::new);
   }
 }
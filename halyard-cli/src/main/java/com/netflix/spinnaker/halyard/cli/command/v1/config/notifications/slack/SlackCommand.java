@@ -30,6 +30,6 @@ public class SlackCommand extends AbstractNamedNotificationCommand {
 
   public SlackCommand() {
     super();
-    registerSubcommand(new EditSlackCommand());
+    registerSubcommand(EditSlackCommand::new);
   }
 }
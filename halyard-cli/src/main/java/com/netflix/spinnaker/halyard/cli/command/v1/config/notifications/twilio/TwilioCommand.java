@@ -30,6 +30,6 @@ public class TwilioCommand extends AbstractNamedNotificationCommand {
 
   public TwilioCommand() {
     super();
-    registerSubcommand(new EditTwilioCommand());
+    registerSubcommand(EditTwilioCommand::new);
   }
 }
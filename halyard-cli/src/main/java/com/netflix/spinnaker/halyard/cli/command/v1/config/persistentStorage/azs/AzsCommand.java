@@ -28,6 +28,6 @@ public class AzsCommand extends AbstractNamedPersistentStoreCommand {
 
   public AzsCommand() {
     super();
-    registerSubcommand(new AzsEditCommand());
+    registerSubcommand(AzsEditCommand::new);
   }
 }
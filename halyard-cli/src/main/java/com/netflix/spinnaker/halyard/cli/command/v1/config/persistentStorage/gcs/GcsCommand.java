@@ -28,6 +28,6 @@ public class GcsCommand extends AbstractNamedPersistentStoreCommand {
 
   public GcsCommand() {
     super();
-    registerSubcommand(new GcsEditCommand());
+    registerSubcommand(GcsEditCommand::new);
   }
 }
@@ -21,6 +21,6 @@ public class OracleCommand extends AbstractNamedPersistentStoreCommand {
 
   public OracleCommand() {
     super();
-    registerSubcommand(new OracleEditCommand());
+    registerSubcommand(OracleEditCommand::new);
   }
 }
@@ -28,6 +28,6 @@ public class S3Command extends AbstractNamedPersistentStoreCommand {
 
   public S3Command() {
     super();
-    registerSubcommand(new S3EditCommand());
+    registerSubcommand(S3EditCommand::new);
   }
 }
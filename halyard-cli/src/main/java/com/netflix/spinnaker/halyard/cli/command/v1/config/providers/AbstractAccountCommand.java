@@ -39,11 +39,13 @@ public abstract class AbstractAccountCommand extends AbstractHasAccountCommand {
 
   protected AbstractAccountCommand() {
     registerSubcommand(
-        new DeleteAccountCommandBuilder().setProviderName(getProviderName()).build());
+        () -> new DeleteAccountCommandBuilder().setProviderName(getProviderName()).build());
 
-    registerSubcommand(new GetAccountCommandBuilder().setProviderName(getProviderName()).build());
+    registerSubcommand(
+        () -> new GetAccountCommandBuilder().setProviderName(getProviderName()).build());
 
-    registerSubcommand(new ListAccountsCommandBuilder().setProviderName(getProviderName()).build());
+    registerSubcommand(
+        () -> new ListAccountsCommandBuilder().setProviderName(getProviderName()).build());
   }
 
   @Override
@@ -37,16 +37,18 @@ public abstract class AbstractNamedProviderCommand extends AbstractProviderComma
 
   protected AbstractNamedProviderCommand() {
     registerSubcommand(
-        new ProviderEnableDisableCommandBuilder()
-            .setProviderName(getProviderName())
-            .setEnable(false)
-            .build());
+        () ->
+            new ProviderEnableDisableCommandBuilder()
+                .setProviderName(getProviderName())
+                .setEnable(false)
+                .build());
 
     registerSubcommand(
-        new ProviderEnableDisableCommandBuilder()
-            .setProviderName(getProviderName())
-            .setEnable(true)
-            .build());
+        () ->
+            new ProviderEnableDisableCommandBuilder()
+                .setProviderName(getProviderName())
+                .setEnable(true)
+                .build());
   }
 
   @Override
@@ -47,20 +47,20 @@ public class ProviderCommand extends NestableCommand {
   private String shortDescription = "Configure, validate, and view the specified provider.";
 
   public ProviderCommand() {
-    registerSubcommand(new AppengineCommand());
-    registerSubcommand(new AwsCommand());
-    registerSubcommand(new AzureCommand());
-    registerSubcommand(new CloudFoundryCommand());
-    registerSubcommand(new CloudrunCommand());
-    registerSubcommand(new DCOSCommand());
-    registerSubcommand(new DockerRegistryCommand());
-    registerSubcommand(new EcsCommand());
-    registerSubcommand(new GoogleCommand());
-    registerSubcommand(new HuaweiCloudCommand());
-    registerSubcommand(new KubernetesCommand());
+    registerSubcommand(AppengineCommand::new);
+    registerSubcommand(AwsCommand::new);
+    registerSubcommand(AzureCommand::new);
+    registerSubcommand(CloudFoundryCommand::new);
+    registerSubcommand(CloudrunCommand::new);
+    registerSubcommand(DCOSCommand::new);
+    registerSubcommand(DockerRegistryCommand::new);
+    registerSubcommand(EcsCommand::new);
+    registerSubcommand(GoogleCommand::new);
+    registerSubcommand(HuaweiCloudCommand::new);
+    registerSubcommand(KubernetesCommand::new);
     registerSubcommand(
-        new com.netflix.spinnaker.halyard.cli.command.v1.config.providers.oracle.OracleCommand());
-    registerSubcommand(new TencentCloudCommand());
+        com.netflix.spinnaker.halyard.cli.command.v1.config.providers.oracle.OracleCommand::new);
+    registerSubcommand(TencentCloudCommand::new);
   }
 
   @Override
@@ -38,7 +38,7 @@ public class AppengineAccountCommand extends AbstractAccountCommand {
 
   public AppengineAccountCommand() {
     super();
-    registerSubcommand(new AppengineAddAccountCommand());
-    registerSubcommand(new AppengineEditAccountCommand());
+    registerSubcommand(AppengineAddAccountCommand::new);
+    registerSubcommand(AppengineEditAccountCommand::new);
   }
 }
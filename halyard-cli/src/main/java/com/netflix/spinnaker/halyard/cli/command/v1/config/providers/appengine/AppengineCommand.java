@@ -37,7 +37,7 @@ public class AppengineCommand extends AbstractNamedProviderCommand {
 
   public AppengineCommand() {
     super();
-    registerSubcommand(new AppengineEditCommand());
-    registerSubcommand(new AppengineAccountCommand());
+    registerSubcommand(AppengineEditCommand::new);
+    registerSubcommand(AppengineAccountCommand::new);
   }
 }
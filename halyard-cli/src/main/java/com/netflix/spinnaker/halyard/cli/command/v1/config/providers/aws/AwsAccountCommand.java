@@ -29,7 +29,7 @@ public class AwsAccountCommand extends AbstractAccountCommand {
 
   public AwsAccountCommand() {
     super();
-    registerSubcommand(new AwsAddAccountCommand());
-    registerSubcommand(new AwsEditAccountCommand());
+    registerSubcommand(AwsAddAccountCommand::new);
+    registerSubcommand(AwsEditAccountCommand::new);
   }
 }
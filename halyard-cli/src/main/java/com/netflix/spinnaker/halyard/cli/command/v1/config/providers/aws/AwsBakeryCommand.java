@@ -28,6 +28,6 @@ public class AwsBakeryCommand extends AbstractBakeryCommand {
 
   public AwsBakeryCommand() {
     super();
-    registerSubcommand(new AwsEditBakeryDefaultsCommand());
+    registerSubcommand(AwsEditBakeryDefaultsCommand::new);
   }
 }
@@ -29,9 +29,9 @@ public class AwsCommand extends AbstractNamedProviderCommand {
 
   public AwsCommand() {
     super();
-    registerSubcommand(new AwsAccountCommand());
-    registerSubcommand(new AwsEditProviderCommand());
-    registerSubcommand(new AwsBakeryCommand());
-    registerSubcommand(new AwsFeaturesCommand());
+    registerSubcommand(AwsAccountCommand::new);
+    registerSubcommand(AwsEditProviderCommand::new);
+    registerSubcommand(AwsBakeryCommand::new);
+    registerSubcommand(AwsFeaturesCommand::new);
   }
 }
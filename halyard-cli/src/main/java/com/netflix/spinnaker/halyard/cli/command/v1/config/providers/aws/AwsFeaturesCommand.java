@@ -28,6 +28,6 @@ public class AwsFeaturesCommand extends AbstractFeaturesCommand {
 
   public AwsFeaturesCommand() {
     super();
-    registerSubcommand(new AwsEditFeaturesCommand());
+    registerSubcommand(AwsEditFeaturesCommand::new);
   }
 }
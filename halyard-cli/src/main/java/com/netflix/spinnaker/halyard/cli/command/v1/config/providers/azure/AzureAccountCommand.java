@@ -29,7 +29,7 @@ public class AzureAccountCommand extends AbstractAccountCommand {
 
   public AzureAccountCommand() {
     super();
-    registerSubcommand(new AzureAddAccountCommand());
-    registerSubcommand(new AzureEditAccountCommand());
+    registerSubcommand(AzureAddAccountCommand::new);
+    registerSubcommand(AzureEditAccountCommand::new);
   }
 }
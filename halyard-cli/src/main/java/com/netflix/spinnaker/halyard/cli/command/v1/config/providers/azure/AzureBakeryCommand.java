@@ -28,7 +28,7 @@ public class AzureBakeryCommand extends AbstractBakeryCommand {
 
   public AzureBakeryCommand() {
     super();
-    registerSubcommand(new AzureEditBakeryDefaultsCommand());
-    registerSubcommand(new AzureBaseImageCommand());
+    registerSubcommand(AzureEditBakeryDefaultsCommand::new);
+    registerSubcommand(AzureBaseImageCommand::new);
   }
 }
@@ -28,7 +28,7 @@ public class AzureBaseImageCommand extends AbstractBaseImageCommand {
 
   public AzureBaseImageCommand() {
     super();
-    registerSubcommand(new AzureAddBaseImageCommand());
-    registerSubcommand(new AzureEditBaseImageCommand());
+    registerSubcommand(AzureAddBaseImageCommand::new);
+    registerSubcommand(AzureEditBaseImageCommand::new);
   }
 }
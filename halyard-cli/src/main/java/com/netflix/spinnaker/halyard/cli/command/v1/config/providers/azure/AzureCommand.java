@@ -28,7 +28,7 @@ public class AzureCommand extends AbstractNamedProviderCommand {
 
   public AzureCommand() {
     super();
-    registerSubcommand(new AzureAccountCommand());
-    registerSubcommand(new AzureBakeryCommand());
+    registerSubcommand(AzureAccountCommand::new);
+    registerSubcommand(AzureBakeryCommand::new);
   }
 }
@@ -36,12 +36,13 @@ public abstract class AbstractBaseImageCommand extends AbstractProviderCommand {
 
   protected AbstractBaseImageCommand() {
     registerSubcommand(
-        new DeleteBaseImageCommandBuilder().setProviderName(getProviderName()).build());
+        () -> new DeleteBaseImageCommandBuilder().setProviderName(getProviderName()).build());
 
-    registerSubcommand(new GetBaseImageCommandBuilder().setProviderName(getProviderName()).build());
+    registerSubcommand(
+        () -> new GetBaseImageCommandBuilder().setProviderName(getProviderName()).build());
 
     registerSubcommand(
-        new ListBaseImagesCommandBuilder().setProviderName(getProviderName()).build());
+        () -> new ListBaseImagesCommandBuilder().setProviderName(getProviderName()).build());
   }
 
   @Override
@@ -28,7 +28,7 @@ public class CloudFoundryAccountCommand extends AbstractAccountCommand {
 
   public CloudFoundryAccountCommand() {
     super();
-    registerSubcommand(new CloudFoundryAddAccountCommand());
-    registerSubcommand(new CloudFoundryEditAccountCommand());
+    registerSubcommand(CloudFoundryAddAccountCommand::new);
+    registerSubcommand(CloudFoundryEditAccountCommand::new);
   }
 }
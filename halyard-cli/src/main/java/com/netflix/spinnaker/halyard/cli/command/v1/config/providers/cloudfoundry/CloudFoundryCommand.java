@@ -28,6 +28,6 @@ public class CloudFoundryCommand extends AbstractNamedProviderCommand {
 
   public CloudFoundryCommand() {
     super();
-    registerSubcommand(new CloudFoundryAccountCommand());
+    registerSubcommand(CloudFoundryAccountCommand::new);
   }
 }
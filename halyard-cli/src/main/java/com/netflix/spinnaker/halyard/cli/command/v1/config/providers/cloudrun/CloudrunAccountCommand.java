@@ -21,7 +21,7 @@ public class CloudrunAccountCommand extends AbstractAccountCommand {
 
   public CloudrunAccountCommand() {
     super();
-    registerSubcommand(new CloudrunAddAccountCommand());
-    registerSubcommand(new CloudrunEditAccountCommand());
+    registerSubcommand(CloudrunAddAccountCommand::new);
+    registerSubcommand(CloudrunEditAccountCommand::new);
   }
 }
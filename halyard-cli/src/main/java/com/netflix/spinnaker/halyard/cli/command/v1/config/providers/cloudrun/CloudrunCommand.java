@@ -21,7 +21,7 @@ public class CloudrunCommand extends AbstractNamedProviderCommand {
 
   public CloudrunCommand() {
     super();
-    registerSubcommand(new CloudrunEditCommand());
-    registerSubcommand(new CloudrunAccountCommand());
+    registerSubcommand(CloudrunEditCommand::new);
+    registerSubcommand(CloudrunAccountCommand::new);
   }
 }
@@ -13,7 +13,7 @@ public class DCOSAccountCommand extends AbstractAccountCommand {
 
   public DCOSAccountCommand() {
     super();
-    registerSubcommand(new DCOSAddAccountCommand());
-    registerSubcommand(new DCOSEditAccountCommand());
+    registerSubcommand(DCOSAddAccountCommand::new);
+    registerSubcommand(DCOSEditAccountCommand::new);
   }
 }
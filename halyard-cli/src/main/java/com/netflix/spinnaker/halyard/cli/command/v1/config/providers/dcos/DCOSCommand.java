@@ -14,7 +14,7 @@ public class DCOSCommand extends AbstractNamedProviderCommand {
 
   public DCOSCommand() {
     super();
-    registerSubcommand(new DCOSAccountCommand());
-    registerSubcommand(new DCOSClusterCommand());
+    registerSubcommand(DCOSAccountCommand::new);
+    registerSubcommand(DCOSClusterCommand::new);
   }
 }
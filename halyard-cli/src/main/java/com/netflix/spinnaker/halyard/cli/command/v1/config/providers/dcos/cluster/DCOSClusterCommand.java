@@ -12,10 +12,10 @@ public class DCOSClusterCommand extends AbstractClusterCommand {
 
   public DCOSClusterCommand() {
     super();
-    registerSubcommand(new DCOSAddClusterCommand());
-    registerSubcommand(new DCOSEditClusterCommand());
-    registerSubcommand(new DCOSDeleteClusterCommand());
-    registerSubcommand(new DCOSGetClusterCommand());
-    registerSubcommand(new DCOSListClusterCommand());
+    registerSubcommand(DCOSAddClusterCommand::new);
+    registerSubcommand(DCOSEditClusterCommand::new);
+    registerSubcommand(DCOSDeleteClusterCommand::new);
+    registerSubcommand(DCOSGetClusterCommand::new);
+    registerSubcommand(DCOSListClusterCommand::new);
   }
 }
@@ -29,7 +29,7 @@ public class DockerRegistryAccountCommand extends AbstractAccountCommand {
 
   public DockerRegistryAccountCommand() {
     super();
-    registerSubcommand(new DockerRegistryAddAccountCommand());
-    registerSubcommand(new DockerRegistryEditAccountCommand());
+    registerSubcommand(DockerRegistryAddAccountCommand::new);
+    registerSubcommand(DockerRegistryEditAccountCommand::new);
   }
 }
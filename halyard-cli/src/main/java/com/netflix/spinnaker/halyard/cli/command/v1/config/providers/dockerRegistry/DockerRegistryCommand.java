@@ -33,6 +33,6 @@ public class DockerRegistryCommand extends AbstractNamedProviderCommand {
 
   public DockerRegistryCommand() {
     super();
-    registerSubcommand(new DockerRegistryAccountCommand());
+    registerSubcommand(DockerRegistryAccountCommand::new);
   }
 }
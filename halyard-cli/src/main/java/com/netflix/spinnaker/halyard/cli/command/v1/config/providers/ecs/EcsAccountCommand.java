@@ -12,7 +12,7 @@ public class EcsAccountCommand extends AbstractAccountCommand {
 
   public EcsAccountCommand() {
     super();
-    registerSubcommand(new EcsAddAccountCommand());
-    registerSubcommand(new EcsEditAccountCommand());
+    registerSubcommand(EcsAddAccountCommand::new);
+    registerSubcommand(EcsEditAccountCommand::new);
   }
 }
@@ -12,6 +12,6 @@ public class EcsCommand extends AbstractNamedProviderCommand {
 
   public EcsCommand() {
     super();
-    registerSubcommand(new EcsAccountCommand());
+    registerSubcommand(EcsAccountCommand::new);
   }
 }
@@ -29,7 +29,7 @@ public class GoogleAccountCommand extends AbstractAccountCommand {
 
   public GoogleAccountCommand() {
     super();
-    registerSubcommand(new GoogleAddAccountCommand());
-    registerSubcommand(new GoogleEditAccountCommand());
+    registerSubcommand(GoogleAddAccountCommand::new);
+    registerSubcommand(GoogleEditAccountCommand::new);
   }
 }
@@ -29,7 +29,7 @@ public class GoogleBakeryCommand extends AbstractBakeryCommand {
 
   public GoogleBakeryCommand() {
     super();
-    registerSubcommand(new GoogleEditBakeryDefaultsCommand());
-    registerSubcommand(new GoogleBaseImageCommand());
+    registerSubcommand(GoogleEditBakeryDefaultsCommand::new);
+    registerSubcommand(GoogleBaseImageCommand::new);
   }
 }
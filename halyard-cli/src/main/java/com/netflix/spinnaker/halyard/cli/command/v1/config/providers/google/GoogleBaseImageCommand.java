@@ -29,7 +29,7 @@ public class GoogleBaseImageCommand extends AbstractBaseImageCommand {
 
   public GoogleBaseImageCommand() {
     super();
-    registerSubcommand(new GoogleAddBaseImageCommand());
-    registerSubcommand(new GoogleEditBaseImageCommand());
+    registerSubcommand(GoogleAddBaseImageCommand::new);
+    registerSubcommand(GoogleEditBaseImageCommand::new);
   }
 }
@@ -28,8 +28,8 @@ public class GoogleCommand extends AbstractNamedProviderCommand {
 
   public GoogleCommand() {
     super();
-    registerSubcommand(new GoogleEditProviderCommand());
-    registerSubcommand(new GoogleAccountCommand());
-    registerSubcommand(new GoogleBakeryCommand());
+    registerSubcommand(GoogleEditProviderCommand::new);
+    registerSubcommand(GoogleAccountCommand::new);
+    registerSubcommand(GoogleBakeryCommand::new);
   }
 }
@@ -27,7 +27,7 @@ public class HuaweiCloudAccountCommand extends AbstractAccountCommand {
 
   public HuaweiCloudAccountCommand() {
     super();
-    registerSubcommand(new HuaweiCloudAddAccountCommand());
-    registerSubcommand(new HuaweiCloudEditAccountCommand());
+    registerSubcommand(HuaweiCloudAddAccountCommand::new);
+    registerSubcommand(HuaweiCloudEditAccountCommand::new);
   }
 }
@@ -27,7 +27,7 @@ public class HuaweiCloudBakeryCommand extends AbstractBakeryCommand {
 
   public HuaweiCloudBakeryCommand() {
     super();
-    registerSubcommand(new HuaweiCloudEditBakeryDefaultsCommand());
-    registerSubcommand(new HuaweiCloudBaseImageCommand());
+    registerSubcommand(HuaweiCloudEditBakeryDefaultsCommand::new);
+    registerSubcommand(HuaweiCloudBaseImageCommand::new);
   }
 }
@@ -27,7 +27,7 @@ public class HuaweiCloudBaseImageCommand extends AbstractBaseImageCommand {
 
   public HuaweiCloudBaseImageCommand() {
     super();
-    registerSubcommand(new HuaweiCloudAddBaseImageCommand());
-    registerSubcommand(new HuaweiCloudEditBaseImageCommand());
+    registerSubcommand(HuaweiCloudAddBaseImageCommand::new);
+    registerSubcommand(HuaweiCloudEditBaseImageCommand::new);
   }
 }
@@ -27,7 +27,7 @@ public class HuaweiCloudCommand extends AbstractNamedProviderCommand {
 
   public HuaweiCloudCommand() {
     super();
-    registerSubcommand(new HuaweiCloudAccountCommand());
-    registerSubcommand(new HuaweiCloudBakeryCommand());
+    registerSubcommand(HuaweiCloudAccountCommand::new);
+    registerSubcommand(HuaweiCloudBakeryCommand::new);
   }
 }
@@ -40,7 +40,7 @@ public class KubernetesAccountCommand extends AbstractAccountCommand {
 
   public KubernetesAccountCommand() {
     super();
-    registerSubcommand(new KubernetesAddAccountCommand());
-    registerSubcommand(new KubernetesEditAccountCommand());
+    registerSubcommand(KubernetesAddAccountCommand::new);
+    registerSubcommand(KubernetesEditAccountCommand::new);
   }
 }
@@ -41,7 +41,7 @@ public class KubernetesCommand extends AbstractNamedProviderCommand {
 
   public KubernetesCommand() {
     super();
-    registerSubcommand(new KubernetesAccountCommand());
-    registerSubcommand(new KubernetesEditProviderCommand());
+    registerSubcommand(KubernetesAccountCommand::new);
+    registerSubcommand(KubernetesEditProviderCommand::new);
   }
 }
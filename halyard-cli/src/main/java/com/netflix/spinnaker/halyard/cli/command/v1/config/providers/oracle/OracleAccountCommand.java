@@ -22,7 +22,7 @@ public class OracleAccountCommand extends AbstractAccountCommand {
 
   public OracleAccountCommand() {
     super();
-    registerSubcommand(new OracleAddAccountCommand());
-    registerSubcommand(new OracleEditAccountCommand());
+    registerSubcommand(OracleAddAccountCommand::new);
+    registerSubcommand(OracleEditAccountCommand::new);
   }
 }
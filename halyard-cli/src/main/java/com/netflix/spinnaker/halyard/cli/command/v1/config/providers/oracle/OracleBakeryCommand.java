@@ -22,7 +22,7 @@ public class OracleBakeryCommand extends AbstractBakeryCommand {
 
   public OracleBakeryCommand() {
     super();
-    registerSubcommand(new OracleEditBakeryDefaultsCommand());
-    registerSubcommand(new OracleBaseImageCommand());
+    registerSubcommand(OracleEditBakeryDefaultsCommand::new);
+    registerSubcommand(OracleBaseImageCommand::new);
   }
 }
@@ -21,7 +21,7 @@ public class OracleBaseImageCommand extends AbstractBaseImageCommand {
 
   public OracleBaseImageCommand() {
     super();
-    registerSubcommand(new OracleAddBaseImageCommand());
-    registerSubcommand(new OracleEditBaseImageCommand());
+    registerSubcommand(OracleAddBaseImageCommand::new);
+    registerSubcommand(OracleEditBaseImageCommand::new);
   }
 }
@@ -22,7 +22,7 @@ public class OracleCommand extends AbstractNamedProviderCommand {
 
   public OracleCommand() {
     super();
-    registerSubcommand(new OracleAccountCommand());
-    registerSubcommand(new OracleBakeryCommand());
+    registerSubcommand(OracleAccountCommand::new);
+    registerSubcommand(OracleBakeryCommand::new);
   }
 }
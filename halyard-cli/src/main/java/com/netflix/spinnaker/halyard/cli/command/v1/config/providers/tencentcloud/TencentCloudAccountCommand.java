@@ -28,7 +28,7 @@ public class TencentCloudAccountCommand extends AbstractAccountCommand {
 
   public TencentCloudAccountCommand() {
     super();
-    registerSubcommand(new TencentCloudAddAccountCommand());
-    registerSubcommand(new TencentCloudEditAccountCommand());
+    registerSubcommand(TencentCloudAddAccountCommand::new);
+    registerSubcommand(TencentCloudEditAccountCommand::new);
   }
 }
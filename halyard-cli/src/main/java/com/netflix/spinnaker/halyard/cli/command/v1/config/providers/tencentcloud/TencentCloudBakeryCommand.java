@@ -30,7 +30,7 @@ public class TencentCloudBakeryCommand extends AbstractBakeryCommand {
 
   public TencentCloudBakeryCommand() {
     super();
-    registerSubcommand(new TencentCloudEditBakeryDefaultsCommand());
-    registerSubcommand(new TencentCloudBaseImageCommand());
+    registerSubcommand(TencentCloudEditBakeryDefaultsCommand::new);
+    registerSubcommand(TencentCloudBaseImageCommand::new);
   }
 }
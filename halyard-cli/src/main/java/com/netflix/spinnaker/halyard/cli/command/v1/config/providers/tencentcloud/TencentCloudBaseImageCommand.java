@@ -28,7 +28,7 @@ public class TencentCloudBaseImageCommand extends AbstractBaseImageCommand {
 
   public TencentCloudBaseImageCommand() {
     super();
-    registerSubcommand(new TencentCloudAddBaseImageCommand());
-    registerSubcommand(new TencentCloudEditBaseImageCommand());
+    registerSubcommand(TencentCloudAddBaseImageCommand::new);
+    registerSubcommand(TencentCloudEditBaseImageCommand::new);
   }
 }
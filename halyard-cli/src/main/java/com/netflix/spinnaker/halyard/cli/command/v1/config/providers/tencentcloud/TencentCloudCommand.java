@@ -25,7 +25,7 @@ public class TencentCloudCommand extends AbstractNamedProviderCommand {
 
   public TencentCloudCommand() {
     super();
-    registerSubcommand(new TencentCloudAccountCommand());
-    registerSubcommand(new TencentCloudBakeryCommand());
+    registerSubcommand(TencentCloudAccountCommand::new);
+    registerSubcommand(TencentCloudBakeryCommand::new);
   }
 }
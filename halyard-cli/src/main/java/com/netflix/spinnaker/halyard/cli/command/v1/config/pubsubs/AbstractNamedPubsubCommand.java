@@ -39,16 +39,18 @@ public abstract class AbstractNamedPubsubCommand extends AbstractPubsubCommand {
 
   protected AbstractNamedPubsubCommand() {
     registerSubcommand(
-        new PubsubEnableDisableCommandBuilder()
-            .setPubsubName(getPubsubName())
-            .setEnable(false)
-            .build());
+        () ->
+            new PubsubEnableDisableCommandBuilder()
+                .setPubsubName(getPubsubName())
+                .setEnable(false)
+                .build());
 
     registerSubcommand(
-        new PubsubEnableDisableCommandBuilder()
-            .setPubsubName(getPubsubName())
-            .setEnable(true)
-            .build());
+        () ->
+            new PubsubEnableDisableCommandBuilder()
+                .setPubsubName(getPubsubName())
+                .setEnable(true)
+                .build());
   }
 
   @Override
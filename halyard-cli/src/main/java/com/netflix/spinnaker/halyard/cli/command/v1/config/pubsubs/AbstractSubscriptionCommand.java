@@ -40,12 +40,13 @@ public abstract class AbstractSubscriptionCommand extends AbstractHasSubscriptio
 
   protected AbstractSubscriptionCommand() {
     registerSubcommand(
-        new DeleteSubscriptionCommandBuilder().setPubsubName(getPubsubName()).build());
+        () -> new DeleteSubscriptionCommandBuilder().setPubsubName(getPubsubName()).build());
 
-    registerSubcommand(new GetSubscriptionCommandBuilder().setPubsubName(getPubsubName()).build());
+    registerSubcommand(
+        () -> new GetSubscriptionCommandBuilder().setPubsubName(getPubsubName()).build());
 
     registerSubcommand(
-        new ListSubscriptionsCommandBuilder().setPubsubName(getPubsubName()).build());
+        () -> new ListSubscriptionsCommandBuilder().setPubsubName(getPubsubName()).build());
   }
 
   @Override
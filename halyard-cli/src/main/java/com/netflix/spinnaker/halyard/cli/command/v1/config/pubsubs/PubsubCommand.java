@@ -38,7 +38,7 @@ public class PubsubCommand extends NestableCommand {
   private String shortDescription = "Configure, validate, and view the specified pubsub.";
 
   public PubsubCommand() {
-    registerSubcommand(new GooglePubsubCommand());
+    registerSubcommand(GooglePubsubCommand::new);
   }
 
   @Override
@@ -29,6 +29,6 @@ public class GooglePubsubCommand extends AbstractNamedPubsubCommand {
   }
 
   public GooglePubsubCommand() {
-    registerSubcommand(new GoogleSubscriptionCommand());
+    registerSubcommand(GoogleSubscriptionCommand::new);
   }
 }
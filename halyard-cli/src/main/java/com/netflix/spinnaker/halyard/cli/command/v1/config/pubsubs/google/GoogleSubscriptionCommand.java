@@ -29,7 +29,7 @@ public class GoogleSubscriptionCommand extends AbstractSubscriptionCommand {
   }
 
   public GoogleSubscriptionCommand() {
-    registerSubcommand(new GoogleAddSubscriptionCommand());
-    registerSubcommand(new GoogleEditSubscriptionCommand());
+    registerSubcommand(GoogleAddSubscriptionCommand::new);
+    registerSubcommand(GoogleEditSubscriptionCommand::new);
   }
 }
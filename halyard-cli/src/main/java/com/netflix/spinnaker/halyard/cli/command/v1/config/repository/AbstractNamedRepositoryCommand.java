@@ -36,16 +36,18 @@ public abstract class AbstractNamedRepositoryCommand extends AbstractRepositoryC
 
   protected AbstractNamedRepositoryCommand() {
     registerSubcommand(
-        new RepositoryEnableDisableCommandBuilder()
-            .setRepositoryName(getRepositoryName())
-            .setEnable(false)
-            .build());
+        () ->
+            new RepositoryEnableDisableCommandBuilder()
+                .setRepositoryName(getRepositoryName())
+                .setEnable(false)
+                .build());
 
     registerSubcommand(
-        new RepositoryEnableDisableCommandBuilder()
-            .setRepositoryName(getRepositoryName())
-            .setEnable(true)
-            .build());
+        () ->
+            new RepositoryEnableDisableCommandBuilder()
+                .setRepositoryName(getRepositoryName())
+                .setEnable(true)
+                .build());
   }
 
   @Override
@@ -38,13 +38,13 @@ public abstract class AbstractSearchCommand extends AbstractHasSearchCommand {
 
   protected AbstractSearchCommand() {
     registerSubcommand(
-        new DeleteSearchCommandBuilder().setRepositoryName(getRepositoryName()).build());
+        () -> new DeleteSearchCommandBuilder().setRepositoryName(getRepositoryName()).build());
 
     registerSubcommand(
-        new GetSearchCommandBuilder().setRepositoryName(getRepositoryName()).build());
+        () -> new GetSearchCommandBuilder().setRepositoryName(getRepositoryName()).build());
 
     registerSubcommand(
-        new ListSearchesCommandBuilder().setRepositoryName(getRepositoryName()).build());
+        () -> new ListSearchesCommandBuilder().setRepositoryName(getRepositoryName()).build());
   }
 
   @Override
@@ -37,8 +37,8 @@ public class RepositoryCommand extends NestableCommand {
   private String shortDescription = "Configure, validate, and view the specified repository.";
 
   public RepositoryCommand() {
-    registerSubcommand(new ArtifactoryCommand());
-    registerSubcommand(new NexusCommand());
+    registerSubcommand(ArtifactoryCommand::new);
+    registerSubcommand(NexusCommand::new);
   }
 
   @Override
@@ -28,6 +28,6 @@ public class ArtifactoryCommand extends AbstractNamedRepositoryCommand {
 
   public ArtifactoryCommand() {
     super();
-    registerSubcommand(new ArtifactorySearchCommand());
+    registerSubcommand(ArtifactorySearchCommand::new);
   }
 }
@@ -28,7 +28,7 @@ public class ArtifactorySearchCommand extends AbstractSearchCommand {
 
   public ArtifactorySearchCommand() {
     super();
-    registerSubcommand(new ArtifactoryAddSearchCommand());
-    registerSubcommand(new ArtifactoryEditSearchCommand());
+    registerSubcommand(ArtifactoryAddSearchCommand::new);
+    registerSubcommand(ArtifactoryEditSearchCommand::new);
   }
 }
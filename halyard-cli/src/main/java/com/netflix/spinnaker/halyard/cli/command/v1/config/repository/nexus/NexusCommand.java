@@ -28,6 +28,6 @@ public class NexusCommand extends AbstractNamedRepositoryCommand {
 
   public NexusCommand() {
     super();
-    registerSubcommand(new NexusSearchCommand());
+    registerSubcommand(NexusSearchCommand::new);
   }
 }
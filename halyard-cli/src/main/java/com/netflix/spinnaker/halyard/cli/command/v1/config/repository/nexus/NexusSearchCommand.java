@@ -28,7 +28,7 @@ public class NexusSearchCommand extends AbstractSearchCommand {
 
   public NexusSearchCommand() {
     super();
-    registerSubcommand(new NexusAddSearchCommand());
-    registerSubcommand(new NexusEditSearchCommand());
+    registerSubcommand(NexusAddSearchCommand::new);
+    registerSubcommand(NexusEditSearchCommand::new);
   }
 }
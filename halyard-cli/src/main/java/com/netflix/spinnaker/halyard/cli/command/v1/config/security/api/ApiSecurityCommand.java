@@ -36,8 +36,8 @@ public class ApiSecurityCommand extends AbstractConfigCommand {
       "Configure and view the API server's addressable URL and CORS policies.";
 
   public ApiSecurityCommand() {
-    registerSubcommand(new ApiSecurityEditCommand());
-    registerSubcommand(new SpringSslCommand());
+    registerSubcommand(ApiSecurityEditCommand::new);
+    registerSubcommand(SpringSslCommand::new);
   }
 
   @Override
@@ -41,9 +41,9 @@ public class SpringSslCommand extends AbstractConfigCommand {
           "If you are doing your own SSL termination, leave this disabled.");
 
   public SpringSslCommand() {
-    registerSubcommand(new EnableDisableSslCommandBuilder().setEnable(true).build());
-    registerSubcommand(new EnableDisableSslCommandBuilder().setEnable(false).build());
-    registerSubcommand(new SpringSslEditCommand());
+    registerSubcommand(() -> new EnableDisableSslCommandBuilder().setEnable(true).build());
+    registerSubcommand(() -> new EnableDisableSslCommandBuilder().setEnable(false).build());
+    registerSubcommand(SpringSslEditCommand::new);
   }
 
   @Override
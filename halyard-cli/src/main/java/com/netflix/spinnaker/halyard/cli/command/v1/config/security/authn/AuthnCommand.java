@@ -45,10 +45,10 @@ public class AuthnCommand extends AbstractConfigCommand {
   }
 
   public AuthnCommand() {
-    registerSubcommand(new OAuth2Command());
-    registerSubcommand(new SamlCommand());
-    registerSubcommand(new LdapCommand());
-    registerSubcommand(new X509Command());
-    registerSubcommand(new IAPCommand());
+    registerSubcommand(OAuth2Command::new);
+    registerSubcommand(SamlCommand::new);
+    registerSubcommand(LdapCommand::new);
+    registerSubcommand(X509Command::new);
+    registerSubcommand(IAPCommand::new);
   }
 }
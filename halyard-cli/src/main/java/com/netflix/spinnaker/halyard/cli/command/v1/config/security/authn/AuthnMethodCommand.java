@@ -38,16 +38,18 @@ public abstract class AuthnMethodCommand extends AbstractConfigCommand {
 
   protected AuthnMethodCommand() {
     registerSubcommand(
-        new AuthnMethodEnableDisableCommandBuilder()
-            .setEnable(true)
-            .setMethod(getMethod())
-            .build());
+        () ->
+            new AuthnMethodEnableDisableCommandBuilder()
+                .setEnable(true)
+                .setMethod(getMethod())
+                .build());
 
     registerSubcommand(
-        new AuthnMethodEnableDisableCommandBuilder()
-            .setEnable(false)
-            .setMethod(getMethod())
-            .build());
+        () ->
+            new AuthnMethodEnableDisableCommandBuilder()
+                .setEnable(false)
+                .setMethod(getMethod())
+                .build());
   }
 
   @Override
@@ -27,6 +27,6 @@ public class IAPCommand extends AuthnMethodCommand {
 
   public IAPCommand() {
     super();
-    registerSubcommand(new EditIAPCommand());
+    registerSubcommand(EditIAPCommand::new);
   }
 }
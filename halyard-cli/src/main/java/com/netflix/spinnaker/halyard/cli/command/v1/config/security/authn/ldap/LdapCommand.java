@@ -26,6 +26,6 @@ public class LdapCommand extends AuthnMethodCommand {
 
   public LdapCommand() {
     super();
-    registerSubcommand(new EditLdapCommand());
+    registerSubcommand(EditLdapCommand::new);
   }
 }
@@ -28,6 +28,6 @@ public class OAuth2Command extends AuthnMethodCommand {
 
   public OAuth2Command() {
     super();
-    registerSubcommand(new EditOAuth2Command());
+    registerSubcommand(EditOAuth2Command::new);
   }
 }
@@ -28,6 +28,6 @@ public class SamlCommand extends AuthnMethodCommand {
 
   public SamlCommand() {
     super();
-    registerSubcommand(new EditSamlCommand());
+    registerSubcommand(EditSamlCommand::new);
   }
 }
@@ -28,6 +28,6 @@ public class X509Command extends AuthnMethodCommand {
 
   public X509Command() {
     super();
-    registerSubcommand(new EditX509Command());
+    registerSubcommand(EditX509Command::new);
   }
 }
@@ -44,12 +44,12 @@ public class AuthzCommand extends AbstractConfigCommand {
   }
 
   public AuthzCommand() {
-    registerSubcommand(new AuthzEditCommand());
-    registerSubcommand(new EnableDisableAuthzCommandBuilder().setEnable(true).build());
-    registerSubcommand(new EnableDisableAuthzCommandBuilder().setEnable(false).build());
-    registerSubcommand(new GoogleRoleProviderCommand());
-    registerSubcommand(new GithubRoleProviderCommand());
-    registerSubcommand(new FileRoleProviderCommand());
-    registerSubcommand(new LdapRoleProviderCommand());
+    registerSubcommand(AuthzEditCommand::new);
+    registerSubcommand(() -> new EnableDisableAuthzCommandBuilder().setEnable(true).build());
+    registerSubcommand(() -> new EnableDisableAuthzCommandBuilder().setEnable(false).build());
+    registerSubcommand(GoogleRoleProviderCommand::new);
+    registerSubcommand(GithubRoleProviderCommand::new);
+    registerSubcommand(FileRoleProviderCommand::new);
+    registerSubcommand(LdapRoleProviderCommand::new);
   }
 }
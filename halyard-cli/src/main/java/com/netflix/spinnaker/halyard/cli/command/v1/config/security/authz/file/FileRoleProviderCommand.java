@@ -30,6 +30,6 @@ public class FileRoleProviderCommand extends AbstractRoleProviderCommand {
   private GroupMembership.RoleProviderType roleProviderType = GroupMembership.RoleProviderType.FILE;
 
   public FileRoleProviderCommand() {
-    registerSubcommand(new EditFileRoleProviderCommand());
+    registerSubcommand(EditFileRoleProviderCommand::new);
   }
 }
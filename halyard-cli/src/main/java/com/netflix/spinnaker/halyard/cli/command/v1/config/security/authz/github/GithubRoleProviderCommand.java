@@ -30,6 +30,6 @@ public class GithubRoleProviderCommand extends AbstractRoleProviderCommand {
       GroupMembership.RoleProviderType.GITHUB;
 
   public GithubRoleProviderCommand() {
-    registerSubcommand(new EditGithubRoleProviderCommand());
+    registerSubcommand(EditGithubRoleProviderCommand::new);
   }
 }
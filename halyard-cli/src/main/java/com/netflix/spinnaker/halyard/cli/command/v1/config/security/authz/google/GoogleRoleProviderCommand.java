@@ -30,6 +30,6 @@ public class GoogleRoleProviderCommand extends AbstractRoleProviderCommand {
       GroupMembership.RoleProviderType.GOOGLE;
 
   public GoogleRoleProviderCommand() {
-    registerSubcommand(new EditGoogleRoleProviderCommand());
+    registerSubcommand(EditGoogleRoleProviderCommand::new);
   }
 }
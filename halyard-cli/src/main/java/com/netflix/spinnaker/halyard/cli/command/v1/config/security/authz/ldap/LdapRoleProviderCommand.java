@@ -29,6 +29,6 @@ public class LdapRoleProviderCommand extends AbstractRoleProviderCommand {
   private GroupMembership.RoleProviderType roleProviderType = GroupMembership.RoleProviderType.LDAP;
 
   public LdapRoleProviderCommand() {
-    registerSubcommand(new EditLdapRoleProviderCommand());
+    registerSubcommand(EditLdapRoleProviderCommand::new);
   }
 }
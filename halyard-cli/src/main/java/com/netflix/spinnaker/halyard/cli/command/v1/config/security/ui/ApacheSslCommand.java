@@ -41,9 +41,9 @@ public class ApacheSslCommand extends AbstractConfigCommand {
           "If you are doing your own SSL termination, leave this disabled.");
 
   public ApacheSslCommand() {
-    registerSubcommand(new EnableDisableSslCommandBuilder().setEnable(true).build());
-    registerSubcommand(new EnableDisableSslCommandBuilder().setEnable(false).build());
-    registerSubcommand(new ApacheSslEditCommand());
+    registerSubcommand(() -> new EnableDisableSslCommandBuilder().setEnable(true).build());
+    registerSubcommand(() -> new EnableDisableSslCommandBuilder().setEnable(false).build());
+    registerSubcommand(ApacheSslEditCommand::new);
   }
 
   @Override
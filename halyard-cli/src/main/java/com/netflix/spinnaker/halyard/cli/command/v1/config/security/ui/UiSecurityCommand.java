@@ -35,8 +35,8 @@ public class UiSecurityCommand extends AbstractConfigCommand {
   private String shortDescription = "Configure and view the UI server's addressable URL.";
 
   public UiSecurityCommand() {
-    registerSubcommand(new UiSecurityEditCommand());
-    registerSubcommand(new ApacheSslCommand());
+    registerSubcommand(UiSecurityEditCommand::new);
+    registerSubcommand(ApacheSslCommand::new);
   }
 
   @Override
@@ -35,9 +35,9 @@ public class StatsCommand extends AbstractConfigCommand {
   private String shortDescription = "Show Spinnaker's stats settings.";
 
   public StatsCommand() {
-    registerSubcommand(new StatsEditCommand());
-    registerSubcommand(new StatsEnableDisableCommandBuilder().setEnable(true).build());
-    registerSubcommand(new StatsEnableDisableCommandBuilder().setEnable(false).build());
+    registerSubcommand(StatsEditCommand::new);
+    registerSubcommand(() -> new StatsEnableDisableCommandBuilder().setEnable(true).build());
+    registerSubcommand(() -> new StatsEnableDisableCommandBuilder().setEnable(false).build());
   }
 
   @Override
@@ -34,7 +34,7 @@ public class WebhookCommand extends AbstractConfigCommand {
   private String shortDescription = "Show Spinnaker's webhook configuration.";
 
   public WebhookCommand() {
-    registerSubcommand(new WebhookTrustCommand());
+    registerSubcommand(WebhookTrustCommand::new);
   }
 
   @Override
@@ -34,9 +34,10 @@ public class WebhookTrustCommand extends AbstractConfigCommand {
   private String shortDescription = "Show Spinnaker's webhook trust configuration.";
 
   public WebhookTrustCommand() {
-    registerSubcommand(new WebhookTrustEditCommand());
-    registerSubcommand(new EnableDisableWebhookTrustCommandBuilder().setEnable(true).build());
-    registerSubcommand(new EnableDisableWebhookTrustCommandBuilder().setEnable(false).build());
+    registerSubcommand(WebhookTrustEditCommand::new);
+    registerSubcommand(() -> new EnableDisableWebhookTrustCommandBuilder().setEnable(true).build());
+    registerSubcommand(
+        () -> new EnableDisableWebhookTrustCommandBuilder().setEnable(false).build());
   }
 
   @Override
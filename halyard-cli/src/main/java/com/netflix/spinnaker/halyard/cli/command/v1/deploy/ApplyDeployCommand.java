@@ -58,6 +58,14 @@ public class ApplyDeployCommand extends AbstractRemoteActionCommand {
               + "for later manual configuration.")
   boolean omitConfig;
 
+  @Parameter(
+      names = "--only-changed-services",
+      description =
+          "When supplied, only update the services whose generated configuration, secrets, settings or "
+              + "version changed since they were last deployed. Run `hal deploy plan` to see which services those are. "
+              + "Only Kubernetes V2 deploys run with --wait-for-completion are remembered as having deployed their services.")
+  boolean onlyChangedServices;
+
   @Parameter(
       names = "--flush-infrastructure-caches",
       description =
@@ -117,6 +125,9 @@ public class ApplyDeployCommand extends AbstractRemoteActionCommand {
     if (waitForCompletion) {
       deployOptions.add(DeployOption.WAIT_FOR_COMPLETION);
     }
+    if (onlyChangedServices) {
+      deployOptions.add(DeployOption.ONLY_CHANGED_SERVICES);
+    }
 
     OperationHandler<RemoteAction> prepHandler =
         new OperationHandler<RemoteAction>()
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.cli.command.v1.deploy;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.netflix.spinnaker.halyard.cli.command.v1.config.AbstractConfigCommand;
+import com.netflix.spinnaker.halyard.cli.services.v1.Daemon;
+import com.netflix.spinnaker.halyard.cli.services.v1.OperationHandler;
+import com.netflix.spinnaker.halyard.cli.ui.v1.AnsiUi;
+import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeployPlan;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+@Parameters(separators = "=")
+public class PlanDeployCommand extends AbstractConfigCommand {
+  @Getter(AccessLevel.PUBLIC)
+  private String commandName = "plan";
+
+  @Getter(AccessLevel.PUBLIC)
+  private String shortDescription =
+      "This shows which services `hal deploy apply --only-changed-services` would update, and why.";
+
+  @Getter(AccessLevel.PUBLIC)
+  private String longDescription =
+      String.join(
+          "",
+          "This generates your deployment's configuration without deploying it, and compares each service's ",
+          "generated profiles, required files, secrets, settings and version with those recorded when that ",
+          "service was last successfully deployed.");
+
+  @Parameter(
+      names = "--service-names",
+      description = "When supplied, only plan the specified Spinnaker services.",
+      variableArity = true)
+  List<String> serviceNames = new ArrayList<>();
+
+  @Parameter(
+      names = "--exclude-service-names",
+      description = "When supplied, do not plan the specified Spinnaker services.",
+      variableArity = true)
+  List<String> excludeServiceNames = new ArrayList<>();
+
+  @Override
+  protected void executeThis() {
+    String deploymentName = getCurrentDeployment();
+
+    DeployPlan result =
+        new OperationHandler<DeployPlan>()
+            .setFailureMesssage("Failed to plan deployment.")
+            .setOperation(
+                Daemon.deployPlan(deploymentName, !noValidate, serviceNames, excludeServiceNames))
+            .get();
+
+    StringBuilder plan = new StringBuilder();
+    for (DeployPlan.ServicePlan service : result.getServices()) {
+      plan.append(service.isChanged() ? "~ " : "  ").append(service.getServiceName());
+      if (service.isFirstDeploy()) {
+        plan.append(" (no previous deploy recorded)");
+      } else if (service.isChanged()) {
+        plan.append(" (").append(String.join(", ", service.getChangedInputs())).append(")");
+      }
+      plan.append("\n");
+    }
+
+    if (result.getServices().stream().noneMatch(DeployPlan.ServicePlan::isChanged)) {
+      plan.append("No services have changed since they were last deployed.");
+    }
+
+    AnsiUi.raw(plan.toString());
+  }
+}
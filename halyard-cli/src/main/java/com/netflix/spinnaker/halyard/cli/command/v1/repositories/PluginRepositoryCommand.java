@@ -38,10 +38,10 @@ public class PluginRepositoryCommand extends NestableCommand {
       "Configure, validate, and view the specified plugin repository.";
 
   public PluginRepositoryCommand() {
-    registerSubcommand(new AddPluginRepositoryCommand());
-    registerSubcommand(new EditPluginRepositoryCommand());
-    registerSubcommand(new DeletePluginRepositoryCommand());
-    registerSubcommand(new ListPluginRepositoriesCommand());
+    registerSubcommand(AddPluginRepositoryCommand::new);
+    registerSubcommand(EditPluginRepositoryCommand::new);
+    registerSubcommand(DeletePluginRepositoryCommand::new);
+    registerSubcommand(ListPluginRepositoriesCommand::new);
   }
 
   @Override
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.cli.services.v1;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.spinnaker.halyard.config.model.v1.node.Halconfig;
+import com.netflix.spinnaker.halyard.core.BatchOperation;
+import com.netflix.spinnaker.halyard.core.DaemonResponse;
+import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import retrofit.client.Client;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.mime.TypedByteArray;
+
+/**
+ * Records the edits made by the commands in a batch rather than sending them to the daemon,
+ * answering each with a task that has already succeeded. Reads, and requests to interrupt the tasks
+ * they start, are sent to the daemon as usual, but a read of anything an earlier command in the
+ * batch changed is rejected, since the daemon hasn't seen the change yet.
+ */
+class BatchRecordingClient implements Client {
+  private static final String TASKS_PATH = "/v1/tasks/";
+
+  private final Client delegate;
+  private final ObjectMapper objectMapper;
+  private final Set<String> recordedTasks = new HashSet<>();
+  private final List<RecordedChange> changes = new ArrayList<>();
+
+  @Getter private final List<BatchOperation> operations = new ArrayList<>();
+
+  /** The line of the batch script the commands now being run are on. */
+  @Setter private int line;
+
+  BatchRecordingClient(Client delegate, ObjectMapper objectMapper) {
+    this.delegate = delegate;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public Response execute(Request request) throws IOException {
+    URI uri = URI.create(request.getUrl());
+    if (uri.getRawPath().startsWith(TASKS_PATH)) {
+      return delegate.execute(request);
+    }
+
+    if (request.getMethod().equals("GET")) {
+      checkNotChanged(uri);
+      return delegate.execute(request);
+    }
+
+    String path = uri.getRawPath();
+    if (uri.getRawQuery() != null) {
+      path += "?" + uri.getRawQuery();
+    }
+
+    Object body = null;
+    if (request.getBody() != null) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      request.getBody().writeTo(bytes);
+      if (bytes.size() > 0) {
+        body = objectMapper.readValue(bytes.toByteArray(), Object.class);
+      }
+    }
+
+    operations.add(new BatchOperation(line, request.getMethod(), path, body));
+    String name = null;
+    if (request.getMethod().equals("POST") && body instanceof Map) {
+      Object bodyName = ((Map<?, ?>) body).get("name");
+      name = bodyName != null ? bodyName.toString() : null;
+    }
+
+    changes.add(new RecordedChange(line, segments(uri), name));
+
+    DaemonTask<Halconfig, Void> task = new DaemonTask<>("Recorded line " + line, 0);
+    task.success(new DaemonResponse<>(null, new ProblemSet()));
+    recordedTasks.add(task.getUuid());
+    return new Response(
+        request.getUrl(),
+        200,
+        "OK",
+        Collections.emptyList(),
+        new TypedByteArray("application/json", objectMapper.writeValueAsBytes(task)));
+  }
+
+  boolean isRecorded(DaemonTask task) {
+    return recordedTasks.contains(task.getUuid());
+  }
+
+  /**
+   * Edits read the node they change and write the whole node back, so a read of a node an earlier
+   * line already changed would see it as it was before the batch, and the edit would undo the
+   * earlier line's change.
+   */
+  private void checkNotChanged(URI uri) {
+    List<String> read = segments(uri);
+    for (RecordedChange change : changes) {
+      if (change.line != line && change.isVisibleTo(read)) {
+        throw new IllegalArgumentException(
+            "This command reads "
+                + uri.getPath()
+                + ", which line "
+                + change.line
+                + " of the batch already changes. Commands in a batch see your halconfig as it "
+                + "was before the batch, so run them in separate batches.");
+      }
+    }
+  }
+
+  private static List<String> segments(URI uri) {
+    return Arrays.stream(uri.getPath().split("/"))
+        .filter(s -> !s.isEmpty())
+        .collect(Collectors.toList());
+  }
+
+  @AllArgsConstructor
+  private static class RecordedChange {
+    final int line;
+    final List<String> path;
+
+    /** The name of the node added, if the change adds one to the collection at its path. */
+    final String name;
+
+    boolean isVisibleTo(List<String> read) {
+      if (read.size() <= path.size()) {
+        return path.subList(0, read.size()).equals(read);
+      }
+
+      if (!read.subList(0, path.size()).equals(path)) {
+        return false;
+      }
+
+      return name == null || read.subList(path.size(), read.size()).contains(name);
+    }
+  }
+}
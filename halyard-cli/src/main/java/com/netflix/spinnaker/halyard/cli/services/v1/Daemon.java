@@ -32,6 +32,7 @@ import com.netflix.spinnaker.halyard.config.model.v1.plugins.Plugin;
 import com.netflix.spinnaker.halyard.config.model.v1.plugins.PluginRepository;
 import com.netflix.spinnaker.halyard.config.model.v1.security.*;
 import com.netflix.spinnaker.halyard.config.model.v1.webook.WebhookTrust;
+import com.netflix.spinnaker.halyard.core.BatchOperation;
 import com.netflix.spinnaker.halyard.core.DaemonOptions;
 import com.netflix.spinnaker.halyard.core.RemoteAction;
 import com.netflix.spinnaker.halyard.core.StringBodyRequest;
@@ -40,6 +41,7 @@ import com.netflix.spinnaker.halyard.core.registry.v1.Versions;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask;
 import com.netflix.spinnaker.halyard.core.tasks.v1.ShallowTaskList;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeployOption;
+import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeployPlan;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.RunningServiceDetails;
 import java.util.List;
 import java.util.Map;
@@ -897,6 +899,19 @@ public class Daemon {
     };
   }
 
+  public static Supplier<DeployPlan> deployPlan(
+      String deploymentName,
+      boolean validate,
+      List<String> serviceNames,
+      List<String> excludeServiceNames) {
+    return () -> {
+      Object rawPlan =
+          ResponseUnwrapper.get(
+              getService().deployPlan(deploymentName, validate, serviceNames, excludeServiceNames));
+      return getObjectMapper().convertValue(rawPlan, DeployPlan.class);
+    };
+  }
+
   public static Supplier<MetricStores> getMetricStores(String deploymentName, boolean validate) {
     return () -> {
       Object rawMetricStores =
@@ -1227,8 +1242,8 @@ public class Daemon {
     };
   }
 
-  static <C, T> DaemonTask<C, T> getTask(String uuid) {
-    return getService().getTask(uuid);
+  static <C, T> DaemonTask<C, T> getTask(String uuid, long since) {
+    return getService().getTaskSince(uuid, since);
   }
 
   public static void interruptTask(String uuid) {
@@ -1244,7 +1259,7 @@ public class Daemon {
     return service;
   }
 
-  private static ObjectMapper getObjectMapper() {
+  static ObjectMapper getObjectMapper() {
     if (objectMapper == null) {
       objectMapper = new ObjectMapper();
       objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
@@ -1446,13 +1461,47 @@ public class Daemon {
     };
   }
 
+  /**
+   * Records the halconfig edits made by commands from now on rather than sending them to the
+   * daemon, so that {@link #applyBatch()} can apply them all at once.
+   */
+  public static void recordBatch() {
+    batchRecorder = new BatchRecordingClient(new Ok3Client(), getObjectMapper());
+    service = null;
+  }
+
+  /** Sets the line of the batch script that the edits now being recorded are made by. */
+  public static void setBatchLine(int line) {
+    batchRecorder.setLine(line);
+  }
+
+  public static int getBatchSize() {
+    return batchRecorder.getOperations().size();
+  }
+
+  /** Stops recording, and has the daemon apply everything recorded since {@link #recordBatch()}. */
+  public static Supplier<Void> applyBatch() {
+    return () -> {
+      List<BatchOperation> operations = batchRecorder.getOperations();
+      batchRecorder = null;
+      service = null;
+      ResponseUnwrapper.get(getService().applyBatch(operations));
+      return null;
+    };
+  }
+
+  static boolean isRecorded(DaemonTask task) {
+    return batchRecorder != null && batchRecorder.isRecorded(task);
+  }
+
   private static DaemonService service;
   private static ObjectMapper objectMapper;
+  private static BatchRecordingClient batchRecorder;
 
   private static DaemonService createService(boolean log) {
     return new RestAdapter.Builder()
         .setEndpoint(GlobalOptions.getGlobalOptions().getDaemonEndpoint())
-        .setClient(new Ok3Client())
+        .setClient(batchRecorder != null ? batchRecorder : new Ok3Client())
         .setConverter(new JacksonConverter(getObjectMapper()))
         .setLogLevel(log ? RestAdapter.LogLevel.FULL : RestAdapter.LogLevel.NONE)
         .build()
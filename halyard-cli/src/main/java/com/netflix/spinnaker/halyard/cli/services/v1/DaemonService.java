@@ -25,6 +25,7 @@ import com.netflix.spinnaker.halyard.config.model.v1.plugins.Plugin;
 import com.netflix.spinnaker.halyard.config.model.v1.plugins.PluginRepository;
 import com.netflix.spinnaker.halyard.config.model.v1.security.*;
 import com.netflix.spinnaker.halyard.config.model.v1.webook.WebhookTrust;
+import com.netflix.spinnaker.halyard.core.BatchOperation;
 import com.netflix.spinnaker.halyard.core.DaemonOptions;
 import com.netflix.spinnaker.halyard.core.StringBodyRequest;
 import com.netflix.spinnaker.halyard.core.registry.v1.Versions;
@@ -52,6 +53,9 @@ public interface DaemonService {
   @GET("/v1/tasks/{uuid}/")
   <C, T> DaemonTask<C, T> getTask(@Path("uuid") String uuid);
 
+  @GET("/v1/tasks/{uuid}/")
+  <C, T> DaemonTask<C, T> getTaskSince(@Path("uuid") String uuid, @Query("since") long since);
+
   @PUT("/v1/backup/create")
   DaemonTask<Halconfig, Object> createBackup(@Body String _ignore);
 
@@ -59,6 +63,9 @@ public interface DaemonService {
   DaemonTask<Halconfig, Void> restoreBackup(
       @Query("backupPath") String backupPath, @Body String _ignore);
 
+  @POST("/v1/batch/")
+  DaemonTask<Halconfig, Void> applyBatch(@Body List<BatchOperation> operations);
+
   @GET("/v1/config/")
   DaemonTask<Halconfig, Halconfig> getHalconfig();
 
@@ -138,6 +145,13 @@ public interface DaemonService {
   DaemonTask<Halconfig, Object> configDiff(
       @Path("deploymentName") String deploymentName, @Query("validate") boolean validate);
 
+  @GET("/v1/config/deployments/{deploymentName}/deployPlan/")
+  DaemonTask<Halconfig, Object> deployPlan(
+      @Path("deploymentName") String deploymentName,
+      @Query("validate") boolean validate,
+      @Query("serviceNames") List<String> serviceNames,
+      @Query("excludeServiceNames") List<String> excludeServiceNames);
+
   @GET("/v1/config/deployments/{deploymentName}/deploymentEnvironment/")
   DaemonTask<Halconfig, Object> getDeploymentEnvironment(
       @Path("deploymentName") String deploymentName, @Query("validate") boolean validate);
@@ -28,6 +28,7 @@ import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask.State;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -44,31 +45,31 @@ public class ResponseUnwrapper {
   }
 
   public static <C, T> T get(DaemonTask<C, T> task) {
-    int lastTaskCount = 0;
-
-    task = Daemon.getTask(task.getUuid());
-    Set<String> loggedEvents = new HashSet<>();
-    while (!task.getState().isTerminal()) {
-      updateCycle();
-      if (interrupted) {
-        Daemon.interruptTask(task.getUuid());
-        throw TaskKilledException.interrupted(new InterruptedException("Interrupted by user"));
-      }
-
-      List<DaemonTask> aggregatedTasks = aggregateTasks(task);
-      lastTaskCount = formatTasks(aggregatedTasks, lastTaskCount);
-      logTasks(aggregatedTasks, loggedEvents);
-      try {
-        Thread.sleep(WAIT_MILLIS);
-      } catch (InterruptedException ignored) {
-      }
+    if (Daemon.isRecorded(task)) {
+      // Recorded as part of a batch, and applied along with the rest of it.
+      return task.getResponse().getResponseBody();
+    }
 
-      task = Daemon.getTask(task.getUuid());
+    String uuid = task.getUuid();
+    TaskProgress progress = new TaskProgress(uuid);
+    boolean streamed =
+        TaskEventStream.follow(
+            uuid,
+            update -> {
+              progress.merge(update);
+              progress.checkInterrupted();
+              progress.render();
+            },
+            () -> {
+              progress.checkInterrupted();
+              progress.render();
+            });
+
+    if (!streamed) {
+      poll(uuid, progress);
     }
 
-    List<DaemonTask> aggregatedTasks = aggregateTasks(task);
-    formatTasks(aggregatedTasks, lastTaskCount);
-    logTasks(aggregatedTasks, loggedEvents);
+    task = progress.root;
 
     DaemonResponse<T> response = task.getResponse();
 
@@ -90,31 +91,140 @@ public class ResponseUnwrapper {
     }
   }
 
-  private static String formatLoggedDaemonTask(DaemonTask task, DaemonEvent event) {
-    return "Message from task "
-        + task.getName()
-        + ": "
-        + event.getStage()
-        + " - "
-        + event.getMessage();
+  // Used against daemons that can't stream task updates. Each poll only asks for what changed
+  // since the previous one, although daemons that predate cursors will send the whole tree.
+  private static void poll(String uuid, TaskProgress progress) {
+    long cursor = 0;
+    while (true) {
+      DaemonTask update = Daemon.getTask(uuid, cursor);
+      cursor = Math.max(cursor, update.latestSequence());
+      progress.merge(update);
+      if (progress.root.getState().isTerminal()) {
+        progress.render();
+        return;
+      }
+
+      progress.checkInterrupted();
+      progress.render();
+      try {
+        Thread.sleep(WAIT_MILLIS);
+      } catch (InterruptedException ignored) {
+      }
+    }
   }
 
-  private static void logTasks(List<DaemonTask> tasks, Set<String> loggedEvents) {
-    // This is expensive, so don't check all tasks to log unless it's necessary.
-    if (GlobalOptions.getGlobalOptions().getLog() == Level.OFF) {
-      return;
+  private static void checkInterrupted(String uuid) {
+    if (interrupted) {
+      Daemon.interruptTask(uuid);
+      throw TaskKilledException.interrupted(new InterruptedException("Interrupted by user"));
     }
+  }
 
-    for (DaemonTask task : tasks) {
-      for (Object oEvent : task.getEvents()) {
-        DaemonEvent event = (DaemonEvent) oEvent;
-        String loggedEvent = formatLoggedDaemonTask(task, event);
-        if (!loggedEvents.contains(loggedEvent)) {
-          loggedEvents.add(loggedEvent);
-          log.info(loggedEvent);
+  /** The locally held task tree, built up from the incremental updates sent by the daemon. */
+  static class TaskProgress {
+    final String uuid;
+    // Per task, the sequence number of the last event logged (or for daemons that don't number
+    // their events, how many events have been logged).
+    final Map<String, Long> lastLogged = new HashMap<>();
+    DaemonTask root;
+    int lastTaskCount;
+
+    TaskProgress(String uuid) {
+      this.uuid = uuid;
+    }
+
+    void merge(DaemonTask update) {
+      root = merge(root, update);
+    }
+
+    void checkInterrupted() {
+      ResponseUnwrapper.checkInterrupted(uuid);
+    }
+
+    void render() {
+      if (root == null) {
+        return;
+      }
+
+      updateCycle();
+      lastTaskCount = formatTasks(aggregateTasks(root), lastTaskCount);
+    }
+
+    // New events are logged as they arrive, after which only the latest event of each task is kept
+    // since that is all that gets displayed.
+    private DaemonTask merge(DaemonTask local, DaemonTask update) {
+      List<DaemonEvent> events = update.getEvents();
+      newEvents(update.getUuid(), events).forEach(e -> logEvent(update, e));
+      List<DaemonEvent> lastEvent =
+          events.isEmpty()
+              ? null
+              : new ArrayList<>(Collections.singletonList(events.get(events.size() - 1)));
+
+      List<DaemonTask> updatedChildren = new ArrayList<>(update.getChildren());
+      if (local == null) {
+        local = update;
+        local.setEvents(lastEvent != null ? lastEvent : new ArrayList<>());
+        local.setChildren(new ArrayList<>());
+      } else {
+        local.setState(update.getState());
+        local.setStateSequence(update.getStateSequence());
+        local.setTimedOut(update.isTimedOut());
+        local.setResponse(update.getResponse());
+        local.setFatalError(update.getFatalError());
+        local.setRunningJobs(update.getRunningJobs());
+        if (lastEvent != null) {
+          local.setEvents(lastEvent);
+        }
+      }
+
+      for (DaemonTask child : updatedChildren) {
+        DaemonTask localChild = findChild(local, child.getUuid());
+        DaemonTask merged = merge(localChild, child);
+        if (localChild == null) {
+          local.getChildren().add(merged);
         }
       }
+
+      return local;
+    }
+
+    List<DaemonEvent> newEvents(String uuid, List<DaemonEvent> events) {
+      long seen = lastLogged.getOrDefault(uuid, 0L);
+      if (events.isEmpty()) {
+        return events;
+      } else if (events.get(0).getSequence() == 0) {
+        lastLogged.put(uuid, (long) events.size());
+        return events.subList((int) Math.min(seen, events.size()), events.size());
+      }
+
+      lastLogged.put(uuid, Math.max(seen, events.get(events.size() - 1).getSequence()));
+      return events.stream().filter(e -> e.getSequence() > seen).collect(Collectors.toList());
     }
+
+    private static DaemonTask findChild(DaemonTask task, String uuid) {
+      for (Object child : task.getChildren()) {
+        if (((DaemonTask) child).getUuid().equals(uuid)) {
+          return (DaemonTask) child;
+        }
+      }
+
+      return null;
+    }
+  }
+
+  private static void logEvent(DaemonTask task, DaemonEvent event) {
+    if (GlobalOptions.getGlobalOptions().getLog() != Level.OFF) {
+      log.info(formatLoggedDaemonTask(task, event));
+    }
+  }
+
+  private static String formatLoggedDaemonTask(DaemonTask task, DaemonEvent event) {
+    return "Message from task "
+        + task.getName()
+        + ": "
+        + event.getStage()
+        + " - "
+        + event.getMessage();
   }
 
   private static List<DaemonTask> aggregateTasks(DaemonTask task) {
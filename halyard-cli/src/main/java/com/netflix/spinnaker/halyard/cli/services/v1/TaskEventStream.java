@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.cli.services.v1;
+
+import com.netflix.spinnaker.halyard.cli.command.v1.GlobalOptions;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask;
+import java.io.IOException;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.BufferedSource;
+
+/**
+ * Follows a task through the daemon's server-sent event stream. Each event carries only what
+ * changed in the task tree since the previous one (see DaemonTask#since).
+ */
+@Slf4j
+class TaskEventStream {
+  private static final int MAX_RECONNECTS = 3;
+  private static OkHttpClient client;
+
+  /**
+   * Hands every update to onUpdate until the task is terminal, calling onIdle whenever the daemon
+   * sends a heartbeat instead. Returns false if the daemon does not support streaming (it predates
+   * it), in which case the caller has to poll for the task instead.
+   */
+  static boolean follow(String uuid, Consumer<DaemonTask> onUpdate, Runnable onIdle) {
+    long cursor = 0;
+    int reconnects = 0;
+    while (true) {
+      Request request =
+          new Request.Builder()
+              .url(
+                  GlobalOptions.getGlobalOptions().getDaemonEndpoint()
+                      + "/v1/tasks/"
+                      + uuid
+                      + "/stream?since="
+                      + cursor)
+              .header("Accept", "text/event-stream")
+              .build();
+
+      try (Response response = getClient().newCall(request).execute()) {
+        if (!response.isSuccessful()) {
+          if (cursor == 0) {
+            log.info("Daemon can't stream task " + uuid + " (" + response.code() + "), polling.");
+            return false;
+          }
+
+          throw new IOException("Unexpected response " + response.code());
+        }
+
+        BufferedSource source = response.body().source();
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = source.readUtf8Line()) != null) {
+          if (line.startsWith(":")) {
+            onIdle.run();
+          } else if (line.startsWith("data:")) {
+            if (data.length() > 0) {
+              data.append("\n");
+            }
+            data.append(line.substring(line.startsWith("data: ") ? 6 : 5));
+          } else if (line.isEmpty() && data.length() > 0) {
+            DaemonTask update =
+                Daemon.getObjectMapper().readValue(data.toString(), DaemonTask.class);
+            data.setLength(0);
+            cursor = Math.max(cursor, update.latestSequence());
+            reconnects = 0;
+            onUpdate.accept(update);
+            if (update.getState().isTerminal()) {
+              return true;
+            }
+          }
+        }
+      } catch (IOException e) {
+        if (cursor == 0) {
+          log.info("Unable to stream task " + uuid + ", polling: " + e.getMessage());
+          return false;
+        }
+
+        if (++reconnects > MAX_RECONNECTS) {
+          throw new RuntimeException("Lost the connection to the daemon while following task", e);
+        }
+
+        log.info("Task stream for " + uuid + " failed, reconnecting: " + e.getMessage());
+      }
+    }
+  }
+
+  private static OkHttpClient getClient() {
+    if (client == null) {
+      client = new OkHttpClient();
+    }
+
+    return client;
+  }
+}
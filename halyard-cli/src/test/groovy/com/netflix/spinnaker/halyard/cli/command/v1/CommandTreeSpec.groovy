@@ -84,6 +84,7 @@ class CommandTreeSpec extends Specification {
 
     HalCommand      | "admin"         | AdminCommand
     HalCommand      | "backup"        | BackupCommand
+    HalCommand      | "batch"         | BatchCommand
     HalCommand      | "config"        | ConfigCommand
     HalCommand      | "deploy"        | DeployCommand
     HalCommand      | "task"          | TaskCommand
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.spinnaker.halyard.cli.services.v1
+
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonEvent
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask
+import spock.lang.Specification
+
+class TaskProgressSpec extends Specification {
+    ResponseUnwrapper.TaskProgress progress = new ResponseUnwrapper.TaskProgress("uuid")
+
+    private static DaemonTask task(String name, String... messages) {
+        def task = new DaemonTask(name, 0)
+        task.newStage("stage")
+        messages.each { task.writeMessage(it) }
+        return task
+    }
+
+    private static List<DaemonEvent> events(long... sequences) {
+        return sequences.collect { new DaemonEvent(message: "event", sequence: it) }
+    }
+
+    void "merges updates resumed from a cursor into the tree seen so far"() {
+        setup:
+        def root = task("root", "one")
+        def child = task("child", "a")
+        root.children.add(child)
+
+        when:
+        def first = root.since(0)
+        def cursor = first.latestSequence()
+        progress.merge(first)
+        child.writeMessage("b")
+        root.writeMessage("two")
+        progress.merge(root.since(cursor))
+
+        then:
+        progress.root.uuid == root.uuid
+        progress.root.events*.message == ["two"]
+        progress.root.children.size() == 1
+        progress.root.children[0].uuid == child.uuid
+        progress.root.children[0].events*.message == ["b"]
+    }
+
+    void "keeps a task's last event when an update has none for it"() {
+        setup:
+        def root = task("root", "one")
+        def child = task("child")
+        root.children.add(child)
+
+        when:
+        def first = root.since(0)
+        def cursor = first.latestSequence()
+        progress.merge(first)
+        child.writeMessage("a")
+        progress.merge(root.since(cursor))
+
+        then:
+        progress.root.events*.message == ["one"]
+        progress.root.children[0].events*.message == ["a"]
+    }
+
+    void "only logs events it hasn't seen before"() {
+        expect:
+        progress.newEvents("task", events(1, 2))*.sequence == [1, 2]
+        progress.newEvents("task", events(2, 3))*.sequence == [3]
+        progress.newEvents("task", events(3))*.sequence == []
+        progress.newEvents("other", events(2))*.sequence == [2]
+    }
+
+    void "counts unnumbered events from daemons that send the whole list"() {
+        expect:
+        progress.newEvents("task", events(0, 0)).size() == 2
+        progress.newEvents("task", events(0, 0, 0)).size() == 1
+    }
+}
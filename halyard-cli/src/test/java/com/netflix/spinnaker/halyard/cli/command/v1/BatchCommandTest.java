@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.cli.command.v1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class BatchCommandTest {
+
+  @Test
+  void tokenizeSplitsOnWhitespace() {
+    assertThat(BatchCommand.tokenize("  config provider  kubernetes enable "))
+        .containsExactly("config", "provider", "kubernetes", "enable");
+  }
+
+  @Test
+  void tokenizeHonorsQuotesAndEscapes() {
+    assertThat(
+            BatchCommand.tokenize(
+                "edit --description \"my \\\"new\\\" account\" --path '/a b/\\c' --name x\\ y"))
+        .containsExactly(
+            "edit", "--description", "my \"new\" account", "--path", "/a b/\\c", "--name", "x y");
+  }
+
+  @Test
+  void tokenizeKeepsEmptyQuotedArguments() {
+    assertThat(BatchCommand.tokenize("edit --password ''"))
+        .containsExactly("edit", "--password", "");
+  }
+
+  @Test
+  void tokenizeRejectsUnterminatedQuotes() {
+    assertThatThrownBy(() -> BatchCommand.tokenize("edit --description \"oops"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Unterminated");
+  }
+}
@@ -29,6 +29,7 @@ import java.util.stream.Stream;
 import org.apache.commons.lang3.ArrayUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -129,7 +130,7 @@ class HalCommandTest {
         .hasMessageContaining("Only one main parameter allowed but found several");
   }
 
-  @org.junit.jupiter.api.Test
+  @Test
   void testHalyardGlobalOptionsBoolean() {
     String[] args = {"deploy", "clean", "--quiet", "--debug", "--alpha"};
     jc.parse(args);
@@ -138,6 +139,29 @@ class HalCommandTest {
     assertTrue(GlobalOptions.getGlobalOptions().isAlpha());
   }
 
+  @ParameterizedTest(name = "lazilyConfiguredCommand {0}")
+  @MethodSource("commandProvider")
+  void lazilyConfiguredCommand(String[] args) {
+    String[] withName = ArrayUtils.add(args, "foo");
+    HalCommand lazyHal = new HalCommand();
+    JCommander lazyJc = new JCommander(lazyHal);
+    lazyHal.setCommander(lazyJc).configureSubcommands(withName);
+
+    lazyJc.parse(withName);
+
+    assertThat(lazyJc.getParsedCommand()).isEqualTo(args[0]);
+    // Commands off the path don't have their subcommands configured.
+    assertThat(lazyJc.getCommands().get("backup").getCommands()).isEmpty();
+  }
+
+  @Test
+  void lazilyConfiguredDocs() {
+    HalCommand lazyHal = new HalCommand();
+    lazyHal.setCommander(new JCommander(lazyHal)).configureSubcommands(new String[] {"config"});
+
+    assertThat(lazyHal.generateDocs()).isEqualTo(hal.generateDocs());
+  }
+
   // Inspired by https://stackoverflow.com/a/46931618
   static Stream<Arguments> commandProvider() {
     // These are examples of commands that require on argument...not an
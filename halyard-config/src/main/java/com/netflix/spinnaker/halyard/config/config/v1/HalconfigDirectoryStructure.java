@@ -138,6 +138,11 @@ public class HalconfigDirectoryStructure {
     return new File(history, "service-profiles.yml").toPath();
   }
 
+  public Path getServiceFingerprintsPath(String deploymentName) {
+    File history = ensureRelativeHalDirectory(deploymentName, "history").toFile();
+    return new File(history, "service-fingerprints.yml").toPath();
+  }
+
   private Path ensureRelativeHalDirectory(String deploymentName, String directoryName) {
     Path path = Paths.get(getHalconfigDirectory(), deploymentName, directoryName);
     ensureDirectory(path);
@@ -29,10 +29,9 @@ import com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
 import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashSet;
@@ -69,6 +68,10 @@ public class HalconfigParser {
 
   private boolean useBackup = false;
 
+  // The YAML contents of the halconfig (and its backup), from which each task builds its own
+  // Halconfig.
+  private final ParsedFileCache<Object> halconfigCache = new ParsedFileCache<>();
+
   @Autowired
   public HalconfigParser(
       StrictObjectMapper objectMapper,
@@ -111,17 +114,18 @@ public class HalconfigParser {
     return halconfig;
   }
 
-  private InputStream getHalconfigStream() throws FileNotFoundException {
-    String baseDirectory =
-        useBackup
-            ? halconfigDirectoryStructure.getBackupConfigPath().toString()
-            : halconfigDirectoryStructure.getHalconfigPath();
-    return new FileInputStream(new File(baseDirectory));
+  private Path getHalconfigFilePath() {
+    return useBackup
+        ? halconfigDirectoryStructure.getBackupConfigPath()
+        : Paths.get(halconfigDirectoryStructure.getHalconfigPath());
   }
 
   /**
    * Returns the current halconfig stored at the halconfigPath.
    *
+   * <p>The file is only read and parsed again when it has changed on disk, but every task still
+   * gets its own copy of the halconfig to modify.
+   *
    * @return the fully parsed halconfig.
    * @see Halconfig
    */
@@ -130,10 +134,16 @@ public class HalconfigParser {
 
     if (local == null) {
       try {
-        InputStream is = getHalconfigStream();
-        local = parseHalconfig(is);
-      } catch (FileNotFoundException ignored) {
+        Object parsed =
+            halconfigCache.get(
+                getHalconfigFilePath(),
+                contents -> getYamlParser().load(new ByteArrayInputStream(contents)));
+        local = objectMapper.convertValue(parsed, Halconfig.class);
+      } catch (NoSuchFileException ignored) {
         // leave res as `null`
+      } catch (IOException e) {
+        throw new HalException(
+            Severity.FATAL, "Failure reading your halconfig: " + e.getMessage(), e);
       } catch (ParserException e) {
         throw new ParseConfigException(e);
       } catch (ScannerException e) {
@@ -185,13 +195,10 @@ public class HalconfigParser {
                     .map(
                         f -> {
                           try {
-                            f.setAccessible(true);
                             return (String) f.get(n);
                           } catch (IllegalAccessException e) {
                             throw new RuntimeException(
                                 "Failed to clean staging directory: " + e.getMessage(), e);
-                          } finally {
-                            f.setAccessible(false);
                           }
                         })
                     .filter(Objects::nonNull)
@@ -262,6 +269,9 @@ public class HalconfigParser {
       if (writer != null) {
         writer.close();
       }
+
+      // Don't leave it to the file's attributes to show that it was just rewritten.
+      halconfigCache.invalidate(path);
     }
   }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.config.config.v1;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caches the parsed contents of config files, so that a file is only read and parsed again once it
+ * has changed. A change is detected by the file's modification time and size, and confirmed with a
+ * digest of its contents.
+ *
+ * <p>The cached values are shared by every caller, so they must never be modified. Callers are
+ * expected to build their own copies from them.
+ */
+@Slf4j
+class ParsedFileCache<T> {
+  // Filesystems may only record modification times to the second (or worse), so a file changed
+  // within this long of being cached can be changed again without its modification time changing.
+  private static final long MODIFIED_TIME_GRANULARITY = TimeUnit.SECONDS.toMillis(2);
+
+  private final Map<Path, Entry<T>> entries = new ConcurrentHashMap<>();
+
+  /**
+   * @param path the file to read.
+   * @param parser parses the file's contents, and is only called when they have changed.
+   * @return the parsed contents of the file.
+   * @throws java.nio.file.NoSuchFileException if the file doesn't exist.
+   */
+  T get(Path path, Function<byte[], T> parser) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    long modified = attributes.lastModifiedTime().toMillis();
+    long size = attributes.size();
+
+    Entry<T> entry = entries.get(path);
+    if (entry != null
+        && entry.modified == modified
+        && entry.size == size
+        && entry.verified - modified > MODIFIED_TIME_GRANULARITY) {
+      return entry.value;
+    }
+
+    byte[] contents = Files.readAllBytes(path);
+    byte[] digest = digest(contents);
+    long now = System.currentTimeMillis();
+    if (entry != null && Arrays.equals(entry.digest, digest)) {
+      entries.put(path, new Entry<>(modified, size, now, digest, entry.value));
+      return entry.value;
+    }
+
+    log.info("Parsing " + path + " since it changed on disk");
+    T value = parser.apply(contents);
+    entries.put(path, new Entry<>(modified, size, now, digest, value));
+    return value;
+  }
+
+  void invalidate(Path path) {
+    entries.remove(path);
+  }
+
+  private static byte[] digest(byte[] contents) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(contents);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+    }
+  }
+
+  @AllArgsConstructor
+  private static class Entry<T> {
+    final long modified;
+    final long size;
+    // When the contents were last checked against the digest.
+    final long verified;
+    final byte[] digest;
+    final T value;
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.config.config.v1;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@ConfigurationProperties("halyard.validation")
+@Configuration
+public class ValidationConfig {
+  // Validate independent subtrees (accounts, persistent stores, ...) concurrently.
+  boolean parallel = false;
+  // Number of threads validating subtrees when running in parallel.
+  int threads = 8;
+  // Maximum concurrent runs per validator, keyed by validator simple class name.
+  Map<String, Integer> concurrencyLimits = new HashMap<>();
+  // Maximum number of validation results remembered for unchanged nodes.
+  int resultCacheSize = 1000;
+}
@@ -121,6 +121,31 @@ public class DeploymentEnvironment extends Node {
     }
   }
 
+  public enum KubernetesClientType {
+    KUBECTL("Run kubectl for every operation against the cluster"),
+    API("Talk to the cluster's API server directly, over a pooled connection per account");
+
+    @Getter final String description;
+
+    KubernetesClientType(String description) {
+      this.description = description;
+    }
+
+    public static KubernetesClientType fromString(String name) {
+      for (KubernetesClientType type : KubernetesClientType.values()) {
+        if (type.toString().equalsIgnoreCase(name)) {
+          return type;
+        }
+      }
+
+      throw new IllegalArgumentException(
+          "KubernetesClientType \""
+              + name
+              + "\" is not a valid choice. The options are: "
+              + Arrays.toString(KubernetesClientType.values()));
+    }
+  }
+
   private Size size = Size.SMALL;
   private DeploymentType type = DeploymentType.LocalDebian;
   private String accountName;
@@ -139,6 +164,7 @@ public class DeploymentEnvironment extends Node {
   private Map<String, String> nodeSelectors = new HashMap<>();
   private GitConfig gitConfig = new GitConfig();
   private LivenessProbeConfig livenessProbeConfig = new LivenessProbeConfig();
+  private KubernetesDeployConfig kubernetes = new KubernetesDeployConfig();
 
   @ValidForSpinnakerVersion(
       lowerBound = "1.10.0",
@@ -173,4 +199,11 @@ public class DeploymentEnvironment extends Node {
     boolean enabled;
     Integer initialDelaySeconds;
   }
+
+  @Data
+  public static class KubernetesDeployConfig {
+    KubernetesClientType clientType = KubernetesClientType.KUBECTL;
+    boolean serverSideApply;
+    boolean batchApply;
+  }
 }
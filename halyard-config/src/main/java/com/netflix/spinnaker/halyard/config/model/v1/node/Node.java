@@ -35,6 +35,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.zip.CRC32;
 import lombok.Getter;
@@ -172,29 +173,19 @@ public abstract class Node implements Validatable {
     }
   }
 
+  /**
+   * @return the @LocalFile fields of this node that currently point at files to stage. The fields
+   *     are shared with every other node of this type, and are already accessible.
+   */
   public List<Field> localFiles() {
-    Class<?> clazz = getClass();
-    List<Field> res = new ArrayList<>();
-
-    while (clazz != null) {
-      res.addAll(
-          Arrays.stream(clazz.getDeclaredFields())
-              .filter(
-                  f ->
-                      f.getDeclaredAnnotation(LocalFile.class) != null
-                          && !isSecretFile(f)
-                          && !isConfigServerResource(f))
-              .collect(Collectors.toList()));
-      clazz = clazz.getSuperclass();
-    }
-
-    return res;
+    return NodeReflection.of(getClass()).getLocalFileFields().stream()
+        .filter(f -> !isSecretFile(f) && !isConfigServerResource(f))
+        .collect(Collectors.toList());
   }
 
   private boolean isSecretFile(Field field) {
     if (field.getDeclaredAnnotation(SecretFile.class) != null) {
       try {
-        field.setAccessible(true);
         String val = (String) field.get(this);
         return EncryptedSecret.isEncryptedSecret(val);
       } catch (IllegalAccessException e) {
@@ -206,7 +197,6 @@ public abstract class Node implements Validatable {
 
   private boolean isConfigServerResource(Field field) {
     try {
-      field.setAccessible(true);
       String val = (String) field.get(this);
       return PropertyUtils.isConfigServerResource(val);
     } catch (IllegalAccessException e) {
@@ -222,7 +212,6 @@ public abstract class Node implements Validatable {
         .forEach(
             f -> {
               try {
-                f.setAccessible(true);
                 String fContent = (String) f.get(this);
                 if (fContent != null) {
                   CRC32 crc = new CRC32();
@@ -238,8 +227,6 @@ public abstract class Node implements Validatable {
               } catch (IllegalAccessException | IOException e) {
                 throw new RuntimeException(
                     "Failed to get local files for node " + this.getNodeName(), e);
-              } finally {
-                f.setAccessible(false);
               }
             });
   }
@@ -255,6 +242,34 @@ public abstract class Node implements Validatable {
     }
   }
 
+  /** @return the encrypted secrets held by @Secret fields of this node and its descendants. */
+  public Set<String> secretReferences() {
+    return encryptedValues(NodeReflection::getSecretFields);
+  }
+
+  /** @return the encrypted secrets held by @SecretFile fields of this node and its descendants. */
+  public Set<String> secretFileReferences() {
+    return encryptedValues(NodeReflection::getSecretFileFields);
+  }
+
+  private Set<String> encryptedValues(Function<NodeReflection, List<Field>> fields) {
+    Set<String> result = new LinkedHashSet<>();
+    recursiveConsume(
+        n -> {
+          for (Field f : fields.apply(NodeReflection.of(n.getClass()))) {
+            try {
+              String value = (String) f.get(n);
+              if (EncryptedSecret.isEncryptedSecret(value)) {
+                result.add(value);
+              }
+            } catch (IllegalAccessException e) {
+              throw new IllegalStateException("Unable to read field " + f, e);
+            }
+          }
+        });
+    return result;
+  }
+
   /**
    * @param clazz the class to check against.
    * @return a NodeMatcher that matches all nodes of given clazz.
@@ -297,30 +312,7 @@ public abstract class Node implements Validatable {
   }
 
   private Map<String, Object> serializedNonNodeFields() {
-    List<Field> fields =
-        Arrays.stream(this.getClass().getDeclaredFields())
-            .filter(
-                f -> {
-                  return (!(Node.class.isAssignableFrom(f.getType())
-                      || List.class.isAssignableFrom(f.getType())
-                      || Map.class.isAssignableFrom(f.getType())
-                      || f.getAnnotation(JsonIgnore.class) != null));
-                })
-            .collect(Collectors.toList());
-
-    Map<String, Object> res = new HashMap<>();
-    for (Field field : fields) {
-      field.setAccessible(true);
-      try {
-        res.put(field.getName(), field.get(this));
-      } catch (IllegalAccessException e) {
-        throw new RuntimeException(
-            "Failed to read field " + field.getName() + " in node " + getNodeName());
-      }
-      field.setAccessible(false);
-    }
-
-    return res;
+    return NodeReflection.of(getClass()).getNonNodeFieldValues(this);
   }
 
   private Map<String, Node> serializedNodeFields() {
@@ -412,9 +404,9 @@ public abstract class Node implements Validatable {
     return result;
   }
 
+  // Expects one of the fields returned by localFiles().
   public String getStringFieldValue(Field f) {
     try {
-      f.setAccessible(true);
       String value = (String) f.get(this);
       if (StringUtils.isNotEmpty(value)) {
         return value;
@@ -428,20 +420,16 @@ public abstract class Node implements Validatable {
       }
     } catch (IllegalAccessException e) {
       return null;
-    } finally {
-      f.setAccessible(false);
     }
   }
 
+  // Expects one of the fields returned by localFiles().
   public void setStringFieldValue(Field f, String value) {
     try {
-      f.setAccessible(true);
       f.set(this, value);
     } catch (IllegalAccessException e) {
       throw new HalException(
           FATAL, String.format("Unable to set value %s to field %s", value, f.getName()));
-    } finally {
-      f.setAccessible(false);
     }
   }
 
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.config.model.v1.node;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * The fields of a Node class that Halyard reflects over, looked up once per class and shared by
+ * every instance of it. Fields handed out from here are already accessible, and must be left that
+ * way.
+ */
+class NodeReflection {
+  private static final MethodType GETTER_TYPE =
+      MethodType.methodType(Object.class, Object.class);
+
+  private static final ClassValue<NodeReflection> CACHE =
+      new ClassValue<NodeReflection>() {
+        @Override
+        protected NodeReflection computeValue(Class<?> type) {
+          return new NodeReflection(type);
+        }
+      };
+
+  static NodeReflection of(Class<?> clazz) {
+    return CACHE.get(clazz);
+  }
+
+  // Fields declared by the class itself whose values may be child nodes.
+  private final List<MethodHandle> childNodeGetters = new ArrayList<>();
+
+  // @LocalFile fields declared anywhere in the class hierarchy.
+  @Getter private final List<Field> localFileFields = new ArrayList<>();
+
+  // String @Secret and @SecretFile fields declared anywhere in the class hierarchy.
+  @Getter private final List<Field> secretFields = new ArrayList<>();
+  @Getter private final List<Field> secretFileFields = new ArrayList<>();
+
+  // Fields declared by the class itself that are compared when diffing nodes, by name.
+  private final Map<String, MethodHandle> nonNodeFieldGetters = new LinkedHashMap<>();
+
+  private NodeReflection(Class<?> clazz) {
+    for (Field field : clazz.getDeclaredFields()) {
+      if (Modifier.isStatic(field.getModifiers())) {
+        continue;
+      }
+
+      Class<?> type = field.getType();
+      if (Node.class.isAssignableFrom(type) || type.isAssignableFrom(Node.class)) {
+        childNodeGetters.add(getter(field));
+      }
+
+      if (!(Node.class.isAssignableFrom(type)
+          || List.class.isAssignableFrom(type)
+          || Map.class.isAssignableFrom(type)
+          || field.getAnnotation(JsonIgnore.class) != null)) {
+        nonNodeFieldGetters.put(field.getName(), getter(field));
+      }
+    }
+
+    for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        if (field.getDeclaredAnnotation(LocalFile.class) != null) {
+          field.setAccessible(true);
+          localFileFields.add(field);
+        }
+
+        if (field.getType() == String.class) {
+          if (field.getDeclaredAnnotation(Secret.class) != null) {
+            field.setAccessible(true);
+            secretFields.add(field);
+          }
+
+          if (field.getDeclaredAnnotation(SecretFile.class) != null) {
+            field.setAccessible(true);
+            secretFileFields.add(field);
+          }
+        }
+      }
+    }
+  }
+
+  private static MethodHandle getter(Field field) {
+    try {
+      field.setAccessible(true);
+      return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Unable to access field " + field, e);
+    }
+  }
+
+  private static Object get(MethodHandle getter, Object target) {
+    try {
+      return (Object) getter.invokeExact(target);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new IllegalStateException(t);
+    }
+  }
+
+  List<Node> getChildNodes(Node node) {
+    if (childNodeGetters.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    List<Node> result = new ArrayList<>(childNodeGetters.size());
+    for (MethodHandle getter : childNodeGetters) {
+      Object value = get(getter, node);
+      if (value instanceof Node) {
+        result.add((Node) value);
+      }
+    }
+
+    return result;
+  }
+
+  Map<String, Object> getNonNodeFieldValues(Node node) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    nonNodeFieldGetters.forEach((name, getter) -> result.put(name, get(getter, node)));
+    return result;
+  }
+}
@@ -24,6 +24,7 @@ import com.netflix.spinnaker.halyard.core.secrets.v1.SecretSessionManager;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
 import org.springframework.beans.factory.annotation.Autowired;
 
 public abstract class Validator<T extends Node> {
@@ -38,6 +39,16 @@ public abstract class Validator<T extends Node> {
 
   public abstract void validate(ConfigProblemSetBuilder p, T n);
 
+  /**
+   * How long the problems found for a node may be reused while neither the node nor the local files
+   * it references change. Only validators whose findings depend on nothing but their node should
+   * override this, typically because they are slow (e.g. they reach out over the network). By
+   * default results aren't reused.
+   */
+  public Duration getResultCacheTtl() {
+    return Duration.ZERO;
+  }
+
   protected String validatingFileDecrypt(ConfigProblemSetBuilder p, String filePath) {
     byte[] contentBytes = validatingFileDecryptBytes(p, filePath);
     if (contentBytes != null) {
@@ -72,6 +72,12 @@ public class ConfigProblemSetBuilder {
     return this;
   }
 
+  /** Appends every problem collected by another builder, keeping their order. */
+  public ConfigProblemSetBuilder merge(ConfigProblemSetBuilder other) {
+    builders.addAll(other.builders);
+    return this;
+  }
+
   public ProblemSet build() {
     List<Problem> problems =
         builders.stream().map(ConfigProblemBuilder::build).collect(Collectors.toList());
@@ -19,6 +19,7 @@ package com.netflix.spinnaker.halyard.config.services.v1;
 import com.netflix.spinnaker.halyard.config.error.v1.ConfigNotFoundException;
 import com.netflix.spinnaker.halyard.config.error.v1.IllegalConfigException;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Account;
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentConfiguration;
 import com.netflix.spinnaker.halyard.config.model.v1.node.NodeFilter;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Provider;
 import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemBuilder;
@@ -58,7 +59,10 @@ public class AccountService {
   }
 
   private Account getAccount(NodeFilter filter, String accountName) {
-    List<Account> matchingAccounts = lookupService.getMatchingNodesOfType(filter, Account.class);
+    return getAccount(lookupService.getMatchingNodesOfType(filter, Account.class), accountName);
+  }
+
+  private Account getAccount(List<Account> matchingAccounts, String accountName) {
 
     switch (matchingAccounts.size()) {
       case 0:
@@ -98,6 +102,30 @@ public class AccountService {
     return getAccount(filter, accountName);
   }
 
+  /**
+   * Finds an account in the given deployment configuration, which need not be the one in the
+   * current halconfig.
+   */
+  public Account getProviderAccount(
+      DeploymentConfiguration deploymentConfiguration, String providerName, String accountName) {
+    NodeFilter filter = new NodeFilter().setProvider(providerName).setAccount(accountName);
+    return getAccount(
+        lookupService.getMatchingNodesOfType(deploymentConfiguration, filter, Account.class),
+        accountName);
+  }
+
+  /**
+   * Finds an account of any provider in the given deployment configuration, which need not be the
+   * one in the current halconfig.
+   */
+  public Account getAnyProviderAccount(
+      DeploymentConfiguration deploymentConfiguration, String accountName) {
+    NodeFilter filter = new NodeFilter().withAnyProvider().setAccount(accountName);
+    return getAccount(
+        lookupService.getMatchingNodesOfType(deploymentConfiguration, filter, Account.class),
+        accountName);
+  }
+
   public void setAccount(
       String deploymentName, String providerName, String accountName, Account newAccount) {
     Provider provider = providerService.getProvider(deploymentName, providerName);
@@ -17,7 +17,6 @@
 package com.netflix.spinnaker.halyard.config.services.v1;
 
 import com.netflix.spinnaker.halyard.config.config.v1.HalconfigParser;
-import com.netflix.spinnaker.halyard.config.model.v1.node.Halconfig;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Node;
 import com.netflix.spinnaker.halyard.config.model.v1.node.NodeFilter;
 import com.netflix.spinnaker.halyard.config.model.v1.node.NodeIterator;
@@ -44,9 +43,21 @@ public class LookupService {
    * @return the nodes matching the filter and clazz.
    */
   public <T extends Node> List<T> getMatchingNodesOfType(NodeFilter filter, Class<T> clazz) {
-    Halconfig halconfig = parser.getHalconfig();
+    return getMatchingNodesOfType(parser.getHalconfig(), filter, clazz);
+  }
 
-    return getMatchingNodes(halconfig, filter).stream()
+  /**
+   * Like {@link #getMatchingNodesOfType(NodeFilter, Class)}, but searches below the given node
+   * rather than the current halconfig, e.g. in a copy of a deployment configuration.
+   *
+   * @param root is the node to search below.
+   * @param filter is the filter to lookup by.
+   * @param clazz is the class of the node type we want to find.
+   * @return the nodes matching the filter and clazz.
+   */
+  public <T extends Node> List<T> getMatchingNodesOfType(
+      Node root, NodeFilter filter, Class<T> clazz) {
+    return getMatchingNodes(root, filter).stream()
         .filter(clazz::isInstance)
         .map(n -> (T) n)
         .collect(Collectors.toList());
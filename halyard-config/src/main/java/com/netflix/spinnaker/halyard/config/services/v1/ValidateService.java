@@ -17,14 +17,39 @@
 package com.netflix.spinnaker.halyard.config.services.v1;
 
 import com.netflix.spinnaker.halyard.config.config.v1.HalconfigParser;
+import com.netflix.spinnaker.halyard.config.config.v1.ValidationConfig;
+import com.netflix.spinnaker.halyard.config.model.v1.canary.AbstractCanaryAccount;
+import com.netflix.spinnaker.halyard.config.model.v1.node.Account;
+import com.netflix.spinnaker.halyard.config.model.v1.node.ArtifactAccount;
+import com.netflix.spinnaker.halyard.config.model.v1.node.CIAccount;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Halconfig;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Node;
 import com.netflix.spinnaker.halyard.config.model.v1.node.NodeFilter;
 import com.netflix.spinnaker.halyard.config.model.v1.node.NodeIterator;
+import com.netflix.spinnaker.halyard.config.model.v1.node.PersistentStore;
 import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemSetBuilder;
 import com.netflix.spinnaker.halyard.config.validate.v1.ValidatorCollection;
 import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet;
+import com.netflix.spinnaker.halyard.core.secrets.v1.SecretSessionManager;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskInterrupted;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -33,23 +58,53 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 public class ValidateService {
+  /**
+   * Subtrees rooted at these node types don't depend on their siblings, so they can be validated
+   * concurrently when parallel validation is enabled. They are also where most validators reach out
+   * over the network.
+   */
+  private static final List<Class<? extends Node>> INDEPENDENT_SUBTREES =
+      Arrays.asList(
+          Account.class,
+          ArtifactAccount.class,
+          CIAccount.class,
+          PersistentStore.class,
+          AbstractCanaryAccount.class);
+
   @Autowired HalconfigParser parser;
 
   @Autowired ValidatorCollection validatorCollection;
 
+  @Autowired ValidationConfig validationConfig = new ValidationConfig();
+
   @Autowired private ApplicationContext applicationContext;
 
+  @Autowired private SecretSessionManager secretSessionManager;
+
+  @Autowired(required = false)
+  private MeterRegistry meterRegistry;
+
+  private ExecutorService executor;
+
   public ProblemSet validateMatchingFilter(NodeFilter filter) {
     DaemonTaskHandler.newStage("Running validation");
     Halconfig halconfig = parser.getHalconfig();
-    ConfigProblemSetBuilder psBuilder = new ConfigProblemSetBuilder(applicationContext);
-    recursiveValidate(psBuilder, halconfig, filter);
+    ValidationRun run = new ValidationRun(validationConfig.isParallel());
+    recursiveValidate(run.ownBuilder, halconfig, filter, run);
 
+    ConfigProblemSetBuilder psBuilder = run.collect();
+    run.recordTimings();
     return psBuilder.build();
   }
 
-  private void recursiveValidate(ConfigProblemSetBuilder psBuilder, Node node, NodeFilter filter) {
-    int runCount = validatorCollection.runAllValidators(psBuilder, node);
+  private void recursiveValidate(
+      Supplier<ConfigProblemSetBuilder> psBuilder,
+      Node node,
+      NodeFilter filter,
+      ValidationRun run) {
+    long start = System.nanoTime();
+    int runCount = validatorCollection.runAllValidators(psBuilder.get(), node);
+    run.record(node, System.nanoTime() - start);
 
     log.info(
         "Ran "
@@ -64,8 +119,130 @@ public class ValidateService {
 
     Node recurse = children.getNext(filter);
     while (recurse != null) {
-      recursiveValidate(psBuilder, recurse, filter);
+      if (psBuilder == run.ownBuilder && run.canFork(recurse)) {
+        run.fork(recurse, filter);
+      } else {
+        recursiveValidate(psBuilder, recurse, filter, run);
+      }
       recurse = children.getNext(filter);
     }
   }
+
+  private synchronized ExecutorService getExecutor() {
+    if (executor == null) {
+      AtomicInteger threadCount = new AtomicInteger();
+      executor =
+          Executors.newFixedThreadPool(
+              Math.max(1, validationConfig.getThreads()),
+              r -> {
+                Thread thread = new Thread(r, "validation-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+
+    return executor;
+  }
+
+  /**
+   * The problems found by a single validation. Each forked subtree collects into its own builder,
+   * and the builders are merged back in the order the subtrees were reached, so the resulting
+   * problem set reads the same as a sequential depth-first validation.
+   */
+  private class ValidationRun {
+    private final boolean parallel;
+    private final List<Future<ConfigProblemSetBuilder>> segments = new ArrayList<>();
+    private final Map<Class<?>, LongAdder> nanosByNodeClass = new ConcurrentHashMap<>();
+    private final Supplier<ConfigProblemSetBuilder> ownBuilder = this::current;
+    private ConfigProblemSetBuilder current;
+
+    ValidationRun(boolean parallel) {
+      this.parallel = parallel;
+    }
+
+    ConfigProblemSetBuilder current() {
+      if (current == null) {
+        current = new ConfigProblemSetBuilder(applicationContext);
+        segments.add(CompletableFuture.completedFuture(current));
+      }
+
+      return current;
+    }
+
+    boolean canFork(Node node) {
+      return parallel
+          && INDEPENDENT_SUBTREES.stream().anyMatch(c -> c.isInstance(node));
+    }
+
+    void fork(Node node, NodeFilter filter) {
+      // Whatever the parent validates after this subtree must be reported after it.
+      current = null;
+      segments.add(
+          getExecutor()
+              .submit(
+                  DaemonTaskHandler.withCurrentTask(
+                      secretSessionManager.withCurrentSession(
+                          () -> {
+                            ConfigProblemSetBuilder psBuilder =
+                                new ConfigProblemSetBuilder(applicationContext);
+                            recursiveValidate(() -> psBuilder, node, filter, this);
+                            return psBuilder;
+                          }))));
+    }
+
+    void record(Node node, long nanos) {
+      nanosByNodeClass.computeIfAbsent(node.getClass(), c -> new LongAdder()).add(nanos);
+    }
+
+    ConfigProblemSetBuilder collect() {
+      ConfigProblemSetBuilder result = new ConfigProblemSetBuilder(applicationContext);
+      try {
+        for (Future<ConfigProblemSetBuilder> segment : segments) {
+          result.merge(segment.get());
+        }
+      } catch (InterruptedException e) {
+        segments.forEach(s -> s.cancel(true));
+        throw new DaemonTaskInterrupted(e);
+      } catch (ExecutionException e) {
+        segments.forEach(s -> s.cancel(true));
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw new RuntimeException("Validation failed: " + cause.getMessage(), cause);
+      }
+
+      return result;
+    }
+
+    /**
+     * Logs how long validating each class of node took, slowest first, and adds it to the
+     * "halyard.validation.nodes" timer tagged with that class.
+     */
+    void recordTimings() {
+      nanosByNodeClass.entrySet().stream()
+          .sorted(
+              Comparator.comparing(
+                  (Map.Entry<Class<?>, LongAdder> e) -> e.getValue().sum(),
+                  Comparator.reverseOrder()))
+          .forEach(
+              e -> {
+                String nodeClass = e.getKey().getSimpleName();
+                long nanos = e.getValue().sum();
+                log.info(
+                    "Validating nodes with class \""
+                        + nodeClass
+                        + "\" took "
+                        + TimeUnit.NANOSECONDS.toMillis(nanos)
+                        + "ms");
+                if (meterRegistry != null) {
+                  Timer.builder("halyard.validation.nodes")
+                      .description("Time spent validating each class of halconfig node")
+                      .tag("nodeClass", nodeClass)
+                      .register(meterRegistry)
+                      .record(nanos, TimeUnit.NANOSECONDS);
+                }
+              });
+    }
+  }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.config.validate.v1;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.netflix.spinnaker.halyard.config.model.v1.node.Node;
+import com.netflix.spinnaker.halyard.config.model.v1.node.Validator;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remembers the problems a validator found for a node, so that validating an unchanged node again
+ * reuses them instead of rerunning the validator. Entries are keyed by the validator, the node's
+ * class, the node's serialized contents and the contents of the local files it references, and
+ * expire after the validator's {@link Validator#getResultCacheTtl()}.
+ */
+@Slf4j
+class ValidationResultCache {
+  private static final ObjectMapper CANONICAL_MAPPER =
+      JsonMapper.builder()
+          .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+          .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+          .build();
+
+  private final Map<String, Entry> entries;
+
+  ValidationResultCache(int maxEntries) {
+    this.entries =
+        new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+          }
+        };
+  }
+
+  /** @return the problems found by an earlier run, or null if there is none that may be reused. */
+  synchronized List<Problem> get(String key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+
+    if (entry.expiresAt < System.currentTimeMillis()) {
+      entries.remove(key);
+      return null;
+    }
+
+    return entry.problems;
+  }
+
+  synchronized void put(String key, List<Problem> problems, Duration ttl) {
+    entries.put(key, new Entry(problems, System.currentTimeMillis() + ttl.toMillis()));
+  }
+
+  synchronized void clear() {
+    entries.clear();
+  }
+
+  /** @return the key for validating this node with this validator, or null if it can't be keyed. */
+  static String keyFor(Validator validator, Node node) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(CANONICAL_MAPPER.writeValueAsBytes(node));
+      for (Field field : node.localFiles()) {
+        String path = (String) field.get(node);
+        digest.update(field.getName().getBytes(StandardCharsets.UTF_8));
+        if (path != null) {
+          digest.update(fileDigest(Paths.get(path)));
+        }
+      }
+
+      return validator.getClass().getName()
+          + ":"
+          + node.getClass().getName()
+          + ":"
+          + toHex(digest.digest());
+    } catch (JsonProcessingException | IllegalAccessException e) {
+      log.debug("Unable to key validation of " + node.getNodeName() + ", not caching it", e);
+      return null;
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported on this JVM", e);
+    }
+  }
+
+  private static byte[] fileDigest(Path path) throws NoSuchAlgorithmException {
+    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+    try {
+      return digest.digest(Files.readAllBytes(path));
+    } catch (IOException e) {
+      // A missing or unreadable file is a state of its own, which the validator reports on.
+      return new byte[] {0};
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    StringBuilder result = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      result.append(String.format("%02x", b));
+    }
+    return result.toString();
+  }
+
+  @AllArgsConstructor
+  private static class Entry {
+    final List<Problem> problems;
+    final long expiresAt;
+  }
+}
@@ -16,22 +16,35 @@
 
 package com.netflix.spinnaker.halyard.config.validate.v1;
 
+import com.netflix.spinnaker.halyard.config.config.v1.ValidationConfig;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Node;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Validator;
 import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemSetBuilder;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskInterrupted;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.GenericTypeResolver;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
 /**
  * This collects all validators that have been defined so far, and tries to apply all matching ones
  * to the input node.
+ *
+ * <p>Which validators apply to a node depends only on the node's class, so the matching set is
+ * resolved once per class from each validator's {@code Validator<T>} type argument and kept in a
+ * dispatch table.
  */
 @Slf4j
 @Component
@@ -40,6 +53,15 @@ public class ValidatorCollection {
   @Autowired(required = false)
   private List<Validator> validators = new ArrayList<>();
 
+  @Autowired(required = false)
+  private ValidationConfig validationConfig;
+
+  private final Map<Class<?>, List<Validator>> dispatchTable = new ConcurrentHashMap<>();
+
+  private final Map<Class<?>, Optional<Semaphore>> concurrencyLimits = new ConcurrentHashMap<>();
+
+  private ValidationResultCache resultCache;
+
   /**
    * Runs every validator defined against the given node.
    *
@@ -50,48 +72,158 @@ public class ValidatorCollection {
   public int runAllValidators(ConfigProblemSetBuilder psBuilder, Node node) {
     psBuilder.setNode(node);
     int validatorRuns = 0;
-    for (Validator validator : validators) {
-      validatorRuns += runMatchingValidators(psBuilder, validator, node, node.getClass()) ? 1 : 0;
+    for (Validator validator : validatorsFor(node.getClass())) {
+      validatorRuns += runCachedValidator(psBuilder, validator, node) ? 1 : 0;
     }
 
     return validatorRuns;
   }
 
   /**
-   * Walk up the object hierarchy, running this validator whenever possible. The idea is, perhaps we
-   * were passed a Kubernetes account, and want to run both the standard Kubernetes account
-   * validator to see if the kubeconfig is valid, as well as the super-classes Account validator to
-   * see if the account name is valid.
+   * Runs the validator, unless it has already validated an identical node recently enough, without
+   * finding any errors, that its problems can be reused.
    *
+   * @return true iff the validator ran on the node, or its earlier run was reused.
+   */
+  private boolean runCachedValidator(
+      ConfigProblemSetBuilder psBuilder, Validator validator, Node node) {
+    Duration ttl = validator.getResultCacheTtl();
+    if (ttl.isZero() || ttl.isNegative()) {
+      return runValidator(psBuilder, validator, node);
+    }
+
+    String key = ValidationResultCache.keyFor(validator, node);
+    if (key == null) {
+      return runValidator(psBuilder, validator, node);
+    }
+
+    List<Problem> cached = getResultCache().get(key);
+    if (cached != null) {
+      log.debug(
+          "Reusing the last run of "
+              + validator.getClass().getSimpleName()
+              + " for unchanged node "
+              + node.getNodeName());
+      cached.forEach(
+          p ->
+              psBuilder
+                  .addProblem(p.getSeverity(), p.getMessage())
+                  .setRemediation(p.getRemediation())
+                  .setOptions(p.getOptions()));
+      return true;
+    }
+
+    ConfigProblemSetBuilder scratch = new ConfigProblemSetBuilder(psBuilder.getContext());
+    scratch.setNode(node);
+    boolean ran = runValidator(scratch, validator, node);
+    List<Problem> problems = scratch.build().getProblems();
+    if (ran && problems.stream().noneMatch(ValidatorCollection::isFailure)) {
+      getResultCache().put(key, problems, ttl);
+    }
+
+    psBuilder.merge(scratch);
+    return ran;
+  }
+
+  /**
+   * Errors are often transient (e.g. a registry that timed out), so a run that found any is not
+   * reused: the user will want to see the next run succeed once they've fixed it.
+   */
+  private static boolean isFailure(Problem problem) {
+    return problem.getSeverity().compareTo(Problem.Severity.ERROR) >= 0;
+  }
+
+  /**
    * @param psBuilder contains the list of problems encountered.
    * @param validator is the validator to be run.
    * @param node is the subject of validation.
-   * @param c is some super(inclusive) class of node.
    * @return true iff the validator ran on the node (for logging purposes).
    */
-  private boolean runMatchingValidators(
-      ConfigProblemSetBuilder psBuilder, Validator validator, Node node, Class c) {
-    if (c == Object.class) {
-      return false;
+  private boolean runValidator(ConfigProblemSetBuilder psBuilder, Validator validator, Node node) {
+    DaemonTaskHandler.message(
+        "Validating " + node.getNodeName() + " with " + validator.getClass().getSimpleName());
+    Optional<Semaphore> limit = concurrencyLimitFor(validator);
+    if (limit.isPresent()) {
+      try {
+        limit.get().acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new DaemonTaskInterrupted(e);
+      }
     }
 
     try {
-      Method m = validator.getClass().getMethod("validate", ConfigProblemSetBuilder.class, c);
-      DaemonTaskHandler.message(
-          "Validating " + node.getNodeName() + " with " + validator.getClass().getSimpleName());
-      m.invoke(validator, psBuilder, node);
+      validator.validate(psBuilder, node);
       return true;
-    } catch (InvocationTargetException | NoSuchMethodException e) {
-      // Do nothing, odds are most validators don't validate every class.
-    } catch (IllegalAccessException e) {
-      throw new RuntimeException(
-          "Failed to invoke validate() on \""
+    } catch (DaemonTaskInterrupted e) {
+      throw e;
+    } catch (RuntimeException e) {
+      // A validator failing outright has never failed validation as a whole.
+      log.debug(
+          "Validator "
               + validator.getClass().getSimpleName()
-              + "\" for node \""
-              + c.getSimpleName(),
+              + " failed on node "
+              + node.getNodeName(),
           e);
+      return false;
+    } finally {
+      limit.ifPresent(Semaphore::release);
+    }
+  }
+
+  /**
+   * Validators that talk to a single remote service (e.g. a docker registry) can be capped so that
+   * parallel validation doesn't flood it; see {@link ValidationConfig#getConcurrencyLimits()}.
+   */
+  private Optional<Semaphore> concurrencyLimitFor(Validator validator) {
+    if (validationConfig == null || validationConfig.getConcurrencyLimits().isEmpty()) {
+      return Optional.empty();
+    }
+
+    return concurrencyLimits.computeIfAbsent(
+        validator.getClass(),
+        c -> {
+          String name = ClassUtils.getUserClass(c).getSimpleName();
+          Integer permits = validationConfig.getConcurrencyLimits().get(name);
+          return permits != null && permits > 0
+              ? Optional.of(new Semaphore(permits, true))
+              : Optional.empty();
+        });
+  }
+
+  private synchronized ValidationResultCache getResultCache() {
+    if (resultCache == null) {
+      int size = validationConfig != null ? validationConfig.getResultCacheSize() : 1000;
+      resultCache = new ValidationResultCache(size);
     }
 
-    return runMatchingValidators(psBuilder, validator, node, c.getSuperclass());
+    return resultCache;
+  }
+
+  private List<Validator> validatorsFor(Class<?> nodeClass) {
+    return dispatchTable.computeIfAbsent(nodeClass, this::resolveValidators);
+  }
+
+  /**
+   * Collects every validator whose target type is the node class or one of its superclasses. The
+   * idea is, perhaps we were passed a Kubernetes account, and want to run both the standard
+   * Kubernetes account validator to see if the kubeconfig is valid, as well as the super-classes
+   * Account validator to see if the account name is valid.
+   */
+  private List<Validator> resolveValidators(Class<?> nodeClass) {
+    List<Validator> result = new ArrayList<>();
+    for (Validator validator : validators) {
+      if (targetType(validator).isAssignableFrom(nodeClass)) {
+        result.add(validator);
+      }
+    }
+
+    return Collections.unmodifiableList(result);
+  }
+
+  private static Class<?> targetType(Validator validator) {
+    Class<?> validatorClass = ClassUtils.getUserClass(validator);
+    Class<?> target = GenericTypeResolver.resolveTypeArgument(validatorClass, Validator.class);
+    return target != null ? target : Node.class;
   }
 }
@@ -27,6 +27,7 @@ import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemSetBuilder;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +40,15 @@ import org.springframework.stereotype.Component;
 public class DockerRegistryAccountValidator extends Validator<DockerRegistryAccount> {
   private static final String namePattern = "^[a-z0-9]+([-a-z0-9]*[a-z0-9])?$";
 
+  // Registry contents and credentials can change without the account changing, so don't trust a
+  // previous run for long.
+  private static final Duration RESULT_CACHE_TTL = Duration.ofMinutes(10);
+
+  @Override
+  public Duration getResultCacheTtl() {
+    return RESULT_CACHE_TTL;
+  }
+
   @Override
   public void validate(ConfigProblemSetBuilder p, DockerRegistryAccount n) {
     if (!Pattern.matches(namePattern, n.getName())) {
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.config.config.v1
+
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.NoSuchFileException
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+
+class ParsedFileCacheSpec extends Specification {
+  Path file
+  ParsedFileCache<String> cache
+  int parses
+
+  void setup() {
+    file = Files.createTempFile("halconfig", ".yml")
+    cache = new ParsedFileCache<>()
+    parses = 0
+  }
+
+  void cleanup() {
+    Files.deleteIfExists(file)
+  }
+
+  String load() {
+    return cache.get(file, { byte[] contents -> parses++; new String(contents) })
+  }
+
+  void setModified(long millis) {
+    Files.setLastModifiedTime(file, FileTime.fromMillis(millis))
+  }
+
+  void "only parses an unchanged file once"() {
+    setup:
+    file.text = "a: b"
+    setModified(System.currentTimeMillis() - 60000)
+
+    when:
+    def first = load()
+    def second = load()
+
+    then:
+    first == "a: b"
+    second == "a: b"
+    parses == 1
+  }
+
+  void "parses the file again once its contents change"() {
+    setup:
+    file.text = "a: b"
+    setModified(System.currentTimeMillis() - 60000)
+    load()
+
+    when:
+    file.text = "a: c"
+    def result = load()
+
+    then:
+    result == "a: c"
+    parses == 2
+  }
+
+  void "catches changes that keep the size and modification time of a recently written file"() {
+    setup:
+    long modified = System.currentTimeMillis()
+    file.text = "a: b"
+    setModified(modified)
+    load()
+
+    when:
+    file.text = "a: c"
+    setModified(modified)
+    def result = load()
+
+    then:
+    result == "a: c"
+    parses == 2
+  }
+
+  void "does not parse a file again when only its modification time changes"() {
+    setup:
+    file.text = "a: b"
+    load()
+
+    when:
+    setModified(System.currentTimeMillis() + 1000)
+    load()
+
+    then:
+    parses == 1
+  }
+
+  void "throws when the file is missing"() {
+    setup:
+    Files.delete(file)
+
+    when:
+    load()
+
+    then:
+    thrown(NoSuchFileException)
+  }
+}
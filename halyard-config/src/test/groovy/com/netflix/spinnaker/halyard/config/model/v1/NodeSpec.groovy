@@ -41,6 +41,10 @@ class NodeSpec extends Specification {
     }
   }
 
+  class SubTestNode extends TestNode {
+    @LocalFile String file3 = "/g/h/i/"
+  }
+
   class ChildTestNode extends Node {
     String name
     List<Node> childNodes = new ArrayList<>()
@@ -134,6 +138,20 @@ class NodeSpec extends Specification {
     files.size() == 2
   }
 
+  void "node reports localfiles declared by its superclasses"() {
+    setup:
+    def node = new SubTestNode()
+
+    when:
+    def files = node.localFiles()
+    def again = node.localFiles()
+
+    then:
+    files*.name.toSet() == ["file1", "file2", "file3"].toSet()
+    again*.name.toSet() == files*.name.toSet()
+    files.collect { node.getStringFieldValue(it) }.toSet() == ["/a/b/c/", "/d/e/f/", "/g/h/i/"].toSet()
+  }
+
   void "node correctly reports no localfiles"() {
     setup:
     def node = new ChildTestNode()
@@ -16,13 +16,19 @@
 
 package com.netflix.spinnaker.halyard.config.services.v1
 
+import com.netflix.spinnaker.halyard.config.config.v1.ValidationConfig
 import com.netflix.spinnaker.halyard.config.model.v1.node.Account
 import com.netflix.spinnaker.halyard.config.model.v1.node.NodeFilter
 import com.netflix.spinnaker.halyard.config.model.v1.node.Validator
 import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemSetBuilder
 import com.netflix.spinnaker.halyard.config.validate.v1.ValidatorCollection
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem
+import com.netflix.spinnaker.halyard.core.secrets.v1.SecretSessionManager
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import spock.lang.Specification
 
+import java.time.Duration
+
 class ValidateServiceSpec extends Specification {
   static String DEPLOYMENT_NAME = "default"
   static String KUBERNETES_ACCOUNT_NAME = "my-k8s-account"
@@ -82,6 +88,202 @@ deploymentConfigurations:
     validator.validatedAccounts.contains(AZURE_ACCOUNT_NAME)
   }
 
+  def "records how long validating each class of node took"() {
+    setup:
+    String config = """
+halyardVersion: 1
+currentDeployment: $DEPLOYMENT_NAME
+deploymentConfigurations:
+- name: $DEPLOYMENT_NAME
+  version: 1
+  providers:
+    $KUBERNETES_PROVIDER:
+      enabled: true
+      accounts:
+        - name: $KUBERNETES_ACCOUNT_NAME
+"""
+    def registry = new SimpleMeterRegistry()
+    def validateService = new ValidateService()
+    validateService.parser = mocker.mockHalconfigParser(config)
+    validateService.meterRegistry = registry
+    validateService.validatorCollection = new ValidatorCollection()
+    validateService.validatorCollection.validators = [new TrackingAccountValidator()]
+    def filter = new NodeFilter()
+        .setDeployment(DEPLOYMENT_NAME)
+        .withAnyProvider()
+        .withAnyAccount()
+
+    when:
+    validateService.validateMatchingFilter(filter)
+
+    then:
+    registry.get("halyard.validation.nodes").tag("nodeClass", "KubernetesAccount").timer().count() == 1
+    registry.get("halyard.validation.nodes").tag("nodeClass", "DeploymentConfiguration").timer().count() == 1
+  }
+
+  def "parallel validation reports problems in the same order as sequential validation"() {
+    setup:
+    String config = """
+halyardVersion: 1
+currentDeployment: $DEPLOYMENT_NAME
+deploymentConfigurations:
+- name: $DEPLOYMENT_NAME
+  version: 1
+  providers:
+    $KUBERNETES_PROVIDER:
+      enabled: true
+      accounts:
+        - name: $KUBERNETES_ACCOUNT_NAME
+    $DOCKER_REGISTRY_PROVIDER:
+      enabled: true
+      accounts:
+        - name: $DOCKER_REGISTRY_ACCOUNT_NAME
+    $GOOGLE_PROVIDER:
+      enabled: true
+      accounts:
+        - name: $GOOGLE_ACCOUNT_NAME
+"""
+    def filter = new NodeFilter()
+        .setDeployment(DEPLOYMENT_NAME)
+        .withAnyProvider()
+        .withAnyAccount()
+
+    def validate = { boolean parallel ->
+      def validateService = new ValidateService()
+      validateService.parser = mocker.mockHalconfigParser(config)
+      validateService.validationConfig = new ValidationConfig().setParallel(parallel).setThreads(3)
+      validateService.secretSessionManager = new SecretSessionManager()
+      validateService.validatorCollection = new ValidatorCollection()
+      validateService.validatorCollection.validators = [new ProblemPerAccountValidator()]
+      validateService.validateMatchingFilter(filter).problems.collect { it.message }
+    }
+
+    when:
+    def sequential = validate(false)
+    def parallel = validate(true)
+
+    then:
+    sequential.size() == 3
+    parallel == sequential
+  }
+
+  def "validators that declare a ttl are not rerun on unchanged nodes"() {
+    setup:
+    String config = """
+halyardVersion: 1
+currentDeployment: $DEPLOYMENT_NAME
+deploymentConfigurations:
+- name: $DEPLOYMENT_NAME
+  version: 1
+  providers:
+    $KUBERNETES_PROVIDER:
+      enabled: true
+      accounts:
+        - name: $KUBERNETES_ACCOUNT_NAME
+    $GOOGLE_PROVIDER:
+      enabled: true
+      accounts:
+        - name: $GOOGLE_ACCOUNT_NAME
+"""
+    def filter = new NodeFilter()
+        .setDeployment(DEPLOYMENT_NAME)
+        .withAnyProvider()
+        .withAnyAccount()
+    def validator = new CachedAccountValidator()
+    def validatorCollection = new ValidatorCollection()
+    validatorCollection.validators = [validator]
+
+    def validate = { String yaml ->
+      def validateService = new ValidateService()
+      validateService.parser = mocker.mockHalconfigParser(yaml)
+      validateService.validatorCollection = validatorCollection
+      validateService.validateMatchingFilter(filter).problems.collect { it.message }
+    }
+
+    when:
+    def first = validate(config)
+    def second = validate(config)
+
+    then:
+    validator.runs == 2
+    second == first
+
+    when:
+    validate(config.replace(GOOGLE_ACCOUNT_NAME, "renamed-google-account"))
+
+    then:
+    validator.runs == 3
+  }
+
+  def "validator runs that found errors are not reused"() {
+    setup:
+    String config = """
+halyardVersion: 1
+currentDeployment: $DEPLOYMENT_NAME
+deploymentConfigurations:
+- name: $DEPLOYMENT_NAME
+  version: 1
+  providers:
+    $GOOGLE_PROVIDER:
+      enabled: true
+      accounts:
+        - name: $GOOGLE_ACCOUNT_NAME
+"""
+    def filter = new NodeFilter()
+        .setDeployment(DEPLOYMENT_NAME)
+        .withAnyProvider()
+        .withAnyAccount()
+    def validator = new CachedAccountValidator()
+    validator.severity = severity
+    def validatorCollection = new ValidatorCollection()
+    validatorCollection.validators = [validator]
+
+    def validate = {
+      def validateService = new ValidateService()
+      validateService.parser = mocker.mockHalconfigParser(config)
+      validateService.validatorCollection = validatorCollection
+      validateService.validateMatchingFilter(filter)
+    }
+
+    when:
+    validate()
+    validate()
+
+    then:
+    validator.runs == runs
+
+    where:
+    severity                 || runs
+    Problem.Severity.ERROR   || 2
+    Problem.Severity.FATAL   || 2
+    Problem.Severity.WARNING || 1
+  }
+
+  class CachedAccountValidator extends Validator<Account> {
+    int runs = 0
+    Problem.Severity severity = Problem.Severity.WARNING
+
+    @Override
+    void validate(ConfigProblemSetBuilder p, Account n) {
+      runs++
+      p.addProblem(severity, n.getName())
+    }
+
+    @Override
+    Duration getResultCacheTtl() {
+      return Duration.ofMinutes(1)
+    }
+  }
+
+  class ProblemPerAccountValidator extends Validator<Account> {
+    @Override
+    void validate(ConfigProblemSetBuilder p, Account n) {
+      // Finish out of order, so that only the merge keeps the output stable.
+      sleep(n.getName() == KUBERNETES_ACCOUNT_NAME ? 200 : 0)
+      p.addProblem(Problem.Severity.WARNING, n.getName())
+    }
+  }
+
   class TrackingAccountValidator extends Validator<Account> {
     List<String> validatedAccounts = []
 
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A request to the daemon, recorded by the CLI to be applied as part of a batch. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperation {
+  /** The line of the batch script the request was made by. */
+  int line;
+
+  String method;
+
+  /** The request's path, including its query string. */
+  String path;
+
+  Object body;
+}
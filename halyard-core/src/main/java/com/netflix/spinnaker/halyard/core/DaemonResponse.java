@@ -21,6 +21,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity;
 import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskBatch;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
 import java.util.List;
 import java.util.function.Supplier;
 import lombok.Data;
@@ -56,6 +58,7 @@ public class DaemonResponse<T> {
     private Severity severity = Severity.WARNING;
 
     public DaemonResponse<List<String>> build() {
+      rejectInBatch();
       try {
         update.run();
         FieldOptions options = fieldOptionsResponse.get();
@@ -77,6 +80,7 @@ public class DaemonResponse<T> {
     private Severity severity = Severity.WARNING;
 
     public DaemonResponse<List<String>> build() {
+      rejectInBatch();
       try {
         FieldOptions options = fieldOptionsResponse.get();
         return new DaemonResponse<>(options.getOptions(), options.getProblemSet());
@@ -102,6 +106,7 @@ public class DaemonResponse<T> {
     }
 
     public DaemonResponse<K> build() {
+      rejectInBatch();
       if (buildResponse == null) {
         throw new IllegalArgumentException("No response provided to build");
       }
@@ -145,6 +150,16 @@ public class DaemonResponse<T> {
     private Severity severity = Severity.WARNING;
 
     public DaemonResponse<Void> build() {
+      DaemonTaskBatch batch = DaemonTaskHandler.getBatch();
+      if (batch != null) {
+        // Left to the batch, which validates, and then saves or reverts, once all its updates
+        // have been applied.
+        stage.run();
+        update.run();
+        batch.defer(severity, validate, revert, save, clean);
+        return new DaemonResponse<>(null, new ProblemSet());
+      }
+
       ProblemSet result;
       try {
         stage.run();
@@ -169,6 +184,13 @@ public class DaemonResponse<T> {
     }
   }
 
+  private static void rejectInBatch() {
+    if (DaemonTaskHandler.getBatch() != null) {
+      throw new HalException(
+          Severity.FATAL, "Only commands that edit your halconfig can be run in a batch.");
+    }
+  }
+
   public interface FieldOptions {
     List<String> getOptions();
 
@@ -22,6 +22,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 // TODO(lwander) unify with original job executor:
 // https://github.com/spinnaker/rosco/blob/bf718907888a7d95a0da6e21ec0e00c0709c4e19/rosco-core/src/main/groovy/com/netflix/spinnaker/rosco/jobs/JobExecutor.groovy
@@ -52,6 +54,19 @@ public abstract class JobExecutor {
     return startJob(jobRequest, System.getenv(), stdIn, stdOut, stdErr);
   }
 
+  /**
+   * Starts a job that only keeps the last {@code outputBytes} of each of its stdout and stderr, for
+   * commands whose output can be large but is only needed to explain a failure.
+   */
+  public String startBoundedJob(JobRequest jobRequest, InputStream stdIn, int outputBytes) {
+    return startJob(
+        jobRequest,
+        System.getenv(),
+        stdIn,
+        new JobOutputStream(outputBytes),
+        new JobOutputStream(outputBytes));
+  }
+
   public String startJobFromStandardStreams(JobRequest jobRequest) {
     InputStream stdIn = System.in;
     ByteArrayOutputStream stdOut = new TeeByteArrayOutputStream(System.out);
@@ -59,22 +74,36 @@ public abstract class JobExecutor {
     return startJob(jobRequest, System.getenv(), stdIn, stdOut, stdErr);
   }
 
-  public JobStatus backoffWait(String jobId) throws InterruptedException {
-    return backoffWait(jobId, 100, 1000);
-  }
-
-  public JobStatus backoffWait(String jobId, long minWaitMillis, long maxWaitMillis)
-      throws InterruptedException {
-    JobStatus result = updateJob(jobId);
-    long waitTime = minWaitMillis;
-    while (result == null || result.getState() == JobStatus.State.RUNNING) {
-      Thread.sleep(waitTime);
+  /**
+   * @return a future completed with the job's final status as soon as it terminates. If the job is
+   *     unknown (e.g. it was cancelled, or its completion was already reported by {@link
+   *     #updateJob}) the future is already completed with a failed status, see {@link
+   *     #unknownJobStatus}.
+   */
+  public abstract CompletableFuture<JobStatus> waitForJob(String jobId);
 
-      waitTime <<= 1;
-      waitTime = Math.min(maxWaitMillis, waitTime);
-      result = updateJob(jobId);
+  /** Blocks until the job terminates, and returns its final status. Never returns null. */
+  public JobStatus backoffWait(String jobId) throws InterruptedException {
+    JobStatus status;
+    try {
+      status = waitForJob(jobId).get();
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed waiting on job " + jobId, e.getCause());
     }
 
-    return result;
+    return status != null ? status : unknownJobStatus(jobId);
+  }
+
+  /** The final status reported for a job this executor no longer knows about. */
+  protected static JobStatus unknownJobStatus(String jobId) {
+    return new JobStatus()
+        .setId(jobId)
+        .setState(JobStatus.State.COMPLETED)
+        .setResult(JobStatus.Result.FAILURE)
+        .setStdOut("")
+        .setStdErr(
+            "Job "
+                + jobId
+                + " is unknown: it was cancelled, or its completion was already reported.");
   }
 }
@@ -21,8 +21,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.exec.*;
@@ -38,6 +40,11 @@ public class JobExecutorLocal extends JobExecutor {
 
   private Set<String> pendingJobSet = new ConcurrentSkipListSet<>();
 
+  // Completed statuses are only built once they're polled or waited on, since building one
+  // consumes any incrementally read (JobOutputStream) output. See CompletedStatus.
+  private Map<String, CompletableFuture<Supplier<JobStatus>>> jobIdToCompletionMap =
+      new ConcurrentHashMap<>();
+
   @Override
   public String startJob(
       JobRequest jobRequest,
@@ -59,6 +66,9 @@ public class JobExecutorLocal extends JobExecutor {
 
     pendingJobSet.add(jobId);
 
+    CompletableFuture<Supplier<JobStatus>> completion = new CompletableFuture<>();
+    jobIdToCompletionMap.put(jobId, completion);
+
     log.info("Scheduling job " + jobRequest.getTokenizedCommand() + " with id " + jobId);
 
     scheduler
@@ -82,7 +92,26 @@ public class JobExecutorLocal extends JobExecutor {
 
                 commandLine.addArguments(arguments, false);
 
-                DefaultExecuteResultHandler resultHandler = new DefaultExecuteResultHandler();
+                DefaultExecuteResultHandler resultHandler =
+                    new DefaultExecuteResultHandler() {
+                      @Override
+                      public void onProcessComplete(int exitValue) {
+                        super.onProcessComplete(exitValue);
+                        closeOutput(stdOut, stdErr);
+                        completion.complete(
+                            new CompletedStatus(
+                                () -> completedStatus(jobId, exitValue, stdOut, stdErr)));
+                      }
+
+                      @Override
+                      public void onProcessFailed(ExecuteException e) {
+                        super.onProcessFailed(e);
+                        closeOutput(stdOut, stdErr);
+                        completion.complete(
+                            new CompletedStatus(
+                                () -> completedStatus(jobId, e.getExitValue(), stdOut, stdErr)));
+                      }
+                    };
                 ExecuteWatchdog watchdog =
                     new ExecuteWatchdog(timeoutMillis) {
                       @Override
@@ -106,23 +135,33 @@ public class JobExecutorLocal extends JobExecutor {
                 try {
                   executor.execute(commandLine, env, resultHandler);
                 } catch (IOException e) {
-                  throw new RuntimeException("Execution of " + jobId + " failed ", e);
-                }
-
-                // Give the job some time to spin up.
-                try {
-                  Thread.sleep(500);
-                } catch (InterruptedException ignored) {
+                  log.warn("Execution of " + jobId + " failed", e);
+                  pendingJobSet.remove(jobId);
+                  JobStatus failed =
+                      new JobStatus()
+                          .setId(jobId)
+                          .setState(JobStatus.State.COMPLETED)
+                          .setResult(JobStatus.Result.FAILURE)
+                          .setStdOut("")
+                          .setStdErr("Execution of " + jobId + " failed: " + e.getMessage());
+                  completion.complete(() -> failed);
+                  return;
                 }
 
                 jobIdToHandlerMap.put(
                     jobId,
                     new ExecutionHandler()
                         .setResultHandler(resultHandler)
+                        .setCompletion(completion)
                         .setWatchdog(watchdog)
                         .setStdOut(stdOut)
                         .setStdErr(stdErr));
 
+                if (!jobIdToCompletionMap.containsKey(jobId) && resultHandler.hasResult()) {
+                  // The job finished and was waited on before it could be registered.
+                  jobIdToHandlerMap.remove(jobId);
+                }
+
                 if (pendingJobSet.contains(jobId)) {
                   pendingJobSet.remove(jobId);
                 } else {
@@ -140,11 +179,34 @@ public class JobExecutorLocal extends JobExecutor {
   @Data
   private class ExecutionHandler {
     DefaultExecuteResultHandler resultHandler;
+    CompletableFuture<Supplier<JobStatus>> completion;
     ExecuteWatchdog watchdog;
     ByteArrayOutputStream stdOut;
     ByteArrayOutputStream stdErr;
   }
 
+  /**
+   * A finished job's status, built by whichever of a poll or a wait gets to it first. Every later
+   * caller shares that status, rather than building another that would find the job's
+   * incrementally read output already consumed.
+   */
+  private static class CompletedStatus implements Supplier<JobStatus> {
+    private final Supplier<JobStatus> build;
+    private JobStatus status;
+
+    CompletedStatus(Supplier<JobStatus> build) {
+      this.build = build;
+    }
+
+    @Override
+    public synchronized JobStatus get() {
+      if (status == null) {
+        status = build.get();
+      }
+      return status;
+    }
+  }
+
   @Override
   public boolean jobExists(String jobId) {
     return jobIdToHandlerMap.containsKey(jobId) || pendingJobSet.contains(jobId);
@@ -160,43 +222,87 @@ public class JobExecutorLocal extends JobExecutor {
         return null;
       }
 
-      JobStatus jobStatus = new JobStatus().setId(jobId);
+      DefaultExecuteResultHandler resultHandler = handler.getResultHandler();
+      if (resultHandler.hasResult()) {
+        jobIdToHandlerMap.remove(jobId);
+        jobIdToCompletionMap.remove(jobId);
+        // The result is set just before the completion, so this waits at most for the output to
+        // be closed.
+        return handler.getCompletion().join().get();
+      }
 
-      DefaultExecuteResultHandler resultHandler;
-      ByteArrayOutputStream stdOutStream;
-      ByteArrayOutputStream stdErrStream;
+      return withOutput(
+          new JobStatus().setId(jobId).setState(JobStatus.State.RUNNING),
+          handler.getStdOut(),
+          handler.getStdErr());
+    } catch (Exception e) {
+      log.warn("Failed to retrieve status of " + jobId);
+      return null;
+    }
+  }
 
-      stdOutStream = handler.getStdOut();
-      stdErrStream = handler.getStdErr();
-      resultHandler = handler.getResultHandler();
+  @Override
+  public CompletableFuture<JobStatus> waitForJob(String jobId) {
+    CompletableFuture<Supplier<JobStatus>> completion = jobIdToCompletionMap.get(jobId);
+    if (completion == null) {
+      return CompletableFuture.completedFuture(unknownJobStatus(jobId));
+    }
 
-      stdOutStream.flush();
-      stdErrStream.flush();
+    // Like a poll that sees the job complete, this consumes the job.
+    return completion
+        .thenApply(Supplier::get)
+        .whenComplete(
+            (status, e) -> {
+              jobIdToHandlerMap.remove(jobId);
+              jobIdToCompletionMap.remove(jobId);
+            });
+  }
 
-      jobStatus.setStdOut(new String(stdOutStream.toByteArray()));
-      jobStatus.setStdErr(new String(stdErrStream.toByteArray()));
+  private static JobStatus completedStatus(
+      String jobId, int exitValue, ByteArrayOutputStream stdOut, ByteArrayOutputStream stdErr) {
+    log.info(jobId + " has terminated with exit code " + exitValue);
+
+    return withOutput(
+        new JobStatus()
+            .setId(jobId)
+            .setState(JobStatus.State.COMPLETED)
+            .setResult(exitValue == 0 ? JobStatus.Result.SUCCESS : JobStatus.Result.FAILURE),
+        stdOut,
+        stdErr);
+  }
 
-      if (resultHandler.hasResult()) {
-        jobStatus.setState(JobStatus.State.COMPLETED);
+  private static JobStatus withOutput(
+      JobStatus status, ByteArrayOutputStream stdOut, ByteArrayOutputStream stdErr) {
+    status.setStdOut(outputOf(stdOut)).setStdErr(outputOf(stdErr));
+    if (stdOut instanceof JobOutputStream) {
+      status.setStdOutTruncated(((JobOutputStream) stdOut).isTruncatedSinceRead());
+    }
+    if (stdErr instanceof JobOutputStream) {
+      status.setStdErrTruncated(((JobOutputStream) stdErr).isTruncatedSinceRead());
+    }
+    return status;
+  }
 
-        int exitValue = resultHandler.getExitValue();
-        log.info(jobId + " has terminated with exit code " + exitValue);
+  private static String outputOf(ByteArrayOutputStream stream) {
+    try {
+      stream.flush();
+    } catch (IOException e) {
+      log.warn("Failed to flush job output", e);
+    }
 
-        if (exitValue == 0) {
-          jobStatus.setResult(JobStatus.Result.SUCCESS);
-        } else {
-          jobStatus.setResult(JobStatus.Result.FAILURE);
-        }
+    if (stream instanceof JobOutputStream) {
+      // Bounded output is handed out incrementally, so polls don't copy it over and over.
+      return new String(((JobOutputStream) stream).readNew());
+    }
 
-        jobIdToHandlerMap.remove(jobId);
-      } else {
-        jobStatus.setState(JobStatus.State.RUNNING);
-      }
+    return new String(stream.toByteArray());
+  }
 
-      return jobStatus;
-    } catch (Exception e) {
-      log.warn("Failed to retrieve status of " + jobId);
-      return null;
+  private static void closeOutput(ByteArrayOutputStream... streams) {
+    for (ByteArrayOutputStream stream : streams) {
+      if (stream instanceof JobOutputStream) {
+        ((JobOutputStream) stream).close();
+      }
     }
   }
 
@@ -208,6 +314,9 @@ public class JobExecutorLocal extends JobExecutor {
       pendingJobSet.remove(jobId);
     }
 
+    // Anyone waiting on the job keeps its future, which completes once the process is destroyed.
+    jobIdToCompletionMap.remove(jobId);
+
     // Remove the job from this executors's handler map.
     ExecutionHandler canceledJobHander = jobIdToHandlerMap.remove(jobId);
     if (canceledJobHander == null) {
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.job.v1;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Job output that keeps only its last {@code capacity} bytes in memory, so chatty commands can't
+ * grow the daemon's heap without bound. Optionally, everything written is also spilled to a file.
+ *
+ * <p>Besides the usual {@link #toByteArray()}, output can be consumed incrementally: {@link
+ * #readNew()} returns only what was written since its last call, and line consumers see each line
+ * as soon as it is complete. When this is a job's stdout or stderr, the job's statuses only carry
+ * the output that no earlier status returned.
+ */
+@Slf4j
+public class JobOutputStream extends ByteArrayOutputStream {
+  private final byte[] ring;
+  private long total = 0;
+  private long readPosition = 0;
+  private boolean truncatedSinceRead = false;
+
+  private final Path spillPath;
+  private OutputStream spill;
+  private boolean spillFailed = false;
+
+  private final List<Consumer<String>> lineConsumers = new CopyOnWriteArrayList<>();
+  private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+
+  public JobOutputStream(int capacity) {
+    this(capacity, null);
+  }
+
+  /**
+   * @param capacity is the number of trailing bytes kept in memory.
+   * @param spillPath if not null, receives the complete output.
+   */
+  public JobOutputStream(int capacity, Path spillPath) {
+    super(0);
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Job output capacity must be positive");
+    }
+
+    this.ring = new byte[capacity];
+    this.spillPath = spillPath;
+    if (spillPath != null) {
+      try {
+        this.spill = Files.newOutputStream(spillPath);
+      } catch (IOException e) {
+        log.warn("Unable to spill job output to " + spillPath + ", keeping only its tail", e);
+        spillFailed = true;
+      }
+    }
+  }
+
+  /** Called with every complete line of output, without its line terminator. */
+  public JobOutputStream addLineConsumer(Consumer<String> consumer) {
+    lineConsumers.add(consumer);
+    return this;
+  }
+
+  @Override
+  public synchronized void write(int b) {
+    write(new byte[] {(byte) b}, 0, 1);
+  }
+
+  @Override
+  public synchronized void write(byte[] b, int off, int len) {
+    for (int i = 0; i < len; i++) {
+      ring[(int) ((total + i) % ring.length)] = b[off + i];
+    }
+    total += len;
+
+    if (spill != null) {
+      try {
+        spill.write(b, off, len);
+      } catch (IOException e) {
+        log.warn("Unable to spill job output to " + spillPath + ", keeping only its tail", e);
+        spillFailed = true;
+        closeSpill();
+      }
+    }
+
+    if (!lineConsumers.isEmpty()) {
+      feedLines(b, off, len);
+    }
+  }
+
+  private void feedLines(byte[] b, int off, int len) {
+    int start = off;
+    for (int i = off; i < off + len; i++) {
+      if (b[i] == '\n') {
+        appendToLine(b, start, i - start);
+        emitLine();
+        start = i + 1;
+      }
+    }
+    appendToLine(b, start, off + len - start);
+  }
+
+  private void appendToLine(byte[] b, int off, int len) {
+    // A single "line" can't be allowed to defeat the cap either.
+    int room = ring.length - partialLine.size();
+    partialLine.write(b, off, Math.max(0, Math.min(len, room)));
+  }
+
+  private void emitLine() {
+    String line = new String(partialLine.toByteArray(), StandardCharsets.UTF_8);
+    partialLine.reset();
+    if (line.endsWith("\r")) {
+      line = line.substring(0, line.length() - 1);
+    }
+
+    for (Consumer<String> consumer : lineConsumers) {
+      consumer.accept(line);
+    }
+  }
+
+  /** @return the output written since the last call, or as much of it as is still held. */
+  public synchronized byte[] readNew() {
+    long start = Math.max(readPosition, total - ring.length);
+    truncatedSinceRead = start > readPosition;
+    byte[] result = copy(start, total);
+    readPosition = total;
+    return result;
+  }
+
+  /** @return true iff output was dropped before the last {@link #readNew()} could return it. */
+  public synchronized boolean isTruncatedSinceRead() {
+    return truncatedSinceRead;
+  }
+
+  /** @return true iff more output was written than is held in memory. */
+  public synchronized boolean isTruncated() {
+    return total > ring.length;
+  }
+
+  public synchronized long getTotalBytes() {
+    return total;
+  }
+
+  /** @return the complete output when it was spilled to a file, and otherwise its held tail. */
+  public InputStream openStream() throws IOException {
+    synchronized (this) {
+      if (spillPath != null && !spillFailed) {
+        flush();
+        return Files.newInputStream(spillPath);
+      }
+    }
+
+    return new ByteArrayInputStream(toByteArray());
+  }
+
+  @Override
+  public synchronized byte[] toByteArray() {
+    return copy(Math.max(0, total - ring.length), total);
+  }
+
+  private byte[] copy(long from, long to) {
+    byte[] result = new byte[(int) (to - from)];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = ring[(int) ((from + i) % ring.length)];
+    }
+    return result;
+  }
+
+  @Override
+  public synchronized int size() {
+    return (int) Math.min(total, ring.length);
+  }
+
+  @Override
+  public synchronized void reset() {
+    total = 0;
+    readPosition = 0;
+    truncatedSinceRead = false;
+    partialLine.reset();
+  }
+
+  @Override
+  public synchronized void writeTo(OutputStream out) throws IOException {
+    out.write(toByteArray());
+  }
+
+  // Every way of reading the output has to go through the ring, since the inherited buffer is never
+  // written to.
+  @Override
+  public synchronized String toString() {
+    return new String(toByteArray());
+  }
+
+  @Override
+  public synchronized String toString(String charsetName) throws UnsupportedEncodingException {
+    return new String(toByteArray(), charsetName);
+  }
+
+  @Override
+  public synchronized String toString(Charset charset) {
+    return new String(toByteArray(), charset);
+  }
+
+  @Override
+  public synchronized void flush() throws IOException {
+    if (spill != null) {
+      spill.flush();
+    }
+  }
+
+  /** Hands any unterminated last line to the line consumers, and closes the spill file. */
+  @Override
+  public synchronized void close() {
+    if (partialLine.size() > 0) {
+      emitLine();
+    }
+    closeSpill();
+  }
+
+  private void closeSpill() {
+    if (spill == null) {
+      return;
+    }
+
+    try {
+      spill.close();
+    } catch (IOException e) {
+      log.warn("Unable to close spilled job output " + spillPath, e);
+    }
+    spill = null;
+  }
+}
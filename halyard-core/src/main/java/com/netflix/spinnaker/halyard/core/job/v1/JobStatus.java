@@ -26,6 +26,9 @@ public class JobStatus {
   Result result;
   String stdOut;
   String stdErr;
+  // Set when output was dropped before it could be returned (see JobOutputStream).
+  boolean stdOutTruncated;
+  boolean stdErrTruncated;
 
   public enum State {
     RUNNING,
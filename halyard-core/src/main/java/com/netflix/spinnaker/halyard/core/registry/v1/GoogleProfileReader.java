@@ -56,10 +56,16 @@ public class GoogleProfileReader implements ProfileReader {
   }
 
   public BillOfMaterials readBom(String version) throws IOException {
-    String bomName = bomPath(version);
+    return parseBom(readBomContents(version));
+  }
+
+  InputStream readBomContents(String version) throws IOException {
+    return getContents(bomPath(version));
+  }
 
+  BillOfMaterials parseBom(InputStream contents) {
     return relaxedObjectMapper.convertValue(
-        getYamlParser().load(getContents(bomName)), BillOfMaterials.class);
+        getYamlParser().load(contents), BillOfMaterials.class);
   }
 
   public Versions readVersions() throws IOException {
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.registry.v1;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A two-level cache of immutable artifacts (BOMs and profiles of released versions). Recently used
+ * contents are kept in memory up to a byte budget; everything is kept on disk, stored under the
+ * SHA-256 of its contents with a small ref file mapping each cache key to that digest.
+ */
+@Slf4j
+class ProfileCache {
+  private final Path refs;
+  private final Path blobs;
+  private final long maxMemoryBytes;
+
+  private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+  private long memoryBytes = 0;
+
+  @Getter private final LongAdder memoryHits = new LongAdder();
+  @Getter private final LongAdder diskHits = new LongAdder();
+  @Getter private final LongAdder misses = new LongAdder();
+
+  interface Loader {
+    byte[] load() throws IOException;
+  }
+
+  ProfileCache(Path directory, long maxMemoryBytes) {
+    this.refs = directory.resolve("refs");
+    this.blobs = directory.resolve("blobs");
+    this.maxMemoryBytes = maxMemoryBytes;
+  }
+
+  /**
+   * @param key identifies the contents, and must never be reused for different contents.
+   * @param loader fetches the contents when neither memory nor disk has them.
+   * @return the cached contents, which must not be modified.
+   */
+  byte[] get(String key, Loader loader) throws IOException {
+    byte[] contents = getFromMemory(key);
+    if (contents != null) {
+      memoryHits.increment();
+      return contents;
+    }
+
+    contents = getFromDisk(key);
+    if (contents != null) {
+      diskHits.increment();
+    } else {
+      misses.increment();
+      contents = loader.load();
+      putOnDisk(key, contents);
+    }
+
+    putInMemory(key, contents);
+    return contents;
+  }
+
+  private synchronized byte[] getFromMemory(String key) {
+    return memory.get(key);
+  }
+
+  private synchronized void putInMemory(String key, byte[] contents) {
+    if (contents.length > maxMemoryBytes) {
+      return;
+    }
+
+    byte[] previous = memory.put(key, contents);
+    memoryBytes += contents.length - (previous != null ? previous.length : 0);
+
+    Iterator<Map.Entry<String, byte[]>> eldest = memory.entrySet().iterator();
+    while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+      memoryBytes -= eldest.next().getValue().length;
+      eldest.remove();
+    }
+  }
+
+  private byte[] getFromDisk(String key) {
+    Path ref = refs.resolve(digest(key.getBytes(StandardCharsets.UTF_8)));
+    try {
+      String digest = new String(Files.readAllBytes(ref), StandardCharsets.UTF_8).trim();
+      byte[] contents = Files.readAllBytes(blobs.resolve(digest));
+      if (digest.equals(digest(contents))) {
+        return contents;
+      }
+
+      log.warn("Cached contents of " + key + " are corrupt, fetching them again");
+      Files.deleteIfExists(ref);
+    } catch (NoSuchFileException e) {
+      // Not cached yet.
+    } catch (IOException e) {
+      log.warn("Unable to read cached contents of " + key + ", fetching them again", e);
+    }
+
+    return null;
+  }
+
+  private void putOnDisk(String key, byte[] contents) {
+    String digest = digest(contents);
+    try {
+      Files.createDirectories(blobs);
+      Files.createDirectories(refs);
+
+      Path blob = blobs.resolve(digest);
+      if (!Files.exists(blob)) {
+        writeAtomically(blob, contents);
+      }
+
+      writeAtomically(
+          refs.resolve(digest(key.getBytes(StandardCharsets.UTF_8))),
+          digest.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      log.warn("Unable to cache contents of " + key + " on disk", e);
+    }
+  }
+
+  private static void writeAtomically(Path path, byte[] contents) throws IOException {
+    Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+    try {
+      Files.write(temp, contents);
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private static String digest(byte[] contents) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(contents);
+      StringBuilder result = new StringBuilder(hash.length * 2);
+      for (byte b : hash) {
+        result.append(String.format("%02x", b));
+      }
+      return result.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported on this JVM", e);
+    }
+  }
+}
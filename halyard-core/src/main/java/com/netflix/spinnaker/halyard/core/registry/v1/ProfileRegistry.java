@@ -20,15 +20,36 @@ package com.netflix.spinnaker.halyard.core.registry.v1;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Reads BOMs and profiles for a Spinnaker version from wherever that version is published.
+ *
+ * <p>Released versions never change once published, so their BOMs and profiles are cached in
+ * memory and on disk (under the halconfig directory's ".cache") and never fetched twice. Aliases
+ * such as "master-latest-unvalidated" are republished, and branch and local versions are read from
+ * local checkouts, so they may change at any time and are always read again. BOMs returned from
+ * here are shared, and must not be modified.
+ */
 @Component
 @Slf4j
 public class ProfileRegistry {
+  private static final int MAX_CACHED_BOMS = 32;
+  private static final long MAX_CACHED_PROFILE_BYTES = 64L * 1024 * 1024;
+
   @Autowired(required = false)
   GoogleProfileReader googleProfileReader;
 
@@ -38,13 +59,88 @@ public class ProfileRegistry {
 
   @Autowired ObjectMapper relaxedObjectMapper;
 
+  @Autowired(required = false)
+  MeterRegistry meterRegistry;
+
+  @Value("${halyard.halconfig.directory:~/.hal}")
+  String halconfigDirectory;
+
+  private ProfileCache profileCache;
+
+  private final Map<String, BillOfMaterials> boms =
+      new LinkedHashMap<String, BillOfMaterials>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BillOfMaterials> eldest) {
+          return size() > MAX_CACHED_BOMS;
+        }
+      };
+
+  private final LongAdder bomHits = new LongAdder();
+
+  private synchronized ProfileCache getProfileCache() {
+    if (profileCache == null) {
+      String directory = halconfigDirectory.replaceFirst("^~", System.getProperty("user.home"));
+      profileCache = new ProfileCache(Paths.get(directory, ".cache"), MAX_CACHED_PROFILE_BYTES);
+
+      if (meterRegistry != null) {
+        registerCounter("bom", "memory", "hit", bomHits);
+        registerCounter("content", "memory", "hit", profileCache.getMemoryHits());
+        registerCounter("content", "disk", "hit", profileCache.getDiskHits());
+        registerCounter("content", "remote", "miss", profileCache.getMisses());
+      }
+    }
+
+    return profileCache;
+  }
+
+  private void registerCounter(String type, String level, String result, LongAdder count) {
+    FunctionCounter.builder("halyard.profiles.cache", count, LongAdder::sum)
+        .description("Lookups of released BOMs and profiles, by the level that served them")
+        .tag("type", type)
+        .tag("level", level)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
   public InputStream readProfile(String artifactName, String version, String profileName)
       throws IOException {
-    return pickProfileReader(version).readProfile(artifactName, version, profileName);
+    ProfileReader reader = pickProfileReader(version);
+    if (!isCacheable(reader, version)) {
+      return reader.readProfile(artifactName, version, profileName);
+    }
+
+    return new ByteArrayInputStream(
+        getProfileCache()
+            .get(
+                String.join("/", "profile", artifactName, version, profileName),
+                () -> IOUtils.toByteArray(reader.readProfile(artifactName, version, profileName))));
   }
 
   public BillOfMaterials readBom(String version) throws IOException {
-    return pickProfileReader(version).readBom(version);
+    ProfileReader reader = pickProfileReader(version);
+    if (!isCacheable(reader, version)) {
+      return reader.readBom(version);
+    }
+
+    synchronized (boms) {
+      BillOfMaterials bom = boms.get(version);
+      if (bom != null) {
+        bomHits.increment();
+        return bom;
+      }
+    }
+
+    byte[] contents =
+        getProfileCache()
+            .get(
+                "bom/" + version,
+                () -> IOUtils.toByteArray(googleProfileReader.readBomContents(version)));
+    BillOfMaterials bom = googleProfileReader.parseBom(new ByteArrayInputStream(contents));
+    synchronized (boms) {
+      boms.put(version, bom);
+    }
+
+    return bom;
   }
 
   public Versions readVersions() throws IOException {
@@ -58,7 +154,24 @@ public class ProfileRegistry {
 
   public InputStream readArchiveProfile(String artifactName, String version, String profileName)
       throws IOException {
-    return pickProfileReader(version).readArchiveProfile(artifactName, version, profileName);
+    ProfileReader reader = pickProfileReader(version);
+    if (!isCacheable(reader, version)) {
+      return reader.readArchiveProfile(artifactName, version, profileName);
+    }
+
+    String key = String.join("/", "archive", artifactName, version, profileName);
+    return new ByteArrayInputStream(
+        getProfileCache()
+            .get(
+                key,
+                () ->
+                    IOUtils.toByteArray(
+                        reader.readArchiveProfile(artifactName, version, profileName))));
+  }
+
+  /** Only released versions, which are read from the config bucket, are immutable. */
+  private boolean isCacheable(ProfileReader reader, String version) {
+    return reader == googleProfileReader && Versions.isReleased(version);
   }
 
   private ProfileReader pickProfileReader(String version) {
@@ -29,6 +29,10 @@ public class Versions {
   public static final String BRANCH_PREFIX = "branch:";
   public static final String LOCAL_PREFIX = "local:";
 
+  // A released version, optionally followed by the build number of the artifact it names. Aliases
+  // such as "master-latest-unvalidated" or "1.28.x-latest-validated" don't match.
+  private static final Pattern RELEASED = Pattern.compile("\\d+\\.\\d+\\.\\d+(-\\d+)?");
+
   @Data
   public static class Version {
     String version;
@@ -95,6 +99,14 @@ public class Versions {
     }
   }
 
+  /**
+   * @return true if the version names a single, released build, whose BOM or artifacts will never
+   *     be published again under the same version.
+   */
+  public static boolean isReleased(String version) {
+    return version != null && RELEASED.matcher(version).matches();
+  }
+
   public static boolean isBranch(String version) {
     return version.startsWith(BRANCH_PREFIX);
   }
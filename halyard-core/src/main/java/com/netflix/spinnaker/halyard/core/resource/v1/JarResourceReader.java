@@ -20,10 +20,19 @@ package com.netflix.spinnaker.halyard.core.resource.v1;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.io.IOUtils;
 
 public class JarResourceReader {
+  // The jar doesn't change while Halyard runs, so each resource is only read once
+  private static final Map<String, String> resources = new ConcurrentHashMap<>();
+
   static String readResource(String path) {
+    return resources.computeIfAbsent(path, JarResourceReader::loadResource);
+  }
+
+  private static String loadResource(String path) {
     InputStream contents = JarResourceReader.class.getResourceAsStream(path);
 
     if (contents == null) {
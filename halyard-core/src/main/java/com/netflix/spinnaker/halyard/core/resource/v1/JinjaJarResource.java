@@ -24,6 +24,11 @@ public class JinjaJarResource extends JinjaTemplatedResource {
     return JarResourceReader.readResource(path);
   }
 
+  @Override
+  protected String getTemplateKey() {
+    return path;
+  }
+
   public JinjaJarResource(String path) {
     this.path = path;
   }
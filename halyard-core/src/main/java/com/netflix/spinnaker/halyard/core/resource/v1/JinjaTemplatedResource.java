@@ -19,23 +19,62 @@
 package com.netflix.spinnaker.halyard.core.resource.v1;
 
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
 import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 public abstract class JinjaTemplatedResource extends TemplatedResource {
-  private Jinjava jinjava = new Jinjava();
+  // Jinjava keeps no per-render state, so a single engine is shared by every resource
+  private static final Jinjava jinjava = new Jinjava();
+
+  // Parsed templates keyed by getTemplateKey(). A tree is only read while rendering, so renders
+  // against different bindings may share it.
+  private static final Map<String, Node> templates = new ConcurrentHashMap<>();
 
   @Override
   public String toString() {
-    String contents = getContents();
+    JinjavaInterpreter interpreter =
+        new JinjavaInterpreter(
+            jinjava, new Context(jinjava.getGlobalContext(), bindings), jinjava.getGlobalConfig());
+    JinjavaInterpreter.pushCurrent(interpreter);
     try {
-      return jinjava.render(contents, bindings);
+      String templateKey = getTemplateKey();
+      Node template = templateKey == null ? null : templates.get(templateKey);
+      if (template == null) {
+        template = interpreter.parse(getContents());
+        if (templateKey != null && fatalErrors(interpreter).isEmpty()) {
+          templates.putIfAbsent(templateKey, template);
+        }
+      }
+
+      String result = interpreter.render(template);
+      List<TemplateError> fatalErrors = fatalErrors(interpreter);
+      if (!fatalErrors.isEmpty()) {
+        throw new FatalTemplateErrorsException(getContents(), fatalErrors);
+      }
+      return result;
     } catch (FatalTemplateErrorsException e) {
       throw new HalException(
           Problem.Severity.FATAL,
-          "Unable to render template:\n" + contents + "\n" + e.getMessage(),
+          "Unable to render template:\n" + getContents() + "\n" + e.getMessage(),
           e);
+    } finally {
+      JinjavaInterpreter.popCurrent();
     }
   }
+
+  private static List<TemplateError> fatalErrors(JinjavaInterpreter interpreter) {
+    return interpreter.getErrors().stream()
+        .filter(e -> e.getSeverity() == ErrorType.FATAL)
+        .collect(Collectors.toList());
+  }
 }
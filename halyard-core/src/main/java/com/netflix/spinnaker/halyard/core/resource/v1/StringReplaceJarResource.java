@@ -22,6 +22,11 @@ public class StringReplaceJarResource extends StringReplaceTemplatedResource {
     return JarResourceReader.readResource(path);
   }
 
+  @Override
+  protected String getTemplateKey() {
+    return path;
+  }
+
   public StringReplaceJarResource(String path) {
     this.path = path;
   }
@@ -18,30 +18,95 @@
 
 package com.netflix.spinnaker.halyard.core.resource.v1;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public abstract class StringReplaceTemplatedResource extends TemplatedResource {
   public static Logger log = LoggerFactory.getLogger(StringReplaceTemplatedResource.class);
 
-  protected String formatKey(String key) {
-    return "{%" + key + "%}";
-  }
+  private static final String KEY_PREFIX = "{%";
+  private static final String KEY_SUFFIX = "%}";
+
+  // Compiled templates keyed by getTemplateKey()
+  private static final Map<String, Template> templates = new ConcurrentHashMap<>();
 
   @Override
   public String toString() {
-    String contents = getContents();
-    for (Map.Entry<String, Object> binding : bindings.entrySet()) {
-      Object value = binding.getValue();
-      contents =
-          contents.replace(formatKey(binding.getKey()), value != null ? value.toString() : "");
-    }
-    if (contents.matches("(?s).*\\" + formatKey(".*") + ".*")) {
+    String templateKey = getTemplateKey();
+    Template template =
+        templateKey == null
+            ? Template.compile(getContents())
+            : templates.computeIfAbsent(templateKey, k -> Template.compile(getContents()));
+
+    List<String> missingKeys = new ArrayList<>();
+    String contents = template.render(bindings, missingKeys);
+    if (!missingKeys.isEmpty()) {
       log.warn(
-          "Found part of template that still contains a format key, likely a missing template value for a key, template: "
+          "Found part of template that still contains a format key, likely a missing template value for a key ("
+              + String.join(", ", missingKeys)
+              + "), template: "
               + contents);
     }
     return contents;
   }
+
+  /**
+   * A template split once into its literal text and the keys of the {%key%} sites between them, so
+   * that rendering is a single pass over the segments.
+   */
+  private static class Template {
+    // There is always one more literal than there are keys; keys[i] sits between literals[i] and
+    // literals[i + 1].
+    private final List<String> literals = new ArrayList<>();
+    private final List<String> keys = new ArrayList<>();
+    private int literalLength;
+
+    static Template compile(String source) {
+      Template template = new Template();
+      int literalStart = 0;
+      int open = source.indexOf(KEY_PREFIX);
+      while (open >= 0) {
+        int close = source.indexOf(KEY_SUFFIX, open + KEY_PREFIX.length());
+        if (close < 0) {
+          break;
+        }
+
+        // The site closed here starts at the nearest prefix, e.g. "{%a {%b%}" binds only "b"
+        open = source.lastIndexOf(KEY_PREFIX, close - KEY_PREFIX.length());
+        template.addLiteral(source.substring(literalStart, open));
+        template.keys.add(source.substring(open + KEY_PREFIX.length(), close));
+        literalStart = close + KEY_SUFFIX.length();
+        open = source.indexOf(KEY_PREFIX, literalStart);
+      }
+
+      template.addLiteral(source.substring(literalStart));
+      return template;
+    }
+
+    private void addLiteral(String literal) {
+      literals.add(literal);
+      literalLength += literal.length();
+    }
+
+    String render(Map<String, Object> bindings, List<String> missingKeys) {
+      StringBuilder result = new StringBuilder(literalLength + 16 * keys.size());
+      for (int i = 0; i < keys.size(); i++) {
+        result.append(literals.get(i));
+        String key = keys.get(i);
+        if (bindings.containsKey(key)) {
+          Object value = bindings.get(key);
+          result.append(value != null ? value.toString() : "");
+        } else {
+          missingKeys.add(key);
+          result.append(KEY_PREFIX).append(key).append(KEY_SUFFIX);
+        }
+      }
+
+      return result.append(literals.get(keys.size())).toString();
+    }
+  }
 }
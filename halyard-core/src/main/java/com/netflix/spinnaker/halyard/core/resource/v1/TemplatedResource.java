@@ -39,4 +39,12 @@ public abstract class TemplatedResource {
   }
 
   protected abstract String getContents();
+
+  /**
+   * @return a key identifying this resource's contents across instances, or null if they may
+   *     differ between instances and their compiled template can't be reused.
+   */
+  protected String getTemplateKey() {
+    return null;
+  }
 }
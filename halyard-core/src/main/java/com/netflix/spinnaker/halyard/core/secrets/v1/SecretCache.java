@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.secrets.v1;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A daemon-wide cache of decrypted secrets, keyed by their encrypted reference, so that tasks
+ * don't each pay a round trip to the secret engine for every secret they read. Entries expire after
+ * a fixed TTL and the least recently used are evicted beyond a maximum count. Evicted byte arrays
+ * are zeroed; decrypted strings can only be dropped. Decrypted files are cached as their contents,
+ * since a file the cache owned could be deleted while a task still reads it.
+ */
+public class SecretCache {
+  private enum Kind {
+    VALUE,
+    BYTES
+  }
+
+  private static class Entry {
+    final Object value;
+    final long expiresAt;
+
+    Entry(Object value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private final SecretCacheProperties properties;
+  private final MeterRegistry registry;
+  private final LongSupplier clock;
+
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  public SecretCache(SecretCacheProperties properties, MeterRegistry registry) {
+    this(properties, registry, System::nanoTime);
+  }
+
+  SecretCache(SecretCacheProperties properties, MeterRegistry registry, LongSupplier clock) {
+    this.properties = properties;
+    this.registry = registry;
+    this.clock = clock;
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  public long getTtlSeconds() {
+    return properties.getTtlSeconds();
+  }
+
+  public int getPrefetchThreads() {
+    return properties.getPrefetchThreads();
+  }
+
+  public String get(String reference, Supplier<String> decrypt) {
+    return (String) get(Kind.VALUE, reference, decrypt::get);
+  }
+
+  /** @return a copy of the decrypted bytes, which the caller is free to modify or zero. */
+  public byte[] getBytes(String reference, Supplier<byte[]> decrypt) {
+    byte[] bytes = (byte[]) get(Kind.BYTES, reference, decrypt::get);
+    return bytes != null ? bytes.clone() : null;
+  }
+
+  /** Evicts every entry, zeroing whatever the cache holds. */
+  public void clear() {
+    List<Entry> evicted;
+    synchronized (this) {
+      evicted = new ArrayList<>(entries.values());
+      entries.clear();
+    }
+    evicted.forEach(SecretCache::release);
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private Object get(Kind kind, String reference, Supplier<Object> decrypt) {
+    String key = kind + ":" + reference;
+    String engine = engine(reference);
+    List<Entry> evicted = new ArrayList<>();
+    try {
+      Entry entry = lookup(key, evicted);
+      if (entry != null) {
+        count("halyard.secrets.cache.hits", engine);
+        return entry.value;
+      }
+
+      count("halyard.secrets.cache.misses", engine);
+      // Decrypted outside the lock, so that a slow secret engine doesn't stall other lookups. Two
+      // tasks missing on the same reference at once may both decrypt it; the last one wins.
+      Object value = decrypt.get();
+      if (value != null) {
+        long ttl = TimeUnit.SECONDS.toNanos(properties.getTtlSeconds());
+        store(key, new Entry(value, clock.getAsLong() + ttl), evicted);
+      }
+
+      return value;
+    } finally {
+      evicted.forEach(SecretCache::release);
+    }
+  }
+
+  private synchronized Entry lookup(String key, List<Entry> evicted) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+
+    if (isExpired(entry)) {
+      entries.remove(key);
+      evicted.add(entry);
+      return null;
+    }
+
+    return entry;
+  }
+
+  private synchronized void store(String key, Entry entry, List<Entry> evicted) {
+    Entry previous = entries.put(key, entry);
+    if (previous != null) {
+      evicted.add(previous);
+    }
+
+    Iterator<Entry> it = entries.values().iterator();
+    int excess = entries.size() - Math.max(properties.getMaxEntries(), 0);
+    while (it.hasNext()) {
+      Entry e = it.next();
+      if (excess > 0 || isExpired(e)) {
+        it.remove();
+        evicted.add(e);
+        excess--;
+      }
+    }
+  }
+
+  private boolean isExpired(Entry entry) {
+    return clock.getAsLong() - entry.expiresAt >= 0;
+  }
+
+  private void count(String name, String engine) {
+    if (registry != null) {
+      registry.counter(name, "engine", engine).increment();
+    }
+  }
+
+  private static void release(Entry entry) {
+    if (entry.value instanceof byte[]) {
+      Arrays.fill((byte[]) entry.value, (byte) 0);
+    }
+  }
+
+  // The engine identifier of "encrypted:<engine>!<params>" references.
+  private static String engine(String reference) {
+    int start = reference.indexOf(':') + 1;
+    int end = reference.indexOf('!', start);
+    return end > start ? reference.substring(start, end) : "unknown";
+  }
+}
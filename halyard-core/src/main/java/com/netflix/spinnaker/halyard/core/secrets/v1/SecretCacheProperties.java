@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.secrets.v1;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("halyard.secrets.cache")
+public class SecretCacheProperties {
+  // Keep decrypted secrets across tasks, rather than decrypting them again in every task.
+  private boolean enabled = false;
+  // How long a decrypted secret is kept before it is decrypted again.
+  private long ttlSeconds = 300;
+  // Upper bound on decrypted secrets kept at once; the least recently used are evicted first.
+  private int maxEntries = 512;
+  // Number of threads decrypting secrets when prefetching them.
+  private int prefetchThreads = 8;
+}
@@ -16,10 +16,28 @@
 
 package com.netflix.spinnaker.halyard.core.secrets.v1;
 
+import com.netflix.spinnaker.halyard.core.error.v1.HalException;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskInterrupted;
 import com.netflix.spinnaker.kork.secrets.EncryptedSecret;
 import com.netflix.spinnaker.kork.secrets.SecretManager;
 import com.netflix.spinnaker.kork.secrets.SecretSession;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -27,16 +45,26 @@ import org.springframework.stereotype.Component;
  * SecretSessionManager handles the decryption and encryption of secrets and secret files in the
  * current session
  */
+@Slf4j
 @Component
 public class SecretSessionManager {
   private static ThreadLocal<SecretSession> secretSessions = new ThreadLocal<>();
 
+  // Decrypted files written from cached secrets, by the session that owns them.
+  private static Map<SecretSession, Map<String, Path>> sessionFiles = new ConcurrentHashMap<>();
+
   @Autowired private SecretManager secretManager;
 
+  // Outlives the sessions, and so serves encrypted secrets first when enabled.
+  @Autowired private SecretCache secretCache;
+
+  private ExecutorService prefetchExecutor;
+
   public static void clearSession() {
     SecretSession session = secretSessions.get();
     if (session != null) {
       session.clearCachedSecrets();
+      deleteSessionFiles(session);
       secretSessions.remove();
     }
   }
@@ -50,6 +78,27 @@ public class SecretSessionManager {
     return session;
   }
 
+  /**
+   * Binds the calling thread's session to the given callable, so that secrets decrypted on another
+   * thread are cached in, and cleared along with, the session of the thread that submitted it.
+   */
+  public <V> Callable<V> withCurrentSession(Callable<V> callable) {
+    SecretSession session = getSession();
+    return () -> {
+      SecretSession previous = secretSessions.get();
+      secretSessions.set(session);
+      try {
+        return callable.call();
+      } finally {
+        if (previous == null) {
+          secretSessions.remove();
+        } else {
+          secretSessions.set(previous);
+        }
+      }
+    };
+  }
+
   /**
    * Takes an encrypted string or path to an encrypted file and returns the decrypted value.
    *
@@ -67,8 +116,16 @@ public class SecretSessionManager {
    * @return decrypted value of the secret field or file
    */
   public String decrypt(String filePathOrEncryptedString) {
+    if (isCached(filePathOrEncryptedString)) {
+      return secretCache.get(
+          filePathOrEncryptedString, () -> secretManager.decrypt(filePathOrEncryptedString));
+    }
+
     SecretSession session = getSession();
-    return session.decrypt(filePathOrEncryptedString);
+    // A session bound to several threads caches its secrets in maps that aren't thread-safe
+    synchronized (session) {
+      return session.decrypt(filePathOrEncryptedString);
+    }
   }
 
   /**
@@ -92,8 +149,16 @@ public class SecretSessionManager {
       return filePath;
     }
 
+    if (isCached(filePath)) {
+      Path decryptedFilePath = sessionFile(filePath);
+      return decryptedFilePath != null ? decryptedFilePath.toString() : null;
+    }
+
     SecretSession session = getSession();
-    Path decryptedFilePath = session.decryptAsFile(filePath);
+    Path decryptedFilePath;
+    synchronized (session) {
+      decryptedFilePath = session.decryptAsFile(filePath);
+    }
 
     if (decryptedFilePath != null) {
       return decryptedFilePath.toString();
@@ -102,9 +167,116 @@ public class SecretSessionManager {
     }
   }
 
+  /**
+   * The cache only holds a cached file's contents, and every session writes its own copy, so that
+   * the file is there for as long as the session that read it, however soon the cache drops it.
+   */
+  private Path sessionFile(String filePath) {
+    Map<String, Path> files =
+        sessionFiles.computeIfAbsent(getSession(), s -> new ConcurrentHashMap<>());
+    synchronized (files) {
+      Path file = files.get(filePath);
+      if (file != null && Files.exists(file)) {
+        return file;
+      }
+
+      byte[] contents = decryptAsBytes(filePath);
+      if (contents == null) {
+        return null;
+      }
+
+      try {
+        // Only readable by the daemon's user.
+        file = Files.createTempFile("halyard-secret-", null);
+        Files.write(file, contents);
+      } catch (IOException e) {
+        throw new HalException(
+            Problem.Severity.FATAL, "Unable to write decrypted secret file: " + e.getMessage(), e);
+      } finally {
+        Arrays.fill(contents, (byte) 0);
+      }
+
+      files.put(filePath, file);
+      return file;
+    }
+  }
+
+  private static void deleteSessionFiles(SecretSession session) {
+    Map<String, Path> files = sessionFiles.remove(session);
+    if (files == null) {
+      return;
+    }
+
+    for (Path file : files.values()) {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        log.warn("Unable to delete decrypted secret file " + file, e);
+      }
+    }
+  }
+
   public byte[] decryptAsBytes(String encrypted) {
+    if (isCached(encrypted)) {
+      return secretCache.getBytes(encrypted, () -> secretManager.decryptAsBytes(encrypted));
+    }
+
     SecretSession session = getSession();
-    return session.decryptAsBytes(encrypted);
+    synchronized (session) {
+      return session.decryptAsBytes(encrypted);
+    }
+  }
+
+  /**
+   * Decrypts the given secrets and secret files concurrently into the daemon's secret cache, so
+   * that reading them one at a time afterwards doesn't cost a round trip each. The files are also
+   * written to the current session, just as reading them would. Does nothing when the cache is
+   * disabled. Secrets that fail to decrypt are skipped, and fail again when they are read.
+   */
+  public void prefetch(Collection<String> secrets, Collection<String> secretFiles) {
+    if (!secretCache.isEnabled()) {
+      return;
+    }
+
+    List<Future<?>> decrypted = new ArrayList<>();
+    for (String secret : secrets) {
+      decrypted.add(getPrefetchExecutor().submit(() -> decrypt(secret)));
+    }
+    for (String secretFile : secretFiles) {
+      decrypted.add(
+          getPrefetchExecutor().submit(withCurrentSession(() -> decryptAsFile(secretFile))));
+    }
+
+    for (Future<?> future : decrypted) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        decrypted.forEach(f -> f.cancel(true));
+        throw new DaemonTaskInterrupted(e);
+      } catch (ExecutionException e) {
+        log.warn("Unable to prefetch secret: " + e.getCause().getMessage());
+      }
+    }
+  }
+
+  private boolean isCached(String reference) {
+    return secretCache.isEnabled() && EncryptedSecret.isEncryptedSecret(reference);
+  }
+
+  private synchronized ExecutorService getPrefetchExecutor() {
+    if (prefetchExecutor == null) {
+      AtomicInteger threadCount = new AtomicInteger();
+      prefetchExecutor =
+          Executors.newFixedThreadPool(
+              Math.max(1, secretCache.getPrefetchThreads()),
+              r -> {
+                Thread thread = new Thread(r, "secret-prefetch-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+
+    return prefetchExecutor;
   }
 
   public String encrypt(String unencryptedString) {
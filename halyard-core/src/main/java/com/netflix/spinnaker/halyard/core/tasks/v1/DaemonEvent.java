@@ -13,6 +13,9 @@ public class DaemonEvent {
 
   Long timestamp;
 
+  // Orders events across all tasks in the daemon, see DaemonTask#since.
+  long sequence;
+
   @Override
   public String toString() {
     return String.format("[%s] (%s) %s", new Date(timestamp).toString(), stage, message);
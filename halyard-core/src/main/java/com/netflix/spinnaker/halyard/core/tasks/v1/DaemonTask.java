@@ -12,8 +12,12 @@ import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet;
 import com.netflix.spinnaker.halyard.core.secrets.v1.SecretSessionManager;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import lombok.Data;
@@ -27,19 +31,37 @@ import lombok.extern.slf4j.Slf4j;
 @Data
 @Slf4j
 public class DaemonTask<C, T> {
+  // Event and state change sequence numbers are shared by every task in the daemon, so a single
+  // cursor covers a whole task tree. Allocating a number and recording the change happen under this
+  // lock, so any snapshot taken under it sees every change numbered up to its latest sequence.
+  private static final Object SEQUENCE_LOCK = new Object();
+  private static long sequence;
+
+  // Only the most recent events are retained, the oldest are dropped in batches of EVENT_TRIM_SIZE
+  // once there are more than MAX_EVENTS.
+  private static final int MAX_EVENTS = 1000;
+  private static final int EVENT_TRIM_SIZE = MAX_EVENTS / 4;
+
   List<DaemonEvent> events = new ArrayList<>();
-  List<DaemonTask> children = new ArrayList<>();
+  long droppedEvents;
+  // Children are spawned by the task's runner while other threads snapshot the tree.
+  List<DaemonTask> children = new CopyOnWriteArrayList<>();
+  @JsonIgnore Map<String, DaemonTask> childrenByUuid = new ConcurrentHashMap<>();
   final String name;
   final String uuid;
   boolean timedOut;
   final long timeout;
   final String version;
   State state = State.NOT_STARTED;
+  long stateSequence;
   DaemonResponse<T> response;
   Exception fatalError;
   List<String> runningJobs = new ArrayList<>();
 
   @JsonIgnore Thread runner;
+  @JsonIgnore boolean interruptRequested;
+  // Completed with this task once it reaches a terminal state.
+  @JsonIgnore CompletableFuture<DaemonTask<C, T>> completion = new CompletableFuture<>();
   @JsonIgnore C context;
   @JsonIgnore String currentStage;
 
@@ -51,6 +73,16 @@ public class DaemonTask<C, T> {
     this.version =
         Optional.ofNullable(DaemonTask.class.getPackage().getImplementationVersion())
             .orElse("Unknown");
+    synchronized (SEQUENCE_LOCK) {
+      this.stateSequence = ++sequence;
+    }
+  }
+
+  private DaemonTask(DaemonTask<C, T> source) {
+    this.name = source.name;
+    this.uuid = source.uuid;
+    this.timeout = source.timeout;
+    this.version = source.version;
   }
 
   @JsonIgnore
@@ -70,11 +102,88 @@ public class DaemonTask<C, T> {
           "Illegal attempt to write an event when no stage has started");
     }
 
-    events.add(
+    DaemonEvent event =
         new DaemonEvent()
             .setStage(currentStage)
             .setMessage(message)
-            .setTimestamp(System.currentTimeMillis()));
+            .setTimestamp(System.currentTimeMillis());
+    synchronized (SEQUENCE_LOCK) {
+      events.add(event.setSequence(++sequence));
+      if (events.size() > MAX_EVENTS + EVENT_TRIM_SIZE) {
+        events.subList(0, EVENT_TRIM_SIZE).clear();
+        droppedEvents += EVENT_TRIM_SIZE;
+      }
+    }
+  }
+
+  void transitionTo(State state) {
+    synchronized (SEQUENCE_LOCK) {
+      this.state = state;
+      this.stateSequence = ++sequence;
+    }
+  }
+
+  /**
+   * Copies this task tree, keeping only what changed after the given cursor: events with a later
+   * sequence number, and the children whose subtrees have changed since then. Use {@link
+   * #latestSequence()} on the copy as the cursor for the next call.
+   */
+  public DaemonTask<C, T> since(long cursor) {
+    synchronized (SEQUENCE_LOCK) {
+      return copySince(cursor);
+    }
+  }
+
+  private DaemonTask<C, T> copySince(long cursor) {
+    DaemonTask<C, T> result = new DaemonTask<>(this);
+    result.timedOut = timedOut;
+    result.state = state;
+    result.stateSequence = stateSequence;
+    result.response = response;
+    result.fatalError = fatalError;
+    result.runningJobs = new ArrayList<>(runningJobs);
+    result.droppedEvents = droppedEvents;
+    for (DaemonEvent event : events) {
+      if (event.getSequence() > cursor) {
+        result.events.add(event);
+      }
+    }
+
+    for (DaemonTask<?, ?> child : new ArrayList<>(children)) {
+      if (child.changedSince(cursor)) {
+        result.children.add(child.copySince(cursor));
+      }
+    }
+
+    return result;
+  }
+
+  private boolean changedSince(long cursor) {
+    return stateSequence > cursor
+        || (!events.isEmpty() && events.get(events.size() - 1).getSequence() > cursor)
+        || children.stream().anyMatch(c -> c.changedSince(cursor));
+  }
+
+  public long latestSequence() {
+    synchronized (SEQUENCE_LOCK) {
+      long result = stateSequence;
+      if (!events.isEmpty()) {
+        result = Math.max(result, events.get(events.size() - 1).getSequence());
+      }
+
+      for (DaemonTask<?, ?> child : children) {
+        result = Math.max(result, child.latestSequence());
+      }
+
+      return result;
+    }
+  }
+
+  /** @return the most recent event, or null if there is none yet. */
+  public DaemonEvent lastEvent() {
+    synchronized (SEQUENCE_LOCK) {
+      return events.isEmpty() ? null : events.get(events.size() - 1);
+    }
   }
 
   public void consumeTaskTree(Consumer<DaemonTask> c) {
@@ -103,11 +212,27 @@ public class DaemonTask<C, T> {
   }
 
   private boolean isInterrupted() {
-    return runner.isInterrupted();
+    return interruptRequested;
+  }
+
+  synchronized void attachRunner(Thread thread) {
+    runner = thread;
+    if (interruptRequested) {
+      runner.interrupt();
+    }
+  }
+
+  synchronized void detachRunner() {
+    runner = null;
+    // Clear any interrupt that arrived after the task stopped checking for one.
+    Thread.interrupted();
   }
 
-  public void interrupt() {
-    runner.interrupt();
+  public synchronized void interrupt() {
+    interruptRequested = true;
+    if (runner != null) {
+      runner.interrupt();
+    }
   }
 
   void cleanupResources() {
@@ -128,68 +253,55 @@ public class DaemonTask<C, T> {
   }
 
   private void inSucceededState() {
-    state = State.SUCCEEDED;
+    transitionTo(State.SUCCEEDED);
   }
 
   private void inFailedState() {
     if (isTimedOut()) {
-      state = State.TIMED_OUT;
+      transitionTo(State.TIMED_OUT);
     } else if (isInterrupted()) {
-      state = State.INTERRUPTED;
+      transitionTo(State.INTERRUPTED);
     } else {
-      state = State.FAILED;
+      transitionTo(State.FAILED);
     }
   }
 
+  // The response is recorded before the state changes, so that a task never appears terminal
+  // without one.
   public void success(DaemonResponse<T> response) {
-    inSucceededState();
     this.response = response;
+    inSucceededState();
   }
 
   public void failure(Exception e) {
-    inFailedState();
     fatalError = e;
     Problem problem =
         new ProblemBuilder(Problem.Severity.FATAL, "Unexpected exception: " + e).build();
     response = new DaemonResponse<>(null, new ProblemSet(problem));
+    inFailedState();
   }
 
   public void failure(HalException e) {
-    inFailedState();
     fatalError = e;
     response = new DaemonResponse<>(null, e.getProblems());
+    inFailedState();
   }
 
   <Q, P> DaemonTask<Q, P> spawnChild(
       Supplier<DaemonResponse<P>> childRunner, String name, long timeout) {
     DaemonTask child = TaskRepository.submitTask(childRunner, name, timeout);
-    children.add(child);
+    childrenByUuid.put(child.getUuid(), child);
+    synchronized (SEQUENCE_LOCK) {
+      // The child may have been numbered before a snapshot that couldn't see it yet, so it's
+      // renumbered as it joins the tree to be sure the next snapshot includes it.
+      children.add(child);
+      child.stateSequence = ++sequence;
+    }
     return child;
   }
 
-  <P> DaemonResponse<P> reapChild(DaemonTask task) throws InterruptedException {
-    DaemonTask childTask =
-        children.stream()
-            .filter(c -> c.getUuid().equals(task.getUuid()))
-            .findFirst()
-            .orElseThrow(
-                () ->
-                    new IllegalArgumentException(
-                        "Child " + task + " does not belong to this task " + this + ""));
-
-    // Spin due to spurious wakeups
-    while (!childTask.getState().isTerminal()) {
-      try {
-        synchronized (childTask) {
-          childTask.wait();
-        }
-      } catch (InterruptedException e) {
-        throw e;
-      }
-    }
-
-    TaskRepository.getTask(childTask.getUuid());
-
+  <P> DaemonResponse<P> collectChild(DaemonTask task) {
+    DaemonTask<?, P> childTask = getChild(task);
     log.info(this + " Collected child task " + childTask + " with state " + childTask.getState());
     if (childTask.getResponse() == null) {
       throw new RuntimeException("Child response may not be null.");
@@ -198,6 +310,16 @@ public class DaemonTask<C, T> {
     return childTask.getResponse();
   }
 
+  private DaemonTask getChild(DaemonTask task) {
+    DaemonTask childTask = childrenByUuid.get(task.getUuid());
+    if (childTask == null) {
+      throw new IllegalArgumentException(
+          "Child " + task + " does not belong to this task " + this + "");
+    }
+
+    return childTask;
+  }
+
   @Override
   public String toString() {
     return "[" + name + "] (" + uuid + ") - " + state;
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.tasks.v1;
+
+import com.netflix.spinnaker.halyard.core.DaemonResponse;
+import com.netflix.spinnaker.halyard.core.error.v1.HalException;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity;
+import com.netflix.spinnaker.halyard.core.problem.v1.ProblemBuilder;
+import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies a list of halconfig updates to the halconfig of the current task, and validates, saves
+ * (or reverts) and cleans up after them only once all of them have been applied. Problems an
+ * update runs into while it's applied are reported against its line.
+ *
+ * <p>While an update is applied, the tasks it submits run inline on the calling thread, so that
+ * they share the current task's halconfig rather than each loading their own.
+ */
+@Slf4j
+public class DaemonTaskBatch {
+  private final List<DeferredUpdate> deferred = new ArrayList<>();
+  private final ProblemSet problems = new ProblemSet();
+  private boolean failed;
+
+  /**
+   * Applies a single update, typically a call to a controller that submits an update task.
+   *
+   * @param line is the line problems caused by this update are reported against.
+   * @param update is the update to apply; if it returns a task, that task's problems are reported.
+   */
+  public void apply(int line, Supplier<?> update) {
+    if (Thread.interrupted()) {
+      throw new DaemonTaskInterrupted();
+    }
+
+    Object result;
+    DaemonTaskHandler.setBatch(this);
+    try {
+      result = update.get();
+    } catch (DaemonTaskInterrupted e) {
+      throw e;
+    } catch (HalException e) {
+      fail(line, e.getProblems());
+      return;
+    } catch (Exception e) {
+      log.warn("Unexpected exception applying line " + line + " of batch: ", e);
+      Problem problem = new ProblemBuilder(Severity.FATAL, "Unexpected exception: " + e).build();
+      fail(line, new ProblemSet(problem));
+      return;
+    } finally {
+      DaemonTaskHandler.clearBatch();
+    }
+
+    if (result instanceof DaemonTask) {
+      DaemonTask<?, ?> task = (DaemonTask<?, ?>) result;
+      ProblemSet taskProblems =
+          task.getResponse() != null ? task.getResponse().getProblemSet() : new ProblemSet();
+      if (task.getState() == DaemonTask.State.SUCCEEDED) {
+        problems.addAll(onLine(line, taskProblems));
+      } else {
+        fail(line, taskProblems);
+      }
+    }
+  }
+
+  /**
+   * Called by an update applied by this batch, in place of validating, saving or reverting, and
+   * cleaning up after itself.
+   */
+  public void defer(
+      Severity severity,
+      Supplier<ProblemSet> validate,
+      Runnable revert,
+      Runnable save,
+      Runnable clean) {
+    deferred.add(new DeferredUpdate(severity, validate, revert, save, clean));
+  }
+
+  /**
+   * Runs each update's validation of what it changed once all updates have been applied, and saves
+   * the halconfig if no update failed and validation didn't exceed the strictest severity any of
+   * the updates allowed. Otherwise the halconfig is reverted.
+   *
+   * @return the problems reported by the updates and their validation.
+   */
+  public DaemonResponse<Void> complete() {
+    if (!deferred.isEmpty()) {
+      Severity severity =
+          deferred.stream().map(u -> u.severity).min(Comparator.naturalOrder()).get();
+      ProblemSet result;
+      try {
+        result = validate();
+        result.throwifSeverityExceeds(severity);
+      } catch (HalException e) {
+        failed = true;
+        result = e.getProblems();
+      }
+
+      problems.addAll(result);
+    }
+
+    // Every update in a batch edits the same in-memory halconfig, so it's written or reverted just
+    // once, before cleaning up looks at it.
+    if (!deferred.isEmpty()) {
+      DeferredUpdate last = deferred.get(deferred.size() - 1);
+      if (failed) {
+        last.revert.run();
+      } else {
+        last.save.run();
+      }
+    }
+
+    deferred.forEach(u -> u.clean.run());
+
+    if (failed) {
+      throw new HalException(problems.getProblems());
+    }
+
+    return new DaemonResponse<>(null, problems);
+  }
+
+  /**
+   * Several updates may edit (and so validate) the same node, so their problems are only reported
+   * once.
+   */
+  private ProblemSet validate() {
+    Set<List<Object>> seen = new HashSet<>();
+    ProblemSet result = new ProblemSet();
+    for (DeferredUpdate update : deferred) {
+      for (Problem problem : update.validate.get().getProblems()) {
+        List<Object> key =
+            Arrays.asList(problem.getSeverity(), problem.getLocation(), problem.getMessage());
+        if (seen.add(key)) {
+          result.add(problem);
+        }
+      }
+    }
+
+    return result;
+  }
+
+  private void fail(int line, ProblemSet failure) {
+    failed = true;
+    if (failure.isEmpty()) {
+      failure = new ProblemSet(new ProblemBuilder(Severity.FATAL, "Update failed").build());
+    }
+
+    problems.addAll(onLine(line, failure));
+  }
+
+  private static ProblemSet onLine(int line, ProblemSet problemSet) {
+    return new ProblemSet(
+        problemSet.getProblems().stream()
+            .map(
+                p ->
+                    new Problem(
+                        "line " + line + ": " + p.getMessage(),
+                        p.getRemediation(),
+                        p.getOptions(),
+                        p.getSeverity(),
+                        p.getLocation()))
+            .collect(Collectors.toList()));
+  }
+
+  @AllArgsConstructor
+  private static class DeferredUpdate {
+    final Severity severity;
+    final Supplier<ProblemSet> validate;
+    final Runnable revert;
+    final Runnable save;
+    final Runnable clean;
+  }
+}
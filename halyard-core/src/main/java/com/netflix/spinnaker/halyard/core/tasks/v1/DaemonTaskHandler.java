@@ -5,8 +5,12 @@ import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.job.v1.DaemonLocalJobExecutor;
 import com.netflix.spinnaker.halyard.core.job.v1.JobExecutor;
 import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.BiFunction;
-import java.util.function.BinaryOperator;
 import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 
@@ -14,86 +18,130 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class DaemonTaskHandler {
   private static ThreadLocal<DaemonTask> localTask = new ThreadLocal<>();
+  private static ThreadLocal<DaemonTaskBatch> localBatch = new ThreadLocal<>();
   private static JobExecutor jobExecutor;
 
   static void setTask(DaemonTask task) {
     localTask.set(task);
   }
 
+  static void clearTask() {
+    localTask.remove();
+  }
+
   public static DaemonTask getTask() {
     return localTask.get();
   }
 
+  static void setBatch(DaemonTaskBatch batch) {
+    localBatch.set(batch);
+  }
+
+  static void clearBatch() {
+    localBatch.remove();
+  }
+
+  /** Returns the batch applying the current update, or null if it isn't part of a batch. */
+  public static DaemonTaskBatch getBatch() {
+    return localBatch.get();
+  }
+
+  /**
+   * Binds the calling thread's task to the given callable, so that work handed to another thread
+   * still reports its messages to (and can read the context of) the task that submitted it.
+   */
+  public static <V> Callable<V> withCurrentTask(Callable<V> callable) {
+    DaemonTask task = getTask();
+    return () -> {
+      DaemonTask previous = localTask.get();
+      localTask.set(task);
+      try {
+        return callable.call();
+      } finally {
+        localTask.set(previous);
+      }
+    };
+  }
+
   public static Object getContext() {
     return localTask.get().getContext();
   }
 
+  /**
+   * Waits on every child of the current task, folding their responses with the accumulator in the
+   * order the children complete. The first child to fail, be interrupted or time out causes its
+   * still-running siblings to be interrupted, and its failure to be rethrown here.
+   */
   public static <U, T> DaemonResponse<U> reduceChildren(
-      U base, BiFunction<U, ? super T, U> accumulator, BinaryOperator<U> combiner) {
+      U base, BiFunction<U, ? super T, U> accumulator) {
     DaemonTask task = getTask();
-    if (task != null) {
-      U responseBody = base;
-      ProblemSet problemSet = new ProblemSet();
-      DaemonResponse<U> response = new DaemonResponse<>(responseBody, problemSet);
-
-      return (DaemonResponse)
-          task.getChildren().stream()
-              .reduce(
-                  response,
-                  (o, t) -> {
-                    DaemonResponse<U> collector = (DaemonResponse<U>) o;
-                    DaemonTask child = (DaemonTask) t;
-                    DaemonResponse<T> childResponse;
-                    try {
-                      childResponse = task.reapChild(child);
-                    } catch (InterruptedException e) {
-                      throw new DaemonTaskInterrupted("Interrupted during reap", e);
-                    }
-
-                    DaemonTask.State state = child.getState();
-                    if (!state.isTerminal()) {
-                      throw new IllegalStateException(
-                          "Child task " + child + " reaped but non-terminal.");
-                    }
-
-                    switch (state) {
-                      case FAILED:
-                        throw new HalException(childResponse.getProblemSet().getProblems());
-                      case INTERRUPTED:
-                        task.interrupt();
-                        throw new DaemonTaskInterrupted(child.getFatalError());
-                      case TIMED_OUT:
-                        task.timeout();
-                        throw new DaemonTaskInterrupted("Child task timed out");
-                      case SUCCEEDED:
-                        break;
-                      default:
-                        throw new IllegalStateException("Unknown terminal state " + state);
-                    }
-
-                    collector.getProblemSet().addAll(childResponse.getProblemSet());
-                    collector.setResponseBody(
-                        accumulator.apply(
-                            collector.getResponseBody(), childResponse.getResponseBody()));
-                    return collector;
-                  },
-                  (Object o1, Object o2) -> {
-                    DaemonResponse<U> r1 = (DaemonResponse<U>) o1;
-                    DaemonResponse<U> r2 = (DaemonResponse<U>) o2;
-                    r1.setResponseBody(combiner.apply(r1.getResponseBody(), r2.getResponseBody()));
-                    r1.getProblemSet().addAll(r2.getProblemSet());
-                    return r1;
-                  });
-    } else {
+    if (task == null) {
       throw new IllegalStateException("You must be running a DaemonTask to reduce child tasks");
     }
+
+    List<DaemonTask> children = new ArrayList<>(task.getChildren());
+    BlockingQueue<DaemonTask> completed = new LinkedBlockingQueue<>();
+    children.forEach(c -> c.getCompletion().thenAccept(t -> completed.add((DaemonTask) t)));
+
+    DaemonResponse<U> collector = new DaemonResponse<>(base, new ProblemSet());
+    for (int i = 0; i < children.size(); i++) {
+      DaemonTask child;
+      try {
+        child = completed.take();
+      } catch (InterruptedException e) {
+        throw new DaemonTaskInterrupted("Interrupted during reap", e);
+      }
+
+      DaemonResponse<T> childResponse = task.collectChild(child);
+      DaemonTask.State state = child.getState();
+      if (!state.isTerminal()) {
+        throw new IllegalStateException("Child task " + child + " reaped but non-terminal.");
+      }
+
+      if (state != DaemonTask.State.SUCCEEDED) {
+        interruptRunningChildren(children);
+      }
+
+      switch (state) {
+        case FAILED:
+          throw new HalException(childResponse.getProblemSet().getProblems());
+        case INTERRUPTED:
+          task.interrupt();
+          throw new DaemonTaskInterrupted(child.getFatalError());
+        case TIMED_OUT:
+          task.timeout();
+          throw new DaemonTaskInterrupted("Child task timed out");
+        case SUCCEEDED:
+          break;
+        default:
+          throw new IllegalStateException("Unknown terminal state " + state);
+      }
+
+      collector.getProblemSet().addAll(childResponse.getProblemSet());
+      collector.setResponseBody(
+          accumulator.apply(collector.getResponseBody(), childResponse.getResponseBody()));
+    }
+
+    return collector;
+  }
+
+  private static void interruptRunningChildren(List<DaemonTask> children) {
+    children.stream()
+        .filter(c -> !c.getState().isTerminal())
+        .forEach(
+            c -> {
+              log.info("Interrupting child " + c + " since one of its siblings did not succeed");
+              c.interrupt();
+            });
   }
 
   public static <C, T> DaemonTask<C, T> submitTask(
       Supplier<DaemonResponse<T>> taskSupplier, String name, long timeout) {
     DaemonTask task = getTask();
     DaemonTask<C, T> result;
-    if (task != null) {
+    if (getBatch() != null) {
+      result = runInline(taskSupplier, name, timeout);
+    } else if (task != null) {
       result = task.spawnChild(taskSupplier, name, timeout);
       log.info(task + " spawned child " + result);
     } else {
@@ -103,6 +151,27 @@ public class DaemonTaskHandler {
     return result;
   }
 
+  /**
+   * Runs a task submitted as part of a batch on the calling thread, so that it shares the halconfig
+   * of the task running the batch. The returned task has already completed.
+   */
+  private static <C, T> DaemonTask<C, T> runInline(
+      Supplier<DaemonResponse<T>> taskSupplier, String name, long timeout) {
+    DaemonTask<C, T> result = new DaemonTask<>(name, timeout);
+    try {
+      result.success(taskSupplier.get());
+    } catch (DaemonTaskInterrupted e) {
+      throw e;
+    } catch (HalException e) {
+      result.failure(e);
+    } catch (Exception e) {
+      log.warn("Unexpected exception running " + result + " inline: ", e);
+      result.failure(e);
+    }
+
+    return result;
+  }
+
   public static <C, T> DaemonTask<C, T> submitTask(
       Supplier<DaemonResponse<T>> taskSupplier, String name) {
     DaemonTask task = getTask();
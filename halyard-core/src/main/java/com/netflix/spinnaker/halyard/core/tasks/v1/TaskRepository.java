@@ -2,12 +2,21 @@ package com.netflix.spinnaker.halyard.core.tasks.v1;
 
 import com.netflix.spinnaker.halyard.core.DaemonResponse;
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask.State;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.Data;
@@ -26,25 +35,122 @@ public class TaskRepository {
                 .collect(Collectors.toList()));
   }
 
-  // The amount of time before a task is collected after its timeout is invoked.
+  // The amount of time before a task is collected after it completes or its timeout is invoked.
   private static long DELETE_TASK_INFO_WINDOW = TimeUnit.MINUTES.toMillis(2);
   public static long DEFAULT_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+  public static final int DEFAULT_MAX_CONCURRENT_TASKS = 256;
+
+  private static final AtomicInteger inFlightTasks = new AtomicInteger();
+  private static final AtomicInteger queuedTasks = new AtomicInteger();
+  private static final AtomicInteger activeTasks = new AtomicInteger();
+  private static final AtomicLong rejectedTasks = new AtomicLong();
+
+  private static volatile int maxConcurrentTasks = DEFAULT_MAX_CONCURRENT_TASKS;
+  private static volatile ExecutorService executor = newExecutor(false);
+
+  // A single timer thread shared by all tasks, used to enforce timeouts and expire task info.
+  private static final ScheduledThreadPoolExecutor scheduler = newScheduler();
+
+  /**
+   * Tasks block waiting on the children they spawn, so tasks are never queued behind a fixed
+   * number of workers (that could deadlock a deep task tree). Instead the number of tasks in flight
+   * is bounded, and submissions past that bound are rejected.
+   */
+  public static synchronized void configureExecutor(
+      int maxConcurrentTasks, boolean useVirtualThreads) {
+    if (maxConcurrentTasks <= 0) {
+      throw new IllegalArgumentException("maxConcurrentTasks must be positive");
+    }
+
+    ExecutorService previous = executor;
+    TaskRepository.maxConcurrentTasks = maxConcurrentTasks;
+    executor = newExecutor(useVirtualThreads);
+    // Already submitted tasks are allowed to run to completion.
+    previous.shutdown();
+  }
+
+  public static int getQueuedTaskCount() {
+    return queuedTasks.get();
+  }
+
+  public static int getActiveTaskCount() {
+    return activeTasks.get();
+  }
+
+  public static long getRejectedTaskCount() {
+    return rejectedTasks.get();
+  }
+
+  private static ExecutorService newExecutor(boolean useVirtualThreads) {
+    if (useVirtualThreads) {
+      try {
+        // Looked up reflectively since halyard still targets JVMs without virtual threads.
+        return (ExecutorService)
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (ReflectiveOperationException e) {
+        log.info("Virtual threads are not supported by this JVM, using a platform thread pool.");
+      }
+    }
+
+    AtomicInteger threadCount = new AtomicInteger();
+    return Executors.newCachedThreadPool(
+        r -> new Thread(r, "daemon-task-" + threadCount.incrementAndGet()));
+  }
+
+  private static ScheduledThreadPoolExecutor newScheduler() {
+    ScheduledThreadPoolExecutor result =
+        new ScheduledThreadPoolExecutor(
+            1,
+            r -> {
+              Thread t = new Thread(r, "daemon-task-scheduler");
+              t.setDaemon(true);
+              return t;
+            });
+    result.setRemoveOnCancelPolicy(true);
+    return result;
+  }
 
   private static void deleteTaskInfo(String uuid) {
     tasks.remove(uuid);
   }
 
+  private static void scheduleDeleteTaskInfo(String uuid) {
+    scheduler.schedule(() -> deleteTaskInfo(uuid), DELETE_TASK_INFO_WINDOW, TimeUnit.MILLISECONDS);
+  }
+
+  private static HalException reject(DaemonTask task, String reason) {
+    rejectedTasks.incrementAndGet();
+    log.warn("Rejecting task " + task + ": " + reason);
+    return new HalException(
+        Problem.Severity.FATAL, "Unable to schedule task " + task.getName() + ": " + reason);
+  }
+
   public static <C, T> DaemonTask<C, T> submitTask(
       Supplier<DaemonResponse<T>> runner, String name, long timeout) {
     DaemonTask<C, T> task = new DaemonTask<>(name, timeout);
     String uuid = task.getUuid();
+
+    int limit = maxConcurrentTasks;
+    if (inFlightTasks.incrementAndGet() > limit) {
+      inFlightTasks.decrementAndGet();
+      throw reject(task, "the daemon is already running its limit of " + limit + " tasks.");
+    }
+
     log.info("Scheduling task " + task);
+    AtomicReference<ScheduledFuture<?>> timeoutFuture = new AtomicReference<>();
     Runnable r =
         () -> {
+          queuedTasks.decrementAndGet();
+          activeTasks.incrementAndGet();
           log.info("Starting task " + task);
           DaemonTaskHandler.setTask(task);
-          task.setState(State.RUNNING);
+          task.attachRunner(Thread.currentThread());
+          task.transitionTo(State.RUNNING);
           try {
+            if (task.isInterruptRequested()) {
+              throw new DaemonTaskInterrupted("Task was interrupted before it started");
+            }
+
             task.success(runner.get());
           } catch (HalException e) {
             log.info("Task " + task + " failed with HalException: ", e);
@@ -54,74 +160,62 @@ public class TaskRepository {
             task.failure(e);
           } finally {
             task.cleanupResources();
+            // This thread may go on to run other tasks, so make sure nothing about this one
+            // (its thread-local state or a late interrupt) leaks into them.
+            task.detachRunner();
+            DaemonTaskHandler.clearTask();
 
-            log.info("Task " + task + " completed");
-            // Notify after changing state to avoid data-race where threads are notified before
-            // thread appears terminal
-            synchronized (task) {
-              task.notifyAll();
+            ScheduledFuture<?> pendingTimeout = timeoutFuture.get();
+            if (pendingTimeout != null) {
+              pendingTimeout.cancel(false);
             }
+
+            log.info("Task " + task + " completed");
+            // Complete after changing state to avoid data-race where waiters are woken before
+            // the task appears terminal
+            task.getCompletion().complete(task);
+
+            scheduleDeleteTaskInfo(uuid);
+            activeTasks.decrementAndGet();
+            inFlightTasks.decrementAndGet();
           }
         };
 
-    Thread t = new Thread(r);
-    tasks.put(uuid, task.setRunner(t));
-    t.start();
-
-    Thread interrupt = new Thread(new Interrupter(timeout, task));
-    interrupt.start();
+    tasks.put(uuid, task);
+    queuedTasks.incrementAndGet();
+    // Scheduled before the task can run, so that a task finishing straight away always finds (and
+    // cancels) its timeout.
+    ScheduledFuture<?> pendingTimeout =
+        scheduler.schedule(() -> onTimeout(task, timeout), timeout, TimeUnit.MILLISECONDS);
+    timeoutFuture.set(pendingTimeout);
+    try {
+      executor.execute(r);
+    } catch (RejectedExecutionException e) {
+      pendingTimeout.cancel(false);
+      tasks.remove(uuid);
+      queuedTasks.decrementAndGet();
+      inFlightTasks.decrementAndGet();
+      throw reject(task, "the daemon's task executor is not accepting work.");
+    }
 
     return task;
   }
 
-  private static class Interrupter implements Runnable {
-    final long startTime;
-    final long endTime;
-    final DaemonTask target;
-
-    Interrupter(long timeout, DaemonTask target) {
-      this.startTime = System.currentTimeMillis();
-      this.endTime = this.startTime + timeout;
-      this.target = target;
-    }
-
-    @Override
-    public void run() {
-      long sleepTime = endTime - System.currentTimeMillis();
-      while (sleepTime > 0) {
-        try {
-          Thread.sleep(sleepTime);
-        } catch (InterruptedException ignored) {
-        }
-
-        sleepTime = endTime - System.currentTimeMillis();
-      }
-
-      switch (target.getState()) {
-        case NOT_STARTED:
-        case RUNNING:
-          log.warn(
-              "Interrupting task "
-                  + target
-                  + " that timed out after "
-                  + (endTime - startTime)
-                  + " millis.");
-          target.timeout();
-          break;
-        case TIMED_OUT:
-        case INTERRUPTED:
-        case FAILED:
-        case SUCCEEDED:
-          log.info("Interrupter has no work to do, " + target + " already completed.");
-          break;
-      }
-
-      try {
-        Thread.sleep(DELETE_TASK_INFO_WINDOW);
-      } catch (InterruptedException ignored) {
-      }
-
-      deleteTaskInfo(target.getUuid());
+  private static void onTimeout(DaemonTask target, long timeout) {
+    switch (target.getState()) {
+      case NOT_STARTED:
+      case RUNNING:
+        log.warn("Interrupting task " + target + " that timed out after " + timeout + " millis.");
+        target.timeout();
+        // If the task ignores its interrupt it never completes, so collect it from here.
+        scheduleDeleteTaskInfo(target.getUuid());
+        break;
+      case TIMED_OUT:
+      case INTERRUPTED:
+      case FAILED:
+      case SUCCEEDED:
+        log.info("Timeout has no work to do, " + target + " already completed.");
+        break;
     }
   }
 
@@ -144,8 +238,10 @@ public class TaskRepository {
       this.fatalException = task.getFatalError();
       this.jobs = task.getRunningJobs();
 
-      if (!task.getEvents().isEmpty()) {
-        this.lastEvent = task.getEvents().get(task.getEvents().size() - 1).toString();
+      // Events are trimmed as they're written, so they're only read through the task's lock.
+      DaemonEvent event = task.lastEvent();
+      if (event != null) {
+        this.lastEvent = event.toString();
       }
 
       this.children =
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.halyard.core.tasks.v1;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Applies the daemon's task settings to the (static) TaskRepository and exports its metrics. */
+@Configuration
+@EnableConfigurationProperties(TaskRepositoryProperties.class)
+public class TaskRepositoryConfig {
+  public TaskRepositoryConfig(
+      TaskRepositoryProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+    TaskRepository.configureExecutor(properties.getMaxConcurrent(), properties.isVirtualThreads());
+    meterRegistry.ifAvailable(this::registerMetrics);
+  }
+
+  private void registerMetrics(MeterRegistry registry) {
+    Gauge.builder("halyard.tasks.queued", TaskRepository::getQueuedTaskCount)
+        .description("Tasks submitted to the daemon that have not started running yet")
+        .register(registry);
+    Gauge.builder("halyard.tasks.active", TaskRepository::getActiveTaskCount)
+        .description("Tasks currently running in the daemon")
+        .register(registry);
+    FunctionCounter.builder(
+            "halyard.tasks.rejected",
+            TaskRepository.class,
+            t -> TaskRepository.getRejectedTaskCount())
+        .description("Tasks rejected because the daemon was at its concurrent task limit")
+        .register(registry);
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.halyard.core.tasks.v1;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("halyard.tasks")
+public class TaskRepositoryProperties {
+  // Upper bound on tasks (including child tasks) that may be queued or running at once.
+  private int maxConcurrent = TaskRepository.DEFAULT_MAX_CONCURRENT_TASKS;
+  // Run tasks on virtual threads when the JVM supports them. Off by default: tasks block inside
+  // synchronized sections (e.g. secret decryption), which pins the carrier thread.
+  private boolean virtualThreads = false;
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.job.v1
+
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.TimeUnit
+
+class JobExecutorLocalSpec extends Specification {
+    JobExecutorLocal executor = new JobExecutorLocal()
+    PollingConditions conditions = new PollingConditions(timeout: 10)
+
+    def "a poll and a wait that both see a job exit share its status"() {
+        setup:
+        def stdOut = new JobOutputStream(1024)
+        def jobId = executor.startJob(
+            request("echo hello; sleep 1; exit 3"), System.getenv(), null, stdOut, new JobOutputStream(1024))
+        def waited = executor.waitForJob(jobId)
+        JobStatus polled = null
+
+        when:
+        conditions.eventually {
+            polled = executor.updateJob(jobId)
+            assert polled?.state == JobStatus.State.COMPLETED
+        }
+        def status = waited.get(10, TimeUnit.SECONDS)
+
+        then:
+        status.is(polled)
+        status.result == JobStatus.Result.FAILURE
+        status.stdOut == "hello\n"
+        !executor.jobExists(jobId)
+    }
+
+    def "cancelling a job completes its wait"() {
+        setup:
+        // exec, so that destroying the job's process doesn't leave a sleep holding its output open
+        def jobId = executor.startJob(
+            request("exec sleep 30"), System.getenv(), null, new JobOutputStream(1024), new JobOutputStream(1024))
+        def waited = executor.waitForJob(jobId)
+        conditions.eventually {
+            assert executor.updateJob(jobId)?.state == JobStatus.State.RUNNING
+        }
+
+        when:
+        executor.cancelJob(jobId)
+        def status = waited.get(10, TimeUnit.SECONDS)
+
+        then:
+        status.state == JobStatus.State.COMPLETED
+        status.result == JobStatus.Result.FAILURE
+        !executor.jobExists(jobId)
+    }
+
+    private static JobRequest request(String script) {
+        return new JobRequest().setTokenizedCommand(["sh", "-c", script])
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.job.v1
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Path
+
+class JobOutputStreamSpec extends Specification {
+    @TempDir
+    Path tempDir
+
+    def "only the tail is kept, and reads return only new bytes"() {
+        setup:
+        def output = new JobOutputStream(8)
+
+        when:
+        output.write("abcd".bytes)
+        def first = new String(output.readNew())
+        output.write("efghijkl".bytes)
+        output.write("mn".bytes)
+        def second = new String(output.readNew())
+
+        then:
+        first == "abcd"
+        output.truncated
+        output.totalBytes == 14
+        second == "ghijklmn"
+        output.truncatedSinceRead
+        new String(output.toByteArray()) == "ghijklmn"
+        output.toString("UTF-8") == "ghijklmn"
+        output.toString(StandardCharsets.UTF_8) == "ghijklmn"
+        new String(output.readNew()) == ""
+        !output.truncatedSinceRead
+    }
+
+    def "line consumers see complete lines as they are written"() {
+        setup:
+        def lines = []
+        def output = new JobOutputStream(64).addLineConsumer { lines << it }
+
+        when:
+        output.write("one\r\ntw".bytes)
+        output.write("o\nthree".bytes)
+
+        then:
+        lines == ["one", "two"]
+
+        when:
+        output.close()
+
+        then:
+        lines == ["one", "two", "three"]
+    }
+
+    def "spilled output is complete"() {
+        setup:
+        def spill = tempDir.resolve("stdout")
+        def output = new JobOutputStream(4, spill)
+
+        when:
+        output.write("0123456789".bytes)
+        output.close()
+
+        then:
+        output.toString() == "6789"
+        output.openStream().text == "0123456789"
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.registry.v1
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ProfileCacheSpec extends Specification {
+    @TempDir
+    Path cacheDir
+
+    def "contents are only loaded once, and survive a new cache instance via disk"() {
+        setup:
+        def loads = 0
+        def loader = { loads++; "contents".bytes } as ProfileCache.Loader
+        def cache = new ProfileCache(cacheDir, 1024)
+
+        when:
+        def first = cache.get("profile/a", loader)
+        def second = cache.get("profile/a", loader)
+        def fromDisk = new ProfileCache(cacheDir, 1024).get("profile/a", loader)
+
+        then:
+        loads == 1
+        new String(first) == "contents"
+        new String(second) == "contents"
+        new String(fromDisk) == "contents"
+        cache.memoryHits.sum() == 1
+        cache.misses.sum() == 1
+    }
+
+    def "corrupt blobs are fetched again"() {
+        setup:
+        def loads = 0
+        def loader = { loads++; "contents".bytes } as ProfileCache.Loader
+        new ProfileCache(cacheDir, 1024).get("profile/a", loader)
+        Files.list(cacheDir.resolve("blobs")).each { Files.write(it, "tampered".bytes) }
+
+        when:
+        def contents = new ProfileCache(cacheDir, 1024).get("profile/a", loader)
+
+        then:
+        loads == 2
+        new String(contents) == "contents"
+    }
+
+    def "memory is bounded by bytes"() {
+        setup:
+        def cache = new ProfileCache(cacheDir, 10)
+        def loader = { "123456".bytes } as ProfileCache.Loader
+
+        when:
+        cache.get("a", loader)
+        cache.get("b", loader)
+        cache.get("a", loader)
+
+        then:
+        cache.memoryHits.sum() == 0
+        cache.diskHits.sum() == 1
+    }
+}
@@ -125,4 +125,19 @@ class VersionsSpec extends Specification {
         where:
         badVersion << ["1.0", "1.0.0.0", "1.a.b", "zzz", "local:foo", "local:1.0.0.0"]
     }
+
+    def "isReleased only accepts versions that are never republished"() {
+        expect:
+        Versions.isReleased(version) == result
+
+        where:
+        version                          | result
+        "1.28.0"                         | true
+        "2.20.3-20210409040021"          | true
+        "master-latest-unvalidated"      | false
+        "1.28.x-latest-validated"        | false
+        "1.28.0-rc1"                     | false
+        "branch:upstream/master"         | false
+        "local:1.28.0"                   | false
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.resource.v1
+
+import com.netflix.spinnaker.halyard.core.error.v1.HalException
+import spock.lang.Specification
+
+class JinjaJarResourceSpec extends Specification {
+    void "renders a cached template against each resource's own bindings"() {
+        when:
+        def gate = new JinjaJarResource("/templates/jinja-test.yml")
+            .addBinding("name", "gate")
+            .addBinding("ports", [8084])
+            .toString()
+        def deck = new JinjaJarResource("/templates/jinja-test.yml")
+            .addBinding("name", "deck")
+            .addBinding("ports", [9000, 9001])
+            .toString()
+
+        then:
+        gate.contains("name: gate")
+        gate.contains("- containerPort: 8084")
+        deck.contains("name: deck")
+        deck.contains("- containerPort: 9000")
+        deck.contains("- containerPort: 9001")
+        !deck.contains("8084")
+    }
+
+    void "fails on a missing resource"() {
+        when:
+        new JinjaJarResource("/templates/missing.yml").toString()
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
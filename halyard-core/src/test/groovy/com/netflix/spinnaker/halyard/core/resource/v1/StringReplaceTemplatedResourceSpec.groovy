@@ -51,4 +51,36 @@ bar
         then:
         true
     }
+
+    void "Replace every site in a single pass"() {
+        setup:
+        def logMock = Mock(org.slf4j.Logger)
+        StringReplaceTemplatedResource resource = new StringResource("{%a%}-{%b%}-{%a%}{%empty%}")
+            .addBinding("a", "{%b%}")
+            .addBinding("b", 2)
+            .addBinding("empty", null)
+        resource.log = logMock
+
+        when:
+        def result = resource.toString()
+
+        then:
+        result == "{%b%}-2-{%b%}"
+        0 * logMock.warn(_)
+    }
+
+    void "Leave and report only the keys that are missing"() {
+        setup:
+        def logMock = Mock(org.slf4j.Logger)
+        StringReplaceTemplatedResource resource = new StringResource("{%outer {%a%} {%missing%}%}")
+            .addBinding("a", "1")
+        resource.log = logMock
+
+        when:
+        def result = resource.toString()
+
+        then:
+        result == "{%outer 1 {%missing%}%}"
+        1 * logMock.warn({ it.contains("(missing)") })
+    }
 }
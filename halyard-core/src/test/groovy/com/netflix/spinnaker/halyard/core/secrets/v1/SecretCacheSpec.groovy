@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.secrets.v1
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class SecretCacheSpec extends Specification {
+    static final String SECRET = "encrypted:s3!r:us-west-2!b:bucket!f:secrets.yml!k:password"
+
+    long now = 0
+    SimpleMeterRegistry registry = new SimpleMeterRegistry()
+
+    SecretCache cache(int maxEntries = 8) {
+        def properties = new SecretCacheProperties(enabled: true, ttlSeconds: 60, maxEntries: maxEntries)
+        return new SecretCache(properties, registry, { now })
+    }
+
+    void "decrypts each reference once until it expires"() {
+        setup:
+        def cache = cache()
+        int decrypted = 0
+
+        when:
+        def first = cache.get(SECRET, { "hunter2-" + (++decrypted) })
+        def second = cache.get(SECRET, { "hunter2-" + (++decrypted) })
+        now += TimeUnit.SECONDS.toNanos(60)
+        def third = cache.get(SECRET, { "hunter2-" + (++decrypted) })
+
+        then:
+        first == "hunter2-1"
+        second == "hunter2-1"
+        third == "hunter2-2"
+        registry.counter("halyard.secrets.cache.hits", "engine", "s3").count() == 1
+        registry.counter("halyard.secrets.cache.misses", "engine", "s3").count() == 2
+    }
+
+    void "zeroes evicted bytes, and hands out copies"() {
+        setup:
+        def cache = cache(1)
+        byte[] stored = "hunter2".bytes
+
+        when:
+        byte[] copy = cache.getBytes(SECRET, { stored })
+        cache.getBytes("encrypted:gcs!b:bucket!f:other", { "other".bytes })
+
+        then:
+        new String(copy) == "hunter2"
+        stored.every { it == 0 }
+        cache.size() == 1
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.spinnaker.halyard.core.secrets.v1
+
+import com.netflix.spinnaker.kork.secrets.SecretManager
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Paths
+
+class SecretSessionManagerSpec extends Specification {
+    static final String SECRET_FILE = "encrypted:s3!r:us-west-2!b:bucket!f:kubeconfig"
+
+    SecretManager secretManager = Mock(SecretManager)
+    SecretCache secretCache = new SecretCache(new SecretCacheProperties(enabled: true), null)
+    SecretSessionManager secretSessionManager = new SecretSessionManager(
+        secretManager: secretManager,
+        secretCache: secretCache)
+
+    void cleanup() {
+        SecretSessionManager.clearSession()
+    }
+
+    void "cached secret files belong to the session that read them"() {
+        when:
+        def path = Paths.get(secretSessionManager.decryptAsFile(SECRET_FILE))
+        secretCache.clear()
+
+        then:
+        1 * secretManager.decryptAsBytes(SECRET_FILE) >> "kubeconfig".bytes
+        path.text == "kubeconfig"
+        secretSessionManager.decryptAsFile(SECRET_FILE) == path.toString()
+
+        when:
+        SecretSessionManager.clearSession()
+
+        then:
+        !Files.exists(path)
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.spinnaker.halyard.core.tasks.v1
+
+import com.netflix.spinnaker.halyard.core.DaemonResponse
+import com.netflix.spinnaker.halyard.core.error.v1.HalException
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem
+import com.netflix.spinnaker.halyard.core.problem.v1.ProblemBuilder
+import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet
+import spock.lang.Specification
+
+import java.util.function.Supplier
+
+class DaemonTaskBatchSpec extends Specification {
+    // What the batch did with the halconfig once its updates were applied, in order.
+    List<String> steps = []
+
+    Supplier update(
+        Runnable change,
+        Problem.Severity severity = Problem.Severity.WARNING,
+        List<Problem> problems = []) {
+        return {
+            def builder = new DaemonResponse.UpdateRequestBuilder()
+            builder.update = change
+            builder.validate = { steps << "validate"; new ProblemSet(problems) }
+            builder.severity = severity
+            builder.revert = { steps << "revert" }
+            builder.save = { steps << "save" }
+            builder.clean = { steps << "clean" }
+            return DaemonTaskHandler.submitTask({ builder.build() }, "Update")
+        }
+    }
+
+    void "applies updates inline, then validates what each changed and saves once"() {
+        setup:
+        def batch = new DaemonTaskBatch()
+        def applied = []
+
+        when:
+        (1..3).each { line ->
+            batch.apply(line, update({ applied << line }))
+        }
+
+        then:
+        applied == [1, 2, 3]
+        steps.isEmpty()
+        DaemonTaskHandler.getBatch() == null
+
+        when:
+        def response = batch.complete()
+
+        then:
+        steps == ["validate", "validate", "validate", "save", "clean", "clean", "clean"]
+        response.problemSet.isEmpty()
+    }
+
+    void "reports a problem found by several updates' validation once"() {
+        setup:
+        def batch = new DaemonTaskBatch()
+        def warning = new ProblemBuilder(Problem.Severity.WARNING, "Unused account").build()
+
+        when:
+        batch.apply(1, update({}, Problem.Severity.ERROR, [warning]))
+        batch.apply(2, update({}, Problem.Severity.ERROR, [warning]))
+        def response = batch.complete()
+
+        then:
+        response.problemSet.problems*.message == ["Unused account"]
+        steps.count("save") == 1
+    }
+
+    void "fails validation that exceeds the strictest severity any update allowed, and reverts before cleaning up"() {
+        setup:
+        def batch = new DaemonTaskBatch()
+        def warning = new ProblemBuilder(Problem.Severity.WARNING, "Unused account").build()
+
+        when:
+        batch.apply(1, update({}, Problem.Severity.ERROR, [warning]))
+        batch.apply(2, update({}, Problem.Severity.INFO))
+        batch.complete()
+
+        then:
+        HalException e = thrown()
+        e.problems.problems*.message == ["Unused account"]
+        steps == ["validate", "validate", "revert", "clean", "clean"]
+    }
+
+    void "reports problems applying an update against its line"() {
+        setup:
+        def batch = new DaemonTaskBatch()
+        def error = new ProblemBuilder(Problem.Severity.ERROR, "Bad account").build()
+
+        when:
+        batch.apply(1, update({}, Problem.Severity.WARNING, [error]))
+        batch.apply(2, update({ throw new HalException(Problem.Severity.FATAL, "No such provider") }))
+        batch.complete()
+
+        then:
+        HalException e = thrown()
+        e.problems.problems*.message == ["line 2: No such provider", "Bad account"]
+        !steps.contains("save")
+        steps.indexOf("revert") < steps.indexOf("clean")
+    }
+
+    void "rejects requests that don't edit the halconfig"() {
+        setup:
+        def batch = new DaemonTaskBatch()
+        def read = new DaemonResponse.StaticRequestBuilder({ "halconfig" })
+
+        when:
+        batch.apply(4, { DaemonTaskHandler.submitTask({ read.build() }, "Get halconfig") })
+        batch.complete()
+
+        then:
+        HalException e = thrown()
+        e.problems.problems*.message == ["line 4: Only commands that edit your halconfig can be run in a batch."]
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.tasks.v1
+
+import com.netflix.spinnaker.halyard.core.DaemonResponse
+import com.netflix.spinnaker.halyard.core.error.v1.HalException
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class DaemonTaskHandlerSpec extends Specification {
+    static final long TIMEOUT = TimeUnit.MINUTES.toMillis(2)
+
+    void setup() {
+        TaskRepository.configureExecutor(4, false)
+    }
+
+    void cleanup() {
+        TaskRepository.configureExecutor(TaskRepository.DEFAULT_MAX_CONCURRENT_TASKS, false)
+    }
+
+    void "a later child failing first interrupts its siblings and fails the reduction"() {
+        setup:
+        DaemonTask slow = null
+        DaemonTask failing = null
+        DaemonTask.State slowStateWhenReduced = null
+
+        when:
+        def parent = TaskRepository.submitTask({
+            slow = DaemonTaskHandler.submitTask({
+                DaemonTaskHandler.safeSleep(TimeUnit.MINUTES.toMillis(1))
+                new DaemonResponse("slow", null)
+            }, "Slow", TIMEOUT)
+            failing = DaemonTaskHandler.submitTask({
+                throw new HalException(Problem.Severity.FATAL, "Later child failed")
+            }, "Failing", TIMEOUT)
+
+            try {
+                DaemonTaskHandler.reduceChildren(null, { a, b -> a })
+            } finally {
+                // Checked before this task finishes and cleans up its children itself
+                slowStateWhenReduced = slow.completion.get(10, TimeUnit.SECONDS).state
+            }
+        }, "Parent", TIMEOUT)
+        parent.completion.get(10, TimeUnit.SECONDS)
+
+        then:
+        failing.state == DaemonTask.State.FAILED
+        slowStateWhenReduced == DaemonTask.State.INTERRUPTED
+        parent.state == DaemonTask.State.FAILED
+        parent.response.problemSet.problems*.message == ["Later child failed"]
+    }
+}
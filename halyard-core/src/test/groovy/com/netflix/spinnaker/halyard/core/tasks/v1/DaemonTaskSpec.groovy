@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.spinnaker.halyard.core.tasks.v1
+
+import com.netflix.spinnaker.halyard.core.DaemonResponse
+import spock.lang.Specification
+
+class DaemonTaskSpec extends Specification {
+    // Mirrors DaemonTask's own limits.
+    static final int MAX_EVENTS = 1000
+    static final int EVENT_TRIM_SIZE = 250
+
+    private static DaemonTask task(String name, int messages = 0) {
+        def task = new DaemonTask(name, 0)
+        task.newStage("stage")
+        messages.times { task.writeMessage("message " + (it + 1)) }
+        return task
+    }
+
+    void "copies only what changed after the cursor"() {
+        setup:
+        def root = task("root", 2)
+        def quiet = task("quiet", 1)
+        def busy = task("busy", 1)
+        root.children.addAll([quiet, busy])
+        def cursor = root.latestSequence()
+
+        when:
+        root.writeMessage("root update")
+        busy.writeMessage("busy update")
+        def update = root.since(cursor)
+
+        then:
+        update.uuid == root.uuid
+        update.events*.message == ["root update"]
+        update.children*.uuid == [busy.uuid]
+        update.children[0].events*.message == ["busy update"]
+        update.latestSequence() == root.latestSequence()
+
+        when:
+        def unchanged = root.since(root.latestSequence())
+
+        then:
+        unchanged.events.isEmpty()
+        unchanged.children.isEmpty()
+    }
+
+    void "reports state changes after the cursor"() {
+        setup:
+        def task = task("task", 1)
+        def cursor = task.latestSequence()
+
+        when:
+        task.success(new DaemonResponse("done", null))
+        def update = task.since(cursor)
+
+        then:
+        update.state == DaemonTask.State.SUCCEEDED
+        update.events.isEmpty()
+        update.latestSequence() > cursor
+    }
+
+    void "trims the oldest events in batches and counts what it dropped"() {
+        setup:
+        def task = task("task", MAX_EVENTS + EVENT_TRIM_SIZE)
+
+        expect:
+        task.events.size() == MAX_EVENTS + EVENT_TRIM_SIZE
+        task.droppedEvents == 0
+
+        when:
+        task.writeMessage("one too many")
+
+        then:
+        task.events.size() == MAX_EVENTS + 1
+        task.droppedEvents == EVENT_TRIM_SIZE
+        task.events[0].message == "message " + (EVENT_TRIM_SIZE + 1)
+        task.lastEvent().message == "one too many"
+        task.since(0).droppedEvents == EVENT_TRIM_SIZE
+        task.since(0).events.size() == MAX_EVENTS + 1
+    }
+
+    void "has no last event before one is written"() {
+        expect:
+        task("task").lastEvent() == null
+    }
+}
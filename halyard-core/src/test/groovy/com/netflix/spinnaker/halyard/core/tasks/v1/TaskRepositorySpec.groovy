@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.spinnaker.halyard.core.tasks.v1
+
+import com.netflix.spinnaker.halyard.core.DaemonResponse
+import com.netflix.spinnaker.halyard.core.error.v1.HalException
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+
+class TaskRepositorySpec extends Specification {
+    CountDownLatch release = new CountDownLatch(1)
+
+    void setup() {
+        TaskRepository.configureExecutor(2, false)
+    }
+
+    void cleanup() {
+        release.countDown()
+        TaskRepository.configureExecutor(TaskRepository.DEFAULT_MAX_CONCURRENT_TASKS, false)
+    }
+
+    private static <T> T staticField(String name) {
+        def field = TaskRepository.getDeclaredField(name)
+        field.accessible = true
+        return field.get(null) as T
+    }
+
+    private DaemonTask blocked() {
+        return TaskRepository.submitTask({
+            release.await()
+            new DaemonResponse(null, null)
+        }, "Blocked", TimeUnit.MINUTES.toMillis(1))
+    }
+
+    void "rejects tasks past the in-flight limit until one completes"() {
+        setup:
+        def rejected = TaskRepository.getRejectedTaskCount()
+
+        when:
+        def running = [blocked(), blocked()]
+        blocked()
+
+        then:
+        def e = thrown(HalException)
+        e.message.contains("limit of 2 tasks")
+        TaskRepository.getRejectedTaskCount() == rejected + 1
+
+        when:
+        release.countDown()
+        running.each { it.completion.get(5, TimeUnit.SECONDS) }
+        def next = TaskRepository.submitTask({ new DaemonResponse("done", null) }, "Next", 1000)
+
+        then:
+        next.completion.get(5, TimeUnit.SECONDS).state == DaemonTask.State.SUCCEEDED
+        TaskRepository.getActiveTaskCount() == 0
+        TaskRepository.getQueuedTaskCount() == 0
+    }
+
+    void "rejects tasks the executor won't accept, without leaving anything behind"() {
+        setup:
+        ScheduledThreadPoolExecutor scheduler = staticField("scheduler")
+        staticField("executor").shutdown()
+        def scheduled = scheduler.queue.size()
+        def tasks = TaskRepository.tasks.size()
+
+        when:
+        TaskRepository.submitTask({ new DaemonResponse(null, null) }, "Rejected", 1000)
+
+        then:
+        def e = thrown(HalException)
+        e.message.contains("not accepting work")
+        scheduler.queue.size() == scheduled
+        TaskRepository.tasks.size() == tasks
+        TaskRepository.getQueuedTaskCount() == 0
+
+        when:
+        TaskRepository.configureExecutor(1, false)
+        def next = TaskRepository.submitTask({ new DaemonResponse(null, null) }, "Next", 1000)
+
+        then:
+        next.completion.get(5, TimeUnit.SECONDS).state == DaemonTask.State.SUCCEEDED
+    }
+
+    void "cancels the timeout of a task that finishes straight away"() {
+        setup:
+        ScheduledThreadPoolExecutor scheduler = staticField("scheduler")
+        def scheduled = scheduler.queue.size()
+
+        when:
+        def task = TaskRepository.submitTask(
+            { new DaemonResponse(null, null) }, "Fast", TimeUnit.MINUTES.toMillis(1))
+        task.completion.get(5, TimeUnit.SECONDS)
+        // The task is only counted out once it has finished scheduling its cleanup.
+        new PollingConditions(timeout: 5).eventually {
+            assert TaskRepository.getActiveTaskCount() == 0
+        }
+
+        then:
+        // Only the removal of its info, two minutes from now, is left scheduled.
+        scheduler.queue.size() == scheduled + 1
+        !task.timedOut
+    }
+}
@@ -27,6 +27,7 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
 import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
 import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Secret;
 import com.netflix.spinnaker.halyard.config.model.v1.node.SecretFile;
 import com.netflix.spinnaker.halyard.core.secrets.v1.SecretSessionManager;
@@ -46,27 +47,27 @@ import org.apache.commons.lang3.RandomStringUtils;
  * <p>It also decrypts the content of secret files, assign them a random name, and store them in
  * {@link Profile} to be serialized later.
  *
- * <p>decryptedOutputDirectory is the path to the decrypted secret files on the service's host.
+ * <p>A mapper only depends on whether it decrypts all secrets, so it is meant to be built once and
+ * shared (see {@link DecryptingObjectMappers}), keeping Jackson's serializer cache warm. The
+ * profile being generated and the path to the decrypted secret files on the service's host are
+ * passed to each {@link #convertValue(Object, Class, Profile, Path)} call as serialization
+ * attributes.
  */
 public class DecryptingObjectMapper extends ObjectMapper {
+  private static final String PROFILE = DecryptingObjectMapper.class.getName() + ".profile";
+  private static final String DECRYPTED_OUTPUT_DIRECTORY =
+      DecryptingObjectMapper.class.getName() + ".decryptedOutputDirectory";
 
-  protected Profile profile;
-  protected Path decryptedOutputDirectory;
   protected SecretSessionManager secretSessionManager;
   protected boolean decryptAllSecrets;
 
   public DecryptingObjectMapper(
-      SecretSessionManager secretSessionManager,
-      Profile profile,
-      Path decryptedOutputDirectory,
-      boolean decryptAllSecrets) {
+      SecretSessionManager secretSessionManager, boolean decryptAllSecrets) {
     super();
     this.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
     this.setSerializationInclusion(JsonInclude.Include.NON_NULL);
 
     this.secretSessionManager = secretSessionManager;
-    this.profile = profile;
-    this.decryptedOutputDirectory = decryptedOutputDirectory;
     this.decryptAllSecrets = decryptAllSecrets;
 
     SimpleModule module = new SimpleModule();
@@ -127,10 +128,18 @@ public class DecryptingObjectMapper extends ObjectMapper {
           if (EncryptedSecret.isEncryptedSecret(sValue) && shouldDecrypt) {
             // Decrypt the content of the file and store on the profile under a random
             // generated file name
+            Profile profile = (Profile) provider.getAttribute(PROFILE);
+            Path decryptedOutputDirectory =
+                (Path) provider.getAttribute(DECRYPTED_OUTPUT_DIRECTORY);
+            if (profile == null || decryptedOutputDirectory == null) {
+              throw new IllegalStateException(
+                  "Secret files can only be decrypted while converting a value for a profile");
+            }
+
             String name = newRandomFilePath(beanPropertyWriter.getName());
             byte[] bytes = secretSessionManager.decryptAsBytes(sValue);
             profile.getDecryptedFiles().put(name, bytes);
-            sValue = annotation.prefix() + getCompleteFilePath(name);
+            sValue = annotation.prefix() + getCompleteFilePath(decryptedOutputDirectory, name);
           }
           gen.writeString(sValue);
         }
@@ -138,6 +147,28 @@ public class DecryptingObjectMapper extends ObjectMapper {
     };
   }
 
+  /**
+   * Converts the given value like {@link #convertValue(Object, Class)}, storing the content of any
+   * secret file it decrypts in the given profile.
+   */
+  public <T> T convertValue(
+      Object value, Class<T> type, Profile profile, Path decryptedOutputDirectory) {
+    if (value == null) {
+      return null;
+    }
+
+    TokenBuffer buffer = new TokenBuffer(this, false);
+    try {
+      writer()
+          .withAttribute(PROFILE, profile)
+          .withAttribute(DECRYPTED_OUTPUT_DIRECTORY, decryptedOutputDirectory)
+          .writeValue(buffer, value);
+      return readerFor(type).readValue(buffer.asParser());
+    } catch (IOException e) {
+      throw new IllegalArgumentException(e.getMessage(), e);
+    }
+  }
+
   public DecryptingObjectMapper relax() {
     this.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     this.configure(DeserializationFeature.FAIL_ON_NULL_CREATOR_PROPERTIES, false);
@@ -148,7 +179,7 @@ public class DecryptingObjectMapper extends ObjectMapper {
     return fieldName + "-" + RandomStringUtils.randomAlphanumeric(5);
   }
 
-  protected String getCompleteFilePath(String filename) {
+  protected String getCompleteFilePath(Path decryptedOutputDirectory, String filename) {
     return Paths.get(decryptedOutputDirectory.toString(), filename).toString();
   }
 
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.config.v1.secrets;
+
+import com.netflix.spinnaker.halyard.core.secrets.v1.SecretSessionManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the {@link DecryptingObjectMapper}s shared by every profile factory, one for each
+ * combination of whether all secrets are decrypted and whether unknown properties are tolerated.
+ */
+@Component
+public class DecryptingObjectMappers {
+  private final DecryptingObjectMapper decryptingAll;
+  private final DecryptingObjectMapper decryptingRequired;
+  private final DecryptingObjectMapper relaxedDecryptingAll;
+  private final DecryptingObjectMapper relaxedDecryptingRequired;
+
+  @Autowired
+  DecryptingObjectMappers(SecretSessionManager secretSessionManager) {
+    decryptingAll = new DecryptingObjectMapper(secretSessionManager, true);
+    decryptingRequired = new DecryptingObjectMapper(secretSessionManager, false);
+    relaxedDecryptingAll = new DecryptingObjectMapper(secretSessionManager, true).relax();
+    relaxedDecryptingRequired = new DecryptingObjectMapper(secretSessionManager, false).relax();
+  }
+
+  public DecryptingObjectMapper get(boolean decryptAllSecrets) {
+    return decryptAllSecrets ? decryptingAll : decryptingRequired;
+  }
+
+  public DecryptingObjectMapper getRelaxed(boolean decryptAllSecrets) {
+    return decryptAllSecrets ? relaxedDecryptingAll : relaxedDecryptingRequired;
+  }
+}
@@ -24,7 +24,8 @@ public enum DeployOption {
   OMIT_CONFIG("OMIT_CONFIG"),
   FLUSH_INFRASTRUCTURE_CACHES("FLUSH_INFRASTRUCTURE_CACHES"),
   DELETE_ORPHANED_SERVICES("DELETE_ORPHANED_SERVICES"),
-  WAIT_FOR_COMPLETION("WAIT_FOR_COMPLETION");
+  WAIT_FOR_COMPLETION("WAIT_FOR_COMPLETION"),
+  ONLY_CHANGED_SERVICES("ONLY_CHANGED_SERVICES");
 
   final String name;
 
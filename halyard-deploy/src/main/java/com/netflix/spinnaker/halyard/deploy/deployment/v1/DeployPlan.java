@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.deployment.v1;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+/** Which services a deploy would update, and why, compared with the last successful deploy. */
+@Data
+public class DeployPlan {
+  private List<ServicePlan> services = new ArrayList<>();
+
+  @Data
+  public static class ServicePlan {
+    private String serviceName;
+    private boolean changed;
+    // True if no deploy of this service was ever recorded
+    private boolean firstDeploy;
+    // The service's inputs that differ from the last successful deploy, e.g. "profile/gate.yml"
+    private List<String> changedInputs = new ArrayList<>();
+  }
+}
@@ -124,7 +124,7 @@ public class DistributedDeployer<T extends Account>
     }
 
     DaemonTaskHandler.message("Waiting on rollbacks to complete");
-    DaemonTaskHandler.reduceChildren(null, (t1, t2) -> null, (t1, t2) -> null)
+    DaemonTaskHandler.reduceChildren(null, (t1, t2) -> null)
         .getProblemSet()
         .throwifSeverityExceeds(Problem.Severity.WARNING);
   }
@@ -254,7 +254,7 @@ public class DistributedDeployer<T extends Account>
     }
 
     DaemonTaskHandler.message("Waiting on deployments to complete");
-    DaemonTaskHandler.reduceChildren(null, (t1, t2) -> null, (t1, t2) -> null)
+    DaemonTaskHandler.reduceChildren(null, (t1, t2) -> null)
         .getProblemSet()
         .throwifSeverityExceeds(Problem.Severity.WARNING);
 
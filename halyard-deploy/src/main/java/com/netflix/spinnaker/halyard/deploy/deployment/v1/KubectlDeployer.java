@@ -18,11 +18,14 @@
 
 package com.netflix.spinnaker.halyard.deploy.deployment.v1;
 
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentEnvironment;
 import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount;
 import com.netflix.spinnaker.halyard.core.DaemonResponse;
 import com.netflix.spinnaker.halyard.core.RemoteAction;
+import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskInterrupted;
 import com.netflix.spinnaker.halyard.deploy.services.v1.GenerateService;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerRuntimeSettings;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.ServiceSettings;
@@ -30,21 +33,34 @@ import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerServic
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerService.Type;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.SidecarService;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2.KubectlServiceProvider;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2.KubernetesReadinessWatch;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2.KubernetesV2Executor;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2.KubernetesV2ExecutorFactory;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2.KubernetesV2Service;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2.KubernetesV2Utils;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 public class KubectlDeployer
     implements Deployer<KubectlServiceProvider, AccountDeploymentDetails<KubernetesAccount>> {
   @Autowired KubernetesV2Utils kubernetesV2Utils;
 
+  @Autowired KubernetesV2ExecutorFactory kubernetesV2ExecutorFactory;
+
   @Override
   public RemoteAction deploy(
       KubectlServiceProvider serviceProvider,
@@ -53,88 +69,243 @@ public class KubectlDeployer
       List<SpinnakerService.Type> serviceTypes,
       boolean waitForCompletion,
       Optional<Integer> waitForCompletionTimeoutMinutes) {
-    List<KubernetesV2Service> services = serviceProvider.getServicesByPriority(serviceTypes);
-    services.stream()
-        .forEach(
-            (service) -> {
-              if (service instanceof SidecarService) {
-                return;
-              }
-
-              ServiceSettings settings =
-                  resolvedConfiguration.getServiceSettings((SpinnakerService) service);
-              if (settings == null) {
-                return;
-              }
+    List<KubernetesV2Service> services =
+        serviceProvider.getServicesByPriority(serviceTypes).stream()
+            .filter(service -> isManaged(service, resolvedConfiguration))
+            .collect(Collectors.toList());
 
-              if (settings.getEnabled() != null && !settings.getEnabled()) {
-                return;
-              }
+    // One watch per namespace, shared by every service waiting on it. They are started by this
+    // task, so that they outlive the services' own tasks.
+    Map<String, KubernetesReadinessWatch> readinessWatches = new HashMap<>();
+    KubernetesV2Executor watchExecutor = null;
+    try {
+      if (waitForCompletion) {
+        KubernetesV2Executor watches =
+            kubernetesV2ExecutorFactory.create(
+                DaemonTaskHandler.getJobExecutor(),
+                deploymentDetails.getAccount(),
+                deploymentDetails.getDeploymentConfiguration().getDeploymentEnvironment());
+        watchExecutor = watches;
+        services.stream()
+            .map(
+                service ->
+                    service.getNamespace(
+                        resolvedConfiguration.getServiceSettings((SpinnakerService) service)))
+            .distinct()
+            .forEach(
+                namespace -> {
+                  try {
+                    readinessWatches.put(namespace, watches.watchReadiness(namespace));
+                  } catch (HalException e) {
+                    log.warn(
+                        "Unable to watch " + namespace + ", polling for readiness instead", e);
+                  }
+                });
+      }
 
-              if (settings.getSkipLifeCycleManagement() != null
-                  && settings.getSkipLifeCycleManagement()) {
-                return;
-              }
+      services.forEach(
+          (service) -> {
+            ServiceSettings settings =
+                resolvedConfiguration.getServiceSettings((SpinnakerService) service);
+            DaemonResponse.StaticRequestBuilder<Void> builder =
+                new DaemonResponse.StaticRequestBuilder<>(
+                    () -> {
+                      DaemonTaskHandler.newStage(
+                          "Deploying " + service.getServiceName() + " with kubectl");
 
-              DaemonResponse.StaticRequestBuilder<Void> builder =
-                  new DaemonResponse.StaticRequestBuilder<>(
-                      () -> {
-                        DaemonTaskHandler.newStage(
-                            "Deploying " + service.getServiceName() + " with kubectl");
-
-                        KubernetesAccount account = deploymentDetails.getAccount();
-                        KubernetesV2Executor executor =
-                            new KubernetesV2Executor(
-                                DaemonTaskHandler.getJobExecutor(), account, kubernetesV2Utils);
-                        String namespaceDefinition =
-                            service.getNamespaceYaml(resolvedConfiguration);
-                        String serviceDefinition = service.getServiceYaml(resolvedConfiguration);
-
-                        if (!executor.exists(namespaceDefinition)) {
-                          executor.apply(namespaceDefinition);
-                        }
-
-                        if (!executor.exists(serviceDefinition)) {
-                          executor.apply(serviceDefinition);
+                      KubernetesAccount account = deploymentDetails.getAccount();
+                      DeploymentEnvironment.KubernetesDeployConfig kubernetesConfig =
+                          deploymentDetails
+                              .getDeploymentConfiguration()
+                              .getDeploymentEnvironment()
+                              .getKubernetes();
+                      try (KubernetesV2Executor executor =
+                          kubernetesV2ExecutorFactory.create(
+                              DaemonTaskHandler.getJobExecutor(),
+                              account,
+                              deploymentDetails
+                                  .getDeploymentConfiguration()
+                                  .getDeploymentEnvironment())) {
+                        boolean applied;
+                        if (kubernetesConfig != null && kubernetesConfig.isBatchApply()) {
+                          applied =
+                              deployServiceBatched(
+                                  executor, service, deploymentDetails, resolvedConfiguration);
+                        } else {
+                          applied =
+                              deployService(
+                                  executor, service, deploymentDetails, resolvedConfiguration);
                         }
 
-                        String resourceDefinition =
-                            service.getResourceYaml(
-                                executor, deploymentDetails, resolvedConfiguration);
-                        if (((SpinnakerService) service).getType().equals(Type.REDIS)
-                            && executor.exists(resourceDefinition)) {
-                          // We do not want to bounce the Redis pod because user data will be lost.
-                          DaemonTaskHandler.message(
-                              "Redis deployment already exists... not redeploying...");
-                        } else {
-                          DaemonTaskHandler.message(
-                              "Running kubectl apply on the resource definition...");
-                          executor.apply(resourceDefinition);
-
-                          if (waitForCompletion) {
-                            DaemonTaskHandler.message("Waiting for service to be ready...");
-                            while (!executor.isReady(
-                                service.getNamespace(settings), service.getServiceName())) {
-                              DaemonTaskHandler.safeSleep(TimeUnit.SECONDS.toMillis(5));
-                            }
-                          }
+                        if (applied && waitForCompletion) {
+                          DaemonTaskHandler.message("Waiting for service to be ready...");
+                          String namespace = service.getNamespace(settings);
+                          waitForReady(
+                              executor,
+                              readinessWatches.get(namespace),
+                              namespace,
+                              service.getServiceName());
                         }
-                        return null;
-                      });
-              DaemonTaskHandler.submitTask(
-                  builder::build,
-                  "Deploy " + service.getServiceName(),
-                  TimeUnit.MINUTES.toMillis(waitForCompletionTimeoutMinutes.orElse(10)));
-            });
+                      }
+                      return null;
+                    });
+            DaemonTaskHandler.submitTask(
+                builder::build,
+                "Deploy " + service.getServiceName(),
+                TimeUnit.MINUTES.toMillis(waitForCompletionTimeoutMinutes.orElse(10)));
+          });
 
-    DaemonTaskHandler.message("Waiting on deployments to complete");
-    DaemonTaskHandler.reduceChildren(null, (t1, t2) -> null, (t1, t2) -> null)
-        .getProblemSet()
-        .throwifSeverityExceeds(Problem.Severity.WARNING);
+      DaemonTaskHandler.message("Waiting on deployments to complete");
+      DaemonTaskHandler.reduceChildren(null, (t1, t2) -> null)
+          .getProblemSet()
+          .throwifSeverityExceeds(Problem.Severity.WARNING);
+    } finally {
+      readinessWatches.values().forEach(KubernetesReadinessWatch::close);
+      if (watchExecutor != null) {
+        watchExecutor.close();
+      }
+    }
 
     return new RemoteAction();
   }
 
+  private static boolean isManaged(
+      KubernetesV2Service service, GenerateService.ResolvedConfiguration resolvedConfiguration) {
+    if (service instanceof SidecarService) {
+      return false;
+    }
+
+    ServiceSettings settings = resolvedConfiguration.getServiceSettings((SpinnakerService) service);
+    if (settings == null) {
+      return false;
+    }
+
+    if (settings.getEnabled() != null && !settings.getEnabled()) {
+      return false;
+    }
+
+    return settings.getSkipLifeCycleManagement() == null || !settings.getSkipLifeCycleManagement();
+  }
+
+  /**
+   * Blocks until every pod of the service is ready, as reported by the namespace's shared watch. If
+   * that watch fails, this falls back to polling.
+   */
+  private static void waitForReady(
+      KubernetesV2Executor executor,
+      KubernetesReadinessWatch watch,
+      String namespace,
+      String serviceName) {
+    if (watch != null) {
+      CompletableFuture<Void> ready = watch.awaitReady(serviceName);
+      try {
+        ready.get();
+        return;
+      } catch (InterruptedException e) {
+        ready.cancel(false);
+        throw new DaemonTaskInterrupted(e);
+      } catch (ExecutionException | CancellationException e) {
+        log.warn("Falling back to polling for the readiness of " + serviceName, e);
+      }
+    }
+
+    while (!executor.isReady(namespace, serviceName)) {
+      DaemonTaskHandler.safeSleep(TimeUnit.SECONDS.toMillis(5));
+    }
+  }
+
+  /** @return false if the service's resource was deliberately left as it was. */
+  private boolean deployService(
+      KubernetesV2Executor executor,
+      KubernetesV2Service service,
+      AccountDeploymentDetails<KubernetesAccount> deploymentDetails,
+      GenerateService.ResolvedConfiguration resolvedConfiguration) {
+    String namespaceDefinition = service.getNamespaceYaml(resolvedConfiguration);
+    String serviceDefinition = service.getServiceYaml(resolvedConfiguration);
+
+    if (!executor.exists(namespaceDefinition)) {
+      executor.apply(namespaceDefinition);
+    }
+
+    if (!executor.exists(serviceDefinition)) {
+      executor.apply(serviceDefinition);
+    }
+
+    String resourceDefinition =
+        service.getResourceYaml(executor, deploymentDetails, resolvedConfiguration);
+    if (isRedis(service) && executor.exists(resourceDefinition)) {
+      // We do not want to bounce the Redis pod because user data will be lost.
+      DaemonTaskHandler.message("Redis deployment already exists... not redeploying...");
+      return false;
+    }
+
+    DaemonTaskHandler.message("Running kubectl apply on the resource definition...");
+    executor.apply(resourceDefinition);
+    return true;
+  }
+
+  /**
+   * Same as {@link #deployService}, but checks for existing resources with one lookup and submits
+   * the service's manifests together. Config secrets are staged with the rest of the manifests when
+   * using server-side apply, and in one separate replace otherwise, since client-side apply would
+   * copy their contents into an annotation that is easily too large.
+   */
+  private boolean deployServiceBatched(
+      KubernetesV2Executor executor,
+      KubernetesV2Service service,
+      AccountDeploymentDetails<KubernetesAccount> deploymentDetails,
+      GenerateService.ResolvedConfiguration resolvedConfiguration) {
+    String namespaceDefinition = service.getNamespaceYaml(resolvedConfiguration);
+    String serviceDefinition = service.getServiceYaml(resolvedConfiguration);
+
+    executor.deferReplacements();
+    String resourceDefinition =
+        service.getResourceYaml(executor, deploymentDetails, resolvedConfiguration);
+    List<String> secretDefinitions = executor.takeDeferredReplacements();
+
+    List<String> lookups = new ArrayList<>();
+    lookups.add(namespaceDefinition);
+    lookups.add(serviceDefinition);
+    if (isRedis(service)) {
+      lookups.add(resourceDefinition);
+    }
+    Set<String> existing = executor.existing(lookups);
+
+    List<String> manifests = new ArrayList<>();
+    if (!existing.contains(namespaceDefinition)) {
+      manifests.add(namespaceDefinition);
+    }
+    if (!existing.contains(serviceDefinition)) {
+      manifests.add(serviceDefinition);
+    }
+
+    if (executor.isServerSideApply()) {
+      manifests.addAll(secretDefinitions);
+    } else if (!secretDefinitions.isEmpty()) {
+      // The secrets' namespace has to exist before they can be staged.
+      executor.applyAll(manifests);
+      manifests.clear();
+      executor.replaceAll(secretDefinitions);
+    }
+
+    boolean applyResource = !existing.contains(resourceDefinition);
+    if (applyResource) {
+      manifests.add(resourceDefinition);
+    } else {
+      // We do not want to bounce the Redis pod because user data will be lost.
+      DaemonTaskHandler.message("Redis deployment already exists... not redeploying...");
+    }
+
+    DaemonTaskHandler.message(
+        "Running kubectl apply on " + manifests.size() + " resource definitions...");
+    executor.applyAll(manifests);
+    return applyResource;
+  }
+
+  private static boolean isRedis(KubernetesV2Service service) {
+    return ((SpinnakerService) service).getType().equals(Type.REDIS);
+  }
+
   @Override
   public void rollback(
       KubectlServiceProvider serviceProvider,
@@ -219,15 +390,17 @@ public class KubectlDeployer
                 return;
               }
               KubernetesAccount account = deploymentDetails.getAccount();
-              KubernetesV2Executor executor =
-                  new KubernetesV2Executor(
-                      DaemonTaskHandler.getJobExecutor(), account, kubernetesV2Utils);
-
-              DaemonTaskHandler.newStage(
-                  "Deleting disabled service " + service.getServiceName() + " with kubectl");
-              DaemonTaskHandler.message(
-                  "Running kubectl delete on the resource, service, and secret definitions...");
-              executor.delete(service.getNamespace(settings), service.getServiceName());
+              try (KubernetesV2Executor executor =
+                  kubernetesV2ExecutorFactory.create(
+                      DaemonTaskHandler.getJobExecutor(),
+                      account,
+                      deploymentDetails.getDeploymentConfiguration().getDeploymentEnvironment())) {
+                DaemonTaskHandler.newStage(
+                    "Deleting disabled service " + service.getServiceName() + " with kubectl");
+                DaemonTaskHandler.message(
+                    "Running kubectl delete on the resource, service, and secret definitions...");
+                executor.delete(service.getNamespace(settings), service.getServiceName());
+              }
             });
   }
 }
@@ -59,7 +59,7 @@ public class ArtifactService {
 
   @Autowired ArtifactSourcesConfig artifactSourcesConfig;
 
-  BillOfMaterials getBillOfMaterials(String deploymentName) {
+  public BillOfMaterials getBillOfMaterials(String deploymentName) {
     DeploymentConfiguration deploymentConfiguration =
         deploymentService.getDeploymentConfiguration(deploymentName);
     String version = deploymentConfiguration.getVersion();
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.services.v1;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.netflix.spinnaker.halyard.config.config.v1.HalconfigDirectoryStructure;
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentEnvironment;
+import com.netflix.spinnaker.halyard.core.error.v1.HalException;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
+import com.netflix.spinnaker.halyard.core.registry.v1.BillOfMaterials;
+import com.netflix.spinnaker.halyard.deploy.config.v1.ConfigParser;
+import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeployPlan;
+import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeploymentDetails;
+import com.netflix.spinnaker.halyard.deploy.services.v1.GenerateService.ResolvedConfiguration;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.profile.Profile;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.ServiceSettings;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerService;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerServiceProvider;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.SidecarService;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fingerprints the resolved inputs of each service (generated profiles, required files, decrypted
+ * secrets, service settings, sidecars and artifact version) and compares them with the
+ * fingerprints recorded at the last successful deploy, so that a deploy can skip the services
+ * whose inputs haven't changed.
+ */
+@Component
+@Slf4j
+public class DeployPlanner {
+  @Autowired HalconfigDirectoryStructure halconfigDirectoryStructure;
+
+  @Autowired ConfigParser configParser;
+
+  // Serializes maps and beans in a stable order, so equal inputs always fingerprint the same
+  private final ObjectMapper sortedMapper =
+      new ObjectMapper()
+          .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+          .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+
+  /** @return input name to digest, keyed by the canonical name of each of the given services. */
+  public Map<String, Map<String, String>> fingerprint(
+      SpinnakerServiceProvider<? extends DeploymentDetails> serviceProvider,
+      DeploymentDetails deploymentDetails,
+      ResolvedConfiguration resolvedConfiguration,
+      Collection<SpinnakerService.Type> serviceTypes) {
+    BillOfMaterials billOfMaterials = deploymentDetails.getBillOfMaterials();
+    DeploymentEnvironment deploymentEnvironment =
+        deploymentDetails.getDeploymentConfiguration().getDeploymentEnvironment();
+    String environmentDigest = digest(toJson(deploymentEnvironment));
+
+    List<SpinnakerService> services = serviceProvider.getServices();
+    // Sidecars run alongside every service, so a change to one redeploys them all. Their inputs
+    // share names, so they're kept apart by the sidecar's name.
+    Map<String, String> sidecarInputs = new TreeMap<>();
+    for (SpinnakerService service : services) {
+      if (service instanceof SidecarService) {
+        serviceInputs(service, resolvedConfiguration, billOfMaterials)
+            .forEach((k, v) -> sidecarInputs.put(service.getCanonicalName() + "/" + k, v));
+      }
+    }
+
+    Map<String, Map<String, String>> result = new TreeMap<>();
+    for (SpinnakerService service : services) {
+      if (!serviceTypes.contains(service.getType())) {
+        continue;
+      }
+
+      Map<String, String> inputs = serviceInputs(service, resolvedConfiguration, billOfMaterials);
+      if (!(service instanceof SidecarService)) {
+        sidecarInputs.forEach((k, v) -> inputs.put("sidecar/" + k, v));
+      }
+      inputs.put("deploymentEnvironment", environmentDigest);
+      result.put(service.getCanonicalName(), inputs);
+    }
+
+    return result;
+  }
+
+  public DeployPlan plan(String deploymentName, Map<String, Map<String, String>> fingerprints) {
+    Map<String, Map<String, String>> recorded = loadFingerprints(deploymentName);
+    DeployPlan plan = new DeployPlan();
+    fingerprints.forEach(
+        (serviceName, inputs) -> {
+          DeployPlan.ServicePlan servicePlan =
+              new DeployPlan.ServicePlan().setServiceName(serviceName);
+          Map<String, String> previous = recorded.get(serviceName);
+          if (previous == null) {
+            servicePlan.setChanged(true).setFirstDeploy(true);
+          } else {
+            Set<String> inputNames = new TreeSet<>(inputs.keySet());
+            inputNames.addAll(previous.keySet());
+            List<String> changedInputs =
+                inputNames.stream()
+                    .filter(i -> !String.valueOf(inputs.get(i)).equals(previous.get(i)))
+                    .collect(Collectors.toList());
+            servicePlan.setChanged(!changedInputs.isEmpty()).setChangedInputs(changedInputs);
+          }
+          plan.getServices().add(servicePlan);
+        });
+    return plan;
+  }
+
+  /** Records the given fingerprints as deployed, keeping those of any other services. */
+  public void record(String deploymentName, Map<String, Map<String, String>> fingerprints) {
+    Map<String, Map<String, String>> recorded = new TreeMap<>(loadFingerprints(deploymentName));
+    recorded.putAll(fingerprints);
+    Path path = halconfigDirectoryStructure.getServiceFingerprintsPath(deploymentName);
+    configParser.atomicWrite(path, new ServiceFingerprints().setServices(recorded));
+  }
+
+  private Map<String, Map<String, String>> loadFingerprints(String deploymentName) {
+    Path path = halconfigDirectoryStructure.getServiceFingerprintsPath(deploymentName);
+    if (!path.toFile().exists()) {
+      return new HashMap<>();
+    }
+
+    try {
+      ServiceFingerprints fingerprints = configParser.read(path, ServiceFingerprints.class);
+      if (fingerprints == null || fingerprints.getServices() == null) {
+        return new HashMap<>();
+      }
+      return fingerprints.getServices();
+    } catch (HalException e) {
+      // An unreadable record only means every service is treated as changed
+      log.warn("Ignoring unreadable service fingerprints at " + path, e);
+      return new HashMap<>();
+    }
+  }
+
+  private Map<String, String> serviceInputs(
+      SpinnakerService service,
+      ResolvedConfiguration resolvedConfiguration,
+      BillOfMaterials billOfMaterials) {
+    Map<String, String> inputs = new TreeMap<>();
+    for (Profile profile :
+        resolvedConfiguration.getProfilesForService(service.getType()).values()) {
+      Map<String, Object> profileInputs = new TreeMap<>();
+      profileInputs.put("contents", profile.getContents());
+      profileInputs.put("outputFile", profile.getOutputFile());
+      profileInputs.put("env", profile.getEnv());
+      profileInputs.put("executable", profile.isExecutable());
+      profileInputs.put("user", profile.getUser());
+      profileInputs.put("group", profile.getGroup());
+      inputs.put("profile/" + profile.getName(), digest(toJson(profileInputs)));
+
+      for (String requiredFile : profile.getRequiredFiles()) {
+        inputs.put("file/" + requiredFile, fileDigest(requiredFile));
+      }
+
+      for (Map.Entry<String, byte[]> decrypted : profile.getDecryptedFiles().entrySet()) {
+        inputs.put("secret/" + decrypted.getKey(), digest(decrypted.getValue()));
+      }
+    }
+
+    ServiceSettings settings = resolvedConfiguration.getServiceSettings(service);
+    if (settings != null) {
+      inputs.put("settings", digest(toJson(settings)));
+    }
+
+    try {
+      inputs.put("version", billOfMaterials.getArtifactVersion(service.getArtifact().getName()));
+    } catch (IllegalArgumentException e) {
+      // Not every service is versioned by the BOM (e.g. redis); its settings carry the image
+    }
+
+    return inputs;
+  }
+
+  private String fileDigest(String file) {
+    Path path = Paths.get(file);
+    if (!Files.isRegularFile(path)) {
+      return "missing";
+    }
+
+    try {
+      return digest(Files.readAllBytes(path));
+    } catch (IOException e) {
+      throw new HalException(
+          Problem.Severity.FATAL, "Unable to read required file " + file + ": " + e.getMessage());
+    }
+  }
+
+  private byte[] toJson(Object value) {
+    try {
+      return sortedMapper.writeValueAsBytes(value);
+    } catch (JsonProcessingException e) {
+      throw new HalException(
+          Problem.Severity.FATAL, "Unable to fingerprint deploy inputs: " + e.getMessage());
+    }
+  }
+
+  static String digest(byte[] bytes) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+
+    digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+    digest.update(bytes);
+    StringBuilder result = new StringBuilder();
+    for (byte b : digest.digest()) {
+      result.append(String.format("%02x", b));
+    }
+    return result.toString();
+  }
+
+  @Data
+  public static class ServiceFingerprints {
+    private Map<String, Map<String, String>> services = new TreeMap<>();
+  }
+}
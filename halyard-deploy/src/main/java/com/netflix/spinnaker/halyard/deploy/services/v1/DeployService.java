@@ -30,10 +30,12 @@ import com.netflix.spinnaker.halyard.core.RemoteAction;
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
 import com.netflix.spinnaker.halyard.core.registry.v1.BillOfMaterials;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
 import com.netflix.spinnaker.halyard.deploy.config.v1.ConfigParser;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.AccountDeploymentDetails;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.BakeDeployer;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeployOption;
+import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeployPlan;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.Deployer;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeploymentDetails;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.KubectlDeployer;
@@ -47,7 +49,9 @@ import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerServic
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -81,6 +85,8 @@ public class DeployService {
 
   @Autowired ConfigParser configParser;
 
+  @Autowired DeployPlanner deployPlanner;
+
   public void collectLogs(
       String deploymentName, List<String> serviceNames, List<String> excludeServiceNames) {
     DeploymentConfiguration deploymentConfiguration =
@@ -243,6 +249,42 @@ public class DeployService {
     return action;
   }
 
+  public DeployPlan plan(
+      String deploymentName, List<String> serviceNames, List<String> excludeServiceNames) {
+    DeploymentConfiguration deploymentConfiguration =
+        deploymentService.getDeploymentConfiguration(deploymentName);
+    SpinnakerServiceProvider<DeploymentDetails> serviceProvider =
+        serviceProviderFactory.create(deploymentConfiguration);
+
+    List<SpinnakerService.Type> serviceTypes =
+        serviceNames.stream()
+            .map(SpinnakerService.Type::fromCanonicalName)
+            .collect(Collectors.toList());
+
+    if (serviceTypes.isEmpty()) {
+      serviceTypes =
+          serviceProvider.getServices().stream()
+              .map(SpinnakerService::getType)
+              .collect(Collectors.toList());
+    }
+
+    if (!excludeServiceNames.isEmpty()) {
+      serviceTypes =
+          serviceTypes.stream()
+              .filter(serviceType -> !excludeServiceNames.contains(serviceType.getCanonicalName()))
+              .collect(Collectors.toList());
+    }
+
+    ResolvedConfiguration resolvedConfiguration =
+        generateService.generateConfig(deploymentName, serviceTypes);
+    DeploymentDetails deploymentDetails = getDeploymentDetails(deploymentConfiguration);
+
+    return deployPlanner.plan(
+        deploymentName,
+        deployPlanner.fingerprint(
+            serviceProvider, deploymentDetails, resolvedConfiguration, serviceTypes));
+  }
+
   public RemoteAction deploy(
       String deploymentName,
       List<DeployOption> deployOptions,
@@ -258,6 +300,11 @@ public class DeployService {
       throw new IllegalArgumentException(
           "Cannot delete orphaned services when services to exclude are explicitly supplied.");
     }
+    if (deployOptions.contains(DeployOption.ONLY_CHANGED_SERVICES)
+        && deployOptions.contains(DeployOption.OMIT_CONFIG)) {
+      throw new IllegalArgumentException(
+          "Cannot detect changed services when the service configuration is omitted.");
+    }
 
     DeploymentConfiguration deploymentConfiguration =
         deploymentService.getDeploymentConfiguration(deploymentName);
@@ -300,17 +347,65 @@ public class DeployService {
     Deployer deployer = getDeployer(deploymentConfiguration);
     DeploymentDetails deploymentDetails = getDeploymentDetails(deploymentConfiguration);
 
+    Map<String, Map<String, String>> fingerprints = null;
+    List<SpinnakerService.Type> deployServiceTypes = serviceTypes;
+    if (!deployOptions.contains(DeployOption.OMIT_CONFIG)) {
+      fingerprints =
+          deployPlanner.fingerprint(
+              serviceProvider, deploymentDetails, resolvedConfiguration, serviceTypes);
+    }
+
+    if (deployOptions.contains(DeployOption.ONLY_CHANGED_SERVICES)) {
+      DeployPlan plan = deployPlanner.plan(deploymentName, fingerprints);
+      Set<String> changed =
+          plan.getServices().stream()
+              .filter(DeployPlan.ServicePlan::isChanged)
+              .map(DeployPlan.ServicePlan::getServiceName)
+              .collect(Collectors.toSet());
+      deployServiceTypes =
+          serviceTypes.stream()
+              .filter(t -> changed.contains(t.getCanonicalName()))
+              .collect(Collectors.toList());
+      List<String> unchanged =
+          serviceTypes.stream()
+              .map(SpinnakerService.Type::getCanonicalName)
+              .filter(n -> !changed.contains(n))
+              .collect(Collectors.toList());
+      if (!unchanged.isEmpty()) {
+        DaemonTaskHandler.message(
+            "Skipping services unchanged since their last deploy: " + String.join(", ", unchanged));
+      }
+    }
+
     boolean waitForCompletion = deployOptions.contains(DeployOption.WAIT_FOR_COMPLETION);
-    RemoteAction action =
-        deployer.deploy(
-            serviceProvider,
-            deploymentDetails,
-            resolvedConfiguration,
-            serviceTypes,
-            waitForCompletion,
-            waitForCompletionTimeoutMinutes);
+    RemoteAction action;
+    if (deployServiceTypes.isEmpty() && !serviceTypes.isEmpty()) {
+      action = new RemoteAction();
+    } else {
+      action =
+          deployer.deploy(
+              serviceProvider,
+              deploymentDetails,
+              resolvedConfiguration,
+              deployServiceTypes,
+              waitForCompletion,
+              waitForCompletionTimeoutMinutes);
+    }
     halconfigParser.backupConfig();
 
+    // Only a deploy that finished before returning may be recorded. Local and baked deploys only
+    // return a script for the CLI to run, and a kubectl deploy has only finished if it waited for
+    // its services to become ready.
+    boolean finished = deployer == kubectlDeployer && waitForCompletion;
+    if (fingerprints != null && finished) {
+      List<String> deployedNames =
+          deployServiceTypes.stream()
+              .map(SpinnakerService.Type::getCanonicalName)
+              .collect(Collectors.toList());
+      fingerprints.keySet().retainAll(deployedNames);
+      deployPlanner.record(deploymentName, fingerprints);
+    }
+
     if (deployOptions.contains(DeployOption.FLUSH_INFRASTRUCTURE_CACHES)) {
       deployer.flushInfrastructureCaches(
           serviceProvider, deploymentDetails, resolvedConfiguration.getRuntimeSettings());
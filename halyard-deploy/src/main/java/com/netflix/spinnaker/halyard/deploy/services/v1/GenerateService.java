@@ -23,8 +23,11 @@ import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemBuilder;
 import com.netflix.spinnaker.halyard.config.services.v1.DeploymentService;
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity;
+import com.netflix.spinnaker.halyard.core.secrets.v1.SecretSessionManager;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskInterrupted;
 import com.netflix.spinnaker.halyard.deploy.config.v1.ConfigParser;
+import com.netflix.spinnaker.halyard.deploy.config.v1.GenerationConfig;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeploymentDetails;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.ServiceProviderFactory;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerRuntimeSettings;
@@ -43,6 +46,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -63,6 +74,12 @@ public class GenerateService {
 
   @Autowired private ConfigParser configParser;
 
+  @Autowired private SecretSessionManager secretSessionManager;
+
+  @Autowired private GenerationConfig generationConfig = new GenerationConfig();
+
+  private ExecutorService executor;
+
   public ResolvedConfiguration generateConfigWithOptionalServices(
       String deploymentName, List<SpinnakerService.Type> serviceTypes) {
     DeploymentConfiguration deploymentConfiguration =
@@ -105,6 +122,11 @@ public class GenerateService {
     DeploymentConfiguration deploymentConfiguration =
         deploymentService.getDeploymentConfiguration(deploymentName);
 
+    // Decrypts every secret the profiles may read up front, and concurrently, when secrets are
+    // cached; otherwise they are decrypted one at a time as each profile reads them.
+    secretSessionManager.prefetch(
+        deploymentConfiguration.secretReferences(), deploymentConfiguration.secretFileReferences());
+
     DaemonTaskHandler.message("Building service endpoints");
     SpinnakerServiceProvider<DeploymentDetails> serviceProvider =
         serviceProviderFactory.create(deploymentConfiguration);
@@ -125,7 +147,7 @@ public class GenerateService {
     List<String> userProfileNames = aggregateProfilesInPath(userProfilePath.toString(), "");
 
     // Step 2.
-    Map<SpinnakerService.Type, Map<String, Profile>> serviceProfiles = new HashMap<>();
+    List<SpinnakerService> desiredServices = new ArrayList<>();
     for (SpinnakerService service : serviceProvider.getServices()) {
       boolean isDesiredService =
           services.stream().filter(s -> s.equals(service.getType())).count() > 0;
@@ -139,39 +161,54 @@ public class GenerateService {
         continue;
       }
 
-      List<Profile> profiles = service.getProfiles(deploymentConfiguration, runtimeSettings);
-
-      String pluralModifier = profiles.size() == 1 ? "" : "s";
-      String profileMessage = "Generated " + profiles.size() + " profile" + pluralModifier;
-      Map<String, Profile> outputProfiles = processProfiles(spinnakerStaging, profiles);
-
-      List<Profile> customProfiles =
-          userProfileNames.stream()
-              .map(
-                  s ->
-                      (Optional<Profile>)
-                          service.customProfile(
-                              deploymentConfiguration,
-                              runtimeSettings,
-                              Paths.get(userProfilePath.toString(), s),
-                              s))
-              .filter(Optional::isPresent)
-              .map(Optional::get)
-              .collect(Collectors.toList());
+      desiredServices.add(service);
+    }
 
-      pluralModifier = customProfiles.size() == 1 ? "" : "s";
-      profileMessage +=
-          " and discovered "
-              + customProfiles.size()
-              + " custom profile"
-              + pluralModifier
-              + " for "
-              + service.getCanonicalName();
-      DaemonTaskHandler.message(profileMessage);
+    List<Future<GeneratedProfiles>> generated = new ArrayList<>();
+    boolean parallel = generationConfig.isParallel() && desiredServices.size() > 1;
+    for (SpinnakerService service : desiredServices) {
+      if (!parallel) {
+        generated.add(
+            CompletableFuture.completedFuture(
+                generateProfiles(
+                    service,
+                    deploymentConfiguration,
+                    runtimeSettings,
+                    userProfilePath,
+                    userProfileNames)));
+        continue;
+      }
+
+      // Profile factories stage the files they need by rewriting their paths in the deployment
+      // configuration, so each service is rendered from its own copy of it.
+      DeploymentConfiguration serviceConfiguration =
+          deploymentConfiguration.cloneNode(DeploymentConfiguration.class);
+      serviceConfiguration.parentify();
+      Callable<GeneratedProfiles> generate =
+          () ->
+              generateProfiles(
+                  service,
+                  serviceConfiguration,
+                  runtimeSettings,
+                  userProfilePath,
+                  userProfileNames);
+      generated.add(
+          getExecutor()
+              .submit(
+                  DaemonTaskHandler.withCurrentTask(
+                      secretSessionManager.withCurrentSession(generate))));
+    }
+
+    // Profiles are staged in service order, so that a profile shared between services (e.g.
+    // spinnaker.yml) ends up on disk exactly as it would when generating sequentially.
+    Map<SpinnakerService.Type, Map<String, Profile>> serviceProfiles = new HashMap<>();
+    for (int i = 0; i < desiredServices.size(); i++) {
+      GeneratedProfiles profiles = await(generated, i);
+      Map<String, Profile> outputProfiles = processProfiles(spinnakerStaging, profiles.profiles);
       mergeProfilesAndPreserveProperties(
-          outputProfiles, processProfiles(spinnakerStaging, customProfiles));
+          outputProfiles, processProfiles(spinnakerStaging, profiles.customProfiles));
 
-      serviceProfiles.put(service.getType(), outputProfiles);
+      serviceProfiles.put(desiredServices.get(i).getType(), outputProfiles);
     }
 
     return new ResolvedConfiguration()
@@ -180,6 +217,84 @@ public class GenerateService {
         .setRuntimeSettings(runtimeSettings);
   }
 
+  private GeneratedProfiles generateProfiles(
+      SpinnakerService service,
+      DeploymentConfiguration deploymentConfiguration,
+      SpinnakerRuntimeSettings runtimeSettings,
+      Path userProfilePath,
+      List<String> userProfileNames) {
+    long start = System.nanoTime();
+    GeneratedProfiles result = new GeneratedProfiles();
+    result.profiles = service.getProfiles(deploymentConfiguration, runtimeSettings);
+
+    result.customProfiles =
+        userProfileNames.stream()
+            .map(
+                s ->
+                    (Optional<Profile>)
+                        service.customProfile(
+                            deploymentConfiguration,
+                            runtimeSettings,
+                            Paths.get(userProfilePath.toString(), s),
+                            s))
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .collect(Collectors.toList());
+
+    String pluralModifier = result.profiles.size() == 1 ? "" : "s";
+    String profileMessage = "Generated " + result.profiles.size() + " profile" + pluralModifier;
+    pluralModifier = result.customProfiles.size() == 1 ? "" : "s";
+    profileMessage +=
+        " and discovered "
+            + result.customProfiles.size()
+            + " custom profile"
+            + pluralModifier
+            + " for "
+            + service.getCanonicalName()
+            + " in "
+            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+            + "ms";
+    DaemonTaskHandler.message(profileMessage);
+    return result;
+  }
+
+  private static <T> T await(List<Future<T>> futures, int index) {
+    try {
+      return futures.get(index).get();
+    } catch (InterruptedException e) {
+      futures.forEach(f -> f.cancel(true));
+      throw new DaemonTaskInterrupted(e);
+    } catch (ExecutionException e) {
+      futures.forEach(f -> f.cancel(true));
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new RuntimeException("Profile generation failed: " + cause.getMessage(), cause);
+    }
+  }
+
+  private synchronized ExecutorService getExecutor() {
+    if (executor == null) {
+      AtomicInteger threadCount = new AtomicInteger();
+      executor =
+          Executors.newFixedThreadPool(
+              Math.max(1, generationConfig.getThreads()),
+              r -> {
+                Thread thread = new Thread(r, "generation-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+
+    return executor;
+  }
+
+  private static class GeneratedProfiles {
+    List<Profile> profiles;
+    List<Profile> customProfiles;
+  }
+
   private void mergeProfilesAndPreserveProperties(
       Map<String, Profile> existingProfiles, Map<String, Profile> newProfiles) {
     for (Map.Entry<String, Profile> entry : newProfiles.entrySet()) {
@@ -69,17 +69,18 @@ public class ClouddriverBootstrapProfileFactory extends SpringProfileFactory {
           "There is no need to produce a bootstrapping clouddriver for a non-remote deployment of Spinnaker. This is a bug.");
     }
 
-    // We need to make modifications to this deployment configuration, but can't use helpful objects
-    // like the accountService on a clone. Therefore, we'll make the modifications in place and
-    // restore to the original state when the modifications are written out.
-    Providers originalProviders = deploymentConfiguration.getProviders().cloneNode(Providers.class);
-    Providers modifiedProviders = deploymentConfiguration.getProviders();
+    // The providers are edited below, so they're rendered from a copy of the deployment
+    // configuration, leaving the one other profiles are rendered from untouched.
+    DeploymentConfiguration modifiedConfiguration =
+        deploymentConfiguration.cloneNode(DeploymentConfiguration.class);
+    modifiedConfiguration.parentify();
+    Providers modifiedProviders = modifiedConfiguration.getProviders();
 
     String deploymentName = deploymentConfiguration.getName();
     String bootstrapAccountName = deploymentEnvironment.getAccountName();
 
     Account bootstrapAccount =
-        accountService.getAnyProviderAccount(deploymentName, bootstrapAccountName);
+        accountService.getAnyProviderAccount(modifiedConfiguration, bootstrapAccountName);
     bootstrapAccount.makeBootstrappingAccount(artifactSourcesConfig);
 
     Provider bootstrapProvider = (Provider) bootstrapAccount.getParent();
@@ -97,7 +98,7 @@ public class ClouddriverBootstrapProfileFactory extends SpringProfileFactory {
                   ref ->
                       (DockerRegistryAccount)
                           accountService.getProviderAccount(
-                              deploymentName, DOCKER_REGISTRY, ref.getAccountName()))
+                              modifiedConfiguration, DOCKER_REGISTRY, ref.getAccountName()))
               .collect(Collectors.toList());
 
       DockerRegistryProvider dockerProvider = modifiedProviders.getDockerRegistry();
@@ -127,8 +128,6 @@ public class ClouddriverBootstrapProfileFactory extends SpringProfileFactory {
         .appendContents("services.fiat.enabled: false")
         .appendContents(profile.getBaseContents())
         .setRequiredFiles(files);
-
-    deploymentConfiguration.setProviders(originalProviders);
   }
 
   private void disableAllProviders(Providers providers) {
@@ -56,28 +56,27 @@ public class ClouddriverProfileFactory extends SpringProfileFactory {
       SpinnakerRuntimeSettings endpoints) {
     super.setProfile(profile, deploymentConfiguration, endpoints);
 
-    // We need to make modifications to this deployment configuration, but can't use helpful objects
-    // like the accountService on a clone. Therefore, we'll make the modifications in place and
-    // restore to the original state when the modifications are written out.
-    Providers originalProviders = deploymentConfiguration.getProviders().cloneNode(Providers.class);
-    Providers modifiedProviders = deploymentConfiguration.getProviders();
-
-    DeploymentEnvironment deploymentEnvironment =
-        deploymentConfiguration.getDeploymentEnvironment();
+    // The providers and artifacts are edited below, so they're rendered from a copy of the
+    // deployment configuration, leaving the one other profiles are rendered from untouched.
+    DeploymentConfiguration modifiedConfiguration =
+        deploymentConfiguration.cloneNode(DeploymentConfiguration.class);
+    modifiedConfiguration.parentify();
+    Providers modifiedProviders = modifiedConfiguration.getProviders();
+
+    DeploymentEnvironment deploymentEnvironment = modifiedConfiguration.getDeploymentEnvironment();
     if (deploymentEnvironment.getBootstrapOnly() != null
         && deploymentEnvironment.getBootstrapOnly()) {
       String bootstrapAccountName = deploymentEnvironment.getAccountName();
-      removeBootstrapOnlyAccount(
-          modifiedProviders, deploymentConfiguration.getName(), bootstrapAccountName);
+      removeBootstrapOnlyAccount(modifiedConfiguration, bootstrapAccountName);
     }
 
-    Artifacts artifacts = deploymentConfiguration.getArtifacts();
+    Artifacts artifacts = modifiedConfiguration.getArtifacts();
 
     List<String> files = backupRequiredFiles(modifiedProviders, deploymentConfiguration.getName());
     files.addAll(backupRequiredFiles(artifacts, deploymentConfiguration.getName()));
 
-    if (deploymentConfiguration.getProviders() != null) {
-      processProviders(deploymentConfiguration.getProviders());
+    if (modifiedProviders != null) {
+      processProviders(modifiedProviders);
     }
 
     profile
@@ -87,19 +86,16 @@ public class ClouddriverProfileFactory extends SpringProfileFactory {
                 deploymentConfiguration.getName(), profile, new ArtifactWrapper(artifacts)))
         .appendContents(profile.getBaseContents())
         .setRequiredFiles(files);
-
-    deploymentConfiguration.setProviders(originalProviders);
-    deploymentConfiguration.parentify();
   }
 
   protected void processProviders(Providers providers) {}
 
   @SuppressWarnings("unchecked")
   private void removeBootstrapOnlyAccount(
-      Providers providers, String deploymentName, String bootstrapAccountName) {
-
+      DeploymentConfiguration deploymentConfiguration, String bootstrapAccountName) {
+    Providers providers = deploymentConfiguration.getProviders();
     Account bootstrapAccount =
-        accountService.getAnyProviderAccount(deploymentName, bootstrapAccountName);
+        accountService.getAnyProviderAccount(deploymentConfiguration, bootstrapAccountName);
     Provider bootstrapProvider = ((Provider) bootstrapAccount.getParent());
 
     bootstrapProvider.getAccounts().remove(bootstrapAccount);
@@ -120,7 +116,7 @@ public class ClouddriverProfileFactory extends SpringProfileFactory {
                     DockerRegistryAccount regAcct =
                         (DockerRegistryAccount)
                             accountService.getAnyProviderAccount(
-                                deploymentName, reg.getAccountName());
+                                deploymentConfiguration, reg.getAccountName());
                     ((DockerRegistryProvider) regAcct.getParent()).getAccounts().remove(regAcct);
                   }
                 });
@@ -16,7 +16,6 @@
 
 package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.profile;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.spinnaker.halyard.config.model.v1.node.*;
 import com.netflix.spinnaker.halyard.config.model.v1.persistentStorage.RedisPersistentStore;
 import com.netflix.spinnaker.halyard.config.services.v1.AccountService;
@@ -28,6 +27,7 @@ import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerRuntimeSetting
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerService.Type;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -76,7 +76,11 @@ public class Front50ProfileFactory extends SpringProfileFactory {
 
     NodeIterator children = persistentStorage.getChildren();
     Node child = children.getNext();
-    ObjectMapper mapper = getRelaxedObjectMapper(deploymentConfiguration.getName(), profile);
+    DecryptingObjectMapper mapper =
+        decryptingObjectMappers.getRelaxed(
+            !supportsSecretDecryption(deploymentConfiguration.getName()));
+    Path decryptedOutputDirectory =
+        halconfigDirectoryStructure.getStagingDependenciesPath(deploymentConfiguration.getName());
 
     while (child != null) {
       if (child instanceof PersistentStore) {
@@ -95,7 +99,8 @@ public class Front50ProfileFactory extends SpringProfileFactory {
 
         PersistentStore.PersistentStoreType persistentStoreType =
             persistentStore.persistentStoreType();
-        Map persistentStoreMap = mapper.convertValue(persistentStore, Map.class);
+        Map persistentStoreMap =
+            mapper.convertValue(persistentStore, Map.class, profile, decryptedOutputDirectory);
         persistentStoreMap.put(
             "enabled", persistentStoreType.equals(persistentStorage.getPersistentStoreType()));
 
@@ -111,13 +116,4 @@ public class Front50ProfileFactory extends SpringProfileFactory {
         .appendContents(profile.getBaseContents())
         .setRequiredFiles(files);
   }
-
-  protected ObjectMapper getRelaxedObjectMapper(String deploymentName, Profile profile) {
-    return new DecryptingObjectMapper(
-            secretSessionManager,
-            profile,
-            halconfigDirectoryStructure.getStagingDependenciesPath(deploymentName),
-            !supportsSecretDecryption(deploymentName))
-        .relax();
-  }
 }
@@ -17,14 +17,13 @@
 
 package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.profile;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.spinnaker.halyard.backup.services.v1.BackupService;
 import com.netflix.spinnaker.halyard.config.config.v1.HalconfigDirectoryStructure;
 import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentConfiguration;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Node;
 import com.netflix.spinnaker.halyard.core.registry.v1.Versions;
 import com.netflix.spinnaker.halyard.core.secrets.v1.SecretSessionManager;
-import com.netflix.spinnaker.halyard.deploy.config.v1.secrets.DecryptingObjectMapper;
+import com.netflix.spinnaker.halyard.deploy.config.v1.secrets.DecryptingObjectMappers;
 import com.netflix.spinnaker.halyard.deploy.services.v1.ArtifactService;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerArtifact;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerRuntimeSettings;
@@ -34,6 +33,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.yaml.snakeyaml.Yaml;
 
 public abstract class ProfileFactory {
+  private static final Object BACKUP_LOCK = new Object();
+
   @Autowired private ArtifactService artifactService;
 
   @Autowired protected HalconfigDirectoryStructure halconfigDirectoryStructure;
@@ -42,6 +43,8 @@ public abstract class ProfileFactory {
 
   @Autowired protected SecretSessionManager secretSessionManager;
 
+  @Autowired protected DecryptingObjectMappers decryptingObjectMappers;
+
   @Autowired private BackupService backupService;
 
   protected String getMinimumSecretDecryptionVersion(String deploymentName) {
@@ -119,8 +122,11 @@ public abstract class ProfileFactory {
    * @return the list of files required by the node to function.
    */
   protected List<String> backupRequiredFiles(Node node, String deploymentName) {
-    return backupService.backupLocalFiles(
-        node, halconfigDirectoryStructure.getStagingDependenciesPath(deploymentName).toString());
+    // Services generated in parallel stage the same files under the same names.
+    synchronized (BACKUP_LOCK) {
+      return backupService.backupLocalFiles(
+          node, halconfigDirectoryStructure.getStagingDependenciesPath(deploymentName).toString());
+    }
   }
 
   protected String yamlToString(String deploymentName, Profile profile, Object o) {
@@ -128,12 +134,12 @@ public abstract class ProfileFactory {
   }
 
   protected Map convertToMap(String deploymentName, Profile profile, Object o) {
-    ObjectMapper mapper =
-        new DecryptingObjectMapper(
-            secretSessionManager,
+    return decryptingObjectMappers
+        .get(!supportsSecretDecryption(deploymentName))
+        .convertValue(
+            o,
+            Map.class,
             profile,
-            halconfigDirectoryStructure.getStagingDependenciesPath(deploymentName),
-            !supportsSecretDecryption(deploymentName));
-    return mapper.convertValue(o, Map.class);
+            halconfigDirectoryStructure.getStagingDependenciesPath(deploymentName));
   }
 }
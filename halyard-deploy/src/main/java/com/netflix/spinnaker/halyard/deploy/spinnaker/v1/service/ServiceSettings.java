@@ -25,8 +25,10 @@ import com.netflix.spinnaker.kork.secrets.EncryptedSecret;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import lombok.AllArgsConstructor;
@@ -118,6 +120,19 @@ public class ServiceSettings {
     this.setEnv(fullEnvironment);
   }
 
+  /** @return the encrypted references that {@link #decryptSecrets} replaces. */
+  public List<String> secretReferences() {
+    List<String> references = new ArrayList<>();
+    if (EncryptedSecret.isEncryptedSecret(password)) {
+      references.add(password);
+    }
+
+    if (env != null) {
+      env.values().stream().filter(EncryptedSecret::isEncryptedSecret).forEach(references::add);
+    }
+    return references;
+  }
+
   public void decryptSecrets(SecretSessionManager secretSessionManager) {
     if (EncryptedSecret.isEncryptedSecret(password)) {
       password = secretSessionManager.decrypt(password);
@@ -17,27 +17,118 @@
 
 package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.netflix.spinnaker.halyard.config.config.v1.HalconfigDirectoryStructure;
 import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentConfiguration;
 import com.netflix.spinnaker.halyard.core.RemoteAction;
-import com.netflix.spinnaker.halyard.core.error.v1.HalException;
-import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
+import com.netflix.spinnaker.halyard.core.secrets.v1.SecretCache;
 import com.netflix.spinnaker.halyard.core.secrets.v1.SecretSessionManager;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeploymentDetails;
+import com.netflix.spinnaker.halyard.deploy.services.v1.ArtifactService;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerRuntimeSettings;
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 
 @Slf4j
 public abstract class SpinnakerServiceProvider<D extends DeploymentDetails> {
+  private static final ObjectMapper CANONICAL_MAPPER =
+      JsonMapper.builder()
+          .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+          .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+          .build();
+
+  // Runtime settings are remembered for this many generations of deployments
+  private static final int MAX_RUNTIME_SETTINGS = 8;
+
   @Autowired private SecretSessionManager secretSessionManager;
 
+  // Runtime settings hold decrypted secrets, so they're only memoized while those are cached too.
+  @Autowired private SecretCache secretCache;
+
+  @Autowired private ArtifactService artifactService;
+
+  @Autowired private HalconfigDirectoryStructure halconfigDirectoryStructure;
+
+  // The values of this provider's fields, read once they've all been injected
+  private volatile List<FieldValue> fieldValues;
+
+  private final Map<String, MemoizedSettings> runtimeSettingsByGeneration =
+      new LinkedHashMap<String, MemoizedSettings>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MemoizedSettings> eldest) {
+          return size() > MAX_RUNTIME_SETTINGS;
+        }
+      };
+
+  /**
+   * Builds the settings of every service in the deployment's BOM. When secrets are cached (see
+   * {@link SecretCache}) they are memoized per generation of the deployment, identified by its
+   * configuration, its BOM and the user's service settings files, so rebuilding them for an
+   * unchanged deployment is only a lookup. Since the configuration only holds encrypted references,
+   * memoized settings are also dropped once the secrets they decrypted no longer decrypt to the
+   * same values, or once they are older than cached secrets may be. The returned {@link
+   * ServiceSettings} may be shared with other callers and must not be modified.
+   */
   public SpinnakerRuntimeSettings buildRuntimeSettings(
       DeploymentConfiguration deploymentConfiguration) {
+    String generation = secretCache.isEnabled() ? generationOf(deploymentConfiguration) : null;
+    MemoizedSettings memoized = null;
+    if (generation != null) {
+      synchronized (runtimeSettingsByGeneration) {
+        memoized = runtimeSettingsByGeneration.get(generation);
+      }
+    }
+
+    SpinnakerRuntimeSettings endpoints;
+    if (memoized != null && memoized.isCurrent()) {
+      log.info("Reusing service settings for " + deploymentConfiguration.getName());
+      endpoints = memoized.settings;
+    } else {
+      List<String> secretReferences = new ArrayList<>();
+      endpoints = buildRuntimeSettingsUncached(deploymentConfiguration, secretReferences);
+      if (generation != null) {
+        long ttl = TimeUnit.SECONDS.toNanos(secretCache.getTtlSeconds());
+        memoized =
+            new MemoizedSettings(
+                endpoints, secretDigests(secretReferences), System.nanoTime() + ttl);
+        synchronized (runtimeSettingsByGeneration) {
+          runtimeSettingsByGeneration.values().removeIf(MemoizedSettings::isExpired);
+          runtimeSettingsByGeneration.put(generation, memoized);
+        }
+      }
+    }
+
+    // Callers may add or replace entries, which mustn't leak into the memoized settings
+    SpinnakerRuntimeSettings result = new SpinnakerRuntimeSettings();
+    endpoints.getAllServiceSettings().forEach(result::setServiceSettings);
+    return result;
+  }
+
+  private SpinnakerRuntimeSettings buildRuntimeSettingsUncached(
+      DeploymentConfiguration deploymentConfiguration, List<String> secretReferences) {
     SpinnakerRuntimeSettings endpoints = new SpinnakerRuntimeSettings();
     for (SpinnakerService service : getServices()) {
       if (service != null && service.isInBillOfMaterials(deploymentConfiguration)) {
@@ -45,6 +136,7 @@ public abstract class SpinnakerServiceProvider<D extends DeploymentDetails> {
         ServiceSettings settings = service.getDefaultServiceSettings(deploymentConfiguration);
         settings.mergePreferThis(service.buildServiceSettings(deploymentConfiguration));
 
+        secretReferences.addAll(settings.secretReferences());
         settings.decryptSecrets(secretSessionManager);
         endpoints.setServiceSettings(service.getType(), settings);
       }
@@ -52,34 +144,123 @@ public abstract class SpinnakerServiceProvider<D extends DeploymentDetails> {
     return endpoints;
   }
 
-  public abstract RemoteAction clean(D details, SpinnakerRuntimeSettings runtimeSettings);
+  /** @return digests of what each of the references decrypts to now. */
+  private Map<String, byte[]> secretDigests(Collection<String> secretReferences) {
+    Map<String, byte[]> digests = new HashMap<>();
+    for (String reference : secretReferences) {
+      String decrypted = secretSessionManager.decrypt(reference);
+      digests.put(reference, digest(decrypted != null ? decrypted : ""));
+    }
+    return digests;
+  }
 
-  protected Field getField(String name) {
-    String reducedName = reduceFieldName(name);
+  private static byte[] digest(String value) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported on this JVM", e);
+    }
+  }
+
+  @AllArgsConstructor
+  private class MemoizedSettings {
+    final SpinnakerRuntimeSettings settings;
+    final Map<String, byte[]> secretDigests;
+    final long expiresAt;
+
+    boolean isExpired() {
+      return System.nanoTime() - expiresAt >= 0;
+    }
+
+    boolean isCurrent() {
+      if (isExpired()) {
+        return false;
+      }
 
-    Optional<Field> matchingField =
-        Arrays.stream(this.getClass().getDeclaredFields())
-            .filter(f -> f.getName().equalsIgnoreCase(reducedName))
-            .findFirst();
+      Map<String, byte[]> current = secretDigests(secretDigests.keySet());
+      return secretDigests.entrySet().stream()
+          .allMatch(e -> MessageDigest.isEqual(e.getValue(), current.get(e.getKey())));
+    }
+  }
+
+  /**
+   * @return a digest of everything the runtime settings are built from, or null if the deployment
+   *     can't be identified and its settings mustn't be memoized.
+   */
+  private String generationOf(DeploymentConfiguration deploymentConfiguration) {
+    String deploymentName = deploymentConfiguration.getName();
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(CANONICAL_MAPPER.writeValueAsBytes(deploymentConfiguration));
+      digest.update(
+          CANONICAL_MAPPER.writeValueAsBytes(artifactService.getBillOfMaterials(deploymentName)));
+
+      File userSettingsDirectory =
+          halconfigDirectoryStructure.getUserServiceSettingsPath(deploymentName).toFile();
+      File[] userSettings = userSettingsDirectory.listFiles();
+      if (userSettings != null) {
+        Arrays.sort(userSettings);
+        for (File file : userSettings) {
+          digest.update(file.getName().getBytes(StandardCharsets.UTF_8));
+          digest.update(file.isFile() ? Files.readAllBytes(file.toPath()) : new byte[0]);
+        }
+      }
+
+      StringBuilder result = new StringBuilder(deploymentName).append(":");
+      for (byte b : digest.digest()) {
+        result.append(String.format("%02x", b));
+      }
+      return result.toString();
+    } catch (JsonProcessingException | IOException | RuntimeException e) {
+      log.debug("Unable to identify deployment " + deploymentName + ", not memoizing it", e);
+      return null;
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported on this JVM", e);
+    }
+  }
 
-    return matchingField.orElse(null);
+  public abstract RemoteAction clean(D details, SpinnakerRuntimeSettings runtimeSettings);
+
+  /** @return the value of the field with the given name, ignoring case, dashes and underscores. */
+  protected Object getFieldValue(String name) {
+    String reducedName = reduceFieldName(name);
+    return getFieldValues().stream()
+        .filter(f -> f.name.equalsIgnoreCase(reducedName))
+        .findFirst()
+        .map(f -> f.value)
+        .orElse(null);
   }
 
   protected <T> List<T> getFieldsOfType(Class<T> clazz) {
-    return Arrays.stream(this.getClass().getDeclaredFields())
-        .filter(f -> clazz.isAssignableFrom(f.getType()))
-        .map(
-            f -> {
-              f.setAccessible(true);
-              try {
-                return (T) f.get(this);
-              } catch (IllegalAccessException e) {
-                throw new RuntimeException("Unable to read service " + f.getName());
-              }
-            })
+    return getFieldValues().stream()
+        .filter(f -> clazz.isAssignableFrom(f.type))
+        .map(f -> (T) f.value)
         .collect(Collectors.toList());
   }
 
+  private List<FieldValue> getFieldValues() {
+    List<FieldValue> result = fieldValues;
+    if (result == null) {
+      result = new ArrayList<>();
+      for (Field field : this.getClass().getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers())) {
+          continue;
+        }
+
+        field.setAccessible(true);
+        try {
+          result.add(new FieldValue(field.getName(), field.getType(), field.get(this)));
+        } catch (IllegalAccessException e) {
+          throw new RuntimeException("Unable to read service " + field.getName());
+        }
+      }
+      result = Collections.unmodifiableList(result);
+      fieldValues = result;
+    }
+
+    return result;
+  }
+
   public List<SpinnakerService> getServices() {
     return getFieldsOfType(SpinnakerService.class).stream()
         .filter(s -> s != null)
@@ -87,23 +268,17 @@ public abstract class SpinnakerServiceProvider<D extends DeploymentDetails> {
   }
 
   SpinnakerService getSpinnakerService(SpinnakerService.Type type) {
-    Field serviceField = getField(type.getCanonicalName() + "service");
-    if (serviceField == null) {
-      return null;
-    }
-
-    serviceField.setAccessible(true);
-    try {
-      return (SpinnakerService) serviceField.get(this);
-    } catch (IllegalAccessException e) {
-      throw new HalException(
-          Problem.Severity.FATAL, "Can't access service field for " + type + ": " + e.getMessage());
-    } finally {
-      serviceField.setAccessible(false);
-    }
+    return (SpinnakerService) getFieldValue(type.getCanonicalName() + "service");
   }
 
   private static String reduceFieldName(String name) {
     return name.replace("-", "").replace("_", "").toLowerCase();
   }
+
+  @AllArgsConstructor
+  private static class FieldValue {
+    final String name;
+    final Class<?> type;
+    final Object value;
+  }
 }
@@ -17,13 +17,10 @@
 
 package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.bake;
 
-import com.netflix.spinnaker.halyard.core.error.v1.HalException;
-import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeploymentDetails;
 import com.netflix.spinnaker.halyard.deploy.services.v1.GenerateService;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerService;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerServiceProvider;
-import java.lang.reflect.Field;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -34,20 +31,7 @@ public abstract class BakeServiceProvider extends SpinnakerServiceProvider<Deplo
   }
 
   public <S> BakeService<S> getBakeService(SpinnakerService.Type type, Class<S> clazz) {
-    Field serviceField = getField(type.getCanonicalName() + "service");
-    if (serviceField == null) {
-      return null;
-    }
-
-    serviceField.setAccessible(true);
-    try {
-      return (BakeService<S>) serviceField.get(this);
-    } catch (IllegalAccessException e) {
-      throw new HalException(
-          Problem.Severity.FATAL, "Can't access service field for " + type + ": " + e.getMessage());
-    } finally {
-      serviceField.setAccessible(false);
-    }
+    return (BakeService<S>) getFieldValue(type.getCanonicalName() + "service");
   }
 
   // TODO(lwander) move from string to something like RemoteAction
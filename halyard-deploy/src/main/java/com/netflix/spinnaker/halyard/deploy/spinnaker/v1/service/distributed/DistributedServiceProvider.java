@@ -18,12 +18,9 @@
 package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed;
 
 import com.netflix.spinnaker.halyard.config.model.v1.node.Account;
-import com.netflix.spinnaker.halyard.core.error.v1.HalException;
-import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.AccountDeploymentDetails;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerService;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerServiceProvider;
-import java.lang.reflect.Field;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -35,20 +32,7 @@ public abstract class DistributedServiceProvider<T extends Account>
 
   public <S> DistributedService<S, T> getDeployableService(
       SpinnakerService.Type type, Class<S> clazz) {
-    Field serviceField = getField(type.getCanonicalName() + "service");
-    if (serviceField == null) {
-      return null;
-    }
-
-    serviceField.setAccessible(true);
-    try {
-      return (DistributedService<S, T>) serviceField.get(this);
-    } catch (IllegalAccessException e) {
-      throw new HalException(
-          Problem.Severity.FATAL, "Can't access service field for " + type + ": " + e.getMessage());
-    } finally {
-      serviceField.setAccessible(false);
-    }
+    return (DistributedService<S, T>) getFieldValue(type.getCanonicalName() + "service");
   }
 
   /** @return the highest priority services first. */
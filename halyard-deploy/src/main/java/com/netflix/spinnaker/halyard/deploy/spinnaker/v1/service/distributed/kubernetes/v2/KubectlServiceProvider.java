@@ -20,15 +20,12 @@ package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.ku
 
 import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount;
 import com.netflix.spinnaker.halyard.core.RemoteAction;
-import com.netflix.spinnaker.halyard.core.error.v1.HalException;
-import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.AccountDeploymentDetails;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerRuntimeSettings;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerService;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerServiceProvider;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.KubernetesSharedServiceSettings;
-import java.lang.reflect.Field;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -82,6 +79,8 @@ public class KubectlServiceProvider
 
   @Autowired KubernetesV2Utils kubernetesV2Utils;
 
+  @Autowired KubernetesV2ExecutorFactory kubernetesV2ExecutorFactory;
+
   @Override
   public RemoteAction clean(
       AccountDeploymentDetails<KubernetesAccount> details,
@@ -91,9 +90,13 @@ public class KubectlServiceProvider
         "Deleting all 'svc,deploy,secret' resources with label 'app=spin'...");
     KubernetesSharedServiceSettings kubernetesSharedServiceSettings =
         new KubernetesSharedServiceSettings(details.getDeploymentConfiguration());
-    new KubernetesV2Executor(
-            DaemonTaskHandler.getJobExecutor(), details.getAccount(), kubernetesV2Utils)
-        .deleteSpinnaker(kubernetesSharedServiceSettings.getDeployLocation());
+    try (KubernetesV2Executor executor =
+        kubernetesV2ExecutorFactory.create(
+            DaemonTaskHandler.getJobExecutor(),
+            details.getAccount(),
+            details.getDeploymentConfiguration().getDeploymentEnvironment())) {
+      executor.deleteSpinnaker(kubernetesSharedServiceSettings.getDeployLocation());
+    }
     return new RemoteAction();
   }
 
@@ -112,19 +115,6 @@ public class KubectlServiceProvider
   }
 
   public <S> KubernetesV2Service getService(SpinnakerService.Type type, Class<S> clazz) {
-    Field serviceField = getField(type.getCanonicalName() + "service");
-    if (serviceField == null) {
-      return null;
-    }
-
-    serviceField.setAccessible(true);
-    try {
-      return (KubernetesV2Service) serviceField.get(this);
-    } catch (IllegalAccessException e) {
-      throw new HalException(
-          Problem.Severity.FATAL, "Can't access service field for " + type + ": " + e.getMessage());
-    } finally {
-      serviceField.setAccessible(false);
-    }
+    return (KubernetesV2Service) getFieldValue(type.getCanonicalName() + "service");
   }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Follows the readiness of every Spinnaker pod in one namespace from a single watch, and tells any
+ * number of waiting services as soon as all of their pods are ready. A service counts as ready
+ * under the same rule {@link KubernetesV2Executor#isReady(String, String)} applies: it has at least
+ * one pod, and every container of every one of its pods is ready.
+ *
+ * <p>The executor that created the watch feeds it events; see {@link
+ * KubernetesV2Executor#watchReadiness(String)}.
+ */
+@Slf4j
+public class KubernetesReadinessWatch implements Closeable {
+  private final String namespace;
+
+  // Pod name -> the state last reported for it
+  private final Map<String, PodState> pods = new HashMap<>();
+  private final Map<String, List<CompletableFuture<Void>>> waiters = new HashMap<>();
+  private Runnable stopper = () -> {};
+  private boolean closed;
+  private RuntimeException failure;
+
+  KubernetesReadinessWatch(String namespace) {
+    this.namespace = namespace;
+  }
+
+  public String getNamespace() {
+    return namespace;
+  }
+
+  /**
+   * @return a future that completes once the service is ready, or completes exceptionally if the
+   *     watch fails before then.
+   */
+  public synchronized CompletableFuture<Void> awaitReady(String service) {
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    if (failure != null) {
+      result.completeExceptionally(failure);
+    } else if (isReady(service)) {
+      result.complete(null);
+    } else {
+      waiters.computeIfAbsent(service, s -> new ArrayList<>()).add(result);
+    }
+
+    return result;
+  }
+
+  synchronized void setStopper(Runnable stopper) {
+    this.stopper = stopper;
+  }
+
+  synchronized boolean isClosed() {
+    return closed;
+  }
+
+  /** Forgets every pod; called whenever the watch restarts and is about to list them again. */
+  synchronized void reset() {
+    pods.clear();
+  }
+
+  synchronized void podUpdated(String name, String service, boolean ready) {
+    pods.put(name, new PodState(service, ready));
+    notifyWaiters(service);
+  }
+
+  synchronized void podDeleted(String name) {
+    PodState removed = pods.remove(name);
+    if (removed != null) {
+      notifyWaiters(removed.service);
+    }
+  }
+
+  synchronized void fail(RuntimeException e) {
+    log.warn("Readiness watch on namespace " + namespace + " failed", e);
+    failure = e;
+    waiters.values().forEach(futures -> futures.forEach(f -> f.completeExceptionally(e)));
+    waiters.clear();
+  }
+
+  @Override
+  public void close() {
+    Runnable stop;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+
+      closed = true;
+      stop = stopper;
+      waiters.values().forEach(futures -> futures.forEach(f -> f.cancel(false)));
+      waiters.clear();
+    }
+
+    stop.run();
+  }
+
+  private void notifyWaiters(String service) {
+    if (service == null || !waiters.containsKey(service) || !isReady(service)) {
+      return;
+    }
+
+    waiters.remove(service).forEach(f -> f.complete(null));
+  }
+
+  private boolean isReady(String service) {
+    boolean found = false;
+    for (PodState pod : pods.values()) {
+      if (service.equals(pod.service)) {
+        if (!pod.ready) {
+          return false;
+        }
+        found = true;
+      }
+    }
+
+    return found;
+  }
+
+  private static class PodState {
+    final String service;
+    final boolean ready;
+
+    PodState(String service, boolean ready) {
+      this.service = service;
+      this.ready = ready;
+    }
+  }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2;
+
+import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount;
+import com.netflix.spinnaker.halyard.core.error.v1.HalException;
+import com.netflix.spinnaker.halyard.core.job.v1.JobExecutor;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
+import io.fabric8.kubernetes.api.model.APIResource;
+import io.fabric8.kubernetes.api.model.APIResourceList;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceList;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Performs the same operations as {@link KubernetesV2Executor}, but through an in-process API
+ * client instead of forking kubectl for each one. The client (and its connection pool) is shared by
+ * every executor for the same account; see {@link KubernetesV2ExecutorFactory}.
+ *
+ * <p>Manifests are always applied with server-side apply, which is the API's equivalent of {@code
+ * kubectl apply}.
+ */
+@Slf4j
+public class KubernetesV2ApiExecutor extends KubernetesV2Executor {
+  private final KubernetesClient client;
+  private final Runnable release;
+  private final AtomicBoolean released = new AtomicBoolean();
+
+  // What the server said each group version serves, so a deploy asks at most once per version.
+  private final Map<String, List<APIResource>> discovered = new ConcurrentHashMap<>();
+
+  public KubernetesV2ApiExecutor(
+      JobExecutor executor,
+      KubernetesAccount account,
+      KubernetesV2Utils kubernetesV2Utils,
+      KubernetesClient client,
+      Runnable release) {
+    super(executor, account, kubernetesV2Utils);
+    this.client = client;
+    this.release = release;
+  }
+
+  /** Hands the client back to the factory; the executor can't be used afterwards. */
+  @Override
+  public void close() {
+    if (released.compareAndSet(false, true)) {
+      release.run();
+    }
+  }
+
+  @Override
+  public boolean exists(String manifest) {
+    GenericKubernetesResource resource = parse(manifest);
+    log.info("Checking for " + resource.getKind() + "/" + resource.getMetadata().getName());
+    return call(
+        "Failed check for " + describe(resource),
+        () -> resourceFor(resource).get() != null);
+  }
+
+  @Override
+  public boolean isReady(String namespace, String service) {
+    log.info("Checking readiness for " + service);
+    List<Pod> pods =
+        call(
+            "Failed readiness check for " + service + " in " + namespace,
+            () ->
+                (StringUtils.isNotEmpty(namespace)
+                        ? client.pods().inNamespace(namespace).withLabel("cluster", service).list()
+                        : client.pods().withLabel("cluster", service).list())
+                    .getItems());
+
+    return !pods.isEmpty() && pods.stream().allMatch(KubernetesV2ApiExecutor::isReady);
+  }
+
+  static boolean isReady(Pod pod) {
+    if (pod.getStatus() == null || pod.getStatus().getContainerStatuses() == null) {
+      return false;
+    }
+
+    List<ContainerStatus> statuses = pod.getStatus().getContainerStatuses();
+    return !statuses.isEmpty()
+        && statuses.stream().allMatch(s -> Boolean.TRUE.equals(s.getReady()));
+  }
+
+  @Override
+  public KubernetesReadinessWatch watchReadiness(String namespace) {
+    KubernetesReadinessWatch readiness = new KubernetesReadinessWatch(namespace);
+    Watcher<Pod> watcher =
+        new Watcher<Pod>() {
+          @Override
+          public void eventReceived(Action action, Pod pod) {
+            String name = pod.getMetadata().getName();
+            if (action == Action.DELETED) {
+              readiness.podDeleted(name);
+            } else if (action == Action.ADDED || action == Action.MODIFIED) {
+              Map<String, String> labels = pod.getMetadata().getLabels();
+              String service = labels != null ? labels.get("cluster") : null;
+              readiness.podUpdated(name, service, KubernetesV2ApiExecutor.isReady(pod));
+            }
+          }
+
+          @Override
+          public void onClose(WatcherException cause) {
+            // The client reconnects on its own, so this is only called once it has given up.
+            if (cause != null && !readiness.isClosed()) {
+              readiness.fail(
+                  new HalException(
+                      Problem.Severity.FATAL,
+                      "Readiness watch on " + namespace + " closed: " + cause.getMessage(),
+                      cause));
+            }
+          }
+        };
+
+    Watch watch =
+        call(
+            "Unable to watch pods in " + namespace,
+            () -> {
+              if (StringUtils.isNotEmpty(namespace)) {
+                return client.pods().inNamespace(namespace).withLabel("app", "spin").watch(watcher);
+              }
+              return client.pods().withLabel("app", "spin").watch(watcher);
+            });
+    readiness.setStopper(watch::close);
+    return readiness;
+  }
+
+  @Override
+  public void deleteSpinnaker(String namespace) {
+    deleteLabelled(namespace, "app", "spin", "Deleting spinnaker failed in " + namespace);
+  }
+
+  @Override
+  public void delete(String namespace, String service) {
+    deleteLabelled(namespace, "cluster", service, "Deleting service " + service + " failed");
+  }
+
+  private void deleteLabelled(String namespace, String label, String value, String failure) {
+    call(
+        failure,
+        () -> {
+          if (StringUtils.isNotEmpty(namespace)) {
+            client.apps().deployments().inNamespace(namespace).withLabel(label, value).delete();
+            client.services().inNamespace(namespace).withLabel(label, value).delete();
+            client.secrets().inNamespace(namespace).withLabel(label, value).delete();
+          } else {
+            client.apps().deployments().withLabel(label, value).delete();
+            client.services().withLabel(label, value).delete();
+            client.secrets().withLabel(label, value).delete();
+          }
+          return null;
+        });
+  }
+
+  @Override
+  public Set<String> existing(List<String> manifests) {
+    // There is no process to save here, so each lookup is its own request over the shared client.
+    return manifests.stream().filter(this::exists).collect(Collectors.toSet());
+  }
+
+  @Override
+  public boolean isServerSideApply() {
+    return true;
+  }
+
+  @Override
+  public void applyAll(List<String> manifests) {
+    PatchContext context =
+        new PatchContext.Builder()
+            .withPatchType(PatchType.SERVER_SIDE_APPLY)
+            .withFieldManager(FIELD_MANAGER)
+            .withForce(true)
+            .build();
+
+    for (String manifest : manifests) {
+      GenericKubernetesResource resource = parse(manifest);
+      call(
+          "Failed to deploy manifest:\n" + manifest,
+          () -> resourceFor(resource).patch(context, resource));
+    }
+  }
+
+  @Override
+  public void replaceAll(List<String> manifests) {
+    for (String manifest : manifests) {
+      GenericKubernetesResource resource = parse(manifest);
+      call(
+          "Failed to deploy manifest:\n" + manifest,
+          () -> resourceFor(resource).createOrReplace(resource));
+    }
+  }
+
+  private GenericKubernetesResource parse(String manifest) {
+    try {
+      return Serialization.unmarshal(manifest, GenericKubernetesResource.class);
+    } catch (RuntimeException e) {
+      throw new HalException(
+          Problem.Severity.FATAL, "Unable to parse manifest:\n" + manifest + "\n" + e.getMessage());
+    }
+  }
+
+  private Resource<GenericKubernetesResource> resourceFor(GenericKubernetesResource resource) {
+    return operationFor(resource).withName(resource.getMetadata().getName());
+  }
+
+  private NonNamespaceOperation<
+          GenericKubernetesResource,
+          GenericKubernetesResourceList,
+          Resource<GenericKubernetesResource>>
+      operationFor(GenericKubernetesResource resource) {
+    APIResource definition = discover(resource);
+    boolean namespaced = Boolean.TRUE.equals(definition.getNamespaced());
+    String[] groupVersion = resource.getApiVersion().split("/", 2);
+    ResourceDefinitionContext context =
+        new ResourceDefinitionContext.Builder()
+            .withGroup(groupVersion.length == 2 ? groupVersion[0] : "")
+            .withVersion(groupVersion.length == 2 ? groupVersion[1] : groupVersion[0])
+            .withKind(resource.getKind())
+            .withPlural(definition.getName())
+            .withNamespaced(namespaced)
+            .build();
+
+    MixedOperation<
+            GenericKubernetesResource,
+            GenericKubernetesResourceList,
+            Resource<GenericKubernetesResource>>
+        operation = client.genericKubernetesResources(context);
+    String namespace = resource.getMetadata().getNamespace();
+    if (namespaced && StringUtils.isNotEmpty(namespace)) {
+      return operation.inNamespace(namespace);
+    }
+    return operation;
+  }
+
+  /**
+   * Looks up the resource's plural name and scope the way kubectl does, so that any kind the server
+   * serves (including custom resources) can be deployed.
+   */
+  private APIResource discover(GenericKubernetesResource resource) {
+    String apiVersion = resource.getApiVersion();
+    Optional<APIResource> definition = find(discovered.get(apiVersion), resource.getKind());
+    if (!definition.isPresent()) {
+      // Either this version hasn't been asked about, or its kind was only just registered (e.g. by
+      // a CRD applied earlier in this deploy), so ask again.
+      List<APIResource> resources =
+          call(
+              "Unable to discover the resources served for " + apiVersion,
+              () -> {
+                APIResourceList list = client.getApiResources(apiVersion);
+                return list != null && list.getResources() != null
+                    ? list.getResources()
+                    : Collections.<APIResource>emptyList();
+              });
+      discovered.put(apiVersion, resources);
+      definition = find(resources, resource.getKind());
+    }
+
+    return definition.orElseThrow(
+        () ->
+            new HalException(
+                Problem.Severity.FATAL,
+                "The cluster does not serve " + resource.getKind() + " in " + apiVersion));
+  }
+
+  private static Optional<APIResource> find(List<APIResource> resources, String kind) {
+    if (resources == null) {
+      return Optional.empty();
+    }
+
+    // Subresources (e.g. deployments/scale) are listed with their parent's kind.
+    return resources.stream()
+        .filter(r -> kind.equals(r.getKind()) && !r.getName().contains("/"))
+        .findFirst();
+  }
+
+  private static String describe(GenericKubernetesResource resource) {
+    String namespace = resource.getMetadata().getNamespace();
+    return resource.getKind()
+        + "/"
+        + resource.getMetadata().getName()
+        + (StringUtils.isNotEmpty(namespace) ? " in " + namespace : "");
+  }
+
+  private static <T> T call(String failure, Supplier<T> operation) {
+    try {
+      return operation.get();
+    } catch (KubernetesClientException e) {
+      throw new HalException(Problem.Severity.FATAL, failure + "\n" + e.getMessage(), e);
+    }
+  }
+}
@@ -21,24 +21,45 @@ package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.ku
 import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount;
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.job.v1.JobExecutor;
+import com.netflix.spinnaker.halyard.core.job.v1.JobOutputStream;
 import com.netflix.spinnaker.halyard.core.job.v1.JobRequest;
 import com.netflix.spinnaker.halyard.core.job.v1.JobStatus;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskInterrupted;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 @Slf4j
-public class KubernetesV2Executor {
+public class KubernetesV2Executor implements AutoCloseable {
+  static final String FIELD_MANAGER = "halyard";
+
+  static final int MAX_WATCH_FAILURES = 3;
+
+  private static final int WATCH_OUTPUT_BYTES = 64 * 1024;
+
+  // kubectl apply, replace and delete print a line per object, and their output is only reported
+  // when they fail.
+  private static final int MUTATION_OUTPUT_BYTES = 256 * 1024;
+
   private KubernetesAccount account;
   private JobExecutor executor;
   private KubernetesV2Utils kubernetesV2Utils;
+  private boolean serverSideApply;
+  private List<String> deferredReplacements;
 
   public KubernetesV2Executor(
       JobExecutor executor, KubernetesAccount account, KubernetesV2Utils kubernetesV2Utils) {
@@ -47,10 +68,27 @@ public class KubernetesV2Executor {
     this.kubernetesV2Utils = kubernetesV2Utils;
   }
 
+  /** Releases whatever the executor holds; kubectl executors hold nothing. */
+  @Override
+  public void close() {}
+
   public KubernetesV2Utils getKubernetesV2Utils() {
     return kubernetesV2Utils;
   }
 
+  protected KubernetesAccount getAccount() {
+    return account;
+  }
+
+  public KubernetesV2Executor setServerSideApply(boolean serverSideApply) {
+    this.serverSideApply = serverSideApply;
+    return this;
+  }
+
+  public boolean isServerSideApply() {
+    return serverSideApply;
+  }
+
   public boolean exists(String manifest) {
     Map<String, Object> parsedManifest = kubernetesV2Utils.parseManifest(manifest);
     String kind = (String) parsedManifest.get("kind");
@@ -62,6 +100,114 @@ public class KubernetesV2Executor {
     return exists(namespace, kind, name);
   }
 
+  /**
+   * Looks up all of {@code manifests} with a single {@code kubectl get} per namespace.
+   *
+   * @return the manifests whose resources already exist.
+   */
+  public Set<String> existing(List<String> manifests) {
+    List<Map<String, Object>> parsedManifests =
+        manifests.stream().map(kubernetesV2Utils::parseManifest).collect(Collectors.toList());
+
+    // Cluster-scoped resources (like the namespace itself) ignore "-n", so they are looked up
+    // along with the first namespaced resource rather than costing a call of their own.
+    String defaultNamespace =
+        parsedManifests.stream()
+            .map(KubernetesV2Executor::namespaceOf)
+            .filter(StringUtils::isNotEmpty)
+            .findFirst()
+            .orElse("");
+
+    Map<String, List<String>> byNamespace = new LinkedHashMap<>();
+    Map<String, String> byResource = new HashMap<>();
+    for (int i = 0; i < manifests.size(); i++) {
+      Map<String, Object> parsedManifest = parsedManifests.get(i);
+      Map<String, Object> metadata =
+          (Map<String, Object>) parsedManifest.getOrDefault("metadata", new HashMap<>());
+      String kind = ((String) parsedManifest.get("kind")).toLowerCase();
+      String resource = kind + "/" + metadata.get("name");
+      String namespace = namespaceOf(parsedManifest);
+      if (StringUtils.isEmpty(namespace)) {
+        namespace = defaultNamespace;
+      }
+
+      byNamespace.computeIfAbsent(namespace, n -> new ArrayList<>()).add(resource);
+      byResource.put(namespace + ":" + resource, manifests.get(i));
+    }
+
+    Set<String> result = new HashSet<>();
+    byNamespace.forEach(
+        (namespace, resources) -> {
+          for (String found : existing(namespace, resources)) {
+            result.add(byResource.get(namespace + ":" + found));
+          }
+        });
+
+    return result;
+  }
+
+  private static String namespaceOf(Map<String, Object> parsedManifest) {
+    Map<String, Object> metadata =
+        (Map<String, Object>) parsedManifest.getOrDefault("metadata", new HashMap<>());
+    return (String) metadata.get("namespace");
+  }
+
+  private List<String> existing(String namespace, List<String> resources) {
+    log.info("Checking for " + String.join(", ", resources));
+    List<String> command = kubernetesV2Utils.kubectlPrefix(account);
+
+    if (StringUtils.isNotEmpty(namespace)) {
+      command.add("-n");
+      command.add(namespace);
+    }
+
+    command.add("get");
+    command.addAll(resources);
+    command.add("--ignore-not-found");
+    command.add("-o=name");
+
+    JobRequest request = new JobRequest().setTokenizedCommand(command);
+
+    String jobId = executor.startJob(request);
+
+    JobStatus status;
+    try {
+      status = executor.backoffWait(jobId);
+    } catch (InterruptedException e) {
+      throw new DaemonTaskInterrupted(e);
+    }
+
+    if (status.getState() != JobStatus.State.COMPLETED
+        || status.getResult() != JobStatus.Result.SUCCESS) {
+      throw new HalException(
+          Problem.Severity.FATAL,
+          String.join(
+              "\n",
+              "Failed check for " + String.join(", ", resources) + " in " + namespace,
+              status.getStdErr(),
+              status.getStdOut()));
+    }
+
+    // Found resources are printed as "<resource>[.<group>]/<name>",
+    // e.g. "deployment.apps/spin-gate".
+    List<String> found = new ArrayList<>();
+    for (String line : status.getStdOut().split("\n")) {
+      int slash = line.indexOf('/');
+      if (slash < 0) {
+        continue;
+      }
+
+      String type = line.substring(0, slash).split("\\.", 2)[0];
+      String name = line.substring(slash + 1).trim();
+      resources.stream()
+          .filter(r -> r.equals(type + "/" + name))
+          .findFirst()
+          .ifPresent(found::add);
+    }
+
+    return found;
+  }
+
   private boolean exists(String namespace, String kind, String name) {
     log.info("Checking for " + kind + "/" + name);
     List<String> command = kubernetesV2Utils.kubectlPrefix(account);
@@ -173,6 +319,132 @@ public class KubernetesV2Executor {
     }
   }
 
+  /**
+   * Starts following the readiness of Spinnaker's pods in {@code namespace} with a single {@code
+   * kubectl get --watch}. The watch is restarted whenever the API server ends it, and fails if it
+   * ends {@link #MAX_WATCH_FAILURES} times in a row without reporting anything. It runs as a job of
+   * the calling task until it is closed.
+   */
+  public KubernetesReadinessWatch watchReadiness(String namespace) {
+    KubernetesReadinessWatch watch = new KubernetesReadinessWatch(namespace);
+    startWatch(watch, 0);
+    return watch;
+  }
+
+  private void startWatch(KubernetesReadinessWatch watch, int failures) {
+    List<String> command = kubernetesV2Utils.kubectlPrefix(account);
+    if (StringUtils.isNotEmpty(watch.getNamespace())) {
+      command.add("-n=" + watch.getNamespace());
+    }
+
+    command.add("get");
+    command.add("po");
+    command.add("-l=app=spin");
+    command.add("--watch");
+    command.add("--output-watch-events");
+    command.add("-o=json");
+
+    AtomicBoolean sawEvent = new AtomicBoolean();
+    StringBuilder event = new StringBuilder();
+    JobOutputStream stdout = new JobOutputStream(WATCH_OUTPUT_BYTES);
+    JobOutputStream stderr = new JobOutputStream(WATCH_OUTPUT_BYTES);
+    stdout.addLineConsumer(
+        line -> {
+          event.append(line).append('\n');
+          // kubectl indents its JSON, so only the brace that closes an event is unindented.
+          if (line.equals("}")) {
+            sawEvent.set(true);
+            onWatchEvent(watch, event.toString());
+            event.setLength(0);
+          }
+        });
+
+    watch.reset();
+    String jobId =
+        executor.startJob(
+            new JobRequest().setTokenizedCommand(command),
+            System.getenv(),
+            new ByteArrayInputStream(new byte[0]),
+            stdout,
+            stderr);
+    watch.setStopper(() -> executor.cancelJob(jobId));
+    if (watch.isClosed()) {
+      executor.cancelJob(jobId);
+      return;
+    }
+
+    Callable<Void> restart =
+        DaemonTaskHandler.withCurrentTask(
+            () -> {
+              int failed = sawEvent.get() ? 0 : failures + 1;
+              if (failed >= MAX_WATCH_FAILURES) {
+                watch.fail(
+                    new HalException(
+                        Problem.Severity.FATAL,
+                        "Unable to watch pods in " + watch.getNamespace() + ":\n" + stderr));
+              } else {
+                log.info("Restarting readiness watch on namespace " + watch.getNamespace());
+                startWatch(watch, failed);
+              }
+              return null;
+            });
+
+    executor
+        .waitForJob(jobId)
+        .whenComplete(
+            (status, e) -> {
+              if (watch.isClosed()) {
+                return;
+              }
+
+              try {
+                restart.call();
+              } catch (Exception restartFailure) {
+                watch.fail(
+                    new HalException(
+                        Problem.Severity.FATAL,
+                        "Unable to restart the readiness watch on " + watch.getNamespace(),
+                        restartFailure));
+              }
+            });
+  }
+
+  private void onWatchEvent(KubernetesReadinessWatch watch, String json) {
+    Map<String, Object> event;
+    try {
+      event = kubernetesV2Utils.parseManifest(json);
+    } catch (RuntimeException e) {
+      log.warn("Ignoring unparseable pod watch event: " + json, e);
+      return;
+    }
+
+    // Older versions of kubectl ignore --output-watch-events, and print just the pod.
+    String type = (String) event.getOrDefault("type", "MODIFIED");
+    Map<String, Object> pod = (Map<String, Object>) event.getOrDefault("object", event);
+    Map<String, Object> metadata =
+        (Map<String, Object>) pod.getOrDefault("metadata", new HashMap<>());
+    String name = (String) metadata.get("name");
+    if (name == null) {
+      return;
+    }
+
+    if (type.equals("DELETED")) {
+      watch.podDeleted(name);
+    } else {
+      Map<String, Object> labels =
+          (Map<String, Object>) metadata.getOrDefault("labels", new HashMap<>());
+      watch.podUpdated(name, (String) labels.get("cluster"), isReady(pod));
+    }
+  }
+
+  private static boolean isReady(Map<String, Object> pod) {
+    Map<String, Object> status = (Map<String, Object>) pod.getOrDefault("status", new HashMap<>());
+    List<Map<String, Object>> containerStatuses =
+        (List<Map<String, Object>>) status.getOrDefault("containerStatuses", new ArrayList<>());
+    return !containerStatuses.isEmpty()
+        && containerStatuses.stream().allMatch(s -> Boolean.TRUE.equals(s.get("ready")));
+  }
+
   public void deleteSpinnaker(String namespace) {
     List<String> command = kubernetesV2Utils.kubectlPrefix(account);
     if (StringUtils.isNotEmpty(namespace)) {
@@ -185,7 +457,9 @@ public class KubernetesV2Executor {
 
     JobRequest request = new JobRequest().setTokenizedCommand(command);
 
-    String jobId = executor.startJob(request);
+    String jobId =
+        executor.startBoundedJob(
+            request, new ByteArrayInputStream(new byte[0]), MUTATION_OUTPUT_BYTES);
 
     JobStatus status;
     try {
@@ -227,7 +501,9 @@ public class KubernetesV2Executor {
 
     JobRequest request = new JobRequest().setTokenizedCommand(command);
 
-    String jobId = executor.startJob(request);
+    String jobId =
+        executor.startBoundedJob(
+            request, new ByteArrayInputStream(new byte[0]), MUTATION_OUTPUT_BYTES);
 
     JobStatus status;
     try {
@@ -258,71 +534,76 @@ public class KubernetesV2Executor {
   }
 
   public void apply(String manifest) {
-    manifest = kubernetesV2Utils.prettify(manifest);
+    applyAll(Collections.singletonList(manifest));
+  }
+
+  /** Applies all of {@code manifests} together, as one multi-document stream. */
+  public void applyAll(List<String> manifests) {
+    if (manifests.isEmpty()) {
+      return;
+    }
+
     List<String> command = kubernetesV2Utils.kubectlPrefix(account);
     command.add("apply");
+    if (serverSideApply) {
+      command.add("--server-side");
+      command.add("--force-conflicts");
+      command.add("--field-manager=" + FIELD_MANAGER);
+    }
     command.add("-f");
     command.add("-"); // read from stdin
 
-    JobRequest request = new JobRequest().setTokenizedCommand(command);
-
-    ByteArrayOutputStream stdout = new ByteArrayOutputStream();
-    ByteArrayOutputStream stderr = new ByteArrayOutputStream();
-
-    String jobId =
-        executor.startJob(
-            request,
-            System.getenv(),
-            new ByteArrayInputStream(manifest.getBytes()),
-            stdout,
-            stderr);
+    runWithManifests(command, manifests);
+  }
 
-    JobStatus status;
-    try {
-      status = executor.backoffWait(jobId);
-    } catch (InterruptedException e) {
-      throw new DaemonTaskInterrupted(e);
+  public void replace(String manifest) {
+    if (deferredReplacements != null) {
+      deferredReplacements.add(manifest);
+      return;
     }
 
-    if (status.getState() != JobStatus.State.COMPLETED) {
-      throw new HalException(
-          Problem.Severity.FATAL,
-          String.join(
-              "\n",
-              "Unterminated deployment of manifest:",
-              manifest,
-              stderr.toString(),
-              stdout.toString()));
-    }
+    replaceAll(Collections.singletonList(manifest));
+  }
 
-    if (status.getResult() != JobStatus.Result.SUCCESS) {
-      throw new HalException(
-          Problem.Severity.FATAL,
-          String.join(
-              "\n", "Failed to deploy manifest:", manifest, stderr.toString(), stdout.toString()));
+  /** Replaces all of {@code manifests} together, as one multi-document stream. */
+  public void replaceAll(List<String> manifests) {
+    if (manifests.isEmpty()) {
+      return;
     }
-  }
 
-  public void replace(String manifest) {
-    manifest = kubernetesV2Utils.prettify(manifest);
     List<String> command = kubernetesV2Utils.kubectlPrefix(account);
     command.add("replace");
     command.add("--force");
     command.add("-f");
     command.add("-"); // read from stdin
 
-    JobRequest request = new JobRequest().setTokenizedCommand(command);
+    runWithManifests(command, manifests);
+  }
+
+  /**
+   * Until {@link #takeDeferredReplacements()} is called, {@link #replace(String)} only records the
+   * manifests it is given, so that the caller can submit them in one batch.
+   */
+  public void deferReplacements() {
+    deferredReplacements = new ArrayList<>();
+  }
+
+  public List<String> takeDeferredReplacements() {
+    List<String> result =
+        deferredReplacements != null ? deferredReplacements : Collections.emptyList();
+    deferredReplacements = null;
+    return result;
+  }
 
-    ByteArrayOutputStream stdout = new ByteArrayOutputStream();
-    ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+  private void runWithManifests(List<String> command, List<String> manifests) {
+    String manifest =
+        manifests.stream().map(kubernetesV2Utils::prettify).collect(Collectors.joining("---\n"));
+
+    JobRequest request = new JobRequest().setTokenizedCommand(command);
 
     String jobId =
-        executor.startJob(
-            request,
-            System.getenv(),
-            new ByteArrayInputStream(manifest.getBytes()),
-            stdout,
-            stderr);
+        executor.startBoundedJob(
+            request, new ByteArrayInputStream(manifest.getBytes()), MUTATION_OUTPUT_BYTES);
 
     JobStatus status;
     try {
@@ -338,15 +619,19 @@ public class KubernetesV2Executor {
               "\n",
               "Unterminated deployment of manifest:",
               manifest,
-              stderr.toString(),
-              stdout.toString()));
+              status.getStdErr(),
+              status.getStdOut()));
     }
 
     if (status.getResult() != JobStatus.Result.SUCCESS) {
       throw new HalException(
           Problem.Severity.FATAL,
           String.join(
-              "\n", "Failed to deploy manifest:", manifest, stderr.toString(), stdout.toString()));
+              "\n",
+              "Failed to deploy manifest:",
+              manifest,
+              status.getStdErr(),
+              status.getStdOut()));
     }
   }
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2;
+
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentConfiguration;
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentEnvironment;
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentEnvironment.KubernetesClientType;
+import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount;
+import com.netflix.spinnaker.halyard.core.error.v1.HalException;
+import com.netflix.spinnaker.halyard.core.job.v1.JobExecutor;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.DefaultKubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the executor a deployment asked for (see {@link
+ * DeploymentEnvironment.KubernetesDeployConfig}). API clients are shared by every executor of the
+ * same deployment whose account has the same context and kubeconfig contents, so every operation
+ * against an account reuses one pool of keep-alive connections.
+ */
+@Slf4j
+@Component
+public class KubernetesV2ExecutorFactory implements DisposableBean {
+  private static final int MAX_IDLE_CLIENTS = 16;
+
+  private final KubernetesV2Utils kubernetesV2Utils;
+
+  // Keyed by deployment and a digest of the account's context and kubeconfig, in access order. A
+  // client is only closed once no executor is using it, and it's the least recently used of more
+  // than MAX_IDLE_CLIENTS such clients.
+  private final LinkedHashMap<String, SharedClient> clients = new LinkedHashMap<>(16, 0.75f, true);
+
+  public KubernetesV2ExecutorFactory(KubernetesV2Utils kubernetesV2Utils) {
+    this.kubernetesV2Utils = kubernetesV2Utils;
+  }
+
+  /**
+   * @return an executor for the account, which must be closed once it's no longer used so that the
+   *     API client it may hold can be released.
+   */
+  public KubernetesV2Executor create(
+      JobExecutor jobExecutor,
+      KubernetesAccount account,
+      DeploymentEnvironment deploymentEnvironment) {
+    DeploymentEnvironment.KubernetesDeployConfig config =
+        deploymentEnvironment != null ? deploymentEnvironment.getKubernetes() : null;
+    if (config == null) {
+      config = new DeploymentEnvironment.KubernetesDeployConfig();
+    }
+
+    if (config.getClientType() == KubernetesClientType.API) {
+      SharedClient client = acquire(account);
+      return new KubernetesV2ApiExecutor(
+          jobExecutor, account, kubernetesV2Utils, client.client, () -> release(client));
+    }
+
+    return new KubernetesV2Executor(jobExecutor, account, kubernetesV2Utils)
+        .setServerSideApply(config.isServerSideApply());
+  }
+
+  SharedClient acquire(KubernetesAccount account) {
+    // Decrypted kubeconfigs are written to a new path for every session, so it's what the
+    // kubeconfig says, not where it is, that decides whether a client can be shared.
+    Path kubeconfig =
+        account.usesServiceAccount() ? null : kubernetesV2Utils.kubeconfigPath(account);
+    String contents = kubeconfig != null ? read(account, kubeconfig) : null;
+
+    DeploymentConfiguration deploymentConfiguration =
+        account.parentOfType(DeploymentConfiguration.class);
+    String key =
+        (deploymentConfiguration != null ? deploymentConfiguration.getName() : "")
+            + ":"
+            + (account.usesServiceAccount()
+                ? "serviceAccount"
+                : digest(account.getContext() + "\n" + (contents != null ? contents : "")));
+
+    synchronized (clients) {
+      SharedClient shared = clients.get(key);
+      if (shared == null) {
+        log.info("Creating Kubernetes API client for account " + account.getName());
+        Config config = config(account, kubeconfig, contents);
+        shared = new SharedClient(key, new DefaultKubernetesClient(config));
+        clients.put(key, shared);
+      }
+
+      shared.users++;
+      closeIdleClients();
+      return shared;
+    }
+  }
+
+  void release(SharedClient shared) {
+    synchronized (clients) {
+      shared.users--;
+      closeIdleClients();
+    }
+  }
+
+  private void closeIdleClients() {
+    long idle = clients.values().stream().filter(c -> c.users == 0).count();
+    Iterator<SharedClient> eldest = clients.values().iterator();
+    while (idle > MAX_IDLE_CLIENTS && eldest.hasNext()) {
+      SharedClient shared = eldest.next();
+      if (shared.users == 0) {
+        eldest.remove();
+        close(shared);
+        idle--;
+      }
+    }
+  }
+
+  private static Config config(KubernetesAccount account, Path kubeconfig, String contents) {
+    if (account.usesServiceAccount()) {
+      return Config.autoConfigure(null);
+    }
+
+    if (kubeconfig == null) {
+      return Config.autoConfigure(account.getContext());
+    }
+
+    return Config.fromKubeconfig(account.getContext(), contents, kubeconfig.toString());
+  }
+
+  private static String read(KubernetesAccount account, Path kubeconfig) {
+    try {
+      return new String(Files.readAllBytes(kubeconfig), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new HalException(
+          Problem.Severity.FATAL,
+          "Unable to read kubeconfig " + kubeconfig + " for account " + account.getName(),
+          e);
+    }
+  }
+
+  private static String digest(String contents) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      StringBuilder result = new StringBuilder();
+      for (byte b : digest.digest(contents.getBytes(StandardCharsets.UTF_8))) {
+        result.append(String.format("%02x", b));
+      }
+      return result.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+    }
+  }
+
+  private static void close(SharedClient shared) {
+    log.info("Closing Kubernetes API client " + shared.key);
+    shared.client.close();
+  }
+
+  int size() {
+    synchronized (clients) {
+      return clients.size();
+    }
+  }
+
+  @Override
+  public void destroy() {
+    synchronized (clients) {
+      clients.values().forEach(KubernetesV2ExecutorFactory::close);
+      clients.clear();
+    }
+  }
+
+  static class SharedClient {
+    final String key;
+    final KubernetesClient client;
+    // Guarded by the factory's clients.
+    int users;
+
+    SharedClient(String key, KubernetesClient client) {
+      this.key = key;
+      this.client = client;
+    }
+  }
+}
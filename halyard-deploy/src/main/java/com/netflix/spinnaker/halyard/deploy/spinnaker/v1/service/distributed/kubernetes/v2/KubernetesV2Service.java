@@ -53,6 +53,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -514,6 +515,7 @@ public interface KubernetesV2Service<T> extends HasServiceSettings<T>, Kubernete
     List<String> requiredFiles = new ArrayList<>();
     Map<String, byte[]> requiredEncryptedFiles = new HashMap<>();
     List<ConfigSource> configSources = new ArrayList<>();
+    List<KubernetesV2Utils.SecretSpec> secrets = new ArrayList<>();
     String secretNamePrefix = getServiceName() + "-files";
     String namespace = getNamespace(resolvedConfiguration.getServiceSettings(getService()));
     KubernetesAccount account = details.getAccount();
@@ -574,7 +576,7 @@ public interface KubernetesV2Service<T> extends HasServiceSettings<T>, Kubernete
               .getKubernetesV2Utils()
               .createSecretSpec(
                   namespace, getService().getCanonicalName(), secretNamePrefix, files);
-      executor.replace(spec.resource.toString());
+      secrets.add(spec);
       configSources.add(new ConfigSource().setId(spec.name).setMountPath(mountPath).setEnv(env));
     }
 
@@ -595,16 +597,39 @@ public interface KubernetesV2Service<T> extends HasServiceSettings<T>, Kubernete
               .getKubernetesV2Utils()
               .createSecretSpec(
                   namespace, getService().getCanonicalName(), secretNamePrefix, files);
-      executor.replace(spec.resource.toString());
+      secrets.add(spec);
       configSources.add(
           new ConfigSource()
               .setId(spec.name)
               .setMountPath(getSpinnakerStagingDependenciesPath(details.getDeploymentName())));
     }
 
+    stageSecrets(executor, secrets);
     return configSources;
   }
 
+  /**
+   * Stages whichever of the secrets don't exist yet. Secrets are named after a digest of their
+   * contents, so one that already exists holds exactly what would be staged.
+   */
+  default void stageSecrets(
+      KubernetesV2Executor executor, List<KubernetesV2Utils.SecretSpec> secrets) {
+    if (secrets.isEmpty()) {
+      return;
+    }
+
+    Map<String, KubernetesV2Utils.SecretSpec> byReference = new LinkedHashMap<>();
+    secrets.forEach(spec -> byReference.put(spec.getReference(), spec));
+    Set<String> existing = executor.existing(new ArrayList<>(byReference.keySet()));
+
+    byReference.forEach(
+        (reference, spec) -> {
+          if (!existing.contains(reference)) {
+            executor.replace(spec.getResource().toString());
+          }
+        });
+  }
+
   default List<SidecarConfig> getSidecarConfigs(
       AccountDeploymentDetails<KubernetesAccount> details) {
     // attempt to get the service name specific sidecars first
@@ -31,12 +31,18 @@ import com.netflix.spinnaker.kork.configserver.CloudConfigResourceService;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
@@ -48,6 +54,9 @@ import org.yaml.snakeyaml.constructor.SafeConstructor;
 @Slf4j
 @Component
 public class KubernetesV2Utils {
+  // Hex digits of the content digest used in staged secrets' names
+  private static final int SECRET_NAME_DIGEST_LENGTH = 20;
+
   private final ObjectMapper mapper = new ObjectMapper();
 
   private final SecretSessionManager secretSessionManager;
@@ -79,7 +88,7 @@ public class KubernetesV2Utils {
       command.add(context);
     }
 
-    Path kubeconfig = fileService.getLocalFilePath(account.getKubeconfigFile());
+    Path kubeconfig = kubeconfigPath(account);
     if (kubeconfig != null) {
       command.add("--kubeconfig");
       command.add(kubeconfig.toString());
@@ -88,6 +97,11 @@ public class KubernetesV2Utils {
     return command;
   }
 
+  /** @return the account's kubeconfig, or null if it relies on the default kubeconfig. */
+  public Path kubeconfigPath(KubernetesAccount account) {
+    return fileService.getLocalFilePath(account.getKubeconfigFile());
+  }
+
   List<String> kubectlPodServiceCommand(
       KubernetesAccount account, String namespace, String service) {
     List<String> command = kubectlPrefix(account);
@@ -120,19 +134,20 @@ public class KubernetesV2Utils {
     return command;
   }
 
+  /**
+   * Describes a secret holding the given files. The secret is named after a SHA-256 digest of their
+   * names and contents, so that a secret that already exists under that name is known to hold
+   * exactly these files, and need not be rendered or staged again.
+   */
   public SecretSpec createSecretSpec(
       String namespace, String clusterName, String name, List<SecretMountPair> files) {
-    Map<String, String> contentMap = new HashMap<>();
+    Map<String, byte[]> contentMap = new TreeMap<>();
     for (SecretMountPair pair : files) {
-      String contents;
       if (pair.getContentBytes() != null) {
-        contents = new String(Base64.getEncoder().encode(pair.getContentBytes()));
+        contentMap.put(pair.getName(), pair.getContentBytes());
       } else {
-        try {
-          contents =
-              new String(
-                  Base64.getEncoder()
-                      .encode(IOUtils.toByteArray(new FileInputStream(pair.getContents()))));
+        try (FileInputStream input = new FileInputStream(pair.getContents())) {
+          contentMap.put(pair.getName(), IOUtils.toByteArray(input));
         } catch (IOException e) {
           throw new HalException(
               Problem.Severity.FATAL,
@@ -143,24 +158,57 @@ public class KubernetesV2Utils {
               e);
         }
       }
-
-      contentMap.put(pair.getName(), contents);
     }
 
     SecretSpec spec = new SecretSpec();
-    spec.name = name + "-" + Math.abs(contentMap.hashCode());
+    spec.digest = digest(contentMap);
+    spec.name = name + "-" + spec.digest.substring(0, SECRET_NAME_DIGEST_LENGTH);
+    spec.namespace = namespace;
+    spec.renderer =
+        () -> {
+          Map<String, String> encoded = new TreeMap<>();
+          contentMap.forEach(
+              (file, contents) ->
+                  encoded.put(file, new String(Base64.getEncoder().encode(contents))));
+
+          TemplatedResource resource = new JinjaJarResource("/kubernetes/manifests/secret.yml");
+          Map<String, Object> bindings = new HashMap<>();
+
+          bindings.put("files", encoded);
+          bindings.put("name", spec.name);
+          bindings.put("namespace", namespace);
+          bindings.put("clusterName", clusterName);
+          bindings.put("digest", spec.digest);
+
+          resource.extendBindings(bindings);
+          return resource;
+        };
 
-    spec.resource = new JinjaJarResource("/kubernetes/manifests/secret.yml");
-    Map<String, Object> bindings = new HashMap<>();
+    return spec;
+  }
 
-    bindings.put("files", contentMap);
-    bindings.put("name", spec.name);
-    bindings.put("namespace", namespace);
-    bindings.put("clusterName", clusterName);
+  private static String digest(Map<String, byte[]> contentMap) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
 
-    spec.resource.extendBindings(bindings);
+    // Each name and content is length-prefixed, so that no two sets of files digest the same bytes.
+    for (Map.Entry<String, byte[]> entry : contentMap.entrySet()) {
+      byte[] fileName = entry.getKey().getBytes(StandardCharsets.UTF_8);
+      digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(fileName.length).array());
+      digest.update(fileName);
+      digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(entry.getValue().length).array());
+      digest.update(entry.getValue());
+    }
 
-    return spec;
+    StringBuilder result = new StringBuilder();
+    for (byte b : digest.digest()) {
+      result.append(String.format("%02x", b));
+    }
+    return result.toString();
   }
 
   public String prettify(String input) {
@@ -174,8 +222,29 @@ public class KubernetesV2Utils {
   }
 
   public static class SecretSpec {
-    TemplatedResource resource;
     String name;
+    String namespace;
+    // Hex SHA-256 of the secret's file names and contents
+    String digest;
+    private Supplier<TemplatedResource> renderer;
+    private TemplatedResource resource;
+
+    /** Renders (and encodes) the secret's manifest on first use. */
+    TemplatedResource getResource() {
+      if (resource == null) {
+        resource = renderer.get();
+      }
+      return resource;
+    }
+
+    /** @return a manifest with just enough of the secret to look it up by. */
+    String getReference() {
+      return "{\"apiVersion\": \"v1\", \"kind\": \"Secret\", \"metadata\": {\"name\": \""
+          + name
+          + "\", \"namespace\": \""
+          + namespace
+          + "\"}}";
+    }
   }
 
   @Data
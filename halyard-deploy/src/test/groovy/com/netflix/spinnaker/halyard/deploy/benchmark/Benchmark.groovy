@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.benchmark
+
+/**
+ * Times an operation and prints its mean, median and 90th percentile, the same figures hal's
+ * startupBenchmark reports. The benchmarks in this package are run through gradle tasks, not as
+ * specs.
+ */
+class Benchmark {
+  static int runs(String[] args) {
+    return args.length > 0 ? Integer.parseInt(args[0]) : 200
+  }
+
+  static void time(String name, int runs, Closure operation) {
+    // Let the JIT settle before anything is recorded
+    for (int i = 0; i < runs; i++) {
+      operation()
+    }
+
+    double[] micros = new double[runs]
+    double total = 0
+    for (int i = 0; i < runs; i++) {
+      long start = System.nanoTime()
+      operation()
+      micros[i] = (System.nanoTime() - start) / 1_000d
+      total += micros[i]
+    }
+    Arrays.sort(micros)
+
+    println String.format('%-50s mean %8.1fus  p50 %8.1fus  p90 %8.1fus',
+        name, total / runs, micros[(int) (runs * 0.5)], micros[(int) (runs * 0.9)])
+  }
+}
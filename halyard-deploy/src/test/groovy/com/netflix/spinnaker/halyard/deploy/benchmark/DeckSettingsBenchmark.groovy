@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.benchmark
+
+import com.netflix.spinnaker.halyard.core.resource.v1.StringResource
+
+/**
+ * Renders a Deck settings.js with the bindings DeckProfileFactory sets, through StringResource and
+ * through the per-binding String.replace and trailing regex check it used before.
+ */
+class DeckSettingsBenchmark {
+  static final String SETTINGS = '''\
+'use strict';
+
+var gateHost = '{%gate.baseUrl%}';
+var bakeryDetailUrl = gateHost + '/bakery/logs/{{context.region}}/{{context.status.resourceId}}';
+var authEndpoint = gateHost + '/auth/user';
+var authEnabled = {%features.auth%} === true;
+var chaosEnabled = {%features.chaos%} === true;
+var fiatEnabled = {%features.fiat%} === true;
+var gremlinEnabled = {%features.gremlin%} === true;
+var slackEnabled = {%notifications.slack.enabled%} === true;
+var twilioEnabled = {%notifications.twilio.enabled%} === true;
+var githubStatusEnabled = {%notifications.github-status.enabled%} === true;
+var canaryEnabled = {%canary.featureEnabled%} === true;
+
+window.spinnakerSettings = {
+  version: '{%version%}',
+  checkForUpdates: false,
+  defaultProviders: ['aws', 'gce', 'azure', 'cloudfoundry', 'kubernetes', 'appengine', 'ecs'],
+  gateUrl: gateHost,
+  bakeryDetailUrl: bakeryDetailUrl,
+  authEndpoint: authEndpoint,
+  authEnabled: authEnabled,
+  authTtl: 600000,
+  defaultTimeZone: '{%timezone%}',
+  feature: {
+    artifacts: {%features.artifacts%},
+    artifactsRewrite: {%features.artifactsRewrite%},
+    canary: canaryEnabled,
+    chaosMonkey: chaosEnabled,
+    fiatEnabled: fiatEnabled,
+    gremlinEnabled: gremlinEnabled,
+    managedPipelineTemplatesV2UI: {%features.managedPipelineTemplatesV2UI%},
+    mineCanary: {%features.mineCanary%},
+    pipelineTemplates: {%features.pipelineTemplates%},
+    pipelines: true,
+    notifications: false,
+    fastProperty: true,
+    vpcMigrator: true,
+    clusterDiff: false,
+    roscoMode: true,
+    infrastructureStages: false,
+    jobs: false,
+    snapshots: false,
+  },
+  changelog: {
+    gistId: '{%changelog.gist.id%}',
+    fileName: '{%changelog.gist.name%}',
+  },
+  notifications: {
+    email: { enabled: true },
+    bearychat: { enabled: true },
+    githubStatus: { enabled: githubStatusEnabled },
+    googlechat: { enabled: true },
+    pubsub: { enabled: true },
+    slack: { enabled: slackEnabled, botName: '{%notifications.slack.botName%}' },
+    sms: { enabled: twilioEnabled },
+  },
+  canary: {
+    atlasWebComponentsUrl: '{%canary.atlasWebComponentsUrl%}',
+    defaultJudge: '{%canary.defaultJudge%}',
+    featureDisabled: !canaryEnabled,
+    metricsAccountName: '{%canary.defaultMetricsAccount%}',
+    metricStore: '{%canary.defaultMetricsStore%}',
+    reduxLogger: {%canary.reduxLogger%},
+    showAllConfigs: {%canary.showAllCanaryConfigs%},
+    stagesEnabled: {%canary.stages%},
+    storageAccountName: '{%canary.defaultStorageAccount%}',
+    templatesEnabled: {%canary.templatesEnabled%},
+  },
+  providers: {
+    appengine: { defaults: { account: '{%appengine.default.account%}' } },
+    aws: { defaults: { account: '{%aws.default.account%}', region: '{%aws.default.region%}' } },
+    azure: {
+      defaults: { account: '{%azure.default.account%}', region: '{%azure.default.region%}' },
+    },
+    cloudfoundry: { defaults: { account: '{%cloudfoundry.default.account%}' } },
+    cloudrun: { defaults: { account: '{%cloudrun.default.account%}' } },
+    dcos: { defaults: { account: '{%dcos.default.account%}' } },
+    ecs: { defaults: { account: '{%ecs.default.account%}' } },
+    gce: {
+      defaults: {
+        account: '{%google.default.account%}',
+        region: '{%google.default.region%}',
+        zone: '{%google.default.zone%}',
+      },
+    },
+    huaweicloud: {
+      defaults: {
+        account: '{%huaweicloud.default.account%}',
+        region: '{%huaweicloud.default.region%}',
+      },
+    },
+    kubernetes: {
+      defaults: {
+        account: '{%kubernetes.default.account%}',
+        namespace: '{%kubernetes.default.namespace%}',
+        proxy: '{%kubernetes.default.proxy%}',
+      },
+    },
+    tencentcloud: {
+      defaults: {
+        account: '{%tencentcloud.default.account%}',
+        region: '{%tencentcloud.default.region%}',
+      },
+    },
+  },
+};
+'''
+
+  static void main(String[] args) {
+    int runs = Benchmark.runs(args)
+    Map<String, Object> bindings = bindings()
+
+    Benchmark.time("settings.js, single pass", runs) {
+      new StringResource(SETTINGS).setBindings(bindings).toString()
+    }
+    Benchmark.time("settings.js, replace per binding", runs) {
+      replacePerBinding(SETTINGS, bindings)
+    }
+  }
+
+  static String replacePerBinding(String contents, Map<String, Object> bindings) {
+    bindings.each { key, value ->
+      contents = contents.replace("{%" + key + "%}", value != null ? value.toString() : "")
+    }
+    if (contents.matches("(?s).*\\{%.*%}.*")) {
+      println "Found part of template that still contains a format key"
+    }
+    return contents
+  }
+
+  static Map<String, Object> bindings() {
+    Map<String, Object> bindings = [
+        "gate.baseUrl"                         : "https://gate.spinnaker.example.com",
+        "timezone"                             : "America/Los_Angeles",
+        "version"                              : "1.30.0",
+        "changelog.gist.id"                    : "7f6d4b1e2b3f4c8d9a0b1c2d3e4f5a6b",
+        "changelog.gist.name"                  : "1.30.0.md",
+        "notifications.slack.botName"          : "spinnakerbot",
+        "canary.atlasWebComponentsUrl"         : "https://atlas.example.com/components.js",
+        "canary.defaultJudge"                  : "NetflixACAJudge-v1.0",
+        "canary.defaultMetricsAccount"         : "my-prometheus",
+        "canary.defaultMetricsStore"           : "prometheus",
+        "canary.defaultStorageAccount"         : "my-gcs",
+        "kubernetes.default.namespace"         : "default",
+        "kubernetes.default.proxy"             : "localhost:8001",
+        "google.default.region"                : "us-central1",
+        "google.default.zone"                  : "us-central1-f",
+        "azure.default.region"                 : "westus",
+        "aws.default.region"                   : "us-west-2",
+        "huaweicloud.default.region"           : "cn-north-1",
+        "tencentcloud.default.region"          : "ap-guangzhou",
+    ]
+    ["features.auth", "features.chaos", "features.fiat", "features.gremlin",
+     "features.artifacts", "features.artifactsRewrite", "features.mineCanary",
+     "features.pipelineTemplates", "features.managedPipelineTemplatesV2UI",
+     "notifications.slack.enabled", "notifications.twilio.enabled",
+     "notifications.github-status.enabled", "canary.featureEnabled", "canary.reduxLogger",
+     "canary.stages", "canary.templatesEnabled", "canary.showAllCanaryConfigs"].each {
+      bindings.put(it, "true")
+    }
+    ["kubernetes", "google", "azure", "appengine", "cloudrun", "dcos", "aws", "ecs", "cloudfoundry",
+     "huaweicloud", "tencentcloud"].each {
+      bindings.put(it + ".default.account", "my-" + it + "-account")
+    }
+    return bindings
+  }
+}
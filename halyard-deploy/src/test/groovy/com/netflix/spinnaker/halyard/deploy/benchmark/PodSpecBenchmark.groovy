@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.benchmark
+
+import com.netflix.spinnaker.halyard.core.resource.v1.JinjaJarResource
+import com.netflix.spinnaker.halyard.core.resource.v1.JinjaTemplatedResource
+import com.netflix.spinnaker.halyard.core.resource.v1.TemplatedResource
+
+/**
+ * Renders a service's deployment manifest from the same templates and in the same nesting as
+ * KubernetesV2Service: two containers, each with its mounts, port, probe, lifecycle and resources,
+ * inside a pod spec inside a deployment. Jar resources are compared with resources that re-read and
+ * re-parse their template on every render, as jar resources used to.
+ */
+class PodSpecBenchmark {
+  static final String MANIFESTS = "/kubernetes/manifests/"
+  static final List<String> VOLUMES = ["spin-clouddriver-files", "spin-clouddriver-profiles",
+                                       "default-spinnaker-config", "kubeconfig"]
+  static final Map<String, String> ENV = ["JAVA_OPTS": "-XX:MaxRAMPercentage=75.0",
+                                          "SPRING_PROFILES_ACTIVE": "local"]
+
+  static void main(String[] args) {
+    int runs = Benchmark.runs(args)
+
+    Benchmark.time("deployment, cached jar templates", runs) {
+      deployment { String name -> new JinjaJarResource(MANIFESTS + name) }
+    }
+    Benchmark.time("deployment, templates parsed per render", runs) {
+      deployment { String name -> new UncachedJarResource(MANIFESTS + name) }
+    }
+  }
+
+  static String deployment(Closure<TemplatedResource> template) {
+    List<String> containers = [
+        container(template, "clouddriver", 7002),
+        container(template, "monitoring-daemon", 8008)
+    ]
+    List<String> volumes = VOLUMES.collect {
+      template("secretVolume.yml").addBinding("name", it).toString()
+    }
+
+    String podSpec = template("podSpec.yml")
+        .addBinding("containers", containers)
+        .addBinding("initContainers", [])
+        .addBinding("hostAliases", [])
+        .addBinding("imagePullSecrets", null)
+        .addBinding("serviceAccountName", null)
+        .addBinding("terminationGracePeriodSeconds", 720)
+        .addBinding("nodeSelector", [:])
+        .addBinding("affinity", null)
+        .addBinding("tolerations", null)
+        .addBinding("volumes", volumes)
+        .addBinding("securityContext", null)
+        .toString()
+
+    return template("deployment.yml")
+        .addBinding("name", "clouddriver")
+        .addBinding("namespace", "spinnaker")
+        .addBinding("replicas", 1)
+        .addBinding("version", "1.30.0")
+        .addBinding("podAnnotations", [:])
+        .addBinding("podSpec", podSpec)
+        .addBinding("podLabels", [:])
+        .addBinding("deploymentStrategy", null)
+        .toString()
+  }
+
+  static String container(Closure<TemplatedResource> template, String name, int port) {
+    List<String> volumeMounts = VOLUMES.collect {
+      template("volumeMount.yml")
+          .addBinding("name", it)
+          .addBinding("mountPath", "/opt/spinnaker/config/" + it)
+          .toString()
+    }
+
+    return template("container.yml")
+        .addBinding("name", name)
+        .addBinding("imageId", "us-docker.pkg.dev/spinnaker-community/docker/" + name + ":1.30.0")
+        .addBinding("port", template("port.yml").addBinding("port", port).toString())
+        .addBinding("volumeMounts", volumeMounts)
+        .addBinding("readinessProbe", template("httpProbe.yml")
+            .addBinding("port", port)
+            .addBinding("path", "/health")
+            .addBinding("scheme", "HTTP")
+            .addBinding("initialDelaySeconds", null)
+            .toString())
+        .addBinding("lifecycle", template("lifecycle.yml")
+            .addBinding("command", ["sleep", "5"])
+            .toString())
+        .addBinding("env", ENV)
+        .addBinding("resources", template("resources.yml")
+            .addBinding("requests", ["cpu": "1", "memory": "2Gi"])
+            .addBinding("limits", ["cpu": "2", "memory": "4Gi"])
+            .toString())
+        .toString()
+  }
+
+  static class UncachedJarResource extends JinjaTemplatedResource {
+    private final String path
+
+    UncachedJarResource(String path) {
+      this.path = path
+    }
+
+    @Override
+    protected String getContents() {
+      return UncachedJarResource.getResourceAsStream(path).text
+    }
+  }
+}
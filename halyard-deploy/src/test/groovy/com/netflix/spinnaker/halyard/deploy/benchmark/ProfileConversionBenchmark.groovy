@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.benchmark
+
+import com.netflix.spinnaker.halyard.config.model.v1.node.Providers
+import com.netflix.spinnaker.halyard.config.model.v1.providers.dockerRegistry.DockerRegistryAccount
+import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount
+import com.netflix.spinnaker.halyard.deploy.config.v1.secrets.DecryptingObjectMapper
+import com.netflix.spinnaker.halyard.deploy.config.v1.secrets.DecryptingObjectMappers
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.profile.Profile
+
+import java.nio.file.Path
+import java.nio.file.Paths
+
+/**
+ * Converts the providers of a deployment with many accounts the way each profile factory does,
+ * through the shared mappers and through a mapper built per conversion as profiles used to.
+ */
+class ProfileConversionBenchmark {
+  // Neither variant decrypts anything here, so no secret session is needed
+  static final DecryptingObjectMappers mappers = new DecryptingObjectMappers(null)
+  static final Path stagingPath = Paths.get("/home/spinnaker/.hal/default/staging/dependencies")
+
+  static void main(String[] args) {
+    int runs = Benchmark.runs(args)
+    Providers providers = providers(40, 10)
+
+    Benchmark.time("shared mapper, 50 accounts", runs) {
+      mappers.get(false).convertValue(providers, Map, profile(), stagingPath)
+    }
+    Benchmark.time("mapper per conversion, 50 accounts", runs) {
+      new DecryptingObjectMapper(null, false).convertValue(providers, Map, profile(), stagingPath)
+    }
+  }
+
+  static Profile profile() {
+    return new Profile("clouddriver.yml", "1.30.0", "/opt/spinnaker/config/clouddriver.yml", "")
+  }
+
+  static Providers providers(int kubernetesAccounts, int dockerRegistryAccounts) {
+    Providers providers = new Providers()
+    providers.kubernetes.enabled = true
+    kubernetesAccounts.times { i ->
+      KubernetesAccount account = new KubernetesAccount()
+      account.name = "k8s-" + i
+      account.context = "cluster-" + i
+      account.kubeconfigFile = "/home/spinnaker/.kube/config-" + i
+      account.namespaces = ["default", "spinnaker", "team-" + i]
+      providers.kubernetes.accounts.add(account)
+    }
+
+    providers.dockerRegistry.enabled = true
+    dockerRegistryAccounts.times { i ->
+      DockerRegistryAccount account = new DockerRegistryAccount()
+      account.name = "registry-" + i
+      account.address = "https://registry-" + i + ".example.com"
+      account.username = "spinnaker"
+      account.repositories = ["library/nginx", "library/redis", "team-" + i + "/app"]
+      providers.dockerRegistry.accounts.add(account)
+    }
+    return providers
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.config.v1.secrets
+
+import com.netflix.spinnaker.halyard.config.model.v1.providers.dockerRegistry.DockerRegistryAccount
+import com.netflix.spinnaker.halyard.core.secrets.v1.SecretSessionManager
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.profile.Profile
+import spock.lang.Specification
+
+import java.nio.file.Paths
+
+class DecryptingObjectMapperSpec extends Specification {
+    SecretSessionManager secretSessionManager = Mock(SecretSessionManager) {
+        decryptAsBytes(_) >> "hunter2".bytes
+    }
+    DecryptingObjectMapper mapper = new DecryptingObjectMappers(secretSessionManager).get(true)
+
+    void "stores decrypted secret files in the profile of each conversion"() {
+        setup:
+        def account = new DockerRegistryAccount().setPasswordFile("encrypted:noop!f:password")
+        def clouddriver = new Profile("clouddriver.yml", "1.0.0", "/opt/spinnaker/config/clouddriver.yml", "")
+        def rosco = new Profile("rosco.yml", "1.0.0", "/opt/spinnaker/config/rosco.yml", "")
+
+        when:
+        def first = mapper.convertValue(account, Map, clouddriver, Paths.get("/var/first"))
+        def second = mapper.convertValue(account, Map, rosco, Paths.get("/var/second"))
+
+        then:
+        clouddriver.decryptedFiles.size() == 1
+        rosco.decryptedFiles.size() == 1
+        clouddriver.decryptedFiles.values()[0] == "hunter2".bytes
+        first.passwordFile == "/var/first/" + clouddriver.decryptedFiles.keySet()[0]
+        second.passwordFile == "/var/second/" + rosco.decryptedFiles.keySet()[0]
+    }
+
+    void "refuses to decrypt secret files outside of a profile"() {
+        when:
+        mapper.convertValue(new DockerRegistryAccount().setPasswordFile("encrypted:noop!f:password"), Map)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.services.v1
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spinnaker.halyard.config.config.v1.HalconfigDirectoryStructure
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentConfiguration
+import com.netflix.spinnaker.halyard.core.registry.v1.BillOfMaterials
+import com.netflix.spinnaker.halyard.deploy.config.v1.ConfigParser
+import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeploymentDetails
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.ServiceSettings
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerService
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerServiceProvider
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.SidecarService
+import org.yaml.snakeyaml.Yaml
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class DeployPlannerSpec extends Specification {
+    Path fingerprintsPath = Files.createTempDirectory("halyard").resolve("service-fingerprints.yml")
+    DeployPlanner planner = new DeployPlanner()
+
+    void setup() {
+        def configParser = new ConfigParser()
+        configParser.yamlParser = new Yaml()
+        configParser.objectMapper = new ObjectMapper()
+        planner.configParser = configParser
+        planner.halconfigDirectoryStructure = Mock(HalconfigDirectoryStructure) {
+            getServiceFingerprintsPath(_) >> fingerprintsPath
+        }
+    }
+
+    void "plans every service as changed before the first deploy"() {
+        when:
+        def plan = planner.plan("default", [gate: [settings: "a"]])
+
+        then:
+        plan.services.size() == 1
+        plan.services[0].serviceName == "gate"
+        plan.services[0].changed
+        plan.services[0].firstDeploy
+    }
+
+    void "plans only the services whose inputs changed since they were recorded"() {
+        setup:
+        planner.record("default", [gate: [settings: "a", "profile/gate.yml": "b"], deck: [settings: "c"]])
+
+        when:
+        def plan = planner.plan("default", [
+            gate: [settings: "a", "profile/gate.yml": "d"],
+            deck: [settings: "c"],
+            "spin-echo": [settings: "e"],
+        ])
+        def byName = plan.services.collectEntries { [(it.serviceName): it] }
+
+        then:
+        byName.gate.changed
+        !byName.gate.firstDeploy
+        byName.gate.changedInputs == ["profile/gate.yml"]
+        !byName.deck.changed
+        byName["spin-echo"].firstDeploy
+    }
+
+    void "keeps the fingerprints of services that weren't deployed"() {
+        setup:
+        planner.record("default", [gate: [settings: "a"], deck: [settings: "c"]])
+
+        when:
+        planner.record("default", [gate: [settings: "b"]])
+        def plan = planner.plan("default", [gate: [settings: "b"], deck: [settings: "c"]])
+
+        then:
+        plan.services.every { !it.changed }
+    }
+
+    void "treats a removed input as a change"() {
+        setup:
+        planner.record("default", [gate: [settings: "a", "file/ca.pem": "f"]])
+
+        when:
+        def plan = planner.plan("default", [gate: [settings: "a"]])
+
+        then:
+        plan.services[0].changedInputs == ["file/ca.pem"]
+    }
+
+    void "fingerprints every sidecar's inputs into each service"() {
+        setup:
+        def gate = service(SpinnakerService.Type.GATE)
+        def consul = service(SpinnakerService.Type.CONSUL_CLIENT, SidecarService)
+        def vault = service(SpinnakerService.Type.VAULT_CLIENT, SidecarService)
+        def settings = [(gate): new ServiceSettings(port: 8084), (consul): new ServiceSettings(port: 1)]
+        def fingerprint = {
+            def resolvedConfiguration = Stub(GenerateService.ResolvedConfiguration) {
+                getProfilesForService(_) >> [:]
+                getServiceSettings(_) >> { SpinnakerService s -> settings[s] }
+            }
+            def deploymentDetails = Stub(DeploymentDetails) {
+                getBillOfMaterials() >> Stub(BillOfMaterials) { getArtifactVersion(_) >> "1.0" }
+                getDeploymentConfiguration() >> new DeploymentConfiguration()
+            }
+            def serviceProvider = Stub(SpinnakerServiceProvider) {
+                getServices() >> [gate, consul, vault]
+            }
+            planner.fingerprint(
+                serviceProvider, deploymentDetails, resolvedConfiguration, [SpinnakerService.Type.GATE])
+        }
+
+        when:
+        def before = fingerprint()
+        settings[vault] = new ServiceSettings(port: 2)
+        def after = fingerprint()
+
+        then:
+        before.gate.keySet().containsAll(["sidecar/consul-client/settings", "sidecar/vault-client/version"])
+        !before.gate.containsKey("sidecar/vault-client/settings")
+        after.gate["sidecar/vault-client/settings"]
+        after.gate["sidecar/consul-client/settings"] == before.gate["sidecar/consul-client/settings"]
+    }
+
+    private SpinnakerService service(SpinnakerService.Type type, Class... interfaces) {
+        return Stub(SpinnakerService, additionalInterfaces: interfaces as List) {
+            getType() >> type
+            getCanonicalName() >> type.canonicalName
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.services.v1
+
+import com.netflix.spinnaker.halyard.config.config.v1.HalconfigDirectoryStructure
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentConfiguration
+import com.netflix.spinnaker.halyard.config.services.v1.DeploymentService
+import com.netflix.spinnaker.halyard.core.secrets.v1.SecretSessionManager
+import com.netflix.spinnaker.halyard.deploy.config.v1.GenerationConfig
+import com.netflix.spinnaker.halyard.deploy.deployment.v1.ServiceProviderFactory
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerRuntimeSettings
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.profile.Profile
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.ServiceSettings
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerService
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerServiceProvider
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.Callable
+
+class GenerateServiceSpec extends Specification {
+    static final List<SpinnakerService.Type> TYPES = [
+        SpinnakerService.Type.CLOUDDRIVER,
+        SpinnakerService.Type.DECK,
+        SpinnakerService.Type.ECHO,
+        SpinnakerService.Type.FRONT50,
+        SpinnakerService.Type.GATE,
+        SpinnakerService.Type.ORCA,
+    ]
+
+    Path root = Files.createTempDirectory("halyard")
+    DeploymentConfiguration deploymentConfiguration = new DeploymentConfiguration()
+
+    GenerateService generateService(boolean parallel) {
+        deploymentConfiguration.providers.kubernetes.enabled = true
+        deploymentConfiguration.parentify()
+
+        def runtimeSettings = new SpinnakerRuntimeSettings()
+        def services = TYPES.collect { type -> service(type) }
+        services.each { runtimeSettings.setServiceSettings(it.type, new ServiceSettings(enabled: true)) }
+        def serviceProvider = Stub(SpinnakerServiceProvider) {
+            getServices() >> services
+            buildRuntimeSettings(_) >> runtimeSettings
+        }
+
+        def service = new GenerateService()
+        service.deploymentService = Stub(DeploymentService) {
+            getDeploymentConfiguration(_) >> deploymentConfiguration
+        }
+        service.serviceProviderFactory = Stub(ServiceProviderFactory) {
+            create(_) >> serviceProvider
+        }
+        service.halconfigDirectoryStructure = Stub(HalconfigDirectoryStructure) {
+            getHalconfigPath() >> root.toString()
+            getStagingPath(_) >> root.resolve("staging")
+            getUserProfilePath(_) >> Files.createDirectories(root.resolve("profiles"))
+        }
+        service.secretSessionManager = Stub(SecretSessionManager) {
+            withCurrentSession(_) >> { Callable callable -> callable }
+        }
+        service.generationConfig = new GenerationConfig(parallel: parallel)
+        return service
+    }
+
+    SpinnakerService service(SpinnakerService.Type type) {
+        return Stub(SpinnakerService) {
+            getType() >> type
+            getCanonicalName() >> type.canonicalName
+            customProfile(*_) >> Optional.empty()
+            getProfiles(_, _) >> { DeploymentConfiguration config, SpinnakerRuntimeSettings settings ->
+                def kubernetes = config.providers.kubernetes
+                if (type == SpinnakerService.Type.CLOUDDRIVER) {
+                    // Like the clouddriver profile factories used to, edit the configuration while
+                    // rendering it and restore it afterwards.
+                    kubernetes.enabled = false
+                    sleep(200)
+                    kubernetes.enabled = true
+                }
+
+                return ["spinnaker.yml", type.canonicalName + ".yml"].collect { name ->
+                    new Profile(name, "1", "/opt/spinnaker/config/" + name, "")
+                        .appendContents("kubernetes.enabled: " + kubernetes.enabled)
+                }
+            }
+        }
+    }
+
+    Map<String, String> staged() {
+        return Files.list(root.resolve("staging")).iterator().collectEntries { Path p ->
+            [(p.fileName.toString()): p.text]
+        }
+    }
+
+    void "renders every service's profiles identically in parallel and sequentially"() {
+        when:
+        def sequential = generateService(false).generateConfig("default", TYPES)
+        def sequentialFiles = staged()
+        def parallel = generateService(true).generateConfig("default", TYPES)
+        def parallelFiles = staged()
+
+        then:
+        sequentialFiles.size() == TYPES.size() + 1
+        sequentialFiles["spinnaker.yml"] == "kubernetes.enabled: true"
+        parallelFiles == sequentialFiles
+        parallel.serviceProfiles.keySet() == sequential.serviceProfiles.keySet()
+        TYPES.every { type ->
+            parallel.getProfilesForService(type).collectEntries { k, v -> [(k): v.contents] } ==
+                sequential.getProfilesForService(type).collectEntries { k, v -> [(k): v.contents] }
+        }
+        deploymentConfiguration.providers.kubernetes.enabled
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2
+
+import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount
+import com.netflix.spinnaker.halyard.core.error.v1.HalException
+import io.fabric8.kubernetes.api.model.APIResource
+import io.fabric8.kubernetes.api.model.APIResourceList
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource
+import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.dsl.AppsAPIGroupDSL
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable
+import io.fabric8.kubernetes.client.dsl.MixedOperation
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation
+import io.fabric8.kubernetes.client.dsl.Resource
+import io.fabric8.kubernetes.client.dsl.base.PatchContext
+import io.fabric8.kubernetes.client.dsl.base.PatchType
+import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext
+import spock.lang.Specification
+
+class KubernetesV2ApiExecutorSpec extends Specification {
+    private static final String NAMESPACE = """\
+apiVersion: v1
+kind: Namespace
+metadata:
+  name: spinnaker
+"""
+
+    private static final String ENDPOINTS = """\
+apiVersion: v1
+kind: Endpoints
+metadata:
+  name: spin-gate
+  namespace: spinnaker
+"""
+
+    private static final String WIDGET = """\
+apiVersion: example.com/v1
+kind: Widget
+metadata:
+  name: spin-widget
+"""
+
+    KubernetesClient client = Mock(KubernetesClient)
+    Runnable release = Mock(Runnable)
+    KubernetesV2ApiExecutor executor = new KubernetesV2ApiExecutor(
+        null,
+        new KubernetesAccount(serviceAccount: true),
+        new KubernetesV2Utils(null, null, null),
+        client,
+        release)
+
+    private static APIResourceList served(Map... resources) {
+        return new APIResourceList(resources: resources.collect {
+            new APIResource(kind: it.kind, name: it.name, namespaced: it.namespaced)
+        })
+    }
+
+    void setup() {
+        client.getApiResources("v1") >> served(
+            [kind: "Namespace", name: "namespaces", namespaced: false],
+            [kind: "Endpoints", name: "endpoints", namespaced: true])
+        client.getApiResources("example.com/v1") >> served(
+            [kind: "Widget", name: "widgets/status", namespaced: false],
+            [kind: "Widget", name: "widgets", namespaced: false])
+    }
+
+    void "applies manifests server-side, to the plural and scope the server reports"() {
+        setup:
+        def endpoints = Mock(MixedOperation)
+        def inNamespace = Mock(NonNamespaceOperation)
+        def resource = Mock(Resource)
+        def widgets = Mock(MixedOperation)
+        def widget = Mock(Resource)
+
+        when:
+        executor.applyAll([ENDPOINTS, WIDGET])
+
+        then:
+        1 * client.genericKubernetesResources({ ResourceDefinitionContext c ->
+            c.plural == "endpoints" && c.namespaced && c.group == "" && c.version == "v1"
+        }) >> endpoints
+        1 * endpoints.inNamespace("spinnaker") >> inNamespace
+        1 * inNamespace.withName("spin-gate") >> resource
+        1 * resource.patch({ PatchContext p ->
+            p.patchType == PatchType.SERVER_SIDE_APPLY && p.fieldManager == "halyard" && p.force
+        }, { GenericKubernetesResource r -> r.kind == "Endpoints" })
+
+        then:
+        1 * client.genericKubernetesResources({ ResourceDefinitionContext c ->
+            c.plural == "widgets" && !c.namespaced && c.group == "example.com"
+        }) >> widgets
+        0 * widgets.inNamespace(_)
+        1 * widgets.withName("spin-widget") >> widget
+        1 * widget.patch(_, { GenericKubernetesResource r -> r.kind == "Widget" })
+    }
+
+    void "replaces manifests"() {
+        setup:
+        def namespaces = Mock(MixedOperation)
+        def resource = Mock(Resource)
+
+        when:
+        executor.replaceAll([NAMESPACE])
+
+        then:
+        1 * client.genericKubernetesResources({ ResourceDefinitionContext c ->
+            c.plural == "namespaces" && !c.namespaced
+        }) >> namespaces
+        1 * namespaces.withName("spinnaker") >> resource
+        1 * resource.createOrReplace({ GenericKubernetesResource r -> r.kind == "Namespace" })
+        0 * resource.patch(*_)
+    }
+
+    void "finds existing resources, asking for each group version once"() {
+        setup:
+        def namespaces = Stub(MixedOperation) {
+            withName("spinnaker") >> Stub(Resource) { get() >> new GenericKubernetesResource() }
+        }
+        def endpoints = Stub(MixedOperation) {
+            inNamespace("spinnaker") >> Stub(NonNamespaceOperation) {
+                withName("spin-gate") >> Stub(Resource) { get() >> null }
+            }
+        }
+        client.genericKubernetesResources({ it.plural == "namespaces" }) >> namespaces
+        client.genericKubernetesResources({ it.plural == "endpoints" }) >> endpoints
+
+        when:
+        def existing = executor.existing([NAMESPACE, ENDPOINTS])
+
+        then:
+        1 * client.getApiResources("v1") >> served(
+            [kind: "Namespace", name: "namespaces", namespaced: false],
+            [kind: "Endpoints", name: "endpoints", namespaced: true])
+        existing == [NAMESPACE] as Set
+    }
+
+    void "fails on kinds the server doesn't serve"() {
+        when:
+        executor.exists("""\
+apiVersion: v1
+kind: Gadget
+metadata:
+  name: spin-gadget
+""")
+
+        then:
+        def e = thrown(HalException)
+        e.message.contains("does not serve Gadget in v1")
+    }
+
+    void "deletes a service's deployments, services and secrets by label"() {
+        setup:
+        def deleted = []
+        def labelled = { String kind ->
+            Stub(MixedOperation) {
+                inNamespace("spinnaker") >> Stub(NonNamespaceOperation) {
+                    withLabel("cluster", "spin-gate") >> Stub(FilterWatchListDeletable) {
+                        delete() >> { deleted << kind; null }
+                    }
+                }
+            }
+        }
+        def deploymentOperation = labelled("deployments")
+        client.apps() >> Stub(AppsAPIGroupDSL) { deployments() >> deploymentOperation }
+        client.services() >> labelled("services")
+        client.secrets() >> labelled("secrets")
+
+        when:
+        executor.delete("spinnaker", "spin-gate")
+
+        then:
+        deleted == ["deployments", "services", "secrets"]
+    }
+
+    void "releases its client once"() {
+        when:
+        executor.close()
+        executor.close()
+
+        then:
+        1 * release.run()
+    }
+}
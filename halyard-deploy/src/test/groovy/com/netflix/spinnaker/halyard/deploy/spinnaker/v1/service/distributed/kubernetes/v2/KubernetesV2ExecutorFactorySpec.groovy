@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2
+
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentConfiguration
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentEnvironment
+import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Path
+
+class KubernetesV2ExecutorFactorySpec extends Specification {
+    private static String kubeconfig(String server) {
+        return """\
+apiVersion: v1
+kind: Config
+clusters:
+- name: cluster
+  cluster:
+    server: ${server}
+contexts:
+- name: context
+  context:
+    cluster: cluster
+    user: user
+current-context: context
+users:
+- name: user
+  user:
+    token: token
+"""
+    }
+
+    @TempDir
+    Path tempDir
+
+    KubernetesV2Utils utils = Stub(KubernetesV2Utils)
+    KubernetesV2ExecutorFactory factory = new KubernetesV2ExecutorFactory(utils)
+    KubernetesAccount account = account("default")
+
+    void cleanup() {
+        factory.destroy()
+    }
+
+    private KubernetesAccount account(String deployment) {
+        def account = new KubernetesAccount(name: "k8s", context: "context")
+        account.@parent = new DeploymentConfiguration(name: deployment)
+        return account
+    }
+
+    void "reuses a client for the same kubeconfig, wherever it was written"() {
+        setup:
+        def first = tempDir.resolve("first")
+        def second = tempDir.resolve("second")
+        first.text = kubeconfig("https://localhost:6443")
+        second.text = kubeconfig("https://localhost:6443")
+        utils.kubeconfigPath(account) >>> [first, second]
+
+        when:
+        def client = factory.acquire(account)
+
+        then:
+        factory.acquire(account).is(client)
+        client.users == 2
+        factory.size() == 1
+    }
+
+    void "uses a new client when the kubeconfig changes, leaving the old one to its users"() {
+        setup:
+        def path = tempDir.resolve("kubeconfig")
+        utils.kubeconfigPath(account) >> path
+
+        when:
+        path.text = kubeconfig("https://localhost:6443")
+        def client = factory.acquire(account)
+        path.text = kubeconfig("https://localhost:7443")
+        def replaced = factory.acquire(account)
+
+        then:
+        !replaced.is(client)
+        client.client.masterUrl.port == 6443
+        replaced.client.masterUrl.port == 7443
+        factory.size() == 2
+    }
+
+    void "doesn't share clients between deployments"() {
+        setup:
+        def path = tempDir.resolve("kubeconfig")
+        path.text = kubeconfig("https://localhost:6443")
+        def staging = account("staging")
+        def production = account("production")
+        utils.kubeconfigPath(_) >> path
+
+        expect:
+        !factory.acquire(staging).is(factory.acquire(production))
+        factory.acquire(staging).is(factory.acquire(staging))
+    }
+
+    void "only closes clients nobody is using"() {
+        setup:
+        def path = tempDir.resolve("kubeconfig")
+        utils.kubeconfigPath(account) >> path
+
+        when:
+        def clients = (0..<20).collect { port ->
+            path.text = kubeconfig("https://localhost:${6000 + port}")
+            factory.acquire(account)
+        }
+
+        then:
+        factory.size() == 20
+
+        when:
+        clients.each { factory.release(it) }
+
+        then:
+        factory.size() == 16
+        factory.acquire(account).is(clients.last())
+
+        when:
+        path.text = kubeconfig("https://localhost:6000")
+
+        then:
+        !factory.acquire(account).is(clients.first())
+    }
+
+    void "API executors release their client once, when closed"() {
+        setup:
+        def path = tempDir.resolve("kubeconfig")
+        path.text = kubeconfig("https://localhost:6443")
+        utils.kubeconfigPath(account) >> path
+        def environment = new DeploymentEnvironment(
+            kubernetes: new DeploymentEnvironment.KubernetesDeployConfig(
+                clientType: DeploymentEnvironment.KubernetesClientType.API))
+
+        when:
+        def executor = factory.create(null, account, environment)
+        def client = factory.acquire(account)
+
+        then:
+        executor instanceof KubernetesV2ApiExecutor
+        client.users == 2
+
+        when:
+        executor.close()
+        executor.close()
+
+        then:
+        client.users == 1
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2
+
+import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount
+import com.netflix.spinnaker.halyard.core.job.v1.JobExecutor
+import com.netflix.spinnaker.halyard.core.job.v1.JobRequest
+import com.netflix.spinnaker.halyard.core.job.v1.JobStatus
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class KubernetesV2ExecutorSpec extends Specification {
+    private static final String NAMESPACE = """\
+apiVersion: v1
+kind: Namespace
+metadata:
+  name: spinnaker
+"""
+
+    private static final String SERVICE = """\
+apiVersion: v1
+kind: Service
+metadata:
+  name: spin-gate
+  namespace: spinnaker
+"""
+
+    private static final String DEPLOYMENT = """\
+apiVersion: apps/v1
+kind: Deployment
+metadata:
+  name: spin-gate
+  namespace: spinnaker
+"""
+
+    JobExecutor jobExecutor = Mock(JobExecutor)
+    KubernetesV2Executor executor = new KubernetesV2Executor(
+        jobExecutor,
+        new KubernetesAccount(serviceAccount: true),
+        new KubernetesV2Utils(null, null, null))
+
+    void "looks up several resources with one kubectl get"() {
+        when:
+        def existing = executor.existing([NAMESPACE, SERVICE, DEPLOYMENT])
+
+        then:
+        1 * jobExecutor.startJob({ JobRequest r ->
+            r.tokenizedCommand == ["kubectl", "-n", "spinnaker", "get", "namespace/spinnaker",
+                                   "service/spin-gate", "deployment/spin-gate",
+                                   "--ignore-not-found", "-o=name"]
+        }) >> "job"
+        1 * jobExecutor.backoffWait("job") >> new JobStatus(
+            state: JobStatus.State.COMPLETED,
+            result: JobStatus.Result.SUCCESS,
+            stdOut: "namespace/spinnaker\ndeployment.apps/spin-gate\n",
+            stdErr: "")
+        0 * jobExecutor._
+
+        existing == [NAMESPACE, DEPLOYMENT] as Set
+    }
+
+    void "defers replacements until they are taken"() {
+        when:
+        executor.deferReplacements()
+        executor.replace(SERVICE)
+        executor.replace(DEPLOYMENT)
+
+        then:
+        0 * jobExecutor._
+        executor.takeDeferredReplacements() == [SERVICE, DEPLOYMENT]
+        executor.takeDeferredReplacements() == []
+    }
+
+    void "reports readiness from a kubectl watch"() {
+        given:
+        def watchOutput = null
+        jobExecutor.startJob(_, _, _, _, _) >> { args ->
+            watchOutput = args[3]
+            return "watch"
+        }
+        jobExecutor.waitForJob("watch") >> new CompletableFuture<JobStatus>()
+
+        when:
+        def watch = executor.watchReadiness("spinnaker")
+        def ready = watch.awaitReady("spin-gate")
+        watchOutput.write(podEvent("ADDED", "spin-gate-1", false).bytes)
+
+        then:
+        !ready.isDone()
+
+        when:
+        watchOutput.write(podEvent("MODIFIED", "spin-gate-1", true).bytes)
+
+        then:
+        ready.isDone()
+
+        when:
+        watchOutput.write(podEvent("ADDED", "spin-gate-2", false).bytes)
+        def readyAgain = watch.awaitReady("spin-gate")
+        watchOutput.write(podEvent("DELETED", "spin-gate-2", false).bytes)
+
+        then:
+        readyAgain.isDone()
+    }
+
+    private static String podEvent(String type, String name, boolean ready) {
+        return """\
+{
+    "type": "${type}",
+    "object": {
+        "metadata": {
+            "name": "${name}",
+            "labels": {
+                "app": "spin",
+                "cluster": "spin-gate"
+            }
+        },
+        "status": {
+            "containerStatuses": [
+                {
+                    "ready": ${ready}
+                }
+            ]
+        }
+    }
+}
+"""
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2
+
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2.KubernetesV2Utils.SecretMountPair
+import spock.lang.Specification
+
+class KubernetesV2UtilsSpec extends Specification {
+    KubernetesV2Utils utils = new KubernetesV2Utils(null, null, null)
+
+    void "names secrets after a digest of their contents"() {
+        when:
+        def spec = utils.createSecretSpec("spinnaker", "gate", "spin-gate-files", [
+            new SecretMountPair("gate.yml", "server.port: 8084".bytes),
+            new SecretMountPair("spinnaker.yml", "services: {}".bytes),
+        ])
+        def reordered = utils.createSecretSpec("spinnaker", "gate", "spin-gate-files", [
+            new SecretMountPair("spinnaker.yml", "services: {}".bytes),
+            new SecretMountPair("gate.yml", "server.port: 8084".bytes),
+        ])
+        def changed = utils.createSecretSpec("spinnaker", "gate", "spin-gate-files", [
+            new SecretMountPair("gate.yml", "server.port: 8085".bytes),
+            new SecretMountPair("spinnaker.yml", "services: {}".bytes),
+        ])
+
+        then:
+        spec.name ==~ /spin-gate-files-[0-9a-f]{20}/
+        spec.digest.startsWith(spec.name.substring("spin-gate-files-".length()))
+        reordered.name == spec.name
+        changed.name != spec.name
+    }
+
+    void "renders the secret only when asked for it"() {
+        when:
+        def spec = utils.createSecretSpec("spinnaker", "gate", "spin-gate-files", [
+            new SecretMountPair("gate.yml", "server.port: 8084".bytes),
+        ])
+        def manifest = utils.parseManifest(spec.getResource().toString())
+        def reference = utils.parseManifest(spec.getReference())
+
+        then:
+        manifest.metadata.name == spec.name
+        manifest.metadata.annotations["halyard.spinnaker.io/content-sha256"] == spec.digest
+        manifest.data["gate.yml"] == "server.port: 8084".bytes.encodeBase64().toString()
+        reference.kind == "Secret"
+        reference.metadata == [name: spec.name, namespace: "spinnaker"]
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.controllers.v1;
+
+import com.netflix.spinnaker.halyard.config.model.v1.node.Halconfig;
+import com.netflix.spinnaker.halyard.core.BatchOperation;
+import com.netflix.spinnaker.halyard.core.DaemonResponse;
+import com.netflix.spinnaker.halyard.core.error.v1.HalException;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskBatch;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import com.netflix.spinnaker.halyard.util.v1.BatchOperationDispatcher;
+import com.netflix.spinnaker.halyard.util.v1.BatchOperationDispatcher.BoundOperation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Applies a batch of halconfig edits recorded by the CLI to a single in-memory halconfig, which is
+ * validated and written to disk once all of them have been applied.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/v1/batch")
+public class BatchController {
+  private final BatchOperationDispatcher batchOperationDispatcher;
+
+  @RequestMapping(value = "/", method = RequestMethod.POST)
+  DaemonTask<Halconfig, Void> batch(
+      @RequestBody List<BatchOperation> operations, HttpServletRequest request) {
+    // The edits are bound to their controller methods now, while this request is being handled,
+    // and only applied once the batch's task is running.
+    List<Supplier<?>> edits = new ArrayList<>();
+    for (BatchOperation operation : operations) {
+      BoundOperation bound;
+      try {
+        bound = batchOperationDispatcher.bind(request, operation);
+      } catch (HalException e) {
+        edits.add(
+            () -> {
+              throw e;
+            });
+        continue;
+      }
+
+      edits.add(bound::invoke);
+    }
+
+    return DaemonTaskHandler.submitTask(
+        () -> apply(operations, edits), "Apply a batch of " + operations.size() + " commands");
+  }
+
+  private DaemonResponse<Void> apply(List<BatchOperation> operations, List<Supplier<?>> edits) {
+    DaemonTaskBatch batch = new DaemonTaskBatch();
+    DaemonTaskHandler.newStage("Applying " + operations.size() + " commands");
+    for (int i = 0; i < operations.size(); i++) {
+      batch.apply(operations.get(i).getLine(), edits.get(i));
+    }
+
+    // Each edit validates only what it changed, as it would have on its own, but not until all of
+    // them have been applied.
+    DaemonTaskHandler.newStage("Validating and saving your halconfig");
+    return batch.complete();
+  }
+}
@@ -31,6 +31,7 @@ import com.netflix.spinnaker.halyard.core.registry.v1.Versions;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeployOption;
+import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeployPlan;
 import com.netflix.spinnaker.halyard.deploy.services.v1.DeployService;
 import com.netflix.spinnaker.halyard.deploy.services.v1.GenerateService;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.RunningServiceDetails;
@@ -211,6 +212,28 @@ public class DeploymentController extends DeploymentsGrpc.DeploymentsImplBase {
         builder::build, "Prep deployment", TimeUnit.MINUTES.toMillis(5));
   }
 
+  @RequestMapping(value = "/{deploymentName:.+}/deployPlan/", method = RequestMethod.GET)
+  DaemonTask<Halconfig, DeployPlan> deployPlan(
+      @PathVariable String deploymentName,
+      @ModelAttribute ValidationSettings validationSettings,
+      @RequestParam(required = false) List<String> serviceNames,
+      @RequestParam(required = false) List<String> excludeServiceNames) {
+    List<String> finalServiceNames = serviceNames != null ? serviceNames : Collections.emptyList();
+    List<String> finalExcludeServiceNames =
+        excludeServiceNames != null ? excludeServiceNames : Collections.emptyList();
+    StaticRequestBuilder<DeployPlan> builder =
+        new StaticRequestBuilder<>(
+            () -> deployService.plan(deploymentName, finalServiceNames, finalExcludeServiceNames));
+    builder.setSeverity(validationSettings.getSeverity());
+
+    if (validationSettings.isValidate()) {
+      builder.setValidateResponse(() -> deploymentService.validateDeployment(deploymentName));
+    }
+
+    return DaemonTaskHandler.submitTask(
+        builder::build, "Plan deployment", TimeUnit.MINUTES.toMillis(5));
+  }
+
   @RequestMapping(value = "/{deploymentName:.+}/deploy/", method = RequestMethod.POST)
   DaemonTask<Halconfig, RemoteAction> deploy(
       @PathVariable String deploymentName,
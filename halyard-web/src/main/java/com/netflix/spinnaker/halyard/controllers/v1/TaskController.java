@@ -6,18 +6,47 @@ import com.netflix.spinnaker.halyard.config.model.v1.node.Halconfig;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask;
 import com.netflix.spinnaker.halyard.core.tasks.v1.ShallowTaskList;
 import com.netflix.spinnaker.halyard.core.tasks.v1.TaskRepository;
+import com.netflix.spinnaker.halyard.util.v1.TaskEventStreamer;
+import lombok.RequiredArgsConstructor;
 import org.lognet.springboot.grpc.GRpcService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import retrofit.http.Body;
 
 @GRpcService
 @RestController
+@RequiredArgsConstructor
 @RequestMapping("/v1/tasks")
 public class TaskController extends OperationsGrpc.OperationsImplBase {
+  private final TaskEventStreamer taskEventStreamer;
+
+  /**
+   * @param since only the events and child tasks that changed after this cursor are returned (see
+   *     DaemonTask#since). The default returns the whole task tree.
+   */
   @RequestMapping(value = "/{uuid:.+}/", method = RequestMethod.GET)
-  DaemonTask<Halconfig, Void> getTask(@PathVariable String uuid) {
-    return TaskRepository.getTask(uuid);
+  DaemonTask<Halconfig, Void> getTask(
+      @PathVariable String uuid, @RequestParam(value = "since", defaultValue = "0") long since) {
+    DaemonTask<Halconfig, Void> task = TaskRepository.getTask(uuid);
+    // Serialize a copy, since the task itself is still being written to.
+    return task == null ? null : task.since(since);
+  }
+
+  @RequestMapping(
+      value = "/{uuid:.+}/stream",
+      method = RequestMethod.GET,
+      produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  SseEmitter streamTask(
+      @PathVariable String uuid, @RequestParam(value = "since", defaultValue = "0") long since) {
+    DaemonTask task = TaskRepository.getTask(uuid);
+
+    if (task == null) {
+      throw new TaskNotFoundException("No such task with UUID " + uuid);
+    }
+
+    return taskEventStreamer.stream(task, since);
   }
 
   @RequestMapping(value = "/{uuid:.+}/interrupt", method = RequestMethod.PUT)
@@ -0,0 +1,399 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.util.v1;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.spinnaker.halyard.core.BatchOperation;
+import com.netflix.spinnaker.halyard.core.error.v1.HalException;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.web.bind.support.WebBindingInitializer;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolverComposite;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Finds the controller method that would have handled a request recorded by the CLI, and binds its
+ * arguments, using the same handler mapping and argument resolvers Spring MVC uses for requests
+ * sent to the daemon, so that a batch of requests can be applied within the one task running the
+ * batch.
+ */
+@Component
+public class BatchOperationDispatcher {
+  private static final String BATCHABLE_PATH = "/v1/config/";
+
+  private final RequestMappingHandlerMapping handlerMapping;
+  private final RequestMappingHandlerAdapter handlerAdapter;
+  private final ObjectMapper objectMapper;
+
+  public BatchOperationDispatcher(
+      @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+      @Qualifier("requestMappingHandlerAdapter") RequestMappingHandlerAdapter handlerAdapter,
+      ObjectMapper objectMapper) {
+    this.handlerMapping = handlerMapping;
+    this.handlerAdapter = handlerAdapter;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Binds a recorded request to its controller method. This has to be called while the request
+   * carrying the batch is being handled, since the recorded request borrows its servlet context.
+   *
+   * @param batchRequest is the request carrying the batch.
+   * @param operation is the recorded request.
+   * @return the controller method and its arguments, ready to be called from the batch's task.
+   */
+  public BoundOperation bind(HttpServletRequest batchRequest, BatchOperation operation) {
+    UriComponents uri = UriComponentsBuilder.fromUriString(operation.getPath()).build();
+    String path = uri.getPath();
+    if (path == null || !path.startsWith(BATCHABLE_PATH)) {
+      throw new HalException(
+          Problem.Severity.FATAL, "Only commands that edit your halconfig can be run in a batch.");
+    }
+
+    byte[] body;
+    try {
+      body =
+          operation.getBody() != null
+              ? objectMapper.writeValueAsBytes(operation.getBody())
+              : new byte[0];
+    } catch (JsonProcessingException e) {
+      throw new HalException(
+          Problem.Severity.FATAL, "Unable to read the body of this command's request.", e);
+    }
+
+    RecordedRequest request = new RecordedRequest(batchRequest, operation.getMethod(), uri, body);
+    String description = operation.getMethod() + " " + path;
+
+    HandlerExecutionChain chain;
+    try {
+      chain = handlerMapping.getHandler(request);
+    } catch (Exception e) {
+      throw new HalException(
+          Problem.Severity.FATAL,
+          "The daemon can't handle " + description + ": " + e.getMessage(),
+          e);
+    }
+
+    if (chain == null || !(chain.getHandler() instanceof HandlerMethod)) {
+      throw new HalException(
+          Problem.Severity.FATAL, "The daemon can't handle " + description + ".");
+    }
+
+    BatchHandlerMethod handler =
+        new BatchHandlerMethod(
+            ((HandlerMethod) chain.getHandler()).createWithResolvedBean(),
+            handlerAdapter.getArgumentResolvers(),
+            handlerAdapter.getWebBindingInitializer());
+    Object[] args;
+    try {
+      args = handler.resolveArguments(new ServletWebRequest(request));
+    } catch (Exception e) {
+      throw new HalException(
+          Problem.Severity.FATAL, "Unable to bind " + description + ": " + e.getMessage(), e);
+    }
+
+    return new BoundOperation(handler, args);
+  }
+
+  /** A controller method and the arguments bound to it from a recorded request. */
+  public static class BoundOperation {
+    private final BatchHandlerMethod handler;
+    private final Object[] args;
+
+    private BoundOperation(BatchHandlerMethod handler, Object[] args) {
+      this.handler = handler;
+      this.args = args;
+    }
+
+    /** @return whatever the controller method returned, typically the task it submitted. */
+    public Object invoke() {
+      try {
+        return handler.invoke(args);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  private static class BatchHandlerMethod extends InvocableHandlerMethod {
+    BatchHandlerMethod(
+        HandlerMethod handlerMethod,
+        List<HandlerMethodArgumentResolver> resolvers,
+        WebBindingInitializer initializer) {
+      super(handlerMethod);
+      HandlerMethodArgumentResolverComposite composite =
+          new HandlerMethodArgumentResolverComposite();
+      composite.addResolvers(resolvers);
+      setHandlerMethodArgumentResolvers(composite);
+      setDataBinderFactory(new ServletRequestDataBinderFactory(null, initializer));
+      setParameterNameDiscoverer(new DefaultParameterNameDiscoverer());
+    }
+
+    Object[] resolveArguments(NativeWebRequest request) throws Exception {
+      return getMethodArgumentValues(request, new ModelAndViewContainer());
+    }
+
+    Object invoke(Object[] args) throws Exception {
+      return doInvoke(args);
+    }
+  }
+
+  /**
+   * A request recorded by the CLI, standing in for the request carrying the batch. Its attributes
+   * are its own, so that nothing Spring caches while handling it leaks into the batch's request.
+   */
+  private static class RecordedRequest extends HttpServletRequestWrapper {
+    private final String method;
+    private final String requestUri;
+    private final String servletPath;
+    private final String queryString;
+    private final Map<String, String[]> parameters = new LinkedHashMap<>();
+    private final Map<String, String> headers = new LinkedCaseInsensitiveMap<>();
+    private final Map<String, Object> attributes = new HashMap<>();
+    private final byte[] body;
+
+    RecordedRequest(
+        HttpServletRequest batchRequest, String method, UriComponents uri, byte[] body) {
+      super(batchRequest);
+      this.method = method;
+      this.requestUri = uri.getPath();
+      this.servletPath = decode(uri.getPath());
+      this.queryString = uri.getQuery();
+      this.body = body;
+
+      uri.getQueryParams()
+          .forEach(
+              (k, vs) ->
+                  parameters.put(
+                      decode(k),
+                      vs.stream().map(v -> v == null ? "" : decode(v)).toArray(String[]::new)));
+
+      headers.put(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+      headers.put(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+      headers.put(HttpHeaders.CONTENT_LENGTH, Integer.toString(body.length));
+    }
+
+    @Override
+    public String getMethod() {
+      return method;
+    }
+
+    @Override
+    public String getRequestURI() {
+      return requestUri;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+      return new StringBuffer()
+          .append(getScheme())
+          .append("://")
+          .append(getServerName())
+          .append(':')
+          .append(getServerPort())
+          .append(requestUri);
+    }
+
+    @Override
+    public String getContextPath() {
+      return "";
+    }
+
+    @Override
+    public String getServletPath() {
+      return servletPath;
+    }
+
+    @Override
+    public String getPathInfo() {
+      return null;
+    }
+
+    @Override
+    public String getPathTranslated() {
+      return null;
+    }
+
+    @Override
+    public String getQueryString() {
+      return queryString;
+    }
+
+    @Override
+    public String getParameter(String name) {
+      String[] values = parameters.get(name);
+      return values != null && values.length > 0 ? values[0] : null;
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+      return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+      return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+      return parameters.get(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+      return headers.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+      String value = headers.get(name);
+      return Collections.enumeration(
+          value != null ? Collections.singletonList(value) : Collections.emptyList());
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+      return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+      String value = headers.get(name);
+      return value != null ? Integer.parseInt(value) : -1;
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+      return -1;
+    }
+
+    @Override
+    public String getContentType() {
+      return MediaType.APPLICATION_JSON_VALUE;
+    }
+
+    @Override
+    public int getContentLength() {
+      return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+      return body.length;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+      return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      ByteArrayInputStream in = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public boolean isFinished() {
+          return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read() {
+          return in.read();
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      return new BufferedReader(
+          new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+      return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+      return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+      if (value == null) {
+        attributes.remove(name);
+      } else {
+        attributes.put(name, value);
+      }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+      attributes.remove(name);
+    }
+
+    private static String decode(String value) {
+      return UriUtils.decode(value, StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.util.v1;
+
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams a task tree to a client as server-sent events. Each "task" event carries a copy of the
+ * tree holding only what changed since the previous one (see DaemonTask#since), and the stream
+ * completes once the task is terminal.
+ *
+ * <p>Changes are checked for on one scheduler thread, but sent from a pool, so a client that stops
+ * reading only holds up its own stream. A stream whose send hasn't finished within the send timeout
+ * is dropped.
+ */
+@Slf4j
+@Component
+public class TaskEventStreamer {
+  private static final long TICK_MILLIS = 100;
+  private static final long HEARTBEAT_MILLIS = TimeUnit.SECONDS.toMillis(1);
+  // How long past the task's own timeout a stream is kept open.
+  private static final long STREAM_GRACE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+  private static final long SEND_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  private final long sendTimeoutMillis;
+
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          r -> {
+            Thread t = new Thread(r, "task-event-streamer");
+            t.setDaemon(true);
+            return t;
+          });
+
+  private final AtomicInteger senderCount = new AtomicInteger();
+  private final ExecutorService senders =
+      Executors.newCachedThreadPool(
+          r -> {
+            Thread t = new Thread(r, "task-event-sender-" + senderCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+          });
+
+  public TaskEventStreamer() {
+    this(SEND_TIMEOUT_MILLIS);
+  }
+
+  TaskEventStreamer(long sendTimeoutMillis) {
+    this.sendTimeoutMillis = sendTimeoutMillis;
+  }
+
+  public SseEmitter stream(DaemonTask task, long cursor) {
+    SseEmitter emitter = newEmitter(task.getTimeout() + STREAM_GRACE_MILLIS);
+    AtomicReference<ScheduledFuture<?>> tick = new AtomicReference<>();
+    Runnable stop =
+        () -> {
+          ScheduledFuture<?> f = tick.get();
+          if (f != null) {
+            f.cancel(false);
+          }
+        };
+
+    emitter.onCompletion(stop);
+    emitter.onTimeout(stop);
+    tick.set(
+        scheduler.scheduleWithFixedDelay(
+            new Tick(task, cursor, emitter, stop), 0, TICK_MILLIS, TimeUnit.MILLISECONDS));
+    return emitter;
+  }
+
+  SseEmitter newEmitter(long timeoutMillis) {
+    return new SseEmitter(timeoutMillis);
+  }
+
+  private class Tick implements Runnable {
+    final DaemonTask task;
+    final SseEmitter emitter;
+    final Runnable stop;
+    // Only touched by one send at a time, each of which starts after the last one finished.
+    volatile long cursor;
+    volatile long lastSent;
+    Future<?> sending;
+    long sendingSince;
+
+    Tick(DaemonTask task, long cursor, SseEmitter emitter, Runnable stop) {
+      this.task = task;
+      this.cursor = cursor;
+      this.emitter = emitter;
+      this.stop = stop;
+    }
+
+    @Override
+    public void run() {
+      long now = System.currentTimeMillis();
+      if (sending != null && !sending.isDone()) {
+        if (now - sendingSince >= sendTimeoutMillis) {
+          log.info("Dropping the stream of task " + task + ", its client stopped reading");
+          stop.run();
+          sending.cancel(true);
+          // The emitter is locked by the stuck send, so it's completed once that gives up.
+          senders.execute(
+              () ->
+                  emitter.completeWithError(
+                      new TimeoutException("Timed out sending an update of " + task)));
+        }
+        return;
+      }
+
+      sendingSince = now;
+      sending = senders.submit(this::send);
+    }
+
+    private void send() {
+      try {
+        DaemonTask update = task.since(cursor);
+        long now = System.currentTimeMillis();
+        boolean terminal = update.getState().isTerminal();
+        long latest = update.latestSequence();
+        if (latest > cursor || terminal) {
+          emitter.send(SseEmitter.event().name("task").data(update, MediaType.APPLICATION_JSON));
+          cursor = latest;
+          lastSent = now;
+        } else if (now - lastSent >= HEARTBEAT_MILLIS) {
+          emitter.send(SseEmitter.event().comment("heartbeat"));
+          lastSent = now;
+        }
+
+        if (terminal) {
+          stop.run();
+          emitter.complete();
+        }
+      } catch (IOException | IllegalStateException e) {
+        // The client went away, or the emitter already completed.
+        log.info("Stopped streaming task " + task + ": " + e.getMessage());
+        stop.run();
+      } catch (RuntimeException e) {
+        log.warn("Failed to stream task " + task, e);
+        stop.run();
+        emitter.completeWithError(e);
+      }
+    }
+  }
+}
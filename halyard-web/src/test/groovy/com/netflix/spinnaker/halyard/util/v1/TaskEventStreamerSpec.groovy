@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.spinnaker.halyard.util.v1
+
+import com.netflix.spinnaker.halyard.core.DaemonResponse
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.LinkedBlockingQueue
+
+class TaskEventStreamerSpec extends Specification {
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+    LinkedBlockingQueue<RecordingEmitter> emitters = new LinkedBlockingQueue<>()
+    TaskEventStreamer streamer = new TaskEventStreamer(200) {
+        @Override
+        SseEmitter newEmitter(long timeoutMillis) {
+            return emitters.take()
+        }
+    }
+
+    private static DaemonTask task(String... messages) {
+        def task = new DaemonTask("task", 60000)
+        task.newStage("stage")
+        messages.each { task.writeMessage(it) }
+        return task
+    }
+
+    void "resumes from the given cursor"() {
+        setup:
+        def task = task("first")
+        def cursor = task.latestSequence()
+        task.writeMessage("second")
+        task.success(new DaemonResponse(null, null))
+        def emitter = new RecordingEmitter()
+        emitters.add(emitter)
+
+        when:
+        streamer.stream(task, cursor)
+
+        then:
+        conditions.eventually {
+            assert emitter.completed
+        }
+        emitter.updates.size() == 1
+        emitter.updates[0].events*.message == ["second"]
+        emitter.updates[0].state == DaemonTask.State.SUCCEEDED
+    }
+
+    void "drops a stream whose client stopped reading, without holding up the others"() {
+        setup:
+        def stuck = new RecordingEmitter(blocked: new CountDownLatch(1))
+        def healthy = new RecordingEmitter()
+        emitters.addAll([stuck, healthy])
+        def slow = task("first")
+        def fast = task("first")
+
+        when:
+        streamer.stream(slow, 0)
+        streamer.stream(fast, 0)
+        fast.success(new DaemonResponse(null, null))
+
+        then:
+        conditions.eventually {
+            assert healthy.completed
+            assert stuck.failure != null
+        }
+        healthy.updates.last().state == DaemonTask.State.SUCCEEDED
+
+        cleanup:
+        stuck.blocked.countDown()
+    }
+
+    static class RecordingEmitter extends SseEmitter {
+        final Queue<DaemonTask> updates = new ConcurrentLinkedQueue<>()
+        CountDownLatch blocked
+        volatile boolean completed
+        volatile Throwable failure
+
+        @Override
+        void send(SseEmitter.SseEventBuilder builder) throws IOException {
+            blocked?.await()
+            builder.build().each {
+                if (it.data instanceof DaemonTask) {
+                    updates.add(it.data)
+                }
+            }
+        }
+
+        @Override
+        void complete() {
+            completed = true
+        }
+
+        @Override
+        void completeWithError(Throwable e) {
+            failure = e
+        }
+    }
+}